@@ -0,0 +1,179 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.data.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.stat.correlation.Covariance;
+import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.junit.Test;
+
+/**
+ * Tests the {@link CovarianceAccumulator}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CovarianceAccumulatorTest {
+
+    private static final int DIM = 5;
+
+    private static final int ROWS = 1000;
+
+    /**
+     * Accumulates random data in blocks and column ranges and compares the result with Apache's covariance.
+     */
+    @Test
+    public void testBlockUpdates() {
+        final double[][] data = randomData(new Random(47), ROWS, 1e6);
+        final CovarianceAccumulator acc = new CovarianceAccumulator(DIM);
+        for (int from = 0; from < ROWS; from += 64) {
+            final int nrRows = Math.min(64, ROWS - from);
+            final double[] block = toBlock(data, from, nrRows);
+            // update the column ranges separately as done by concurrent column blocks
+            acc.update(block, null, nrRows, 0, 2);
+            acc.update(block, null, nrRows, 2, DIM);
+        }
+        assertCovariance(new Covariance(data).getCovarianceMatrix(), acc.getCovarianceMatrix());
+    }
+
+    /**
+     * Merges partial results of row ranges and compares the result with Apache's covariance.
+     */
+    @Test
+    public void testMerge() {
+        final double[][] data = randomData(new Random(11), ROWS, 1e6);
+        final CovarianceAccumulator result = new CovarianceAccumulator(DIM);
+        for (int from = 0; from < ROWS; from += 300) {
+            final int nrRows = Math.min(300, ROWS - from);
+            final CovarianceAccumulator partial = new CovarianceAccumulator(DIM);
+            partial.update(toBlock(data, from, nrRows), null, nrRows, 0, DIM);
+            result.merge(partial);
+        }
+        assertEquals(ROWS, result.getCount(1, 3));
+        assertCovariance(new Covariance(data).getCovarianceMatrix(), result.getCovarianceMatrix());
+    }
+
+    /**
+     * Checks that covariances are computed pairwise if values are missing.
+     */
+    @Test
+    public void testMissingValues() {
+        final double[] block = {1, 2, 3, 4, 5, //
+            2, 4, 6, 8, 10, //
+            3, 6, 9, 12, 15};
+        final boolean[] missing = new boolean[block.length];
+        missing[DIM + 4] = true;
+        final CovarianceAccumulator acc = new CovarianceAccumulator(DIM);
+        acc.update(block, missing, 3, 0, DIM);
+        assertEquals(3, acc.getCount(0, 1));
+        assertEquals(2, acc.getCount(0, 4));
+        assertEquals(2, acc.getCount(4, 4));
+        assertEquals(1.0, acc.getCovariance(0, 0), 1e-12);
+        assertEquals(2 * 1.0, acc.getCovariance(0, 1), 1e-12);
+        // rows 0 and 2 only
+        assertEquals(10.0, acc.getMean(4), 1e-12);
+        assertEquals(2 * 5.0, acc.getCovariance(0, 4), 1e-12);
+        assertTrue(Double.isNaN(new CovarianceAccumulator(DIM).getCovariance(0, 1)));
+    }
+
+    /**
+     * Checks the variances of the columns of a pair over the rows in which both columns have a value.
+     */
+    @Test
+    public void testPairVariances() {
+        final double[] block = {1, 2, 3, 4, 5, //
+            2, 4, 6, 8, 10, //
+            4, 6, 9, 12, 15};
+        final boolean[] missing = new boolean[block.length];
+        missing[DIM + 4] = true;
+        final CovarianceAccumulator first = new CovarianceAccumulator(DIM, true);
+        first.update(block, missing, 2, 0, DIM);
+        final CovarianceAccumulator second = new CovarianceAccumulator(DIM, true);
+        second.update(Arrays.copyOfRange(block, 2 * DIM, 3 * DIM), null, 1, 0, DIM);
+        first.merge(second);
+        // column 0 over all rows and over rows 0 and 2 only
+        assertEquals(7.0 / 3, first.getMean(0, 1), 1e-12);
+        assertEquals(new Variance().evaluate(new double[]{1, 2, 4}), first.getVariance(0, 1), 1e-12);
+        assertEquals(2.5, first.getMean(0, 4), 1e-12);
+        assertEquals(4.5, first.getVariance(0, 4), 1e-12);
+        assertEquals(50.0, first.getVariance(4, 0), 1e-12);
+        assertEquals(first.getCovariance(3, 3), first.getVariance(3, 1), 1e-12);
+    }
+
+    private static double[][] randomData(final Random random, final int rows, final double offset) {
+        final double[][] data = new double[rows][DIM];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < DIM; c++) {
+                // a large offset makes naive sum of squares computations numerically unstable
+                data[r][c] = offset + random.nextGaussian() * (c + 1);
+            }
+        }
+        return data;
+    }
+
+    private static double[] toBlock(final double[][] data, final int from, final int nrRows) {
+        final double[] block = new double[nrRows * DIM];
+        for (int r = 0; r < nrRows; r++) {
+            System.arraycopy(data[from + r], 0, block, r * DIM, DIM);
+        }
+        return block;
+    }
+
+    private static void assertCovariance(final RealMatrix expected, final RealMatrix actual) {
+        for (int i = 0; i < DIM; i++) {
+            for (int j = 0; j < DIM; j++) {
+                assertEquals("Row: " + i + " Col: " + j, expected.getEntry(i, j), actual.getEntry(i, j), 1e-6);
+            }
+        }
+    }
+}
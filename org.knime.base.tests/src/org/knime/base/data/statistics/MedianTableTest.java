@@ -46,6 +46,7 @@
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Random;
 
@@ -145,4 +146,25 @@ public void testMedianValues() throws CanceledExecutionException {
         assertEquals(.5, medianValues[3], 1E-20);
     }
 
+    /**
+     * Compares the selection based median with the median of the sorted values.
+     */
+    @Test
+    public void testSelectMedian() {
+        Random random = new Random(11);
+        for (int i = 0; i < 1000; i++) {
+            int count = random.nextInt(50);
+            double[] values = new double[count];
+            for (int j = 0; j < count; j++) {
+                values[j] = random.nextInt(10) == 0 ? Double.NaN : random.nextInt(7);
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            int validCount = count == 0 ? 0 : random.nextInt(count + 2);
+            double expected = validCount / 2 >= count ? Double.NaN
+                : (sorted[validCount > 0 ? (validCount - 1) / 2 : 0] + sorted[validCount / 2]) / 2;
+            assertEquals(expected, MedianTable.median(values, count, validCount), 0.0);
+        }
+    }
+
 }
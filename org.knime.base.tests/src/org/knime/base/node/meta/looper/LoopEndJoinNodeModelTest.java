@@ -0,0 +1,259 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.meta.looper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.preproc.joiner.Joiner;
+import org.knime.base.node.preproc.joiner.Joiner2Settings;
+import org.knime.base.node.preproc.joiner.Joiner2Settings.CompositionMode;
+import org.knime.base.node.preproc.joiner.Joiner2Settings.DuplicateHandling;
+import org.knime.base.node.preproc.joiner.Joiner2Settings.JoinMode;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the table the {@link LoopEndJoinNodeModel} collects, if the rows may differ between the iterations, with
+ * joining the input of each iteration on the row keys.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class LoopEndJoinNodeModelTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("a", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("b", StringCell.TYPE).createSpec());
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that the inputs with the same rows are stitched in their row order, for more iterations than column
+     * chunks are kept.
+     *
+     * @throws Exception if the loop fails
+     */
+    @Test
+    public void testAlignedIterations() throws Exception {
+        final List<BufferedDataTable> inputs = new ArrayList<>();
+        for (int i = 0; i < 2 * LoopEndJoinNodeModel.MAX_NR_COLUMN_CHUNKS + 7; i++) {
+            inputs.add(createTable(i, 0, 30));
+        }
+        final BufferedDataTable actual = runLoop(inputs);
+        assertEquals(2 * inputs.size(), actual.getDataTableSpec().getNumColumns());
+        assertEquals("a (Iter #1)", actual.getDataTableSpec().getColumnSpec(2).getName());
+        assertTablesEqual(join(inputs), actual);
+        long i = 0;
+        for (final DataRow row : actual) {
+            assertEquals(RowKey.createRowKey(i++), row.getKey());
+        }
+    }
+
+    /**
+     * Checks that the collected table is joined with the following inputs once an iteration has different rows.
+     *
+     * @throws Exception if the loop fails
+     */
+    @Test
+    public void testSwitchToJoinMidway() throws Exception {
+        final List<BufferedDataTable> inputs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            inputs.add(createTable(i, 0, 30));
+        }
+        inputs.add(createTable(5, 10, 50));
+        inputs.add(createTable(6, 0, 30));
+        inputs.add(createTable(7, 0, 20));
+        assertTablesEqual(join(inputs), runLoop(inputs));
+    }
+
+    /**
+     * Checks that a single iteration returns its input.
+     *
+     * @throws Exception if the loop fails
+     */
+    @Test
+    public void testSingleIteration() throws Exception {
+        final List<BufferedDataTable> inputs = new ArrayList<>();
+        inputs.add(createTable(0, 0, 30));
+        assertTablesEqual(inputs.get(0), runLoop(inputs));
+    }
+
+    private BufferedDataTable runLoop(final List<BufferedDataTable> inputs) throws Exception {
+        final LoopEndJoinNodeModel model = new LoopEndJoinNodeModel(false);
+        final LoopEndJoinNodeConfiguration configuration = new LoopEndJoinNodeConfiguration();
+        configuration.setHasSameRowsInEachIteration(false);
+        final NodeSettings settings = new NodeSettings("loop end");
+        configuration.saveConfiguration(settings);
+        model.loadValidatedSettingsFrom(settings);
+        BufferedDataTable result = null;
+        for (int i = 0; i < inputs.size(); i++) {
+            final boolean isLastIteration = i == inputs.size() - 1;
+            result = model.appendIteration(inputs.get(i), isLastIteration, m_exec);
+            if (isLastIteration) {
+                assertNotNull(result);
+            } else {
+                assertNull(result);
+            }
+        }
+        return result;
+    }
+
+    /** Joins the inputs one after another on the row keys, the way the node did before stitching them. */
+    private BufferedDataTable join(final List<BufferedDataTable> inputs) throws Exception {
+        BufferedDataTable joined = inputs.get(0);
+        for (int i = 1; i < inputs.size(); i++) {
+            final Joiner2Settings settings = new Joiner2Settings();
+            settings.setCompositionMode(CompositionMode.MatchAll);
+            settings.setDuplicateColumnSuffix(" (Iter #" + i + ")");
+            settings.setDuplicateHandling(DuplicateHandling.AppendSuffix);
+            settings.setEnableHiLite(false);
+            settings.setJoinMode(JoinMode.FullOuterJoin);
+            settings.setLeftIncludeAll(true);
+            settings.setRightIncludeAll(true);
+            settings.setLeftJoinColumns(new String[]{"$RowID$"});
+            settings.setRightJoinColumns(new String[]{"$RowID$"});
+            final BufferedDataTable right = rename(inputs.get(i), joined.getDataTableSpec(), i);
+            joined = new Joiner(joined.getDataTableSpec(), right.getDataTableSpec(), settings)
+                .computeJoinTable(joined, right, m_exec);
+        }
+        return joined;
+    }
+
+    private BufferedDataTable rename(final BufferedDataTable table, final DataTableSpec collectedSpec,
+        final int iteration) {
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[table.getDataTableSpec().getNumColumns()];
+        for (int c = 0; c < colSpecs.length; c++) {
+            final DataColumnSpec cs = table.getDataTableSpec().getColumnSpec(c);
+            colSpecs[c] = collectedSpec.containsName(cs.getName())
+                ? new DataColumnSpecCreator(cs.getName() + " (Iter #" + iteration + ")", cs.getType()).createSpec()
+                : cs;
+        }
+        return m_exec.createSpecReplacerTable(table, new DataTableSpec(colSpecs));
+    }
+
+    /**
+     * Compares the column names and types and the rows by their keys, the joiner does not necessarily keep the row
+     * order.
+     */
+    private static void assertTablesEqual(final BufferedDataTable expected, final BufferedDataTable actual) {
+        final DataTableSpec expectedSpec = expected.getDataTableSpec();
+        final DataTableSpec actualSpec = actual.getDataTableSpec();
+        assertEquals(Arrays.asList(expectedSpec.getColumnNames()), Arrays.asList(actualSpec.getColumnNames()));
+        for (int c = 0; c < expectedSpec.getNumColumns(); c++) {
+            assertEquals(expectedSpec.getColumnSpec(c).getType(), actualSpec.getColumnSpec(c).getType());
+        }
+        final Map<RowKey, DataRow> expectedRows = toMap(expected);
+        final Map<RowKey, DataRow> actualRows = toMap(actual);
+        assertEquals(expectedRows.keySet(), actualRows.keySet());
+        for (final DataRow row : expectedRows.values()) {
+            final DataRow actualRow = actualRows.get(row.getKey());
+            for (int c = 0; c < row.getNumCells(); c++) {
+                assertEquals(row.getKey() + ", column " + c, row.getCell(c), actualRow.getCell(c));
+            }
+        }
+    }
+
+    private static Map<RowKey, DataRow> toMap(final BufferedDataTable table) {
+        final Map<RowKey, DataRow> rows = new LinkedHashMap<>();
+        for (final DataRow row : table) {
+            rows.put(row.getKey(), row);
+        }
+        return rows;
+    }
+
+    /** Creates the input of an iteration with the rows <code>[from, to)</code>. */
+    private BufferedDataTable createTable(final int iteration, final int from, final int to) {
+        final BufferedDataContainer cont = m_exec.createDataContainer(SPEC);
+        for (int i = from; i < to; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(iteration * 1000 + i),
+                new StringCell(iteration + "-" + i)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+}
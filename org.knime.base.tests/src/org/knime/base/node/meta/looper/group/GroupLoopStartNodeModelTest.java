@@ -0,0 +1,286 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.meta.looper.group;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.util.filter.NameFilterConfiguration.EnforceOption;
+import org.knime.core.node.util.filter.column.DataColumnSpecFilterConfiguration;
+import org.knime.core.node.workflow.FlowObjectStack;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.VariableType;
+import org.knime.core.util.DuplicateKeyException;
+
+/**
+ * Tests the groups and flow variables of the {@link GroupLoopStartNodeModel} per iteration.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class GroupLoopStartNodeModelTest {
+
+    static {
+        // the iterations are executed without a loop end node, which is asserted to be set after the first one
+        GroupLoopStartNodeModelTest.class.getClassLoader()
+            .setClassAssertionStatus(GroupLoopStartNodeModel.class.getName(), false);
+    }
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("group", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("value", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("number", IntCell.TYPE).createSpec());
+
+    private static final String[] GROUP_COLS = {"group", "number"};
+
+    private ExecutionContext m_exec;
+
+    private Node m_node;
+
+    /**
+     * Creates the node and the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> factory = (NodeFactory)new GroupLoopStartNodeFactory();
+        m_node = new Node(factory);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), m_node,
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that an empty table results in a single iteration with an empty table.
+     *
+     * @throws Exception if the execution fails
+     */
+    @Test
+    public void testEmptyTable() throws Exception {
+        for (final boolean sortedInput : new boolean[]{false, true}) {
+            final List<Iteration> iterations = run(createTable(new String[0], new int[0]), sortedInput);
+            assertEquals(1, iterations.size());
+            assertTrue(iterations.get(0).m_rows.isEmpty());
+            assertEquals(0, iterations.get(0).m_variables.get("currentIteration").getIntValue());
+            assertEquals("", iterations.get(0).m_variables.get("groupIdentifier").getStringValue());
+        }
+    }
+
+    /**
+     * Checks that a table consisting of a single group is returned in a single iteration.
+     *
+     * @throws Exception if the execution fails
+     */
+    @Test
+    public void testSingleGroup() throws Exception {
+        for (final boolean sortedInput : new boolean[]{false, true}) {
+            final BufferedDataTable table = createTable(new String[]{"a", "a", "a"}, new int[]{1, 1, 1});
+            final List<Iteration> iterations = run(table, sortedInput);
+            assertEquals(1, iterations.size());
+            assertEquals(keys(table), keys(iterations.get(0).m_rows));
+            assertVariables(iterations.get(0), 0, "a", 1);
+        }
+    }
+
+    /**
+     * Checks the groups of an unsorted table, including a missing group value, and the flow variables pushed in each
+     * iteration.
+     *
+     * @throws Exception if the execution fails
+     */
+    @Test
+    public void testGroupsAndFlowVariables() throws Exception {
+        final Random random = new Random(0);
+        final int nrRows = 500;
+        final String[] groups = new String[nrRows];
+        final int[] numbers = new int[nrRows];
+        for (int i = 0; i < nrRows; i++) {
+            groups[i] = random.nextInt(20) == 0 ? null : "g" + random.nextInt(5);
+            numbers[i] = random.nextInt(3);
+        }
+        final BufferedDataTable table = createTable(groups, numbers);
+        final List<Iteration> iterations = run(table, false);
+
+        final Set<String> groupIdentifiers = new HashSet<>();
+        final Set<RowKey> rowKeys = new HashSet<>();
+        for (int i = 0; i < iterations.size(); i++) {
+            final Iteration iteration = iterations.get(i);
+            assertFalse(iteration.m_rows.isEmpty());
+            final DataRow first = iteration.m_rows.get(0);
+            for (final DataRow row : iteration.m_rows) {
+                assertEquals(first.getCell(0), row.getCell(0));
+                assertEquals(first.getCell(2), row.getCell(2));
+                assertTrue(rowKeys.add(row.getKey()));
+            }
+            final DataCell group = first.getCell(0);
+            assertVariables(iteration, i, group.isMissing() ? "" : ((StringValue)group).getStringValue(),
+                ((IntValue)first.getCell(2)).getIntValue());
+            final String groupIdentifier = iteration.m_variables.get("groupIdentifier").getStringValue();
+            assertEquals("%" + group + "%%" + first.getCell(2) + "%", groupIdentifier);
+            assertTrue(groupIdentifiers.add(groupIdentifier));
+        }
+        assertEquals(keys(table).size(), rowKeys.size());
+    }
+
+    /**
+     * Checks that an unsorted table fails if the input is declared as sorted.
+     *
+     * @throws Exception if the execution fails for another reason
+     */
+    @Test
+    public void testUnsortedInputDeclaredSorted() throws Exception {
+        final BufferedDataTable table =
+            createTable(new String[]{"a", "a", "b", "c", "a", "d"}, new int[]{1, 1, 1, 1, 1, 1});
+        try {
+            run(table, true);
+            fail("Unsorted input has not been detected");
+        } catch (DuplicateKeyException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("not sorted"));
+        }
+    }
+
+    /** Executes the loop start node until it terminates the loop and returns the outputs of the iterations. */
+    private List<Iteration> run(final BufferedDataTable table, final boolean sortedInput) throws Exception {
+        final GroupLoopStartNodeModel model = (GroupLoopStartNodeModel)m_node.getNodeModel();
+        final NodeSettings settings = new NodeSettings("group loop start");
+        final DataColumnSpecFilterConfiguration filter =
+            new DataColumnSpecFilterConfiguration(GroupLoopStartConfigKeys.COLUMN_NAMES);
+        filter.loadDefaults(GROUP_COLS, new String[0], EnforceOption.EnforceInclusion);
+        filter.saveConfiguration(settings.addNodeSettings(GroupLoopStartConfigKeys.COLUMN_NAMES));
+        final SettingsModelBoolean sorted = GroupLoopStartNodeDialog.getSortedInputTableModel();
+        sorted.setBooleanValue(sortedInput);
+        sorted.saveSettingsTo(settings);
+        model.validateSettings(settings);
+        model.loadValidatedSettingsFrom(settings);
+        model.reset();
+
+        final List<Iteration> iterations = new ArrayList<>();
+        do {
+            final FlowObjectStack outgoing = new FlowObjectStack(new NodeID(0));
+            m_node.setFlowObjectStack(new FlowObjectStack(new NodeID(0)), outgoing);
+            final BufferedDataTable result = model.execute(new BufferedDataTable[]{table}, m_exec)[0];
+            final List<DataRow> rows = new ArrayList<>();
+            result.forEach(rows::add);
+            iterations.add(new Iteration(rows, outgoing.getAvailableFlowVariables(VariableType.IntType.INSTANCE,
+                VariableType.DoubleType.INSTANCE, VariableType.StringType.INSTANCE)));
+            assertTrue("Loop does not terminate", iterations.size() <= table.size() + 1);
+        } while (!model.terminateLoop());
+        return iterations;
+    }
+
+    private static void assertVariables(final Iteration iteration, final int index, final String group,
+        final int number) {
+        assertEquals(index, iteration.m_variables.get("currentIteration").getIntValue());
+        assertEquals(group, iteration.m_variables.get("group").getStringValue());
+        assertEquals(number, iteration.m_variables.get("number").getIntValue());
+    }
+
+    private BufferedDataTable createTable(final String[] groups, final int[] numbers) {
+        final BufferedDataContainer cont = m_exec.createDataContainer(SPEC);
+        for (int i = 0; i < groups.length; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                groups[i] == null ? DataType.getMissingCell() : new StringCell(groups[i]), new DoubleCell(i),
+                new IntCell(numbers[i])));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private static List<RowKey> keys(final Iterable<DataRow> rows) {
+        final List<RowKey> keys = new ArrayList<>();
+        for (final DataRow row : rows) {
+            keys.add(row.getKey());
+        }
+        return keys;
+    }
+
+    private static final class Iteration {
+
+        private final List<DataRow> m_rows;
+
+        private final Map<String, FlowVariable> m_variables;
+
+        Iteration(final List<DataRow> rows, final Map<String, FlowVariable> variables) {
+            m_rows = rows;
+            m_variables = variables;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.meta.xvalidation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests the {@link FoldAssignment}, in particular that it assigns the rows like the former <code>short</code> array.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class FoldAssignmentTest {
+
+    /**
+     * Checks that folds spanning two words are stored correctly.
+     */
+    @Test
+    public void testPacking() {
+        final FoldAssignment folds = new FoldAssignment(1000, 100);
+        final Random rand = new Random(7);
+        final int[] expected = new int[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = rand.nextInt(100);
+            folds.set(i, expected[i]);
+        }
+        // overwrite some values, which must not change the neighbors
+        for (int i = 0; i < expected.length; i += 3) {
+            expected[i] = 99 - expected[i];
+            folds.set(i, expected[i]);
+        }
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Wrong fold for row " + i, expected[i], folds.get(i));
+        }
+    }
+
+    /**
+     * Compares linear and random sampling with the former implementation.
+     */
+    @Test
+    public void testLinearAndRandom() {
+        for (final int size : new int[]{0, 1, 9, 10, 11, 1234}) {
+            final short[] linear = legacyLinear(size, 10);
+            assertFolds(linear, FoldAssignment.linear(size, 10));
+
+            final Random rand = new Random(42);
+            for (int i = 0; i < linear.length; i++) {
+                final int pos = rand.nextInt(linear.length);
+                final short x = linear[pos];
+                linear[pos] = linear[i];
+                linear[i] = x;
+            }
+            assertFolds(linear, FoldAssignment.random(size, 10, new Random(42)));
+        }
+    }
+
+    /**
+     * Compares stratified sampling with the former implementation.
+     */
+    @Test
+    public void testStratified() {
+        final DataCell[] classes = {new StringCell("a"), new StringCell("b"), new StringCell("c")};
+        final Random rand = new Random(3);
+        final int size = 500;
+        final int nrFolds = 7;
+        final long seed = 11;
+
+        final FoldAssignment.Strata strata = new FoldAssignment.Strata();
+        final Map<DataCell, List<Integer>> rowsPerClass = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            final DataCell c = classes[rand.nextInt(rand.nextBoolean() ? 1 : classes.length)];
+            strata.add(c);
+            rowsPerClass.computeIfAbsent(c, k -> new ArrayList<>()).add(i);
+        }
+        final short[] expected = new short[size];
+        int part = 0;
+        for (final List<Integer> rows : rowsPerClass.values()) {
+            Collections.shuffle(rows, new Random(seed));
+            for (final Integer i : rows) {
+                expected[i] = (short)part++;
+                part %= nrFolds;
+            }
+        }
+        assertFolds(expected, strata.assign(nrFolds, seed));
+    }
+
+    private static short[] legacyLinear(final int size, final int nrFolds) {
+        final short[] partNumbers = new short[size];
+        final double partSize = partNumbers.length / (double)nrFolds;
+        for (int i = 0; i < partNumbers.length; i++) {
+            partNumbers[i] = (short)Math.min(i / partSize, partNumbers.length);
+        }
+        return partNumbers;
+    }
+
+    private static void assertFolds(final short[] expected, final FoldAssignment folds) {
+        assertEquals("Wrong number of rows", expected.length, folds.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Wrong fold for row " + i, expected[i], folds.get(i));
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.cluster.hierarchical;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.cluster.hierarchical.HierarchicalClusterNodeModel.Linkage;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.DistanceFunction;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.EuclideanDist;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.ManhattanDist;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.MinkowskiDist;
+import org.knime.base.node.util.DataArray;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelFilterString;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the {@link HierarchicalClusterNodeModel}, which computes the distances on rows packed once, with clustering
+ * the rows by computing the distances of the rows themselves.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class HierarchicalClusterNodeModelTest {
+
+    private static final List<String> CLUSTER_COLS = Arrays.asList("x", "z");
+
+    private static final int NR_CLUSTERS = 4;
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that the node yields the same output table, fusion distances and cluster tree as clustering the rows
+     * directly, for both distance functions, all linkages and with and without caching the distances, on rows with
+     * missing values.
+     *
+     * @throws Exception if the clustering fails
+     */
+    @Test
+    public void testClusteringEqualsRowDistances() throws Exception {
+        final BufferedDataTable table = createTable(80, 0);
+        for (final DistanceFunction.Names distance : DistanceFunction.Names.values()) {
+            for (final Linkage linkage : Linkage.values()) {
+                for (final boolean cacheDistances : new boolean[]{true, false}) {
+                    final String message = distance + ", " + linkage + ", cache " + cacheDistances;
+                    final HierarchicalClusterNodeModel model = createModel(distance, linkage, cacheDistances);
+                    final BufferedDataTable actual = model.execute(new BufferedDataTable[]{table}, m_exec)[0];
+
+                    final List<Float> fusionDistances = new ArrayList<>();
+                    final List<DataRow> expected = new ArrayList<>();
+                    final ClusterNode expectedRoot = cluster(table, distance, linkage, fusionDistances, expected);
+
+                    assertRowsEqual(message, expected, actual);
+                    final DataArray fusionTable = model.getDataArray(0);
+                    assertEquals(message, fusionDistances.size(), fusionTable.size());
+                    for (int i = 0; i < fusionDistances.size(); i++) {
+                        final DataRow fusion = fusionTable.getRow(i);
+                        assertEquals(message, table.size() - i - 1, ((IntValue)fusion.getCell(0)).getIntValue());
+                        assertEquals(message, fusionDistances.get(i),
+                            ((DoubleValue)fusion.getCell(1)).getDoubleValue(), 1e-5);
+                    }
+                    assertEquals(message, leafIndices(expectedRoot), leafIndices(model.getRootNode()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that a single row results in a single cluster without fusions.
+     *
+     * @throws Exception if the clustering fails
+     */
+    @Test
+    public void testSingleRow() throws Exception {
+        final BufferedDataTable table = createTable(1, 1);
+        final HierarchicalClusterNodeModel model =
+            createModel(DistanceFunction.Names.Euclidean, Linkage.SINGLE, true);
+        final BufferedDataTable actual = model.execute(new BufferedDataTable[]{table}, m_exec)[0];
+        assertEquals(1, actual.size());
+        assertEquals(0, model.getDataArray(0).size());
+    }
+
+    private static HierarchicalClusterNodeModel createModel(final DistanceFunction.Names distance,
+        final Linkage linkage, final boolean cacheDistances) throws Exception {
+        final NodeSettings settings = new NodeSettings("hierarchical");
+        final SettingsModelIntegerBounded nrClusters = HierarchicalClusterNodeDialog.createSettingsNumberOfClusters();
+        nrClusters.setIntValue(NR_CLUSTERS);
+        nrClusters.saveSettingsTo(settings);
+        final SettingsModelString distanceFunction = HierarchicalClusterNodeDialog.createSettingsDistanceFunction();
+        distanceFunction.setStringValue(distance.name());
+        distanceFunction.saveSettingsTo(settings);
+        final SettingsModelString linkageType = HierarchicalClusterNodeDialog.createSettingsLinkageType();
+        linkageType.setStringValue(linkage.name());
+        linkageType.saveSettingsTo(settings);
+        final SettingsModelBoolean cache = HierarchicalClusterNodeDialog.createSettingsCacheKeys();
+        cache.setBooleanValue(cacheDistances);
+        cache.saveSettingsTo(settings);
+        final SettingsModelFilterString columns = HierarchicalClusterNodeDialog.createSettingsColumns();
+        columns.setIncludeList(CLUSTER_COLS);
+        columns.saveSettingsTo(settings);
+
+        final HierarchicalClusterNodeModel model = new HierarchicalClusterNodeModel();
+        model.validateSettings(settings);
+        model.loadValidatedSettingsFrom(settings);
+        return model;
+    }
+
+    /**
+     * Clusters the rows the way the node did before the rows were packed, i.e. computing the distance of two rows by
+     * {@link MinkowskiDist#calcDistance(DataRow, DataRow, int[])} whenever it is needed.
+     *
+     * @return the root of the cluster tree
+     */
+    private static ClusterNode cluster(final BufferedDataTable table, final DistanceFunction.Names distance,
+        final Linkage linkage, final List<Float> fusionDistances, final List<DataRow> output) {
+        final MinkowskiDist dist = distance == DistanceFunction.Names.Manhattan ? ManhattanDist.MANHATTEN_DISTANCE
+            : EuclideanDist.EUCLIDEAN_DISTANCE;
+        final int[] cols = CLUSTER_COLS.stream().mapToInt(table.getDataTableSpec()::findColumnIndex).toArray();
+        final List<DataRow> rows = new ArrayList<>();
+        table.forEach(rows::add);
+        final List<ClusterNode> clusters = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            clusters.add(new ClusterNode(rows.get(i), i));
+        }
+        while (clusters.size() > 1) {
+            if (clusters.size() == NR_CLUSTERS) {
+                addClusters(clusters, output);
+            }
+            float smallest = Float.MAX_VALUE;
+            ClusterNode closest1 = null;
+            ClusterNode closest2 = null;
+            for (int i = 0; i < clusters.size(); i++) {
+                for (int j = i + 1; j < clusters.size(); j++) {
+                    float d = linkage == Linkage.SINGLE ? Float.MAX_VALUE : 0;
+                    for (final ClusterNode leaf1 : clusters.get(i).leafs()) {
+                        for (final ClusterNode leaf2 : clusters.get(j).leafs()) {
+                            final float f = (float)dist.calcDistance(rows.get(leaf1.getRowIndex()),
+                                rows.get(leaf2.getRowIndex()), cols);
+                            if (linkage == Linkage.SINGLE) {
+                                d = Math.min(d, f);
+                            } else if (linkage == Linkage.COMPLETE) {
+                                d = Math.max(d, f);
+                            } else {
+                                d += f;
+                            }
+                        }
+                    }
+                    if (linkage == Linkage.AVERAGE) {
+                        d /= clusters.get(i).getLeafCount() * clusters.get(j).getLeafCount();
+                    }
+                    if (d < smallest) {
+                        smallest = d;
+                        closest1 = clusters.get(i);
+                        closest2 = clusters.get(j);
+                    }
+                }
+            }
+            final ClusterNode merged = new ClusterNode(closest1, closest2, smallest);
+            clusters.remove(closest1);
+            clusters.remove(closest2);
+            clusters.add(merged);
+            fusionDistances.add(smallest);
+        }
+        if (output.isEmpty()) {
+            addClusters(clusters, output);
+        }
+        return clusters.isEmpty() ? null : clusters.get(0);
+    }
+
+    private static void addClusters(final List<ClusterNode> clusters, final List<DataRow> output) {
+        for (int i = 0; i < clusters.size(); i++) {
+            for (final DataRow row : clusters.get(i).getAllDataRows()) {
+                final List<DataCell> cells = new ArrayList<>();
+                row.forEach(cells::add);
+                cells.add(new StringCell("cluster_" + i));
+                output.add(new DefaultRow(row.getKey(), cells));
+            }
+        }
+    }
+
+    private static List<Integer> leafIndices(final ClusterNode root) {
+        final List<Integer> indices = new ArrayList<>();
+        for (final ClusterNode leaf : root.leafs()) {
+            indices.add(leaf.getRowIndex());
+        }
+        return indices;
+    }
+
+    private static void assertRowsEqual(final String message, final List<DataRow> expected,
+        final BufferedDataTable actual) {
+        assertEquals(message, expected.size(), actual.size());
+        final List<DataRow> actualRows = new ArrayList<>();
+        actual.forEach(actualRows::add);
+        for (int i = 0; i < expected.size(); i++) {
+            final DataRow e = expected.get(i);
+            final DataRow a = actualRows.get(i);
+            assertEquals(message, e.getKey(), a.getKey());
+            assertEquals(message, e.getNumCells(), a.getNumCells());
+            for (int c = 0; c < e.getNumCells(); c++) {
+                assertEquals(message, e.getCell(c), a.getCell(c));
+            }
+        }
+    }
+
+    /** Creates a table with three double columns, of which two are clustered, with missing values and a label. */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("x", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("y", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("z", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("label", StringCell.TYPE).createSpec());
+        final BufferedDataContainer cont = m_exec.createDataContainer(spec);
+        for (int i = 0; i < nrRows; i++) {
+            // a few well separated groups of rows
+            final double center = 10 * random.nextInt(5);
+            final DataCell[] cells = new DataCell[4];
+            for (int c = 0; c < 3; c++) {
+                cells[c] = random.nextInt(25) == 0 ? DataType.getMissingCell()
+                    : new DoubleCell(center + 3 * random.nextGaussian());
+            }
+            cells[3] = new StringCell("r" + i);
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), cells));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+}
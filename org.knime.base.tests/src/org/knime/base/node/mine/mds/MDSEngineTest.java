@@ -0,0 +1,190 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.mds;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.util.distance.DistanceKernel;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests the {@link MDSEngine} against a straightforward sequential implementation of the epochs.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class MDSEngineTest {
+
+    private static final int DIMENSION = 2;
+
+    private static final int LENGTH = 4;
+
+    private static final double LEARNING_RATE = 0.5;
+
+    private static final double THRESHOLD = 0.0001;
+
+    private static final DistanceKernel KERNEL = DistanceKernel.euclidean();
+
+    /**
+     * Checks that a projection onto reference points computed in parallel is exactly the sequential one, including
+     * points that are placed at a reference point because their rows are nearly equal.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testProjection() throws CanceledExecutionException {
+        final Random rand = new Random(7);
+        final int nrPoints = 6000;
+        final int nrReferences = 40;
+        final double[] rows = randomValues(rand, nrPoints * LENGTH);
+        final double[] referenceRows = randomValues(rand, nrReferences * LENGTH);
+        // some rows equal a reference row
+        for (int i = 0; i < nrPoints; i += 97) {
+            System.arraycopy(referenceRows, (i % nrReferences) * LENGTH, rows, i * LENGTH, LENGTH);
+        }
+        final double[] coordinates = randomValues(rand, nrPoints * DIMENSION);
+        final double[] references = randomValues(rand, nrReferences * DIMENSION);
+        final MDSEngine.Distances distances =
+            (i, r) -> KERNEL.distance(rows, i * LENGTH, referenceRows, r * LENGTH, LENGTH);
+
+        final double[] expected = coordinates.clone();
+        final boolean[] unmodifiable = new boolean[nrPoints];
+        final MDSEngine engine = new MDSEngine(DIMENSION, coordinates, references, distances, null);
+        engine.setMinDistanceThreshold(THRESHOLD);
+        engine.cacheDistances(new ExecutionMonitor());
+        for (int e = 0; e < 5; e++) {
+            final double learningRate = LEARNING_RATE / (e + 1);
+            for (int i = 0; i < nrPoints; i++) {
+                for (int r = 0; r < nrReferences; r++) {
+                    adjust(expected, unmodifiable, i, references, r, distances.get(i, r), learningRate);
+                }
+            }
+            engine.doEpoch(learningRate, new ExecutionMonitor());
+        }
+        assertArrayEquals(expected, engine.getCoordinates(), 0);
+    }
+
+    /**
+     * Checks the sequential and the parallel adjustment of the points to each other.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testAdjustToEachOther() throws CanceledExecutionException {
+        final Random rand = new Random(11);
+        final int nrPoints = 400;
+        final double[] rows = randomValues(rand, nrPoints * LENGTH);
+        final double[] coordinates = randomValues(rand, nrPoints * DIMENSION);
+        final MDSEngine.Distances distances =
+            (i, j) -> KERNEL.distance(rows, i * LENGTH, rows, j * LENGTH, LENGTH);
+
+        // sequentially, each point moves towards the current positions of the others
+        final double[] sequential = coordinates.clone();
+        final boolean[] sequentialUnmodifiable = new boolean[nrPoints];
+        final MDSEngine sequentialEngine = new MDSEngine(DIMENSION, coordinates.clone(), new double[0], null,
+            distances);
+        sequentialEngine.setParallel(false);
+        // in parallel, each point moves towards the positions of the others at the beginning of the epoch
+        final double[] parallel = coordinates.clone();
+        final boolean[] parallelUnmodifiable = new boolean[nrPoints];
+        final MDSEngine parallelEngine = new MDSEngine(DIMENSION, coordinates.clone(), new double[0], null,
+            distances);
+        parallelEngine.cacheDistances(new ExecutionMonitor());
+
+        for (int e = 0; e < 3; e++) {
+            final double learningRate = LEARNING_RATE / (e + 1);
+            final double[] others = parallel.clone();
+            for (int i = 0; i < nrPoints; i++) {
+                for (int j = 0; j < nrPoints; j++) {
+                    if (i != j) {
+                        adjust(sequential, sequentialUnmodifiable, i, sequential, j, distances.get(i, j), learningRate);
+                        adjust(parallel, parallelUnmodifiable, i, others, j, distances.get(i, j), learningRate);
+                    }
+                }
+            }
+            sequentialEngine.doEpoch(learningRate, new ExecutionMonitor());
+            parallelEngine.doEpoch(learningRate, new ExecutionMonitor());
+        }
+        assertArrayEquals(sequential, sequentialEngine.getCoordinates(), 0);
+        assertArrayEquals(parallel, parallelEngine.getCoordinates(), 0);
+    }
+
+    /** The adjustment of the MDS nodes as it has been implemented on their data points. */
+    private static void adjust(final double[] points, final boolean[] unmodifiable, final int i,
+        final double[] target, final int j, final double disparity, final double learningRate) {
+        if (unmodifiable[i]) {
+            return;
+        }
+        final double[] p1 = new double[DIMENSION];
+        final double[] p2 = new double[DIMENSION];
+        System.arraycopy(points, i * DIMENSION, p1, 0, DIMENSION);
+        System.arraycopy(target, j * DIMENSION, p2, 0, DIMENSION);
+        if (disparity <= THRESHOLD) {
+            System.arraycopy(p2, 0, points, i * DIMENSION, DIMENSION);
+            unmodifiable[i] = true;
+            return;
+        }
+        final double distance = KERNEL.distance(p1, p2);
+        if (distance != 0) {
+            for (int d = 0; d < DIMENSION; d++) {
+                points[i * DIMENSION + d] = p1[d] + learningRate * (1 - (disparity / distance)) * (p2[d] - p1[d]);
+            }
+        }
+    }
+
+    private static double[] randomValues(final Random rand, final int count) {
+        final double[] values = new double[count];
+        for (int k = 0; k < count; k++) {
+            values[k] = rand.nextDouble();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.sota.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.sota.SotaNodeModel;
+import org.knime.base.node.mine.sota.distances.DistanceManagerFactory;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the trees the SOTA node trains when its {@link SotaManager} computes the distances by a kernel on values
+ * extracted once with the ones trained when the distance managers compute them on the rows.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class SotaManagerTest {
+
+    private static final int NR_COLS = 5;
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that the Euclidean and cosine distance yield the same tree, with and without variability as the
+     * criterion to split cells, on rows with missing values.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testKernelEqualsDistanceManager() throws Exception {
+        final BufferedDataTable table = createTable(300, 0);
+        for (final String distance : new String[]{DistanceManagerFactory.EUCLIDEAN_DIST,
+            DistanceManagerFactory.COS_DIST}) {
+            for (final boolean useVariability : new boolean[]{false, true}) {
+                final String message = distance + ", variability " + useVariability;
+                final SotaTreeCell expected = train(table, distance, useVariability, false);
+                final SotaTreeCell actual = train(table, distance, useVariability, true);
+                assertTreesEqual(message, expected, actual);
+            }
+        }
+    }
+
+    private SotaTreeCell train(final BufferedDataTable table, final String distance, final boolean useVariability,
+        final boolean useKernel) throws Exception {
+        final TestModel model = new TestModel();
+        final SotaManager sota = model.getSotaManager();
+        sota.setDistance(distance);
+        sota.setUseVariability(useVariability);
+        sota.setUseKernel(useKernel);
+        model.execute(table, m_exec);
+        assertNotNull(sota.getRoot());
+        return sota.getRoot();
+    }
+
+    private static void assertTreesEqual(final String message, final SotaTreeCell expected,
+        final SotaTreeCell actual) {
+        assertEquals(message, expected.isCell(), actual.isCell());
+        assertEquals(message, expected.getLevel(), actual.getLevel());
+        assertEquals(message, expected.getDataIds(), actual.getDataIds());
+        assertEquals(message, expected.getData().length, actual.getData().length);
+        for (int i = 0; i < expected.getData().length; i++) {
+            assertEquals(message, expected.getData()[i].getValue(), actual.getData()[i].getValue(), 1e-6);
+        }
+        assertEquals(message, expected.getLeft() == null, actual.getLeft() == null);
+        if (expected.getLeft() != null) {
+            assertTreesEqual(message, expected.getLeft(), actual.getLeft());
+        }
+        assertEquals(message, expected.getRight() == null, actual.getRight() == null);
+        if (expected.getRight() != null) {
+            assertTreesEqual(message, expected.getRight(), actual.getRight());
+        }
+    }
+
+    /** Creates a table of double columns with a few groups of rows and some missing values. */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[NR_COLS];
+        for (int c = 0; c < NR_COLS; c++) {
+            colSpecs[c] = new DataColumnSpecCreator("c" + c, DoubleCell.TYPE).createSpec();
+        }
+        final BufferedDataContainer cont = m_exec.createDataContainer(new DataTableSpec(colSpecs));
+        for (int i = 0; i < nrRows; i++) {
+            final double center = random.nextInt(4);
+            final DataCell[] cells = new DataCell[NR_COLS];
+            for (int c = 0; c < NR_COLS; c++) {
+                cells[c] = random.nextInt(40) == 0 ? DataType.getMissingCell()
+                    : new DoubleCell(center + 0.3 * random.nextGaussian());
+            }
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), cells));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    /** Makes the execution of the node accessible. */
+    private static final class TestModel extends SotaNodeModel {
+
+        TestModel() {
+            super(false);
+        }
+
+        void execute(final BufferedDataTable table, final ExecutionContext exec) throws Exception {
+            execute(new PortObject[]{table}, exec);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.mine.subgroupminer.apriori.AprioriAlgorithmFactory.AlgorithmDataStructure;
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.data.vector.bitvector.DenseBitVectorCellFactory;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Compares the {@link ParallelEclat} with the {@link ArrayApriori} and the {@link TIDApriori}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ParallelEclatTest {
+
+    /**
+     * Checks that the same free, closed and maximal itemsets are found in the same order, including an item occurring
+     * in every transaction and empty transactions.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testSameItemSets() throws CanceledExecutionException {
+        final int nrItems = 40;
+        final List<BitVectorValue> transactions = createTransactions(new Random(3), 2000, nrItems, 0.15);
+        transactions.add(new DenseBitVectorCellFactory(nrItems).createDataCell());
+        for (FrequentItemSet.Type type : FrequentItemSet.Type.values()) {
+            for (int maxDepth : new int[]{1, 3, 10}) {
+                final List<FrequentItemSet> expected =
+                    run(AlgorithmDataStructure.ARRAY, transactions, nrItems, 0.05, maxDepth, type)
+                        .getFrequentItemSets(type);
+                final List<FrequentItemSet> actual =
+                    run(AlgorithmDataStructure.ECLAT, transactions, nrItems, 0.05, maxDepth, type)
+                        .getFrequentItemSets(type);
+                assertTrue(type + " itemsets of length " + maxDepth, expected.size() > 1);
+                assertEquals(type + " itemsets of length " + maxDepth, toString(expected), toString(actual));
+            }
+        }
+    }
+
+    /**
+     * Checks that the same association rules are found in the same order.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testSameAssociationRules() throws CanceledExecutionException {
+        final int nrItems = 30;
+        final List<BitVectorValue> transactions = createTransactions(new Random(5), 1000, nrItems, 0.2);
+        final FrequentItemSet.Type type = FrequentItemSet.Type.CLOSED;
+        final List<AssociationRule> expected =
+            run(AlgorithmDataStructure.ARRAY, transactions, nrItems, 0.04, 4, type).getAssociationRules(0.3);
+        final List<AssociationRule> actual =
+            run(AlgorithmDataStructure.ECLAT, transactions, nrItems, 0.04, 4, type).getAssociationRules(0.3);
+        assertTrue(expected.size() > 1);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final AssociationRule e = expected.get(i);
+            final AssociationRule a = actual.get(i);
+            assertEquals(e.getAntecedent().getItems(), a.getAntecedent().getItems());
+            assertEquals(e.getConsequent().getItems(), a.getConsequent().getItems());
+            assertEquals(e.getSupport(), a.getSupport(), 0);
+            assertEquals(e.getConfidence(), a.getConfidence(), 0);
+            assertEquals(e.getLift(), a.getLift(), 0);
+        }
+    }
+
+    /**
+     * Logs the runtimes of all algorithms on market basket like data with many items. It is not part of the tests as
+     * the runtimes depend on the machine, the first of two runs is the warmup.
+     *
+     * @param args ignored
+     * @throws CanceledExecutionException not expected
+     */
+    public static void main(final String[] args) throws CanceledExecutionException {
+        final int nrItems = 500;
+        final List<BitVectorValue> transactions = createTransactions(new Random(7), 20000, nrItems, 0.02);
+        final FrequentItemSet.Type type = FrequentItemSet.Type.CLOSED;
+        final long[] times = new long[AlgorithmDataStructure.values().length];
+        for (int run = 0; run < 2; run++) {
+            for (AlgorithmDataStructure structure : AlgorithmDataStructure.values()) {
+                final long time = System.currentTimeMillis();
+                run(structure, transactions, nrItems, 0.002, 5, type).getFrequentItemSets(type);
+                times[structure.ordinal()] = System.currentTimeMillis() - time;
+            }
+        }
+        for (AlgorithmDataStructure structure : AlgorithmDataStructure.values()) {
+            NodeLogger.getLogger(ParallelEclatTest.class)
+                .info("frequent itemset mining " + structure + ": " + times[structure.ordinal()] + "ms");
+        }
+    }
+
+    private static AprioriAlgorithm run(final AlgorithmDataStructure structure,
+        final List<BitVectorValue> transactions, final int nrItems, final double minSupport, final int maxDepth,
+        final FrequentItemSet.Type type) throws CanceledExecutionException {
+        final AprioriAlgorithm algorithm =
+            AprioriAlgorithmFactory.getAprioriAlgorithm(structure, nrItems, transactions.size());
+        algorithm.findFrequentItemSets(transactions, minSupport, maxDepth, type, new ExecutionMonitor());
+        return algorithm;
+    }
+
+    /**
+     * Creates transactions of independent items with decreasing probabilities plus some correlated groups of items,
+     * the first item occurs in every transaction.
+     */
+    private static List<BitVectorValue> createTransactions(final Random rand, final int count, final int nrItems,
+        final double density) {
+        final List<BitVectorValue> transactions = new ArrayList<BitVectorValue>(count);
+        for (int t = 0; t < count; t++) {
+            final DenseBitVectorCellFactory factory = new DenseBitVectorCellFactory(nrItems);
+            factory.set(0);
+            for (int i = 1; i < nrItems; i++) {
+                if (rand.nextDouble() < density * 2 * (nrItems - i) / nrItems) {
+                    factory.set(i);
+                }
+            }
+            if (rand.nextDouble() < 0.2) {
+                final int group = 1 + rand.nextInt(nrItems - 4);
+                for (int i = group; i < group + 4; i++) {
+                    if (rand.nextDouble() < 0.9) {
+                        factory.set(i);
+                    }
+                }
+            }
+            transactions.add(factory.createDataCell());
+        }
+        return transactions;
+    }
+
+    private static List<String> toString(final List<FrequentItemSet> sets) {
+        final List<String> result = new ArrayList<String>(sets.size());
+        for (FrequentItemSet set : sets) {
+            result.add(set.getItems() + ":" + set.getSupport() + ":" + set.isClosed());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.autobinner3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.preproc.autobinner.pmml.PMMLDiscretizeBin;
+import org.knime.base.node.preproc.autobinner.pmml.PMMLPreprocDiscretize;
+import org.knime.base.node.preproc.autobinner3.AutoBinnerLearnSettings.EqualityMethod;
+import org.knime.base.node.preproc.autobinner3.AutoBinnerLearnSettings.Method;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.util.filter.NameFilterConfiguration.EnforceOption;
+import org.knime.core.node.util.filter.column.DataColumnSpecFilterConfiguration;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the exact equal count edges of the {@link AutoBinner} with the ones computed column by column from a sorted
+ * list of the values, the way they were computed before the columns were read in a single pass.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class AutoBinnerTest {
+
+    private static final String[] NUMERIC_COLS = {"continuous", "tied", "skewed"};
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator(NUMERIC_COLS[0], DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("name", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator(NUMERIC_COLS[1], IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator(NUMERIC_COLS[2], DoubleCell.TYPE).createSpec());
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks the equal count edges of columns with ties and missing values, with and without integer bounds, for
+     * several numbers of bins and for a table larger than a single row range.
+     *
+     * @throws Exception if the binning fails
+     */
+    @Test
+    public void testEqualCountEdgesEqualPerColumnEdges() throws Exception {
+        for (final int nrRows : new int[]{7, 1000, 25000}) {
+            final BufferedDataTable table = createTable(nrRows, nrRows);
+            for (final boolean integerBounds : new boolean[]{false, true}) {
+                for (final int binCount : new int[]{1, 5, 13}) {
+                    final String message = nrRows + " rows, integer bounds " + integerBounds + ", " + binCount
+                        + " bins";
+                    final PMMLPreprocDiscretize op =
+                        new AutoBinner(createSettings(binCount, integerBounds), SPEC).execute(table, m_exec);
+                    for (final String col : NUMERIC_COLS) {
+                        assertArrayEquals(message + ", " + col,
+                            findEdgesForEqualCount(table, col, binCount, integerBounds), getEdges(op, col), 0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that the columns are passed to the consumer in their order with all their non-missing values sorted.
+     *
+     * @throws Exception if reading the values fails
+     */
+    @Test
+    public void testReadSortedValuesInColumnOrder() throws Exception {
+        final BufferedDataTable table = createTable(25000, 1);
+        final int[] colIndices = {3, 0, 2};
+        final List<Integer> positions = new ArrayList<>();
+        new QuantileEngine(table, colIndices).readSortedValues(m_exec, (values, position) -> {
+            positions.add(position);
+            final List<Double> expected = readValues(table, SPEC.getColumnSpec(colIndices[position]).getName());
+            Collections.sort(expected);
+            assertEquals(expected.size(), values.length);
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(expected.get(i), values[i], 0);
+            }
+        });
+        assertEquals(Arrays.asList(0, 1, 2), positions);
+    }
+
+    private static AutoBinnerLearnSettings createSettings(final int binCount, final boolean integerBounds) {
+        final AutoBinnerLearnSettings settings = new AutoBinnerLearnSettings();
+        settings.setMethod(Method.fixedNumber);
+        settings.setEqualityMethod(EqualityMethod.frequency);
+        settings.setBinCount(binCount);
+        settings.setIntegerBounds(integerBounds);
+        final DataColumnSpecFilterConfiguration filter = AutoBinnerLearnNodeModel.createDCSFilterConfiguration();
+        filter.loadDefaults(NUMERIC_COLS, new String[0], EnforceOption.EnforceInclusion);
+        settings.setFilterConfiguration(filter);
+        return settings;
+    }
+
+    private static double[] getEdges(final PMMLPreprocDiscretize op, final String col) {
+        final List<PMMLDiscretizeBin> bins = op.getConfiguration().getDiscretize(col).getBins();
+        final double[] edges = new double[bins.size() + 1];
+        edges[0] = bins.get(0).getIntervals().get(0).getLeftMargin();
+        for (int i = 0; i < bins.size(); i++) {
+            edges[i + 1] = bins.get(i).getIntervals().get(0).getRightMargin();
+        }
+        return edges;
+    }
+
+    /** The equal count edges as computed from the sorted values of a single column before. */
+    private static double[] findEdgesForEqualCount(final BufferedDataTable table, final String col,
+        final int binCount, final boolean integerBounds) {
+        final List<Double> values = readValues(table, col);
+        Collections.sort(values);
+        int countPerBin = (int)(Math.round(values.size() / (double)binCount));
+        double[] edges = new double[binCount + 1];
+        edges[0] = integerBounds ? Math.floor(values.get(0)) : values.get(0);
+        edges[edges.length - 1] = roundedValue(values.get(values.size() - 1), integerBounds);
+        int startIndex = 0;
+        int index = countPerBin - 1;
+        for (int i = 1; i < edges.length - 1; i++) {
+            if (index < values.size()) {
+                double edge = roundedValue(values.get(index), integerBounds);
+                int lowerIndex = index;
+                while (lowerIndex >= startIndex && !(edge > roundedValue(values.get(lowerIndex), integerBounds))) {
+                    lowerIndex--;
+                }
+                int higherIndex = index;
+                while (higherIndex < values.size() - 1
+                    && !(roundedValue(values.get(higherIndex + 1), integerBounds) > edge)) {
+                    higherIndex++;
+                }
+                int lowerDiff = -1 * (lowerIndex - startIndex + 1 - countPerBin);
+                int higherDiff = higherIndex - startIndex + 1 - countPerBin;
+                if (!(lowerIndex < startIndex) && lowerDiff <= higherDiff) {
+                    index = lowerIndex;
+                } else {
+                    index = higherIndex;
+                }
+                edges[i] = roundedValue(values.get(index), integerBounds);
+                startIndex = index + 1;
+                index += countPerBin;
+            } else {
+                edges[i] = edges[i - 1];
+            }
+        }
+        return edges;
+    }
+
+    private static double roundedValue(final double value, final boolean integerBounds) {
+        return integerBounds ? Math.ceil(value) : value;
+    }
+
+    private static List<Double> readValues(final BufferedDataTable table, final String col) {
+        final int colIndex = table.getDataTableSpec().findColumnIndex(col);
+        final List<Double> values = new ArrayList<>();
+        for (final DataRow row : table) {
+            if (!row.getCell(colIndex).isMissing()) {
+                values.add(((DoubleValue)row.getCell(colIndex)).getDoubleValue());
+            }
+        }
+        return values;
+    }
+
+    /** Creates a table with a continuous, a tied and a skewed column, each with missing values. */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final BufferedDataContainer cont = m_exec.createDataContainer(SPEC);
+        for (int i = 0; i < nrRows; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                i > 0 && random.nextInt(20) == 0 ? DataType.getMissingCell() : new DoubleCell(random.nextGaussian()),
+                new StringCell("r" + i),
+                i > 0 && random.nextInt(15) == 0 ? DataType.getMissingCell() : new IntCell(random.nextInt(6)),
+                i > 0 && random.nextInt(10) == 0 ? DataType.getMissingCell()
+                    : new DoubleCell(Math.exp(3 * random.nextDouble()) - 1)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+}
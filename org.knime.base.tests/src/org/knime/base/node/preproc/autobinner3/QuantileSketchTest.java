@@ -0,0 +1,156 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.autobinner3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link QuantileSketch}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class QuantileSketchTest {
+
+    /**
+     * Checks that the rank error of merged sketches stays within the error bound, also for many ties.
+     */
+    @Test
+    public void testRankError() {
+        final Random random = new Random(42);
+        final int n = 500000;
+        final double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i % 5 == 0 ? Math.floor(10 * random.nextGaussian()) : random.nextGaussian();
+        }
+        final QuantileSketch sketch = sketch(values, 1 << 15);
+        assertEquals(n, sketch.getCount());
+        Arrays.sort(values);
+        assertEquals(values[0], sketch.getValueAtRank(1), 0);
+        assertEquals(values[n - 1], sketch.getValueAtRank(n), 0);
+
+        final long bound = sketch.getRankErrorBound();
+        assertTrue("Error bound too large: " + bound, bound < n / 100);
+        for (int rank = 1; rank <= n; rank += 997) {
+            final double value = sketch.getValueAtRank(rank);
+            // the ranks the value occupies in the sorted values
+            final int first = lowerBound(values, value) + 1;
+            final int last = upperBound(values, value);
+            assertTrue("Rank " + rank + " off by more than " + bound,
+                first - bound <= rank && rank <= last + bound);
+        }
+    }
+
+    /**
+     * Checks that sketching is deterministic and that missing values are only counted.
+     */
+    @Test
+    public void testDeterministic() {
+        final Random random = new Random(7);
+        final double[] values = random.doubles(100000).toArray();
+        final QuantileSketch first = sketch(values, 4096);
+        final QuantileSketch second = sketch(values, 4096);
+        second.updateMissing();
+        for (int rank = 1; rank <= values.length; rank += 101) {
+            assertEquals(first.getValueAtRank(rank), second.getValueAtRank(rank), 0);
+        }
+        assertEquals(0, first.getMissingCount());
+        assertEquals(1, second.getMissingCount());
+        assertEquals(first.getCount(), second.getCount());
+    }
+
+    /** Sketches the values in chunks that are merged afterwards, like a parallel pass over the table. */
+    private static QuantileSketch sketch(final double[] values, final int chunkSize) {
+        QuantileSketch result = null;
+        for (int start = 0; start < values.length; start += chunkSize) {
+            final QuantileSketch sketch = new QuantileSketch(QuantileSketch.DEFAULT_CAPACITY, start);
+            for (int i = start; i < Math.min(values.length, start + chunkSize); i++) {
+                sketch.update(values[i]);
+            }
+            if (result == null) {
+                result = sketch;
+            } else {
+                result.merge(sketch);
+            }
+        }
+        return result;
+    }
+
+    private static int lowerBound(final double[] sorted, final double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (Double.compare(sorted[mid], value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(final double[] sorted, final double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (Double.compare(sorted[mid], value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.cellsplit2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the {@link CellSplitter2SinglePass} with guessing the columns in a first pass and splitting the cells with
+ * the {@link CellSplitter2CellFactory} in a second one.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CellSplitter2SinglePassTest {
+
+    private static final String SPLIT_COL = "split";
+
+    /** Inputs with a trailing rest, quotes, delimiters inside quotes, empty tokens, whitespace and few tokens. */
+    private static final String[] SPECIAL_INPUTS = {"1,2,", "1,,3", ",", "", " 4 , 5.5 ,  x  ", "\"a,b\",7",
+        "8,\"c,\"\"d\"", "\"unclosed,9", "10,\"e\"f,g", "11,\"h\\\",i\",j", "12", "  ", "13,14,15,16,17,18,19,20"};
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that both paths yield the same columns and cells for rows with fewer tokens than columns, a single row
+     * with many more tokens than the others, missing cells and a trailing rest of the input, which ends up in the last
+     * column, with and without quotes, trimming and empty strings.
+     *
+     * @throws Exception if the splitting fails
+     */
+    @Test
+    public void testSinglePassEqualsTwoPasses() throws Exception {
+        final BufferedDataTable table = createTable(25000, ",", 0);
+        for (final String quote : new String[]{null, "\""}) {
+            for (final boolean removeQuotes : new boolean[]{false, true}) {
+                for (final boolean trim : new boolean[]{false, true}) {
+                    for (final boolean useEmptyString : new boolean[]{false, true}) {
+                        final CellSplitter2UserSettings settings = createSettings(",", false);
+                        settings.setQuotePattern(quote);
+                        settings.setRemoveQuotes(removeQuotes);
+                        settings.setTrim(trim);
+                        settings.setUseEmptyString(useEmptyString);
+                        assertSinglePassEqualsTwoPasses("quote " + quote + ", remove quotes " + removeQuotes
+                            + ", trim " + trim + ", empty strings " + useEmptyString, table, settings);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that both paths yield the same columns and cells for an escaped tab delimiter and when the input column
+     * is removed.
+     *
+     * @throws Exception if the splitting fails
+     */
+    @Test
+    public void testEscapedDelimiter() throws Exception {
+        final BufferedDataTable table = createTable(3000, "\t", 1);
+        final CellSplitter2UserSettings settings = createSettings("\\t", true);
+        settings.setQuotePattern("\"");
+        settings.setRemoveInputColumn(true);
+        assertSinglePassEqualsTwoPasses("escaped delimiter", table, settings);
+    }
+
+    /**
+     * Checks that the single pass is only used if all rows are scanned, as otherwise rows beyond the scan limit might
+     * have more tokens than columns are guessed.
+     */
+    @Test
+    public void testIsApplicable() {
+        final CellSplitter2UserSettings settings = createSettings(",", false);
+        assertTrue(CellSplitter2SinglePass.isApplicable(settings));
+        settings.setHasScanLimit(true);
+        assertFalse(CellSplitter2SinglePass.isApplicable(settings));
+        settings.setHasScanLimit(false);
+        settings.setGuessNumOfCols(false);
+        settings.setNumOfCols(3);
+        assertFalse(CellSplitter2SinglePass.isApplicable(settings));
+        settings.setGuessNumOfCols(true);
+        settings.setOutputAsCols(false);
+        settings.setOutputAsList(true);
+        assertFalse(CellSplitter2SinglePass.isApplicable(settings));
+    }
+
+    /**
+     * Checks that a table with missing cells only fails on both paths.
+     *
+     * @throws Exception if the splitting fails for another reason
+     */
+    @Test
+    public void testMissingCellsOnly() throws Exception {
+        final BufferedDataContainer cont = m_exec.createDataContainer(createSpec());
+        for (int i = 0; i < 10; i++) {
+            cont.addRowToTable(
+                new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i), DataType.getMissingCell()));
+        }
+        cont.close();
+        final CellSplitter2UserSettings settings = createSettings(",", false);
+        String twoPassesMessage = null;
+        try {
+            CellSplitter2CellFactory.createNewColumnTypes(cont.getTable(), settings, m_exec);
+        } catch (IllegalStateException e) {
+            twoPassesMessage = e.getMessage();
+        }
+        String singlePassMessage = null;
+        try {
+            new CellSplitter2SinglePass(settings).execute(cont.getTable(), m_exec);
+        } catch (IllegalStateException e) {
+            singlePassMessage = e.getMessage();
+        }
+        assertTrue(twoPassesMessage != null);
+        assertEquals(twoPassesMessage, singlePassMessage);
+    }
+
+    private void assertSinglePassEqualsTwoPasses(final String message, final BufferedDataTable table,
+        final CellSplitter2UserSettings settings) throws Exception {
+        assertTrue(message, CellSplitter2SinglePass.isApplicable(settings));
+        final CellSplitter2Settings guessed = CellSplitter2CellFactory.createNewColumnTypes(table, settings, m_exec);
+        final ColumnRearranger rearranger = new ColumnRearranger(table.getDataTableSpec());
+        if (guessed.isRemoveInputColumn()) {
+            rearranger.remove(guessed.getColumnName());
+        }
+        rearranger.append(new CellSplitter2CellFactory(table.getDataTableSpec(), guessed));
+        final BufferedDataTable expected = m_exec.createColumnRearrangeTable(table, rearranger, m_exec);
+
+        final CellSplitter2SinglePass singlePass = new CellSplitter2SinglePass(settings);
+        final BufferedDataTable actual = singlePass.execute(table, m_exec);
+
+        assertEquals(message, guessed.getNumOfColsGuessed(), singlePass.getSettings().getNumOfColsGuessed());
+        for (int c = 0; c < guessed.getNumOfColsGuessed(); c++) {
+            assertEquals(message, guessed.getTypeOfColumn(c), singlePass.getSettings().getTypeOfColumn(c));
+        }
+        final DataTableSpec expectedSpec = expected.getDataTableSpec();
+        final DataTableSpec actualSpec = actual.getDataTableSpec();
+        assertEquals(message, expectedSpec.getNumColumns(), actualSpec.getNumColumns());
+        for (int c = 0; c < expectedSpec.getNumColumns(); c++) {
+            assertEquals(message, expectedSpec.getColumnSpec(c).getName(), actualSpec.getColumnSpec(c).getName());
+            assertEquals(message, expectedSpec.getColumnSpec(c).getType(), actualSpec.getColumnSpec(c).getType());
+        }
+        assertRowsEqual(message, expected, actual);
+    }
+
+    private static void assertRowsEqual(final String message, final BufferedDataTable expected,
+        final BufferedDataTable actual) {
+        assertEquals(message, expected.size(), actual.size());
+        final List<DataRow> expectedRows = new ArrayList<>();
+        expected.forEach(expectedRows::add);
+        final List<DataRow> actualRows = new ArrayList<>();
+        actual.forEach(actualRows::add);
+        for (int i = 0; i < expectedRows.size(); i++) {
+            final DataRow e = expectedRows.get(i);
+            final DataRow a = actualRows.get(i);
+            assertEquals(message, e.getKey(), a.getKey());
+            for (int c = 0; c < e.getNumCells(); c++) {
+                assertEquals(message + ", row " + e.getKey() + ", column " + c, e.getCell(c), a.getCell(c));
+            }
+        }
+    }
+
+    private static CellSplitter2UserSettings createSettings(final String delimiter, final boolean useEscapeChar) {
+        final CellSplitter2UserSettings settings = new CellSplitter2UserSettings();
+        settings.setColumnName(SPLIT_COL);
+        settings.setDelimiter(delimiter);
+        settings.setUseEscapeCharacter(useEscapeChar);
+        return settings;
+    }
+
+    private static DataTableSpec createSpec() {
+        return new DataTableSpec(new DataColumnSpecCreator("id", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator(SPLIT_COL, StringCell.TYPE).createSpec());
+    }
+
+    /**
+     * Creates a table whose split column contains between zero and four int, double, string and quoted tokens,
+     * missing cells and the special inputs, the last of which is used for a single row in the middle of the table.
+     */
+    private BufferedDataTable createTable(final int nrRows, final String delimiter, final long seed) {
+        final Random random = new Random(seed);
+        final BufferedDataContainer cont = m_exec.createDataContainer(createSpec());
+        for (int i = 0; i < nrRows; i++) {
+            final DataCell cell;
+            if (i == nrRows / 2) {
+                // a single row with more tokens than all others
+                cell = new StringCell(SPECIAL_INPUTS[SPECIAL_INPUTS.length - 1].replace(",", delimiter));
+            } else if (random.nextInt(20) == 0) {
+                cell = DataType.getMissingCell();
+            } else if (random.nextInt(10) == 0) {
+                cell = new StringCell(
+                    SPECIAL_INPUTS[random.nextInt(SPECIAL_INPUTS.length - 1)].replace(",", delimiter));
+            } else {
+                final StringBuilder input = new StringBuilder();
+                final int nrTokens = random.nextInt(5);
+                for (int t = 0; t < nrTokens; t++) {
+                    if (t > 0) {
+                        input.append(delimiter);
+                    }
+                    switch (random.nextInt(4)) {
+                        case 0:
+                            input.append(random.nextInt(1000) - 500);
+                            break;
+                        case 1:
+                            input.append(random.nextInt(t + 1) == 0 ? random.nextDouble() : random.nextInt(10));
+                            break;
+                        case 2:
+                            input.append(t == 0 ? Integer.toString(random.nextInt(10)) : "s" + random.nextInt(10));
+                            break;
+                        default:
+                            input.append("\"q").append(delimiter).append(random.nextInt(10)).append('"');
+                    }
+                }
+                cell = new StringCell(input.toString());
+            }
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i), cell));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.correlation.compute2;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.preproc.correlation.CorrelationUtils.CorrelationResult;
+import org.knime.base.node.preproc.correlation.pmcc.PValueAlternative;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the single pass {@link CorrelationComputer2#calculateCorrelation} with the two passes of
+ * {@link CorrelationComputer2#calculateStatistics} and {@link CorrelationComputer2#calculateOutput}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CorrelationComputer2Test {
+
+    /** More rows than two ranges need, so that the table is processed concurrently. */
+    private static final int NR_ROWS = 25000;
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("x", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("nominal", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("y", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("tied", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("constant", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("other nominal", StringCell.TYPE).createSpec());
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that Pearson's coefficients, the p values, the degrees of freedom and the warnings equal the ones of the
+     * two pass implementation for a table with missing values, ties and a constant column.
+     *
+     * @throws Exception if the calculation fails
+     */
+    @Test
+    public void testPearsonEqualsTwoPass() throws Exception {
+        final BufferedDataTable table = createTable(NR_ROWS, 0);
+        for (final PValueAlternative alternative : PValueAlternative.values()) {
+            final CorrelationComputer2 expected = new CorrelationComputer2(SPEC, 10);
+            final CorrelationResult expectedResult = calculateTwoPass(expected, table, alternative);
+            final CorrelationComputer2 actual = new CorrelationComputer2(SPEC, 10);
+            final CorrelationResult actualResult =
+                actual.calculateCorrelation(table, m_exec, alternative, CorrelationMethod.PEARSON);
+            assertResultEquals(alternative.name(), expected, expectedResult, actual, actualResult);
+        }
+    }
+
+    /**
+     * Checks that Spearman's coefficients equal the two pass Pearson's coefficients of a table of ranks, with the ranks
+     * held in memory and determined on disk.
+     *
+     * @throws Exception if the calculation fails
+     */
+    @Test
+    public void testSpearmanEqualsTwoPassOnRanks() throws Exception {
+        final BufferedDataTable table = createTable(NR_ROWS, 1);
+        final BufferedDataTable ranks = createRankTable(table);
+        final CorrelationComputer2 expected = new CorrelationComputer2(ranks.getDataTableSpec(), 10);
+        final CorrelationResult expectedResult = calculateTwoPass(expected, ranks, PValueAlternative.TWO_SIDED);
+        for (final boolean rankOnDisk : new boolean[]{false, true}) {
+            final CorrelationComputer2 actual = new CorrelationComputer2(SPEC, 10);
+            actual.setRankOnDisk(rankOnDisk);
+            final CorrelationResult actualResult =
+                actual.calculateCorrelation(table, m_exec, PValueAlternative.TWO_SIDED, CorrelationMethod.SPEARMAN);
+            assertResultEquals("rank on disk " + rankOnDisk, expected, expectedResult, actual, actualResult);
+        }
+    }
+
+    /**
+     * Checks that small and empty tables are handled as by the two pass implementation.
+     *
+     * @throws Exception if the calculation fails
+     */
+    @Test
+    public void testSmallTables() throws Exception {
+        for (final int nrRows : new int[]{0, 1, 2, 17}) {
+            final BufferedDataTable table = createTable(nrRows, 2);
+            final CorrelationComputer2 expected = new CorrelationComputer2(SPEC, 10);
+            final CorrelationResult expectedResult = calculateTwoPass(expected, table, PValueAlternative.TWO_SIDED);
+            final CorrelationComputer2 actual = new CorrelationComputer2(SPEC, 10);
+            final CorrelationResult actualResult =
+                actual.calculateCorrelation(table, m_exec, PValueAlternative.TWO_SIDED, CorrelationMethod.PEARSON);
+            assertResultEquals(nrRows + " rows", expected, expectedResult, actual, actualResult);
+        }
+    }
+
+    private CorrelationResult calculateTwoPass(final CorrelationComputer2 computer, final BufferedDataTable table,
+        final PValueAlternative alternative) throws Exception {
+        computer.calculateStatistics(table, m_exec);
+        return computer.calculateOutput(table, m_exec, alternative);
+    }
+
+    private static void assertResultEquals(final String message, final CorrelationComputer2 expected,
+        final CorrelationResult expectedResult, final CorrelationComputer2 actual,
+        final CorrelationResult actualResult) {
+        final int nrColumns = SPEC.getNumColumns();
+        for (int i = 0; i < nrColumns; i++) {
+            for (int j = i + 1; j < nrColumns; j++) {
+                final String pair = message + ", " + SPEC.getColumnSpec(i).getName() + " - "
+                    + SPEC.getColumnSpec(j).getName();
+                assertEquals(pair, expectedResult.getCorrelationMatrix().get(i, j),
+                    actualResult.getCorrelationMatrix().get(i, j), 1e-9);
+                assertEquals(pair, expectedResult.getpValMatrix().get(i, j), actualResult.getpValMatrix().get(i, j),
+                    1e-9);
+                assertEquals(pair, expectedResult.getDegreesOfFreedomMatrix().get(i, j),
+                    actualResult.getDegreesOfFreedomMatrix().get(i, j));
+            }
+        }
+        assertEquals(message, expected.getNumericMissingValueWarning(1000),
+            actual.getNumericMissingValueWarning(1000));
+        assertEquals(message, expected.getNumericConstantColumnPairs(1000),
+            actual.getNumericConstantColumnPairs(1000));
+    }
+
+    /** Creates a table with correlated, tied and constant numeric columns and missing values. */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final String[] values = {"a", "b", "c", "d"};
+        final BufferedDataContainer cont = m_exec.createDataContainer(SPEC);
+        for (int i = 0; i < nrRows; i++) {
+            final double x = random.nextGaussian();
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                random.nextInt(20) == 0 ? DataType.getMissingCell() : new DoubleCell(x),
+                random.nextInt(30) == 0 ? DataType.getMissingCell()
+                    : new StringCell(values[Math.min(3, Math.max(0, (int)(x + 2)))]),
+                random.nextInt(25) == 0 ? DataType.getMissingCell()
+                    : new DoubleCell(Math.exp(x) + random.nextGaussian()),
+                random.nextInt(40) == 0 ? DataType.getMissingCell() : new IntCell((int)(3 * x) + random.nextInt(3)),
+                new DoubleCell(1), new StringCell(values[random.nextInt(3)])));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    /** Replaces the values of the numeric columns by their (average) ranks among the values of the column. */
+    private BufferedDataTable createRankTable(final BufferedDataTable table) {
+        final int[] numericCols = {0, 2, 3, 4};
+        final Map<Integer, Map<Double, Double>> ranks = new HashMap<>();
+        for (final int col : numericCols) {
+            final List<Double> values = new ArrayList<>();
+            for (final DataRow row : table) {
+                if (!row.getCell(col).isMissing()) {
+                    values.add(((DoubleValue)row.getCell(col)).getDoubleValue());
+                }
+            }
+            final double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+            final Map<Double, Double> colRanks = new HashMap<>();
+            for (int start = 0, end; start < sorted.length; start = end) {
+                end = start + 1;
+                while (end < sorted.length && Double.compare(sorted[end], sorted[start]) == 0) {
+                    end++;
+                }
+                colRanks.put(sorted[start], (start + end + 1) / 2.0);
+            }
+            ranks.put(col, colRanks);
+        }
+        final DataColumnSpec[] specs = new DataColumnSpec[SPEC.getNumColumns()];
+        for (int c = 0; c < specs.length; c++) {
+            specs[c] = ranks.containsKey(c)
+                ? new DataColumnSpecCreator(SPEC.getColumnSpec(c).getName(), DoubleCell.TYPE).createSpec()
+                : SPEC.getColumnSpec(c);
+        }
+        final BufferedDataContainer cont = m_exec.createDataContainer(new DataTableSpec(specs));
+        for (final DataRow row : table) {
+            final DataCell[] cells = new DataCell[specs.length];
+            for (int c = 0; c < cells.length; c++) {
+                final DataCell cell = row.getCell(c);
+                cells[c] = cell.isMissing() || !ranks.containsKey(c) ? cell
+                    : new DoubleCell(ranks.get(c).get(((DoubleValue)cell).getDoubleValue()));
+            }
+            cont.addRowToTable(new DefaultRow(row.getKey(), cells));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.crossjoin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiPredicate;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the {@link BlockCrossJoiner} with joining the chunks of rows one after another.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BlockCrossJoinerTest {
+
+    private static final DataTableSpec LEFT_SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("left", IntCell.TYPE).createSpec());
+
+    private static final DataTableSpec RIGHT_SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("right", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("name", StringCell.TYPE).createSpec());
+
+    private static final DataTableSpec JOINED_SPEC = new DataTableSpec(LEFT_SPEC, RIGHT_SPEC);
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that all pairs of rows are joined in the order of the chunks, for a chunk size of one row, a small one
+     * and one larger than the tables.
+     *
+     * @throws Exception if the join fails
+     */
+    @Test
+    public void testCrossJoin() throws Exception {
+        final BufferedDataTable left = createTable(LEFT_SPEC, 150, 0);
+        final BufferedDataTable right = createTable(RIGHT_SPEC, 300, 1);
+        for (final int chunkSize : new int[]{1, 7, 1000}) {
+            final List<DataRow> expected = joinChunks(left, right, chunkSize, null);
+            assertEquals(left.size() * right.size(), expected.size());
+            assertRowsEqual("Chunk size " + chunkSize, expected, joinBlocks(left, right, chunkSize, null));
+        }
+    }
+
+    /**
+     * Checks that only the pairs of rows fulfilling the condition are joined in the order of the chunks, for a chunk
+     * size of one row, a small one and one larger than the tables.
+     *
+     * @throws Exception if the join fails
+     */
+    @Test
+    public void testCrossJoinWithCondition() throws Exception {
+        final BufferedDataTable left = createTable(LEFT_SPEC, 150, 2);
+        final BufferedDataTable right = createTable(RIGHT_SPEC, 300, 3);
+        for (final CrossJoinCondition.Operator operator : CrossJoinCondition.Operator.values()) {
+            final CrossJoinCondition condition =
+                new CrossJoinCondition(LEFT_SPEC, "left", operator.getSymbol(), RIGHT_SPEC, "right");
+            for (final int chunkSize : new int[]{1, 7, 1000}) {
+                final List<DataRow> expected = joinChunks(left, right, chunkSize, condition);
+                assertTrue(operator.getSymbol(), expected.size() < left.size() * right.size());
+                assertRowsEqual(operator.getSymbol() + ", chunk size " + chunkSize, expected,
+                    joinBlocks(left, right, chunkSize, condition));
+            }
+        }
+    }
+
+    /**
+     * Checks that empty tables result in an empty table.
+     *
+     * @throws Exception if the join fails
+     */
+    @Test
+    public void testEmptyTables() throws Exception {
+        final BufferedDataTable left = createTable(LEFT_SPEC, 20, 4);
+        final BufferedDataTable empty = createTable(RIGHT_SPEC, 0, 5);
+        assertEquals(0, joinBlocks(left, empty, 7, null).size());
+        assertEquals(0, joinBlocks(createTable(LEFT_SPEC, 0, 6), createTable(RIGHT_SPEC, 20, 7), 7, null).size());
+    }
+
+    private List<DataRow> joinBlocks(final BufferedDataTable left, final BufferedDataTable right,
+        final int chunkSize, final BiPredicate<DataRow, DataRow> condition) throws Exception {
+        final BufferedDataTableRowOutput output =
+            new BufferedDataTableRowOutput(m_exec.createDataContainer(JOINED_SPEC));
+        new BlockCrossJoiner(chunkSize, BlockCrossJoinerTest::joinRows, condition)
+            .crossJoin(new DataTableRowInput(left), right, output, left.size() * right.size(), m_exec);
+        final List<DataRow> rows = new ArrayList<>();
+        output.getDataTable().forEach(rows::add);
+        return rows;
+    }
+
+    /** Joins each chunk of left rows with each chunk of right rows, the way the node did before using tiles. */
+    private static List<DataRow> joinChunks(final BufferedDataTable left, final BufferedDataTable right,
+        final int chunkSize, final BiPredicate<DataRow, DataRow> condition) {
+        final List<DataRow> leftRows = new ArrayList<>();
+        left.forEach(leftRows::add);
+        final List<DataRow> rightRows = new ArrayList<>();
+        right.forEach(rightRows::add);
+        final List<DataRow> rows = new ArrayList<>();
+        for (int l = 0; l < leftRows.size(); l += chunkSize) {
+            final List<DataRow> leftChunk = leftRows.subList(l, Math.min(l + chunkSize, leftRows.size()));
+            for (int r = 0; r < rightRows.size(); r += chunkSize) {
+                final List<DataRow> rightChunk = rightRows.subList(r, Math.min(r + chunkSize, rightRows.size()));
+                for (final DataRow lRow : leftChunk) {
+                    for (final DataRow rRow : rightChunk) {
+                        if (condition == null || condition.test(lRow, rRow)) {
+                            rows.add(joinRows(lRow, rRow));
+                        }
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static DataRow joinRows(final DataRow left, final DataRow right) {
+        final List<DataCell> cells = new ArrayList<>();
+        left.forEach(cells::add);
+        right.forEach(cells::add);
+        return new DefaultRow(new RowKey(left.getKey() + "_" + right.getKey()), cells);
+    }
+
+    /** Creates a table with few distinct values in the first column and some missing values. */
+    private BufferedDataTable createTable(final DataTableSpec spec, final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final BufferedDataContainer cont = m_exec.createDataContainer(spec);
+        for (int i = 0; i < nrRows; i++) {
+            final DataCell[] cells = new DataCell[spec.getNumColumns()];
+            cells[0] = random.nextInt(10) == 0 ? DataType.getMissingCell() : new IntCell(random.nextInt(20));
+            for (int c = 1; c < cells.length; c++) {
+                cells[c] = new StringCell("r" + i);
+            }
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), cells));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private static void assertRowsEqual(final String message, final List<DataRow> expected,
+        final List<DataRow> actual) {
+        assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final DataRow e = expected.get(i);
+            final DataRow a = actual.get(i);
+            assertEquals(message, e.getKey(), a.getKey());
+            for (int c = 0; c < e.getNumCells(); c++) {
+                assertEquals(message, e.getCell(c), a.getCell(c));
+            }
+        }
+    }
+}
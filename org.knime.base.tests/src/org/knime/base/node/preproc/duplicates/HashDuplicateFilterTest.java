@@ -0,0 +1,235 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.duplicates;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.preproc.duplicates.DuplicateRowFilterSettings.RowSelectionType;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.util.filter.NameFilterConfiguration.EnforceOption;
+import org.knime.core.node.util.filter.column.DataColumnSpecFilterConfiguration;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the {@link HashDuplicateFilter} with the sorting based implementation of the
+ * {@link DuplicateRowFilterNodeModel}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class HashDuplicateFilterTest {
+
+    private static final String[] GROUP_COLS = {"group1", "group2"};
+
+    private static final String REF_COL = "ref";
+
+    private static final DataTableSpec LABEL_SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("label", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("reference", StringCell.TYPE).createSpec());
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that the rows without duplicates are the same as the sorted ones for all row selection types, in
+     * memory and in partitions.
+     *
+     * @throws Exception if the execution fails
+     */
+    @Test
+    public void testRemoveDuplicates() throws Exception {
+        final BufferedDataTable table = createTable(2000, 0);
+        for (final RowSelectionType type : RowSelectionType.values()) {
+            final Map<RowKey, List<DataCell>> expected = toMap(executeSorted(table, type, true));
+            for (final int nrPartitions : new int[]{0, 1, 7}) {
+                final BufferedDataTable actual = executeHashed(table, type, true, nrPartitions);
+                assertInputOrder(table, actual);
+                assertEquals(type + ", " + nrPartitions + " partitions", expected, toMap(actual));
+            }
+        }
+    }
+
+    /**
+     * Checks that the labels of the rows are the same as the sorted ones for all row selection types, in memory and
+     * in partitions.
+     *
+     * @throws Exception if the execution fails
+     */
+    @Test
+    public void testLabelDuplicates() throws Exception {
+        final BufferedDataTable table = createTable(2000, 1);
+        for (final RowSelectionType type : RowSelectionType.values()) {
+            final Map<RowKey, List<DataCell>> expected = toMap(executeSorted(table, type, false));
+            for (final int nrPartitions : new int[]{0, 1, 7}) {
+                final BufferedDataTable actual = executeHashed(table, type, false, nrPartitions);
+                assertEquals(table.size(), actual.size());
+                assertInputOrder(table, actual);
+                assertEquals(type + ", " + nrPartitions + " partitions", expected, toMap(actual));
+            }
+        }
+    }
+
+    private BufferedDataTable executeSorted(final BufferedDataTable table, final RowSelectionType type,
+        final boolean removeDuplicates) throws Exception {
+        final DuplicateRowFilterSettings settings = new DuplicateRowFilterSettings();
+        settings.getRetainOrderModel().setBooleanValue(false);
+        settings.getRemoveDuplicatesModel().setBooleanValue(removeDuplicates);
+        settings.getAddUniqueLblModel().setBooleanValue(true);
+        settings.getAddRowLblModel().setBooleanValue(true);
+        settings.getReferenceColModel().setStringValue(REF_COL);
+        settings.setRowSelectionType(type);
+        final NodeSettings nodeSettings = new NodeSettings("duplicates");
+        settings.getRetainOrderModel().saveSettingsTo(nodeSettings);
+        settings.getAddUniqueLblModel().saveSettingsTo(nodeSettings);
+        settings.getAddRowLblModel().saveSettingsTo(nodeSettings);
+        settings.getInMemoryModel().saveSettingsTo(nodeSettings);
+        settings.saveSettingsForDialog(nodeSettings);
+        final DataColumnSpecFilterConfiguration groupCols = new DataColumnSpecFilterConfiguration("group_cols");
+        groupCols.loadDefaults(GROUP_COLS, new String[]{REF_COL, "value"}, EnforceOption.EnforceInclusion);
+        groupCols.saveConfiguration(nodeSettings);
+
+        final DuplicateRowFilterNodeModel model = new DuplicateRowFilterNodeModel();
+        model.validateSettings(nodeSettings);
+        model.loadValidatedSettingsFrom(nodeSettings);
+        return model.execute(new BufferedDataTable[]{table}, m_exec)[0];
+    }
+
+    private BufferedDataTable executeHashed(final BufferedDataTable table, final RowSelectionType type,
+        final boolean removeDuplicates, final int nrPartitions) throws Exception {
+        final DataTableSpec spec = table.getDataTableSpec();
+        final HashDuplicateFilter filter = new HashDuplicateFilter(spec, spec.columnsToIndices(GROUP_COLS), type,
+            spec.findColumnIndex(REF_COL), removeDuplicates ? null : LABEL_SPEC, DefaultRow::new);
+        return nrPartitions == 0 ? filter.execute(table, m_exec)
+            : filter.executePartitioned(table, nrPartitions, m_exec);
+    }
+
+    /** Creates a table with few groups, missing group and reference values and ties in the reference column. */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator(GROUP_COLS[0], StringCell.TYPE)
+            .createSpec(), new DataColumnSpecCreator(GROUP_COLS[1], IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator(REF_COL, DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+        final BufferedDataContainer cont = m_exec.createDataContainer(spec);
+        for (int i = 0; i < nrRows; i++) {
+            final DataCell group1 =
+                random.nextInt(20) == 0 ? DataType.getMissingCell() : new StringCell("g" + random.nextInt(30));
+            final DataCell group2 =
+                random.nextInt(20) == 0 ? DataType.getMissingCell() : new IntCell(random.nextInt(10));
+            final DataCell ref =
+                random.nextInt(4) == 0 ? DataType.getMissingCell() : new DoubleCell(random.nextInt(5));
+            cont.addRowToTable(
+                new DefaultRow(RowKey.createRowKey((long)i), group1, group2, ref, new IntCell(random.nextInt())));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private static Map<RowKey, List<DataCell>> toMap(final BufferedDataTable table) {
+        final Map<RowKey, List<DataCell>> rows = new HashMap<>();
+        for (final DataRow row : table) {
+            final List<DataCell> cells = new ArrayList<>();
+            row.forEach(cells::add);
+            rows.put(row.getKey(), cells);
+        }
+        return rows;
+    }
+
+    private static void assertInputOrder(final BufferedDataTable input, final BufferedDataTable output) {
+        final Map<RowKey, Long> indices = new HashMap<>();
+        long index = 0;
+        for (final DataRow row : input) {
+            indices.put(row.getKey(), index++);
+        }
+        long previous = -1;
+        for (final DataRow row : output) {
+            final long current = indices.get(row.getKey());
+            assertTrue("Rows not in input order", current > previous);
+            previous = current;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.row2;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.preproc.filter.row2.operator.RowPredicate;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+import com.google.common.collect.Range;
+
+/**
+ * Compares the {@link RowRangeFilter} with testing the predicate on the rows of the table one after another.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RowRangeFilterTest {
+
+    /** More than twice the minimum number of rows per range, so that the table is split into several ranges. */
+    private static final int NR_ROWS = 45678;
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that filtering and both outputs of splitting by a column value equal a sequential pass, also when the
+     * predicate is negated.
+     *
+     * @throws Exception if the filtering fails
+     */
+    @Test
+    public void testColumnPredicate() throws Exception {
+        final BufferedDataTable table = createTable(NR_ROWS, 0);
+        final RowPredicate predicate = new ColumnPredicate(0);
+        assertFilterEqualsSequentialPass("column", table, predicate);
+        assertFilterEqualsSequentialPass("negated column", table, RowPredicate.negate(predicate));
+    }
+
+    /**
+     * Checks that filtering and both outputs of splitting by row indices and row numbers equal a sequential pass, for
+     * bounded and half-bounded ranges, which the filtering uses to skip rows.
+     *
+     * @throws Exception if the filtering fails
+     */
+    @Test
+    public void testRowIndexPredicate() throws Exception {
+        final BufferedDataTable table = createTable(NR_ROWS, 1);
+        final List<Range<Long>> ranges = Arrays.asList(Range.closed(12345L, 38000L), Range.atLeast(4321L),
+            Range.atMost(33333L), Range.closed(0L, (long)NR_ROWS - 1), Range.closed(100L, 100L),
+            Range.atLeast((long)NR_ROWS + 10));
+        for (final Range<Long> range : ranges) {
+            final RowPredicate rowIndex = new IndexPredicate(range, 0);
+            assertFilterEqualsSequentialPass("row index " + range, table, rowIndex);
+            assertFilterEqualsSequentialPass("negated row index " + range, table, RowPredicate.negate(rowIndex));
+            assertFilterEqualsSequentialPass("row number " + range, table, new IndexPredicate(range, 1));
+        }
+    }
+
+    /**
+     * Checks that filtering and both outputs of splitting by conjunctions and disjunctions of row index and column
+     * predicates equal a sequential pass.
+     *
+     * @throws Exception if the filtering fails
+     */
+    @Test
+    public void testGroupPredicate() throws Exception {
+        final BufferedDataTable table = createTable(NR_ROWS, 2);
+        final RowPredicate rowIndex = new IndexPredicate(Range.closed(5000L, 41000L), 0);
+        assertFilterEqualsSequentialPass("and", table,
+            RowPredicate.and(Arrays.asList(rowIndex, new ColumnPredicate(0)).iterator()));
+        assertFilterEqualsSequentialPass("or", table,
+            RowPredicate.or(Arrays.asList(rowIndex, new ColumnPredicate(0)).iterator()));
+    }
+
+    /**
+     * Checks that small and empty tables, which are processed in a single range, equal a sequential pass.
+     *
+     * @throws Exception if the filtering fails
+     */
+    @Test
+    public void testSmallTables() throws Exception {
+        for (final int nrRows : new int[]{0, 1, 1234}) {
+            final BufferedDataTable table = createTable(nrRows, 3);
+            assertFilterEqualsSequentialPass("column, " + nrRows + " rows", table, new ColumnPredicate(0));
+            assertFilterEqualsSequentialPass("row index, " + nrRows + " rows", table,
+                new IndexPredicate(Range.closed(0L, 600L), 0));
+        }
+    }
+
+    private void assertFilterEqualsSequentialPass(final String message, final BufferedDataTable table,
+        final RowPredicate predicate) throws Exception {
+        final List<DataRow> matches = new ArrayList<>();
+        final List<DataRow> misses = new ArrayList<>();
+        long index = 0;
+        for (final DataRow row : table) {
+            (predicate.test(row, index) ? matches : misses).add(row);
+            index++;
+        }
+        final BufferedDataTable[] filtered = RowRangeFilter.filter(table, predicate, false, m_exec);
+        assertEquals(message, 1, filtered.length);
+        assertRowsEqual(message + ", filter", matches, filtered[0]);
+        final BufferedDataTable[] split = RowRangeFilter.filter(table, predicate, true, m_exec);
+        assertEquals(message, 2, split.length);
+        assertRowsEqual(message + ", first split output", matches, split[0]);
+        assertRowsEqual(message + ", second split output", misses, split[1]);
+    }
+
+    private static void assertRowsEqual(final String message, final List<DataRow> expected,
+        final BufferedDataTable actual) {
+        assertEquals(message, expected.size(), actual.size());
+        final List<DataRow> actualRows = new ArrayList<>();
+        actual.forEach(actualRows::add);
+        for (int i = 0; i < expected.size(); i++) {
+            final DataRow e = expected.get(i);
+            final DataRow a = actualRows.get(i);
+            assertEquals(message, e.getKey(), a.getKey());
+            for (int c = 0; c < e.getNumCells(); c++) {
+                assertEquals(message, e.getCell(c), a.getCell(c));
+            }
+        }
+    }
+
+    /** Creates a table with an int column with missing values and a string column. */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("string", StringCell.TYPE).createSpec());
+        final BufferedDataContainer cont = m_exec.createDataContainer(spec);
+        for (int i = 0; i < nrRows; i++) {
+            final DataCell value =
+                random.nextInt(20) == 0 ? DataType.getMissingCell() : new IntCell(random.nextInt(10));
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), value, new StringCell("r" + i)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    /** Passes rows whose int value is below five, failing missing values like the column predicates of the node. */
+    private static final class ColumnPredicate implements RowPredicate {
+
+        private final int m_columnIndex;
+
+        ColumnPredicate(final int columnIndex) {
+            m_columnIndex = columnIndex;
+        }
+
+        @Override
+        public boolean test(final DataRow row, final Long index) {
+            final DataCell cell = row.getCell(m_columnIndex);
+            return !cell.isMissing() && ((IntValue)cell).getIntValue() < 5;
+        }
+
+        @Override
+        public Set<Integer> getRequiredColumns() {
+            return Collections.singleton(m_columnIndex);
+        }
+
+        @Override
+        public Range<Long> getRowIndexRange() {
+            return Range.all();
+        }
+    }
+
+    /**
+     * Passes the rows in a range except for every third one, like the row index predicates of the node. With an offset
+     * of one, the range refers to the row numbers, which start at one, and the index range is shifted accordingly.
+     */
+    private static final class IndexPredicate implements RowPredicate {
+
+        private final Range<Long> m_indexRange;
+
+        private final LongPredicate m_predicate;
+
+        IndexPredicate(final Range<Long> range, final long offset) {
+            m_indexRange = shift(range, -offset);
+            m_predicate = i -> range.contains(i + offset) && (i + offset) % 3 != 0;
+        }
+
+        private static Range<Long> shift(final Range<Long> range, final long offset) {
+            if (range.hasLowerBound() && range.hasUpperBound()) {
+                return Range.closed(range.lowerEndpoint() + offset, range.upperEndpoint() + offset);
+            } else if (range.hasLowerBound()) {
+                return Range.atLeast(range.lowerEndpoint() + offset);
+            } else if (range.hasUpperBound()) {
+                return Range.atMost(range.upperEndpoint() + offset);
+            }
+            return range;
+        }
+
+        @Override
+        public boolean test(final DataRow row, final Long index) {
+            return m_predicate.test(index);
+        }
+
+        @Override
+        public Set<Integer> getRequiredColumns() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Range<Long> getRowIndexRange() {
+            return m_indexRange;
+        }
+    }
+}
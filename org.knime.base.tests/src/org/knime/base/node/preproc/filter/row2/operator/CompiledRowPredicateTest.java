@@ -0,0 +1,164 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.row2.operator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.data.filter.row.dialog.OperatorParameters;
+import org.knime.base.data.filter.row.dialog.model.ColumnSpec;
+import org.knime.base.data.filter.row.dialog.registry.OperatorKey;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.InvalidSettingsException;
+
+import com.google.common.collect.Range;
+
+/**
+ * Tests that {@link RowPredicate#compile() compiled} predicates yield the same results as the predicates themselves.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompiledRowPredicateTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec("test", new String[]{"Name", "Data"},
+        new DataType[]{StringCell.TYPE, DoubleCell.TYPE});
+
+    private static final String[] NAMES = {"Perla", "perla", "Adrian", "?", "Row1", ""};
+
+    /**
+     * Compares compiled and interpreted evaluation of single conditions on random rows.
+     *
+     * @throws InvalidSettingsException if a predicate cannot be created
+     */
+    @Test
+    public void testConditions() throws InvalidSettingsException {
+        assertSameResults(createPredicate("Data", DoubleCell.TYPE, KnimeOperator.EQUAL, "2"));
+        assertSameResults(createPredicate("Data", DoubleCell.TYPE, KnimeOperator.NOT_EQUAL, "2"));
+        assertSameResults(createPredicate("Data", DoubleCell.TYPE, KnimeOperator.GREATER_OR_EQUAL, "1"));
+        assertSameResults(createPredicate("Data", DoubleCell.TYPE, KnimeOperator.BETWEEN, "1", "3"));
+        assertSameResults(createPredicate("Data", DoubleCell.TYPE, KnimeOperator.MISSING));
+        assertSameResults(createPredicate("Name", StringCell.TYPE, KnimeOperator.EQUAL, "Perla"));
+        assertSameResults(createPredicate("Name", StringCell.TYPE, KnimeOperator.NOT_EQUAL, "Perla"));
+        assertSameResults(createPredicate("Name", StringCell.TYPE, KnimeOperator.PATTERN_MATCHING, "p*a", "false",
+            "true", "false"));
+        assertSameResults(createPredicate("Name", StringCell.TYPE, KnimeOperator.PATTERN_MATCHING, "^P[a-z]*",
+            "true", "false", "true"));
+        assertSameResults(createPredicate("Name", StringCell.TYPE, KnimeOperator.PATTERN_MATCHING, "?", "true",
+            "false", "false"));
+    }
+
+    /**
+     * Compares compiled and interpreted evaluation of RowID and row index conditions.
+     *
+     * @throws InvalidSettingsException if a predicate cannot be created
+     */
+    @Test
+    public void testRowIdAndIndex() throws InvalidSettingsException {
+        final ColumnRowPredicate stringEquals =
+            (ColumnRowPredicate)createPredicate("Name", StringCell.TYPE, KnimeOperator.EQUAL, "Row1");
+        assertSameResults(new RowKeyPredicate(stringEquals.getCellPredicate()));
+        final ColumnRowPredicate pattern = (ColumnRowPredicate)createPredicate("Name", StringCell.TYPE,
+            KnimeOperator.PATTERN_MATCHING, "Row?", "true", "true", "false");
+        assertSameResults(new RowKeyPredicate(pattern.getCellPredicate()));
+        final ColumnRowPredicate less =
+            (ColumnRowPredicate)createPredicate("Data", DoubleCell.TYPE, KnimeOperator.LESS, "10");
+        assertSameResults(new RowIndexPredicate(less.getCellPredicate(), Range.lessThan(10L)));
+    }
+
+    /**
+     * Compares compiled and interpreted evaluation of nested and negated groups.
+     *
+     * @throws InvalidSettingsException if a predicate cannot be created
+     */
+    @Test
+    public void testGroups() throws InvalidSettingsException {
+        final RowPredicate pattern = createPredicate("Name", StringCell.TYPE, KnimeOperator.PATTERN_MATCHING,
+            "p.*", "false", "false", "true");
+        final RowPredicate greater = createPredicate("Data", DoubleCell.TYPE, KnimeOperator.GREATER, "1.5");
+        final RowPredicate notMissing = createPredicate("Data", DoubleCell.TYPE, KnimeOperator.NOT_MISSING);
+        final RowPredicate or = RowPredicate.or(Arrays.asList(pattern, greater).iterator());
+        final RowPredicate and = RowPredicate.and(Arrays.asList(or, notMissing, pattern).iterator());
+        assertSameResults(or);
+        assertSameResults(and);
+        assertSameResults(RowPredicate.negate(and));
+        // the regular expression is the most expensive condition and evaluated last
+        assertTrue(SelectivityEstimator.rank(pattern, true) > SelectivityEstimator.rank(greater, true));
+        assertTrue(SelectivityEstimator.rank(pattern, false) > SelectivityEstimator.rank(greater, false));
+    }
+
+    private static RowPredicate createPredicate(final String column, final DataType type,
+        final KnimeOperator operator, final String... values) throws InvalidSettingsException {
+        final OperatorParameters parameters =
+            new OperatorParameters(new ColumnSpec(column, type), operator.getOperator(), values);
+        return KnimeRowFilterOperatorRegistry.getInstance().findFunction(OperatorKey.key(type, operator.getOperator()))
+            .orElseThrow(IllegalStateException::new).apply(parameters).createPredicate(SPEC);
+    }
+
+    private static void assertSameResults(final RowPredicate predicate) {
+        final Random random = new Random(42);
+        final CompiledRowPredicate compiled = predicate.compile();
+        for (long i = 0; i < 200; i++) {
+            final DataCell name = random.nextInt(10) == 0 ? DataType.getMissingCell()
+                : new StringCell(NAMES[random.nextInt(NAMES.length)]);
+            final DataCell data =
+                random.nextInt(10) == 0 ? DataType.getMissingCell() : new DoubleCell(random.nextInt(4));
+            final DataRow row = new DefaultRow("Row" + random.nextInt(3), name, data);
+            assertEquals("Row " + i, predicate.test(row, i), compiled.test(row, i));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.rowref;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link BloomFilter}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BloomFilterTest {
+
+    /**
+     * Checks that all added keys, including <code>null</code>, are found and that the false positive rate is about
+     * one percent.
+     */
+    @Test
+    public void testFalsePositiveRate() {
+        final int nrKeys = 20000;
+        final BloomFilter filter = new BloomFilter(nrKeys, Long.MAX_VALUE);
+        final Random random = new Random(0);
+        final Set<String> keys = new HashSet<>();
+        while (keys.size() < nrKeys) {
+            keys.add("key" + random.nextLong());
+        }
+        for (final String key : keys) {
+            filter.add(BloomFilter.hash(key));
+        }
+        filter.add(BloomFilter.hash(null));
+        for (final String key : keys) {
+            assertTrue(key, filter.mightContain(BloomFilter.hash(key)));
+        }
+        assertTrue(filter.mightContain(BloomFilter.hash(null)));
+
+        int falsePositives = 0;
+        final int nrLookups = 100000;
+        for (int i = 0; i < nrLookups; i++) {
+            final String key = "other" + random.nextLong();
+            if (filter.mightContain(BloomFilter.hash(key))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("False positive rate " + falsePositives / (double)nrLookups, falsePositives < 0.02 * nrLookups);
+    }
+
+    /**
+     * Checks that a filter whose size is capped still finds all added keys.
+     */
+    @Test
+    public void testCappedSize() {
+        final BloomFilter filter = new BloomFilter(100000, 64);
+        for (int i = 0; i < 100000; i++) {
+            filter.add(BloomFilter.hash(i));
+        }
+        for (int i = 0; i < 100000; i++) {
+            assertTrue(filter.mightContain(BloomFilter.hash(i)));
+        }
+    }
+
+    /**
+     * Checks that an empty filter contains nothing.
+     */
+    @Test
+    public void testEmpty() {
+        final BloomFilter filter = new BloomFilter(0, Long.MAX_VALUE);
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(filter.mightContain(BloomFilter.hash(i)));
+        }
+        assertFalse(filter.mightContain(BloomFilter.hash(null)));
+    }
+}
@@ -109,6 +109,25 @@ public void testSetAndGetSamePass() throws IOException {
         }
     }
 
+    @Test
+    public void testSetAtPositions() throws IOException {
+        try (final DiskBackedBitArray bitArray = new DiskBackedBitArray(LENGTH)) {
+            // set the bits in two ascending runs, as done when matching partitions one after another
+            for (int run = 0; run < 2; run++) {
+                for (int i = run; i < LENGTH; i += 2) {
+                    if (TEST_ARRAY[i]) {
+                        bitArray.setPosition(i);
+                        bitArray.setBit();
+                    }
+                }
+            }
+            bitArray.setPosition(0);
+            for (boolean b : TEST_ARRAY) {
+                Assert.assertEquals(b, bitArray.getBit());
+            }
+        }
+    }
+
     @Test(expected = ArrayIndexOutOfBoundsException.class)
     public void testArrayIndexOutOfBoundsExceptionOnSet() throws IOException {
         try (final DiskBackedBitArray bitArray = new DiskBackedBitArray(LENGTH)) {
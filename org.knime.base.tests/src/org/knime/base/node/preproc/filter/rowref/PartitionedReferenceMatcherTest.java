@@ -0,0 +1,213 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.rowref;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the rows the {@link PartitionedReferenceMatcher} includes and excludes with the ones found in an in-memory
+ * {@link KeySet}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PartitionedReferenceMatcherTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    private static final Function<DataRow, Object> STRING_KEY = row -> {
+        final DataCell cell = row.getCell(0);
+        return cell.isMissing() ? null : ((StringValue)cell).getStringValue();
+    };
+
+    private static final Function<DataRow, Object> CELL_KEY = row -> row.getCell(1);
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks string and cell keys with missing values, for partitions that fit into memory and ones that are split
+     * again, with and without inverting the inclusion.
+     *
+     * @throws Exception if the matching fails
+     */
+    @Test
+    public void testMatchEqualsKeySet() throws Exception {
+        final BufferedDataTable data = createTable(6000, 2000, 0);
+        final BufferedDataTable ref = createTable(3000, 2000, 1);
+        for (final long maxKeysPerPartition : new long[]{3, 100, 10000}) {
+            assertMatchEqualsKeySet("string keys, max keys " + maxKeysPerPartition, data, ref, STRING_KEY,
+                StringCell.TYPE, maxKeysPerPartition);
+            assertMatchEqualsKeySet("cell keys, max keys " + maxKeysPerPartition, data, ref, CELL_KEY, IntCell.TYPE,
+                maxKeysPerPartition);
+        }
+    }
+
+    /**
+     * Checks that partitions of duplicate reference keys, which cannot be split, are matched at the last level.
+     *
+     * @throws Exception if the matching fails
+     */
+    @Test
+    public void testDuplicateReferenceKeys() throws Exception {
+        final BufferedDataTable data = createTable(2000, 20, 2);
+        final BufferedDataTable ref = createTable(5000, 3, 3);
+        assertMatchEqualsKeySet("string keys", data, ref, STRING_KEY, StringCell.TYPE, 10);
+        assertMatchEqualsKeySet("cell keys", data, ref, CELL_KEY, IntCell.TYPE, 10);
+    }
+
+    /**
+     * Checks that an empty reference table excludes all rows.
+     *
+     * @throws Exception if the matching fails
+     */
+    @Test
+    public void testEmptyReference() throws Exception {
+        final BufferedDataTable data = createTable(500, 50, 4);
+        assertMatchEqualsKeySet("string keys", data, createTable(0, 50, 5), STRING_KEY, StringCell.TYPE, 10);
+    }
+
+    private void assertMatchEqualsKeySet(final String message, final BufferedDataTable data,
+        final BufferedDataTable ref, final Function<DataRow, Object> key, final DataType keyType,
+        final long maxKeysPerPartition) throws Exception {
+        final KeySet keySet = KeySet.create(StringCell.TYPE.equals(keyType));
+        for (final DataRow row : ref) {
+            keySet.add(key.apply(row));
+        }
+        final List<Boolean> expected = new ArrayList<>();
+        for (final DataRow row : data) {
+            expected.add(keySet.contains(key.apply(row)));
+        }
+        final List<Boolean> actual = new ArrayList<>();
+        try (final DiskBackedBitArray bitArray =
+            PartitionedReferenceMatcher.match(data, key, ref, key, keyType, maxKeysPerPartition, m_exec)) {
+            bitArray.setPosition(0);
+            for (long i = 0; i < data.size(); i++) {
+                actual.add(bitArray.getBit());
+            }
+        }
+        assertTrue(message, ref.size() == 0 || expected.contains(true));
+        assertTrue(message, expected.contains(false));
+        for (final boolean isInvertInclusion : new boolean[]{false, true}) {
+            assertEquals(message + ", invert " + isInvertInclusion + ", included",
+                filter(data, expected, isInvertInclusion, true), filter(data, actual, isInvertInclusion, true));
+            assertEquals(message + ", invert " + isInvertInclusion + ", excluded",
+                filter(data, expected, isInvertInclusion, false), filter(data, actual, isInvertInclusion, false));
+        }
+    }
+
+    /** Returns the keys of the rows that go to the first (or second) output of the filter, like the node model. */
+    private static List<RowKey> filter(final BufferedDataTable data, final List<Boolean> isContained,
+        final boolean isInvertInclusion, final boolean first) {
+        final List<RowKey> keys = new ArrayList<>();
+        int i = 0;
+        for (final DataRow row : data) {
+            if ((isContained.get(i++) != isInvertInclusion) == first) {
+                keys.add(row.getKey());
+            }
+        }
+        return keys;
+    }
+
+    /** Creates a table with keys drawn from the given number of distinct values and some missing keys. */
+    private BufferedDataTable createTable(final int nrRows, final int nrValues, final long seed) {
+        final Random random = new Random(seed);
+        final BufferedDataContainer cont = m_exec.createDataContainer(SPEC);
+        for (int i = 0; i < nrRows; i++) {
+            final int value = random.nextInt(nrValues);
+            final boolean missing = random.nextInt(100) == 0;
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                missing ? DataType.getMissingCell() : new StringCell("v" + value),
+                missing ? DataType.getMissingCell() : new IntCell(value)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+}
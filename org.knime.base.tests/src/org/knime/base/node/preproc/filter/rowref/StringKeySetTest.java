@@ -0,0 +1,119 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.rowref;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link StringKeySet} and the {@link BloomFilter}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class StringKeySetTest {
+
+    /**
+     * Compares the key set with a {@link HashSet} for random keys including the empty string and <code>null</code>.
+     */
+    @Test
+    public void testAddAndContains() {
+        final Random random = new Random(42);
+        final StringKeySet keySet = new StringKeySet();
+        final Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 20000; i++) {
+            final String key = i % 1000 == 0 ? null : randomKey(random);
+            assertEquals(expected.add(key), keySet.add(key));
+        }
+        assertEquals(expected.size(), keySet.size());
+        for (int i = 0; i < 20000; i++) {
+            final String key = randomKey(random);
+            assertEquals(key, expected.contains(key), keySet.contains(key));
+        }
+        for (final String key : expected) {
+            assertTrue(keySet.contains(key));
+        }
+        assertFalse(new StringKeySet().contains(null));
+    }
+
+    /**
+     * Checks that the Bloom filter has no false negatives and few false positives.
+     */
+    @Test
+    public void testBloomFilter() {
+        final BloomFilter filter = new BloomFilter(10000, 1 << 20);
+        for (int i = 0; i < 10000; i++) {
+            filter.add(BloomFilter.hash("Row" + i));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain(BloomFilter.hash("Row" + i)));
+        }
+        int falsePositives = 0;
+        for (int i = 10000; i < 20000; i++) {
+            if (filter.mightContain(BloomFilter.hash("Row" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("Too many false positives: " + falsePositives, falsePositives < 300);
+    }
+
+    private static String randomKey(final Random random) {
+        final int length = random.nextInt(4);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char)('a' + random.nextInt(20)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.pivot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.data.aggregation.AggregationMethods;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelFilterString;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.property.hilite.DefaultHiLiteMapper;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the single pass in-memory pivoting of the {@link Pivot2NodeModel} with the group-by based pivoting, which
+ * keeps the row order the same way the in-memory option did before.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class Pivot2NodeModelTest {
+
+    private static final List<String> GROUP_COLS = Arrays.asList("group", "sub");
+
+    private static final List<String> PIVOT_COLS = Arrays.asList("pivot");
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("group", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("value", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("pivot", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("sub", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("name", StringCell.TYPE).createSpec());
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks the pivot table, the group totals and the pivot and overall totals, their row order and row keys, the
+     * hilite mapping and the warning about skipped groups, with and without ignoring missing pivot values.
+     *
+     * @throws Exception if the pivoting fails
+     */
+    @Test
+    public void testInMemoryEqualsGroupByBased() throws Exception {
+        final BufferedDataTable table = createTable(600, 0);
+        for (final boolean ignoreMissing : new boolean[]{false, true}) {
+            final String message = "ignore missing values " + ignoreMissing;
+            final TestModel inMemory = new TestModel(true, ignoreMissing);
+            final PortObject[] actual = inMemory.execute(table, m_exec);
+            final TestModel groupBy = new TestModel(false, ignoreMissing);
+            final PortObject[] expected = groupBy.execute(table, m_exec);
+
+            // pivot table and group totals are in the order of the first occurrence of the group
+            for (int port = 0; port < 2; port++) {
+                final List<DataRow> actualRows = assertTablesEqual(message + ", port " + port,
+                    (BufferedDataTable)expected[port], (BufferedDataTable)actual[port], false);
+                for (int i = 0; i < actualRows.size(); i++) {
+                    assertEquals(message, RowKey.createRowKey((long)i), actualRows.get(i).getKey());
+                }
+            }
+            assertTablesEqual(message + ", totals", (BufferedDataTable)expected[2], (BufferedDataTable)actual[2],
+                true);
+
+            // each group total maps to the rows of its group
+            final Map<RowKey, Set<RowKey>> mapping = inMemory.getHiliteMapping();
+            final Map<List<DataCell>, Set<RowKey>> groupRows = new LinkedHashMap<>();
+            for (final DataRow row : table) {
+                groupRows.computeIfAbsent(Arrays.asList(row.getCell(0), row.getCell(3)), k -> new HashSet<>())
+                    .add(row.getKey());
+            }
+            assertEquals(message, groupRows.size(), mapping.size());
+            for (final DataRow row : (BufferedDataTable)actual[1]) {
+                assertEquals(message, groupRows.get(Arrays.asList(row.getCell(0), row.getCell(1))),
+                    mapping.get(row.getKey()));
+            }
+
+            assertNotNull(message, inMemory.m_warning);
+            assertTrue(message, inMemory.m_warning.contains("Skipped group(s)"));
+            assertEquals(message, groupBy.m_warning, inMemory.m_warning);
+        }
+    }
+
+    private static List<DataRow> assertTablesEqual(final String message, final BufferedDataTable expected,
+        final BufferedDataTable actual, final boolean compareKeys) {
+        assertEquals(message, expected.getDataTableSpec(), actual.getDataTableSpec());
+        final List<DataRow> expectedRows = new ArrayList<>();
+        expected.forEach(expectedRows::add);
+        final List<DataRow> actualRows = new ArrayList<>();
+        actual.forEach(actualRows::add);
+        assertEquals(message, expectedRows.size(), actualRows.size());
+        for (int i = 0; i < expectedRows.size(); i++) {
+            if (compareKeys) {
+                assertEquals(message, expectedRows.get(i).getKey(), actualRows.get(i).getKey());
+            }
+            for (int c = 0; c < expected.getDataTableSpec().getNumColumns(); c++) {
+                assertEquals(message + ", row " + i + ", column " + c, expectedRows.get(i).getCell(c),
+                    actualRows.get(i).getCell(c));
+            }
+        }
+        return actualRows;
+    }
+
+    /**
+     * Creates a table with missing group and pivot values and integer valued doubles, so that sums don't depend on
+     * the order of the rows. Only the rows of group "g1" have more than two distinct names.
+     */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final String[] pivots = {"p1", "p2", "p3", "p4"};
+        final BufferedDataContainer cont = m_exec.createDataContainer(SPEC);
+        for (int i = 0; i < nrRows; i++) {
+            final int group = random.nextInt(8);
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                group == 0 ? DataType.getMissingCell() : new StringCell("g" + group),
+                random.nextInt(20) == 0 ? DataType.getMissingCell() : new DoubleCell(random.nextInt(100)),
+                random.nextInt(15) == 0 ? DataType.getMissingCell() : new StringCell(pivots[random.nextInt(4)]),
+                new IntCell(random.nextInt(2)),
+                new StringCell(group == 1 ? "n" + i : random.nextBoolean() ? "x" : "y")));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    /** The pivot node with the settings of the test, which exposes its hilite mapping and warning. */
+    private static final class TestModel extends Pivot2NodeModel {
+
+        private String m_warning;
+
+        private File m_internalsDir;
+
+        TestModel(final boolean inMemory, final boolean ignoreMissing) throws Exception {
+            final NodeSettings settings = new NodeSettings("pivot");
+            saveSettingsTo(settings);
+            new SettingsModelFilterString(CFG_GROUP_BY_COLUMNS, GROUP_COLS, Collections.<String> emptyList())
+                .saveSettingsTo(settings);
+            new SettingsModelFilterString(CFG_PIVOT_COLUMNS, PIVOT_COLS, Collections.<String> emptyList())
+                .saveSettingsTo(settings);
+            ColumnAggregator.saveColumnAggregators(settings, Arrays.asList(
+                new ColumnAggregator(SPEC.getColumnSpec("value"), AggregationMethods.getMethod4Id("Sum_V2.5.2")),
+                new ColumnAggregator(SPEC.getColumnSpec("name"),
+                    AggregationMethods.getMethod4Id("uniqueConcatenate_V2.4"))));
+            settings.addInt(CFG_MAX_UNIQUE_VALUES, 2);
+            settings.addBoolean(CFG_ENABLE_HILITE, true);
+            settings.addBoolean(CFG_IN_MEMORY, inMemory);
+            // the group-by based pivoting keeps the row order like the previous in-memory pivoting
+            settings.addBoolean(CFG_RETAIN_ORDER, !inMemory);
+            final SettingsModelBoolean ignoreMissValues = createSettingsMissingValues();
+            ignoreMissValues.setBooleanValue(ignoreMissing);
+            ignoreMissValues.saveSettingsTo(settings);
+            final SettingsModelBoolean total = createSettingsTotal();
+            total.setBooleanValue(true);
+            total.saveSettingsTo(settings);
+            validateSettings(settings);
+            loadValidatedSettingsFrom(settings);
+            addWarningListener(warning -> m_warning = warning);
+        }
+
+        PortObject[] execute(final BufferedDataTable table, final ExecutionContext exec) throws Exception {
+            configure(new PortObjectSpec[]{table.getDataTableSpec()});
+            return execute(new PortObject[]{table}, exec);
+        }
+
+        Map<RowKey, Set<RowKey>> getHiliteMapping() throws Exception {
+            m_internalsDir = File.createTempFile("pivot", "");
+            m_internalsDir.delete();
+            m_internalsDir.mkdir();
+            try {
+                saveInternals(m_internalsDir, new ExecutionMonitor());
+                final File[] files = m_internalsDir.listFiles();
+                assertEquals(1, files.length);
+                try (final InputStream in = new FileInputStream(files[0])) {
+                    final NodeSettingsRO config = NodeSettings.loadFromXML(in);
+                    final DefaultHiLiteMapper mapper = DefaultHiLiteMapper.load(config);
+                    final Map<RowKey, Set<RowKey>> mapping = new LinkedHashMap<>();
+                    for (final RowKey key : mapper.keySet()) {
+                        mapping.put(key, mapper.getKeys(key));
+                    }
+                    return mapping;
+                } finally {
+                    files[0].delete();
+                }
+            } finally {
+                m_internalsDir.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.rank;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.data.sort.BufferedDataTableSorter;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the ranks of the {@link RankCalculator} with the ones the {@link RankCellFactory} assigns to the sorted
+ * table.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RankCalculatorTest {
+
+    private static final String[] RANK_MODES = {"Standard", "Dense", "Ordinal"};
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("group", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("sub", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec());
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks all rank modes for ties, missing values, signed zeros and NaN, ascending and descending order, several
+     * ranking columns and grouping columns.
+     *
+     * @throws Exception if the ranking fails
+     */
+    @Test
+    public void testRanksEqualRankCellFactory() throws Exception {
+        final BufferedDataTable table = createTable(2000, 0);
+        final List<int[]> groupCols = Arrays.asList(new int[0], new int[]{0}, new int[]{0, 1});
+        final List<int[]> rankCols = Arrays.asList(new int[]{2}, new int[]{3}, new int[]{4, 2}, new int[]{3, 2, 4});
+        for (final String rankMode : RANK_MODES) {
+            for (final int[] groupColIndices : groupCols) {
+                for (final int[] rankColIndices : rankCols) {
+                    for (final boolean ascendingFirst : new boolean[]{true, false}) {
+                        final boolean[] ascending = new boolean[rankColIndices.length];
+                        for (int i = 0; i < ascending.length; i++) {
+                            // alternate the order of the ranking columns
+                            ascending[i] = ascendingFirst == (i % 2 == 0);
+                        }
+                        final String message = rankMode + ", groups " + Arrays.toString(groupColIndices)
+                            + ", ranking columns " + Arrays.toString(rankColIndices) + ", ascending "
+                            + Arrays.toString(ascending);
+                        assertArrayEquals(message,
+                            rankSorted(table, groupColIndices, rankColIndices, ascending, rankMode),
+                            RankCalculator.calculateRanks(table, groupColIndices, rankColIndices, ascending,
+                                rankMode, m_exec));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that -0.0 and 0.0 share a rank although -0.0 is ordered first.
+     *
+     * @throws Exception if the ranking fails
+     */
+    @Test
+    public void testSignedZeros() throws Exception {
+        final BufferedDataTable table = createTable(new double[]{0.0, 1.0, -0.0, -1.0, 0.0});
+        final int[] rankCol = {2};
+        assertArrayEquals(new int[]{2, 5, 2, 1, 2},
+            RankCalculator.calculateRanks(table, new int[0], rankCol, new boolean[]{true}, "Standard", m_exec));
+        assertArrayEquals(new int[]{2, 3, 2, 1, 2},
+            RankCalculator.calculateRanks(table, new int[0], rankCol, new boolean[]{true}, "Dense", m_exec));
+        assertArrayEquals(
+            rankSorted(table, new int[0], rankCol, new boolean[]{true}, "Ordinal"),
+            RankCalculator.calculateRanks(table, new int[0], rankCol, new boolean[]{true}, "Ordinal", m_exec));
+    }
+
+    /**
+     * Checks that an empty table has no ranks.
+     *
+     * @throws Exception if the ranking fails
+     */
+    @Test
+    public void testEmptyTable() throws Exception {
+        assertEquals(0, RankCalculator.calculateRanks(createTable(0, 1), new int[]{0}, new int[]{2},
+            new boolean[]{true}, "Standard", m_exec).length);
+    }
+
+    /** Ranks the table the way the node does if the row order is not retained: sorting and appending the ranks. */
+    private int[] rankSorted(final BufferedDataTable table, final int[] groupColIndices, final int[] rankColIndices,
+        final boolean[] ascending, final String rankMode) throws Exception {
+        final String[] rankCols = new String[rankColIndices.length];
+        for (int i = 0; i < rankCols.length; i++) {
+            rankCols[i] = SPEC.getColumnSpec(rankColIndices[i]).getName();
+        }
+        final BufferedDataTable sorted =
+            new BufferedDataTableSorter(table, Arrays.asList(rankCols), ascending).sort(m_exec);
+        final ColumnRearranger rearranger = new ColumnRearranger(sorted.getDataTableSpec());
+        rearranger.append(new RankCellFactory(new DataColumnSpecCreator("rank", IntCell.TYPE).createSpec(),
+            groupColIndices, rankColIndices, rankMode, false, 11));
+        final BufferedDataTable ranked = m_exec.createColumnRearrangeTable(sorted, rearranger, m_exec);
+
+        final Map<RowKey, Integer> rowIndices = new HashMap<>();
+        for (final DataRow row : table) {
+            rowIndices.put(row.getKey(), rowIndices.size());
+        }
+        final int[] ranks = new int[(int)table.size()];
+        for (final DataRow row : ranked) {
+            ranks[rowIndices.get(row.getKey())] = ((IntValue)row.getCell(SPEC.getNumColumns())).getIntValue();
+        }
+        return ranks;
+    }
+
+    /** Creates a table with many ties, missing values, signed zeros and NaN in the ranking columns. */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final double[] specialValues = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        final BufferedDataContainer cont = m_exec.createDataContainer(SPEC);
+        for (int i = 0; i < nrRows; i++) {
+            final DataCell doubleCell;
+            if (random.nextInt(20) == 0) {
+                doubleCell = DataType.getMissingCell();
+            } else if (random.nextInt(5) == 0) {
+                doubleCell = new DoubleCell(specialValues[random.nextInt(specialValues.length)]);
+            } else {
+                doubleCell = new DoubleCell(random.nextInt(10) / 2.0 - 2);
+            }
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                random.nextInt(10) == 0 ? DataType.getMissingCell() : new StringCell("g" + random.nextInt(4)),
+                new IntCell(random.nextInt(3)), doubleCell,
+                random.nextInt(20) == 0 ? DataType.getMissingCell() : new IntCell(random.nextInt(8)),
+                random.nextInt(20) == 0 ? DataType.getMissingCell() : new StringCell("s" + random.nextInt(5))));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private BufferedDataTable createTable(final double[] values) {
+        final BufferedDataContainer cont = m_exec.createDataContainer(SPEC);
+        for (int i = 0; i < values.length; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new StringCell("g"), new IntCell(0),
+                new DoubleCell(values[i]), new IntCell(0), new StringCell("s")));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+}
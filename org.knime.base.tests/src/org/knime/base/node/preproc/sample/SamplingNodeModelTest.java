@@ -0,0 +1,161 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.sample;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.preproc.sample.SamplingNodeSettings.CountMethods;
+import org.knime.base.node.preproc.sample.SamplingNodeSettings.SamplingMethods;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests that the {@link SamplingNodeModel} picks the same rows when executed and when streamed.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class SamplingNodeModelTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("class", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that stratified sampling of an absolute number of rows picks the same rows for the same seed in both
+     * modes, and that each class is represented according to its share.
+     *
+     * @throws Exception if the sampling fails
+     */
+    @Test
+    public void testStratifiedAbsoluteExecuteEqualsStreaming() throws Exception {
+        final BufferedDataTable table = createTable(5000, 0);
+        final SamplingNodeModel model = new SamplingNodeModel();
+        final SamplingNodeSettings settings = model.getSettings();
+        settings.countMethod(CountMethods.Absolute);
+        settings.samplingMethod(SamplingMethods.Stratified);
+        settings.classColumn("class");
+        settings.count(300);
+        settings.seed(42L);
+        settings.legacyStratifiedSampling(false);
+
+        final List<DataRow> executed = new ArrayList<>();
+        model.execute(new BufferedDataTable[]{table}, m_exec)[0].forEach(executed::add);
+
+        final BufferedDataTableRowOutput output =
+            new BufferedDataTableRowOutput(m_exec.createDataContainer(SPEC));
+        model.createStreamableOperator(null, new PortObjectSpec[]{SPEC}).runFinal(
+            new PortInput[]{new DataTableRowInput(table)}, new PortOutput[]{output}, m_exec);
+        final List<DataRow> streamed = new ArrayList<>();
+        output.getDataTable().forEach(streamed::add);
+
+        assertEquals(300, executed.size());
+        assertEquals(executed.size(), streamed.size());
+        final int[] classCounts = new int[3];
+        for (int i = 0; i < executed.size(); i++) {
+            assertEquals(executed.get(i).getKey(), streamed.get(i).getKey());
+            classCounts[Integer.parseInt(executed.get(i).getCell(0).toString().substring(1))]++;
+        }
+        // the classes make up 60, 30 and 10 percent of the table
+        assertEquals(180, classCounts[0], 15);
+        assertEquals(90, classCounts[1], 15);
+        assertEquals(30, classCounts[2], 15);
+    }
+
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final BufferedDataContainer cont = m_exec.createDataContainer(SPEC);
+        for (int i = 0; i < nrRows; i++) {
+            final double r = random.nextDouble();
+            final String clazz = r < 0.6 ? "c0" : r < 0.9 ? "c1" : "c2";
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new StringCell(clazz), new IntCell(i)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+}
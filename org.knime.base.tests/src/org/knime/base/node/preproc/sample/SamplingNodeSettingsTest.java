@@ -0,0 +1,104 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.sample;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.knime.base.node.preproc.sample.SamplingNodeSettings.CountMethods;
+import org.knime.base.node.preproc.sample.SamplingNodeSettings.SamplingMethods;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettings;
+
+/**
+ * Tests the {@link SamplingNodeSettings}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class SamplingNodeSettingsTest {
+
+    /**
+     * Checks that settings saved before 4.4 keep the legacy stratified sampling while new nodes use the new one.
+     *
+     * @throws InvalidSettingsException if the settings cannot be loaded
+     */
+    @Test
+    public void testLegacyStratifiedSampling() throws InvalidSettingsException {
+        final SamplingNodeSettings settings = new SamplingNodeSettings();
+        settings.countMethod(CountMethods.Absolute);
+        settings.samplingMethod(SamplingMethods.Stratified);
+        settings.classColumn("class");
+        settings.seed(42L);
+        final NodeSettings saved = new NodeSettings("sampling");
+        settings.saveSettingsTo(saved);
+
+        final SamplingNodeSettings loaded = new SamplingNodeSettings();
+        loaded.loadSettingsFrom(saved, false);
+        assertFalse("New settings use legacy sampling", loaded.legacyStratifiedSampling());
+        loaded.loadSettingsFrom(saved, true);
+        assertFalse("New settings use legacy sampling in the dialog", loaded.legacyStratifiedSampling());
+
+        // settings from before 4.4 do not contain the key
+        final NodeSettings withoutKey = new NodeSettings("sampling");
+        withoutKey.addString("method", CountMethods.Absolute.toString());
+        withoutKey.addString("samplingMethod", SamplingMethods.Stratified.toString());
+        withoutKey.addDouble("fraction", 0.1);
+        withoutKey.addInt("count", 100);
+        withoutKey.addString("random_seed", "42");
+        withoutKey.addString("class_column", "class");
+        loaded.loadSettingsFrom(withoutKey, false);
+        assertTrue("Old settings do not use legacy sampling", loaded.legacyStratifiedSampling());
+        loaded.loadSettingsFrom(withoutKey, true);
+        assertTrue("Old settings do not use legacy sampling in the dialog", loaded.legacyStratifiedSampling());
+
+        // the dialog of a new node has no settings
+        loaded.loadSettingsFrom(new NodeSettings("sampling"), true);
+        assertFalse("New nodes use legacy sampling", loaded.legacyStratifiedSampling());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.sample;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.preproc.sample.StratifiedSampler.Reservoir;
+import org.knime.base.node.preproc.sample.StratifiedSampler.Selection;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests the {@link StratifiedSampler}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class StratifiedSamplerTest {
+
+    private static final DataCell[] CLASSES = {new StringCell("a"), new StringCell("b"), new StringCell("c")};
+
+    /**
+     * Checks the distribution of the rows to include among the strata.
+     */
+    @Test
+    public void testAllocate() {
+        assertArrayEquals(new long[]{5, 3, 2}, StratifiedSampler.allocate(new long[]{50, 30, 20}, 10));
+        // rounding leaves one row, which goes to the first stratum
+        assertArrayEquals(new long[]{1, 1, 1}, StratifiedSampler.allocate(new long[]{10, 10, 10}, 3));
+        assertArrayEquals(new long[]{2, 1, 1}, StratifiedSampler.allocate(new long[]{10, 10, 10}, 4));
+        // rounding exceeds the rows to include, the last stratum gets less
+        assertArrayEquals(new long[]{1, 1, 0}, StratifiedSampler.allocate(new long[]{15, 15, 10}, 2));
+        // small strata may get no rows at all
+        assertArrayEquals(new long[]{0, 10, 0}, StratifiedSampler.allocate(new long[]{1, 100, 0}, 10));
+        // all rows
+        assertArrayEquals(new long[]{1, 100, 0}, StratifiedSampler.allocate(new long[]{1, 100, 0}, 101));
+    }
+
+    /**
+     * Checks that the selection picks exactly the allocated number of rows per stratum, deterministically.
+     */
+    @Test
+    public void testSelection() {
+        final List<DataCell> values = createValues(100000, 1);
+        final StratifiedSampler sampler = new StratifiedSampler();
+        final long[] counts = new long[CLASSES.length];
+        for (final DataCell value : values) {
+            assertEquals(stratum(value), sampler.add(value));
+            counts[stratum(value)]++;
+        }
+        assertEquals(values.size(), sampler.getRowCount());
+        assertEquals(CLASSES.length, sampler.getStratumCount());
+
+        final long[] quotas = StratifiedSampler.allocate(counts, 1234);
+        final Selection selection = sampler.createSelection(1234, new Random(7));
+        final boolean[] first = select(selection, values);
+        assertTrue(selection.isComplete());
+        final long[] selected = new long[CLASSES.length];
+        for (int i = 0; i < first.length; i++) {
+            if (first[i]) {
+                selected[stratum(values.get(i))]++;
+            }
+        }
+        assertArrayEquals(quotas, selected);
+
+        // a second pass picks the same rows, as does a selection with the same seed
+        selection.restart();
+        assertArrayEquals(first, select(selection, values));
+        assertArrayEquals(first, select(sampler.createSelection(1234, new Random(7)), values));
+    }
+
+    /**
+     * Checks that the one pass reservoir draws the allocated number of rows per stratum in the original order.
+     */
+    @Test
+    public void testReservoir() {
+        final List<DataCell> values = createValues(50000, 2);
+        final Reservoir reservoir = new Reservoir(500, new Random(3));
+        final long[] counts = new long[CLASSES.length];
+        for (int i = 0; i < values.size(); i++) {
+            reservoir.offer(values.get(i), new DefaultRow(RowKey.createRowKey((long)i), values.get(i)));
+            counts[stratum(values.get(i))]++;
+        }
+        assertEquals(values.size(), reservoir.getRowCount());
+        assertEquals(CLASSES.length, reservoir.getStratumCount());
+
+        final List<DataRow> sample = reservoir.getSample(500);
+        assertEquals(500, sample.size());
+        final long[] selected = new long[CLASSES.length];
+        long previous = -1;
+        for (final DataRow row : sample) {
+            final long index = Long.parseLong(row.getKey().getString().substring("Row".length()));
+            assertTrue("Rows not in original order", index > previous);
+            previous = index;
+            selected[stratum(row.getCell(0))]++;
+        }
+        assertArrayEquals(StratifiedSampler.allocate(counts, 500), selected);
+    }
+
+    private static boolean[] select(final Selection selection, final List<DataCell> values) {
+        final boolean[] selected = new boolean[values.size()];
+        for (int i = 0; i < selected.length; i++) {
+            selected[i] = selection.select(values.get(i));
+        }
+        return selected;
+    }
+
+    private static List<DataCell> createValues(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<DataCell> values = new ArrayList<>(count);
+        // the strata are indexed in order of first occurrence, use the same order as the classes array
+        for (final DataCell value : CLASSES) {
+            values.add(value);
+        }
+        for (int i = CLASSES.length; i < count; i++) {
+            // skewed class distribution
+            final double r = random.nextDouble();
+            values.add(CLASSES[r < 0.7 ? 0 : r < 0.95 ? 1 : 2]);
+        }
+        return values;
+    }
+
+    private static int stratum(final DataCell value) {
+        for (int i = 0; i < CLASSES.length; i++) {
+            if (CLASSES[i].equals(value)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(value.toString());
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.setoperator;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.data.sort.SortedTable;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the {@link HashSetOperation} with the merge of both sorted columns it replaces, in memory and in
+ * partitions.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class HashSetOperationTest {
+
+    private static final String[] COLUMNS = {"int", "long", "string", "int2"};
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table1;
+
+    private BufferedDataTable m_table2;
+
+    /**
+     * Creates the execution context and the tables.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+        m_table1 = createTable(500, 0);
+        m_table2 = createTable(400, 1);
+    }
+
+    /**
+     * Checks integer columns, which are stored in primitive arrays unless hiliting is enabled.
+     *
+     * @throws Exception if the operation fails
+     */
+    @Test
+    public void testIntColumns() throws Exception {
+        assertSameResults("int", "int2");
+    }
+
+    /**
+     * Checks long columns, which are stored in primitive arrays unless hiliting is enabled.
+     *
+     * @throws Exception if the operation fails
+     */
+    @Test
+    public void testLongColumns() throws Exception {
+        assertSameResults("long", "long");
+    }
+
+    /**
+     * Checks string columns.
+     *
+     * @throws Exception if the operation fails
+     */
+    @Test
+    public void testStringColumns() throws Exception {
+        assertSameResults("string", "string");
+    }
+
+    /**
+     * Checks columns of different types, which are compared as strings.
+     *
+     * @throws Exception if the operation fails
+     */
+    @Test
+    public void testMixedTypes() throws Exception {
+        assertSameResults("int", "string");
+        assertSameResults("string", "long");
+    }
+
+    /**
+     * Checks the row ids of the first table with a column of the second one and with the row ids of the second one.
+     *
+     * @throws Exception if the operation fails
+     */
+    @Test
+    public void testRowIDs() throws Exception {
+        assertSameResults(null, "string");
+        assertSameResults(null, null);
+    }
+
+    /**
+     * Compares the results of all operations with and without missing values and hiliting, in memory and forced
+     * into one and several partitions.
+     */
+    private void assertSameResults(final String col1, final String col2) throws Exception {
+        final DataColumnSpec col1Spec = col1 == null ? SetOperationTable.createRowIDSpec("RowID1")
+            : m_table1.getDataTableSpec().getColumnSpec(col1);
+        final DataColumnSpec col2Spec = col2 == null ? SetOperationTable.createRowIDSpec("RowID2")
+            : m_table2.getDataTableSpec().getColumnSpec(col2);
+        final int col1Idx = col1 == null ? -1 : m_table1.getDataTableSpec().findColumnIndex(col1);
+        final int col2Idx = col2 == null ? -1 : m_table2.getDataTableSpec().findColumnIndex(col2);
+        final boolean differentType = col1 == null || col2 == null || !col1Spec.getType().equals(col2Spec.getType());
+        for (final SetOperation op : SetOperation.values()) {
+            final DataValueComparator comp = col1 == null || col2 == null
+                ? GeneralDataValueComparator.getInstance() : op.getComparator(col1Spec, col2Spec);
+            final DataTableSpec resultSpec = SetOperationTable.createResultTableSpec(op, col1Spec, col2Spec);
+            for (final boolean skipMissing : new boolean[]{false, true}) {
+                for (final boolean enableHilite : new boolean[]{false, true}) {
+                    final MergeSetOperation merge = new MergeSetOperation(op, comp, differentType, skipMissing,
+                        enableHilite);
+                    final List<DataRow> expected =
+                        toList(merge.execute(m_exec, m_table1, col1Idx, m_table2, col2Idx, resultSpec));
+                    for (final int nrPartitions : new int[]{0, 1, 5}) {
+                        final String message = col1 + " " + op.getName() + " " + col2 + ", skip missing "
+                            + skipMissing + ", hilite " + enableHilite + ", " + nrPartitions + " partitions";
+                        final Map<RowKey, Set<RowKey>> mapping0 = enableHilite ? new HashMap<>() : null;
+                        final Map<RowKey, Set<RowKey>> mapping1 = enableHilite ? new HashMap<>() : null;
+                        final HashSetOperation hash = new HashSetOperation(op, comp,
+                            differentType ? null : col1Spec.getType(), skipMissing, mapping0, mapping1);
+                        final BufferedDataTable actual = nrPartitions == 0
+                            ? hash.execute(m_exec, m_table1, col1Idx, m_table2, col2Idx, resultSpec)
+                            : hash.executePartitioned(m_exec, m_table1, col1Idx, m_table2, col2Idx, resultSpec,
+                                nrPartitions);
+                        assertEquals(message, resultSpec, actual.getDataTableSpec());
+                        assertRowsEqual(message, expected, toList(actual));
+                        assertEquals(message, merge.m_hiliteMapping0, mapping0);
+                        assertEquals(message, merge.m_hiliteMapping1, mapping1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a table with duplicates and missing values in each column, the values and the row ids of both tables
+     * overlap.
+     */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator(COLUMNS[0], IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator(COLUMNS[1], LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator(COLUMNS[2], StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator(COLUMNS[3], IntCell.TYPE).createSpec());
+        final BufferedDataContainer cont = m_exec.createDataContainer(spec);
+        for (int i = 0; i < nrRows; i++) {
+            final DataCell[] cells = new DataCell[COLUMNS.length];
+            cells[0] = random.nextInt(20) == 0 ? DataType.getMissingCell() : new IntCell(random.nextInt(300) - 100);
+            cells[1] = random.nextInt(20) == 0 ? DataType.getMissingCell()
+                : new LongCell(random.nextInt(300) * (long)Integer.MAX_VALUE);
+            cells[2] = random.nextInt(20) == 0 ? DataType.getMissingCell()
+                : new StringCell(Integer.toString(random.nextInt(300)));
+            cells[3] = random.nextInt(20) == 0 ? DataType.getMissingCell() : new IntCell(random.nextInt(1000));
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), cells));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private static List<DataRow> toList(final BufferedDataTable table) {
+        final List<DataRow> rows = new ArrayList<>();
+        table.forEach(rows::add);
+        return rows;
+    }
+
+    private static void assertRowsEqual(final String message, final List<DataRow> expected,
+        final List<DataRow> actual) {
+        assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(message, expected.get(i).getKey(), actual.get(i).getKey());
+            assertEquals(message, expected.get(i).getCell(0), actual.get(i).getCell(0));
+        }
+    }
+
+    /** The merge of both sorted columns used by the {@link SetOperationTable} before it hashed the values. */
+    private static final class MergeSetOperation {
+
+        private final SetOperation m_op;
+
+        private final DataValueComparator m_comp;
+
+        private final boolean m_differentType;
+
+        private final boolean m_skipMissing;
+
+        private final boolean m_enableHilite;
+
+        private final Map<RowKey, Set<RowKey>> m_hiliteMapping0;
+
+        private final Map<RowKey, Set<RowKey>> m_hiliteMapping1;
+
+        private long m_rowId;
+
+        MergeSetOperation(final SetOperation op, final DataValueComparator comp, final boolean differentType,
+            final boolean skipMissing, final boolean enableHilite) {
+            m_op = op;
+            m_comp = comp;
+            m_differentType = differentType;
+            m_skipMissing = skipMissing;
+            m_enableHilite = enableHilite;
+            m_hiliteMapping0 = enableHilite ? new HashMap<>() : null;
+            m_hiliteMapping1 = enableHilite ? new HashMap<>() : null;
+        }
+
+        BufferedDataTable execute(final ExecutionContext exec, final BufferedDataTable table1, final int col1Idx,
+            final BufferedDataTable table2, final int col2Idx, final DataTableSpec resultSpec)
+            throws CanceledExecutionException {
+            final Iterator<RowKeyCellMap> iter1 = iterator(exec, table1, col1Idx);
+            final Iterator<RowKeyCellMap> iter2 = iterator(exec, table2, col2Idx);
+            m_rowId = -1;
+            final BufferedDataContainer dc = exec.createDataContainer(resultSpec);
+            RowKeyCellMap cell1 = null;
+            RowKeyCellMap cell2 = null;
+            RowKeyCellMap oldCell1 = null;
+            RowKeyCellMap oldCell2 = null;
+            DataCell oldResult = null;
+            while (iter1.hasNext() && iter2.hasNext()) {
+                cell1 = iter1.next();
+                cell2 = iter2.next();
+                int compResult = m_comp.compare(cell1.getCell(), cell2.getCell());
+                while (compResult != 0) {
+                    if (compResult < 0) {
+                        oldResult = computeResult(dc, oldResult, cell1, null, oldCell1, oldCell2);
+                        oldCell1 = cell1;
+                        cell1 = null;
+                        if (iter1.hasNext()) {
+                            cell1 = iter1.next();
+                            compResult = m_comp.compare(cell1.getCell(), cell2.getCell());
+                        } else {
+                            break;
+                        }
+                    } else {
+                        oldResult = computeResult(dc, oldResult, null, cell2, oldCell1, oldCell2);
+                        oldCell2 = cell2;
+                        cell2 = null;
+                        if (iter2.hasNext()) {
+                            cell2 = iter2.next();
+                            compResult = m_comp.compare(cell1.getCell(), cell2.getCell());
+                        } else {
+                            break;
+                        }
+                    }
+                }
+                if (compResult == 0) {
+                    oldResult = computeResult(dc, oldResult, cell1, cell2, oldCell1, oldCell2);
+                    oldCell1 = cell1;
+                    cell1 = null;
+                    oldCell2 = cell2;
+                    cell2 = null;
+                }
+            }
+            if (cell1 != null) {
+                oldResult = computeResult(dc, oldResult, cell1, null, oldCell1, oldCell2);
+            }
+            while (iter1.hasNext()) {
+                oldCell1 = cell1;
+                cell1 = iter1.next();
+                oldResult = computeResult(dc, oldResult, cell1, null, oldCell1, oldCell2);
+            }
+            if (cell2 != null) {
+                oldResult = computeResult(dc, oldResult, null, cell2, oldCell1, oldCell2);
+            }
+            while (iter2.hasNext()) {
+                oldCell2 = cell2;
+                cell2 = iter2.next();
+                oldResult = computeResult(dc, oldResult, null, cell2, oldCell1, oldCell2);
+            }
+            dc.close();
+            return dc.getTable();
+        }
+
+        private Iterator<RowKeyCellMap> iterator(final ExecutionContext exec, final BufferedDataTable table,
+            final int colIdx) throws CanceledExecutionException {
+            final Iterator<DataRow> it =
+                new SortedTable(table, new SingleColRowComparator(colIdx, m_comp), false, exec).iterator();
+            return new Iterator<RowKeyCellMap>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public RowKeyCellMap next() {
+                    final DataRow row = it.next();
+                    return new RowKeyCellMap(row.getKey(),
+                        colIdx < 0 ? new StringCell(row.getKey().getString()) : row.getCell(colIdx));
+                }
+            };
+        }
+
+        private DataCell computeResult(final BufferedDataContainer dc, final DataCell oldResult,
+            final RowKeyCellMap keyCell1, final RowKeyCellMap keyCell2, final RowKeyCellMap oldKeyCell1,
+            final RowKeyCellMap oldKeyCell2) {
+            final DataCell result = m_op.compute(keyCell1 == null ? null : keyCell1.getCell(),
+                keyCell2 == null ? null : keyCell2.getCell(), oldKeyCell1 == null ? null : oldKeyCell1.getCell(),
+                oldKeyCell2 == null ? null : oldKeyCell2.getCell(), m_differentType);
+            if (result == null) {
+                return oldResult;
+            }
+            if (result.equals(oldResult)) {
+                if (m_enableHilite) {
+                    final RowKey currentKey = RowKey.createRowKey(m_rowId);
+                    if (keyCell1 != null) {
+                        m_hiliteMapping0.get(currentKey).add(keyCell1.getRowKey());
+                    }
+                    if (keyCell2 != null) {
+                        m_hiliteMapping1.get(currentKey).add(keyCell2.getRowKey());
+                    }
+                }
+                return oldResult;
+            } else if (m_skipMissing && result.isMissing()) {
+                return oldResult;
+            }
+            final RowKey rowKey = RowKey.createRowKey(++m_rowId);
+            dc.addRowToTable(new DefaultRow(rowKey, result));
+            if (m_enableHilite) {
+                if (keyCell1 != null) {
+                    final Set<RowKey> keys = new HashSet<>();
+                    keys.add(keyCell1.getRowKey());
+                    m_hiliteMapping0.put(rowKey, keys);
+                }
+                if (keyCell2 != null) {
+                    final Set<RowKey> keys = new HashSet<>();
+                    keys.add(keyCell2.getRowKey());
+                    m_hiliteMapping1.put(rowKey, keys);
+                }
+            }
+            return result;
+        }
+    }
+}
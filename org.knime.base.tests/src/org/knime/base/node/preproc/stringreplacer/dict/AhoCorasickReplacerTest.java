@@ -0,0 +1,135 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.stringreplacer.dict;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link AhoCorasickReplacer}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class AhoCorasickReplacerTest {
+
+    /**
+     * Tests overlapping keys, which are replaced leftmost-longest.
+     */
+    @Test
+    public void testOverlappingKeys() {
+        final Map<String, String> dict = new HashMap<>();
+        dict.put("he", "1");
+        dict.put("she", "2");
+        dict.put("hers", "3");
+        dict.put("his", "4");
+        dict.put("", "empty");
+        final AhoCorasickReplacer replacer = new AhoCorasickReplacer(dict);
+        assertEquals("u2rs", replacer.replace("ushers"));
+        assertEquals("43", replacer.replace("hishers"));
+        assertEquals("t1 1", replacer.replace("the he"));
+        final String noMatch = "nothing to replace";
+        assertSame(noMatch, replacer.replace(noMatch));
+        assertSame("", replacer.replace(""));
+    }
+
+    /**
+     * Compares the replacer with a naive implementation for random dictionaries over a small alphabet, which causes
+     * many overlapping occurrences.
+     */
+    @Test
+    public void testRandomDictionaries() {
+        final Random random = new Random(42);
+        for (int t = 0; t < 2000; t++) {
+            final Map<String, String> dict = new HashMap<>();
+            final int nrKeys = 1 + random.nextInt(10);
+            for (int k = 0; k < nrKeys; k++) {
+                dict.put(randomString(random, 1 + random.nextInt(4), 3), "<" + k + ">");
+            }
+            final AhoCorasickReplacer replacer = new AhoCorasickReplacer(dict);
+            for (int i = 0; i < 20; i++) {
+                final String s = randomString(random, random.nextInt(20), 4);
+                assertEquals(dict + " / " + s, replaceNaive(dict, s), replacer.replace(s));
+            }
+        }
+    }
+
+    private static String randomString(final Random random, final int length, final int alphabetSize) {
+        final StringBuilder b = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            b.append((char)('a' + random.nextInt(alphabetSize)));
+        }
+        return b.toString();
+    }
+
+    /** Replaces the longest key at each position, from left to right. */
+    private static String replaceNaive(final Map<String, String> dict, final String s) {
+        final StringBuilder b = new StringBuilder();
+        int i = 0;
+        while (i < s.length()) {
+            String longest = null;
+            for (final String key : dict.keySet()) {
+                if (s.startsWith(key, i) && (longest == null || key.length() > longest.length())) {
+                    longest = key;
+                }
+            }
+            if (longest == null) {
+                b.append(s.charAt(i++));
+            } else {
+                b.append(dict.get(longest));
+                i += longest.length();
+            }
+        }
+        return b.toString();
+    }
+}
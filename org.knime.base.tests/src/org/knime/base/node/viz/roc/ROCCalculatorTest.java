@@ -0,0 +1,197 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.viz.roc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the curves the {@link ROCCalculator} computes from a {@link ScoreBuffer} with the ones computed from sorted
+ * tables.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ROCCalculatorTest {
+
+    private static final String CLASS_COL = "class";
+
+    private static final List<String> SCORE_COLS = Arrays.asList("continuous", "tied", "int");
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * Checks that both paths yield the same points, areas and warnings for tied scores and missing scores and
+     * labels, with and without ignoring missing values and downsampling.
+     *
+     * @throws Exception if the calculation fails
+     */
+    @Test
+    public void testScoreBufferEqualsSortedTables() throws Exception {
+        final BufferedDataTable table = createTable(3000, 0);
+        for (final boolean ignoreMissingValues : new boolean[]{false, true}) {
+            for (final int maxPoints : new int[]{-1, 50}) {
+                final String message = "ignore missing values " + ignoreMissingValues + ", max points " + maxPoints;
+                final ROCCalculator expected = calculate(table, maxPoints, ignoreMissingValues, false);
+                final ROCCalculator actual = calculate(table, maxPoints, ignoreMissingValues, true);
+                assertEquals(message, expected.getWarningMessage(), actual.getWarningMessage());
+                assertEquals(message, SCORE_COLS.size(), actual.getOutputCurves().size());
+                for (int i = 0; i < SCORE_COLS.size(); i++) {
+                    final ROCCurve e = expected.getOutputCurves().get(i);
+                    final ROCCurve a = actual.getOutputCurves().get(i);
+                    assertEquals(message, e.getName(), a.getName());
+                    assertEquals(message + ", " + e.getName(), e.getArea(), a.getArea(), 1e-12);
+                    assertArrayEquals(message + ", " + e.getName(), e.getX(), a.getX(), 0);
+                    assertArrayEquals(message + ", " + e.getName(), e.getY(), a.getY(), 0);
+                }
+                assertEquals(message, expected.getOutputTable().size(), actual.getOutputTable().size());
+            }
+        }
+    }
+
+    /**
+     * Checks the area under the curve of small tables with and without ties on both paths.
+     *
+     * @throws Exception if the calculation fails
+     */
+    @Test
+    public void testArea() throws Exception {
+        // one of the four pairs of a positive and a negative row is ranked wrongly
+        final BufferedDataTable ordered = createTable(new String[]{"pos", "neg", "pos", "neg"}, 0.9, 0.8, 0.7, 0.6);
+        // a tie between a positive and a negative row counts half
+        final BufferedDataTable tied = createTable(new String[]{"pos", "pos", "neg", "neg"}, 0.9, 0.5, 0.5, 0.1);
+        for (final boolean useScoreBuffer : new boolean[]{false, true}) {
+            assertEquals(0.75, calculate(ordered, -1, false, useScoreBuffer).getOutputCurves().get(0).getArea(), 1e-12);
+            assertEquals(0.875, calculate(tied, -1, false, useScoreBuffer).getOutputCurves().get(0).getArea(), 1e-12);
+        }
+    }
+
+    private ROCCalculator calculate(final BufferedDataTable table, final int maxPoints,
+        final boolean ignoreMissingValues, final boolean useScoreBuffer) throws Exception {
+        final List<String> curves = table.getDataTableSpec().getNumColumns() == 2
+            ? Arrays.asList(table.getDataTableSpec().getColumnSpec(1).getName()) : SCORE_COLS;
+        final ROCCalculator calculator = new ROCCalculator(curves, CLASS_COL, maxPoints, "pos", ignoreMissingValues);
+        calculator.setUseScoreBuffer(useScoreBuffer);
+        calculator.calculateCurveData(table, m_exec);
+        return calculator;
+    }
+
+    /** Creates a table with missing labels and scores, scores with few distinct values and integer scores. */
+    private BufferedDataTable createTable(final int nrRows, final long seed) {
+        final Random random = new Random(seed);
+        final DataTableSpec spec = new DataTableSpec(
+            new DataColumnSpecCreator(CLASS_COL, StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator(SCORE_COLS.get(0), DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator(SCORE_COLS.get(1), DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator(SCORE_COLS.get(2), IntCell.TYPE).createSpec());
+        final BufferedDataContainer cont = m_exec.createDataContainer(spec);
+        for (int i = 0; i < nrRows; i++) {
+            final boolean positive = random.nextBoolean();
+            final DataCell label = random.nextInt(50) == 0 ? DataType.getMissingCell()
+                : new StringCell(positive ? "pos" : random.nextBoolean() ? "neg" : "other");
+            final double score = random.nextDouble() + (positive ? 0.3 : 0);
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), label,
+                random.nextInt(30) == 0 ? DataType.getMissingCell() : new DoubleCell(score),
+                random.nextInt(30) == 0 ? DataType.getMissingCell() : new DoubleCell(Math.round(score * 5) / 5.0),
+                random.nextInt(30) == 0 ? DataType.getMissingCell() : new IntCell((int)(score * 10))));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private BufferedDataTable createTable(final String[] labels, final double... scores) {
+        final DataTableSpec spec = new DataTableSpec(
+            new DataColumnSpecCreator(CLASS_COL, StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("score", DoubleCell.TYPE).createSpec());
+        final BufferedDataContainer cont = m_exec.createDataContainer(spec);
+        for (int i = 0; i < labels.length; i++) {
+            cont.addRowToTable(
+                new DefaultRow(RowKey.createRowKey((long)i), new StringCell(labels[i]), new DoubleCell(scores[i])));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+}
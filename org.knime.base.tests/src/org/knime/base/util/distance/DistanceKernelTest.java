@@ -0,0 +1,163 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.util.distance;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link DistanceKernel DistanceKernels} and the {@link BitVectorKernel} against straightforward
+ * implementations of the distances.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class DistanceKernelTest {
+
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Checks the distances of random vectors, with and without missing values.
+     */
+    @Test
+    public void testDistances() {
+        final Random rand = new Random(42);
+        for (int length = 0; length < 12; length++) {
+            final double[] x = randomVector(rand, length, length > 5);
+            final double[] y = randomVector(rand, length, false);
+            double squares = 0;
+            double absolutes = 0;
+            double cubes = 0;
+            double dot = 0;
+            double xx = 0;
+            double yy = 0;
+            for (int k = 0; k < length; k++) {
+                if (!Double.isNaN(x[k])) {
+                    final double d = Math.abs(x[k] - y[k]);
+                    squares += d * d;
+                    absolutes += d;
+                    cubes += d * d * d;
+                    dot += x[k] * y[k];
+                    xx += x[k] * x[k];
+                    yy += y[k] * y[k];
+                }
+            }
+            assertEquals(Math.sqrt(squares), DistanceKernel.euclidean().distance(x, y), EPSILON);
+            assertEquals(squares, DistanceKernel.squaredEuclidean().distance(x, y), EPSILON);
+            assertEquals(absolutes, DistanceKernel.manhattan().distance(x, y), EPSILON);
+            assertEquals(Math.cbrt(cubes), DistanceKernel.minkowski(3).distance(x, y), EPSILON);
+            if (xx > 0 && yy > 0) {
+                assertEquals(1 - dot / Math.sqrt(xx * yy), DistanceKernel.cosine(1).distance(x, y), EPSILON);
+            }
+        }
+    }
+
+    /**
+     * Checks that the block methods address the vectors correctly.
+     */
+    @Test
+    public void testBlocks() {
+        final Random rand = new Random(3);
+        final int length = 5;
+        final PackedRows block1 = new PackedRows(length, 1);
+        final PackedRows block2 = new PackedRows(length, 1);
+        for (int i = 0; i < 70; i++) {
+            block1.add(randomVector(rand, length, false));
+        }
+        for (int i = 0; i < 130; i++) {
+            block2.add(randomVector(rand, length, false));
+        }
+        final DistanceKernel kernel = DistanceKernel.euclidean();
+        final double[] b1 = block1.getValues();
+        final double[] b2 = block2.getValues();
+
+        final double[] result = new double[block1.size() * block2.size()];
+        kernel.manyToMany(b1, block1.size(), b2, block2.size(), length, result);
+        final double[] row = new double[block2.size()];
+        for (int i = 0; i < block1.size(); i++) {
+            kernel.oneToMany(b1, block1.offset(i), b2, block2.size(), length, row);
+            for (int j = 0; j < block2.size(); j++) {
+                final double expected = kernel.distance(b1, block1.offset(i), b2, block2.offset(j), length);
+                assertEquals(expected, row[j], 0);
+                assertEquals(expected, result[i * block2.size() + j], 0);
+            }
+        }
+
+        final int[] count = new int[1];
+        kernel.pairwise(b2, block2.size(), length, (i, j, d) -> {
+            assertEquals(true, i < j);
+            assertEquals(kernel.distance(b2, block2.offset(i), b2, block2.offset(j), length), d, 0);
+            count[0]++;
+        });
+        assertEquals(block2.size() * (block2.size() - 1) / 2, count[0]);
+    }
+
+    /**
+     * Checks the Tanimoto distance of bit vectors.
+     */
+    @Test
+    public void testTanimoto() {
+        final long[] words = {0b1011L, 0b0110L, -1L, 1L << 63, 0, 0};
+        // 1 bit set in both, 4 set in any
+        assertEquals(1 - 1.0 / 4, BitVectorKernel.tanimoto(words, 0, words, 1, 1), 0);
+        // 3 bits set in both, 64 + 3 set in any
+        assertEquals(1 - 3.0 / 67, BitVectorKernel.tanimoto(words, 0, words, 2, 2), 0);
+        assertEquals(0, BitVectorKernel.tanimoto(words, 4, words, 4, 2), 0);
+        assertEquals(2, BitVectorKernel.words(65));
+    }
+
+    private static double[] randomVector(final Random rand, final int length, final boolean withMissing) {
+        final double[] vector = new double[length];
+        for (int k = 0; k < length; k++) {
+            vector[k] = withMissing && k % 3 == 1 ? Double.NaN : rand.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.data.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.knime.base.data.util.Futures;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowIterator;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Computes the covariances of a set of numeric columns in a single pass over the data using all available threads.
+ * <p>
+ * Rows are read into blocks of primitive values. For narrow tables the input table is split into row ranges, each of
+ * which is accumulated by its own thread into a {@link CovarianceAccumulator}; the partial results are merged at the
+ * end. For wide tables (where one accumulator per thread would need too much memory) and for streamed input, the rows
+ * are read by a single thread and the upper triangle of the covariance matrix is split into column blocks, which are
+ * updated concurrently with each row block while the next block is read.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public final class BlockCovarianceCalculator {
+
+    /** How missing values in the selected columns are treated. */
+    public enum MissingValueHandling {
+        /** Each covariance is computed over the rows in which both columns have a value. */
+        PAIRWISE,
+        /** Rows that contain a missing value in any of the columns are skipped. */
+        SKIP_ROW,
+        /** An {@link IllegalArgumentException} is thrown for the first row with a missing value. */
+        FAIL;
+    }
+
+    /** The number of rows per block. */
+    private static final int BLOCK_SIZE = 256;
+
+    /** The minimal number of column pairs that are worth being updated by a separate thread. */
+    private static final int MIN_PAIRS_PER_COLUMN_BLOCK = 2048;
+
+    /** The minimal number of rows that are worth being processed by a separate thread. */
+    private static final long MIN_ROWS_PER_RANGE = 10000;
+
+    private final int[] m_colIndices;
+
+    private final MissingValueHandling m_missingValueHandling;
+
+    private final String m_missingValueMessage;
+
+    private final boolean m_pairVariances;
+
+    private long m_incompleteRows;
+
+    /**
+     * @param colIndices the indices of the columns whose covariances are computed, all columns must be compatible with
+     *            {@link DoubleValue}
+     * @param missingValueHandling how to treat missing values
+     * @param missingValueMessage the message of the exception thrown in case of {@link MissingValueHandling#FAIL}
+     */
+    public BlockCovarianceCalculator(final int[] colIndices, final MissingValueHandling missingValueHandling,
+        final String missingValueMessage) {
+        this(colIndices, missingValueHandling, missingValueMessage, false);
+    }
+
+    /**
+     * @param colIndices the indices of the columns whose covariances are computed, all columns must be compatible with
+     *            {@link DoubleValue}
+     * @param missingValueHandling how to treat missing values
+     * @param missingValueMessage the message of the exception thrown in case of {@link MissingValueHandling#FAIL}
+     * @param pairVariances whether the accumulators should track the variances of the columns of each pair, see
+     *            {@link CovarianceAccumulator#getVariance(int, int)}
+     */
+    public BlockCovarianceCalculator(final int[] colIndices, final MissingValueHandling missingValueHandling,
+        final String missingValueMessage, final boolean pairVariances) {
+        m_colIndices = colIndices.clone();
+        m_missingValueHandling = missingValueHandling;
+        m_missingValueMessage = missingValueMessage;
+        m_pairVariances = pairVariances;
+    }
+
+    /**
+     * @return the number of rows that contained a missing value in at least one of the columns during the last
+     *         computation
+     */
+    public long getIncompleteRowCount() {
+        return m_incompleteRows;
+    }
+
+    /**
+     * Computes the covariances over the given table.
+     *
+     * @param table the input table
+     * @param exec the execution monitor for progress and cancelation
+     * @return the accumulated covariances
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    public CovarianceAccumulator compute(final BufferedDataTable table, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        m_incompleteRows = 0;
+        final long size = table.size();
+        final int dim = m_colIndices.length;
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final Runtime runtime = Runtime.getRuntime();
+        final long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        final long nrRanges = Math.min(Math.min(pool.getMaxThreads(), size / MIN_ROWS_PER_RANGE),
+            freeMemory / 4 / Math.max(1, CovarianceAccumulator.estimateSize(dim, m_pairVariances)));
+        if (nrRanges <= 1) {
+            try (final CloseableRowIterator it =
+                table.filter(TableFilter.materializeCols(m_colIndices)).iterator()) {
+                final CovarianceAccumulator acc = new CovarianceAccumulator(dim, m_pairVariances);
+                m_incompleteRows = accumulate(() -> it.hasNext() ? it.next() : null, size, acc, pool, exec);
+                return acc;
+            }
+        }
+
+        // row ranges, each accumulated by a separate thread
+        final List<Future<CovarianceAccumulator>> futures = new ArrayList<>();
+        final long[] incompleteRows = new long[(int)nrRanges];
+        final long rangeSize = (size + nrRanges - 1) / nrRanges;
+        for (int r = 0; r < nrRanges; r++) {
+            final int range = r;
+            final long from = r * rangeSize;
+            final long to = Math.min(size, from + rangeSize) - 1;
+            final ExecutionMonitor rangeExec = exec.createSubProgress(1.0 / nrRanges);
+            futures.add(pool.enqueue(() -> {
+                final TableFilter filter = new TableFilter.Builder().withFromRowIndex(from).withToRowIndex(to)
+                    .withMaterializeColumnIndices(m_colIndices).build();
+                try (final CloseableRowIterator it = table.filter(filter).iterator()) {
+                    final CovarianceAccumulator acc = new CovarianceAccumulator(dim, m_pairVariances);
+                    incompleteRows[range] =
+                        accumulate(() -> it.hasNext() ? it.next() : null, to - from + 1, acc, null, rangeExec);
+                    return acc;
+                }
+            }));
+        }
+        final CovarianceAccumulator result = new CovarianceAccumulator(dim, m_pairVariances);
+        for (final CovarianceAccumulator partial : Futures.waitFor(futures, exec)) {
+            result.merge(partial);
+        }
+        for (final long incomplete : incompleteRows) {
+            m_incompleteRows += incomplete;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the covariances over the given table. If the table is a {@link BufferedDataTable} this is the same as
+     * {@link #compute(BufferedDataTable, ExecutionMonitor)}, otherwise the rows are read by the current thread.
+     *
+     * @param table the input table
+     * @param size the number of rows of the table if known (for progress reporting), a value &lt;= 0 otherwise
+     * @param exec the execution monitor for progress and cancelation
+     * @return the accumulated covariances
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    public CovarianceAccumulator compute(final DataTable table, final long size, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        if (table instanceof BufferedDataTable) {
+            return compute((BufferedDataTable)table, exec);
+        }
+        m_incompleteRows = 0;
+        final CovarianceAccumulator acc = new CovarianceAccumulator(m_colIndices.length, m_pairVariances);
+        final RowIterator it = table.iterator();
+        m_incompleteRows = accumulate(() -> it.hasNext() ? it.next() : null, size, acc,
+            KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(), exec);
+        return acc;
+    }
+
+    /**
+     * Computes the covariances over the given streamed input.
+     *
+     * @param input the streamed input, it is not closed by this method
+     * @param size the number of rows of the input if known (for progress reporting), a value &lt;= 0 otherwise
+     * @param exec the execution monitor for progress and cancelation
+     * @return the accumulated covariances
+     * @throws CanceledExecutionException if the execution has been canceled
+     * @throws InterruptedException if the thread has been interrupted while polling the input
+     */
+    public CovarianceAccumulator compute(final RowInput input, final long size, final ExecutionMonitor exec)
+        throws CanceledExecutionException, InterruptedException {
+        m_incompleteRows = 0;
+        final CovarianceAccumulator acc = new CovarianceAccumulator(m_colIndices.length, m_pairVariances);
+        try {
+            m_incompleteRows =
+                accumulate(input::poll, size, acc, KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(), exec);
+        } catch (final RowSourceException e) {
+            throw (InterruptedException)e.getCause();
+        }
+        return acc;
+    }
+
+    /** Supplies the rows to accumulate, <code>null</code> marks the end of the input. */
+    @FunctionalInterface
+    private interface RowSource {
+        DataRow next() throws InterruptedException;
+    }
+
+    /** Wraps an {@link InterruptedException} thrown by a {@link RowSource}. */
+    private static final class RowSourceException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        RowSourceException(final InterruptedException cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Reads all rows of the source in blocks and updates the accumulator with them.
+     *
+     * @param pool the pool used to update the column blocks concurrently or <code>null</code> if the accumulator
+     *            should be updated by the current thread
+     * @return the number of rows with at least one missing value
+     */
+    private long accumulate(final RowSource source, final long size, final CovarianceAccumulator acc,
+        final ThreadPool pool, final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int dim = m_colIndices.length;
+        final int[] columnBlocks = pool == null ? new int[]{0, dim} : createColumnBlocks(dim, pool.getMaxThreads());
+        final boolean pairwise = m_missingValueHandling == MissingValueHandling.PAIRWISE;
+        // two blocks, one is read while the other one is accumulated
+        final double[][] values = new double[2][BLOCK_SIZE * dim];
+        final boolean[][] missing = pairwise ? new boolean[2][BLOCK_SIZE * dim] : new boolean[2][];
+        final boolean[] hasMissing = new boolean[2];
+        List<Future<Void>> pending = new ArrayList<>();
+        long incompleteRows = 0;
+        long rowCount = 0;
+        int current = 0;
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            // fill the current block
+            int nrRows = 0;
+            hasMissing[current] = false;
+            while (nrRows < BLOCK_SIZE) {
+                final DataRow row;
+                try {
+                    row = source.next();
+                } catch (final InterruptedException e) {
+                    throw new RowSourceException(e);
+                }
+                if (row == null) {
+                    endOfInput = true;
+                    break;
+                }
+                exec.checkCanceled();
+                rowCount++;
+                final boolean complete = readRow(row, values[current], pairwise ? missing[current] : null, nrRows);
+                if (!complete) {
+                    incompleteRows++;
+                    if (m_missingValueHandling == MissingValueHandling.FAIL) {
+                        throw new IllegalArgumentException(m_missingValueMessage);
+                    } else if (m_missingValueHandling == MissingValueHandling.SKIP_ROW) {
+                        continue;
+                    }
+                    hasMissing[current] = true;
+                }
+                nrRows++;
+            }
+            if (size > 0) {
+                final long finalRowCount = rowCount;
+                exec.setProgress(rowCount / (double)size, () -> "Processed row " + finalRowCount + " of " + size);
+            }
+            // wait for the previous block before its buffer gets overwritten or the current block is accumulated
+            Futures.waitFor(pending, exec);
+            pending = new ArrayList<>();
+            if (nrRows == 0) {
+                continue;
+            }
+            final double[] blockValues = values[current];
+            final boolean[] blockMissing = hasMissing[current] ? missing[current] : null;
+            final int blockRows = nrRows;
+            if (columnBlocks.length == 2) {
+                acc.update(blockValues, blockMissing, blockRows, 0, dim);
+            } else {
+                for (int b = 0; b < columnBlocks.length - 1; b++) {
+                    final int fromCol = columnBlocks[b];
+                    final int toCol = columnBlocks[b + 1];
+                    pending.add(pool.enqueue((Callable<Void>)() -> {
+                        acc.update(blockValues, blockMissing, blockRows, fromCol, toCol);
+                        return null;
+                    }));
+                }
+            }
+            current = 1 - current;
+        }
+        Futures.waitFor(pending, exec);
+        return incompleteRows;
+    }
+
+    /**
+     * Reads the values of the row into the block.
+     *
+     * @return <code>true</code> if the row contains no missing values
+     */
+    private boolean readRow(final DataRow row, final double[] values, final boolean[] missing, final int rowInBlock) {
+        final int base = rowInBlock * m_colIndices.length;
+        boolean complete = true;
+        for (int c = 0; c < m_colIndices.length; c++) {
+            final DataCell cell = row.getCell(m_colIndices[c]);
+            final boolean isMissing = cell.isMissing();
+            if (missing != null) {
+                missing[base + c] = isMissing;
+            }
+            if (isMissing) {
+                complete = false;
+                if (missing == null) {
+                    // the row is skipped anyway
+                    return false;
+                }
+            } else {
+                values[base + c] = ((DoubleValue)cell).getDoubleValue();
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Splits the columns into blocks with roughly the same number of column pairs.
+     *
+     * @return the bounds of the blocks, i.e. block <i>b</i> contains the columns from <i>bounds[b]</i> (inclusive) to
+     *         <i>bounds[b + 1]</i> (exclusive)
+     */
+    private static int[] createColumnBlocks(final int dim, final int maxThreads) {
+        final long nrPairs = CovarianceAccumulator.nrPairs(dim);
+        final int nrBlocks = (int)Math.max(1, Math.min(maxThreads, nrPairs / MIN_PAIRS_PER_COLUMN_BLOCK));
+        final List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        long pairs = 0;
+        for (int i = 0; i < dim; i++) {
+            pairs += dim - i;
+            if (pairs * nrBlocks >= nrPairs * bounds.size() && i + 1 < dim) {
+                bounds.add(i + 1);
+            }
+        }
+        bounds.add(dim);
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.data.statistics;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * Mergeable partial result of a covariance computation. For each pair of columns <i>(i, j)</i> with <i>i &lt;= j</i>
+ * the number of rows in which both values are present, the means of both columns over these rows and the sum of the
+ * products of the deviations (co-moment) are maintained. The values are updated with Welford's algorithm and two
+ * partial results are combined with the pairwise update formula of Chan et al., which keeps the computation numerically
+ * stable even if the partial results have been computed over blocks of rows or in different threads.
+ *
+ * <p>
+ * The state of all pairs is stored in packed arrays (row-major upper triangle including the diagonal). Disjoint ranges
+ * of columns can be updated concurrently, see {@link #update(double[], boolean[], int, int, int)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public final class CovarianceAccumulator {
+
+    /** The maximal number of column pairs, limited by the maximal length of the arrays. */
+    private static final long MAX_NR_PAIRS = Integer.MAX_VALUE - 8;
+
+    private final int m_dim;
+
+    private final long[] m_counts;
+
+    private final double[] m_meansFirst;
+
+    private final double[] m_meansSecond;
+
+    private final double[] m_comoments;
+
+    /** Sums of squared deviations of the first column of each pair, <code>null</code> if not tracked. */
+    private final double[] m_sqDevsFirst;
+
+    /** Sums of squared deviations of the second column of each pair, <code>null</code> if not tracked. */
+    private final double[] m_sqDevsSecond;
+
+    /**
+     * @param dim the number of columns
+     */
+    public CovarianceAccumulator(final int dim) {
+        this(dim, false);
+    }
+
+    /**
+     * @param dim the number of columns
+     * @param pairVariances whether the variances of both columns of each pair should be tracked, too (over the rows
+     *            in which both columns have a value), see {@link #getVariance(int, int)}
+     * @throws IllegalArgumentException if there are too many column pairs to store them in arrays
+     */
+    public CovarianceAccumulator(final int dim, final boolean pairVariances) {
+        m_dim = dim;
+        if (nrPairs(dim) > MAX_NR_PAIRS) {
+            throw new IllegalArgumentException(
+                "Too many columns (" + dim + ") to compute the covariances of all pairs of columns");
+        }
+        final int nrPairs = (int)nrPairs(dim);
+        m_counts = new long[nrPairs];
+        m_meansFirst = new double[nrPairs];
+        m_meansSecond = new double[nrPairs];
+        m_comoments = new double[nrPairs];
+        m_sqDevsFirst = pairVariances ? new double[nrPairs] : null;
+        m_sqDevsSecond = pairVariances ? new double[nrPairs] : null;
+    }
+
+    /**
+     * @param dim the number of columns
+     * @return the number of column pairs (including the pairs of a column with itself)
+     */
+    static long nrPairs(final int dim) {
+        return (long)dim * (dim + 1) / 2;
+    }
+
+    /**
+     * @param dim the number of columns
+     * @param col the first column of the pair
+     * @return the index of the pair <i>(col, col)</i> in the packed arrays
+     */
+    static int offset(final int dim, final int col) {
+        return (int)((long)col * dim - (long)col * (col - 1) / 2);
+    }
+
+    /**
+     * Estimates the number of bytes an accumulator of the given dimension requires.
+     *
+     * @param dim the number of columns
+     * @param pairVariances whether the variances of both columns of each pair are tracked
+     * @return the estimated size in bytes
+     */
+    static long estimateSize(final int dim, final boolean pairVariances) {
+        return (pairVariances ? 48L : 32L) * nrPairs(dim);
+    }
+
+    /**
+     * @return the number of columns
+     */
+    public int getDimension() {
+        return m_dim;
+    }
+
+    /**
+     * Updates the pairs <i>(i, j)</i> with <i>fromCol &lt;= i &lt; toCol</i> and <i>i &lt;= j</i> with a block of
+     * rows. Calls for disjoint column ranges may be executed concurrently.
+     *
+     * @param values the row-major values of the block, i.e. the value of column <i>j</i> in row <i>r</i> is at index
+     *            <i>r * dimension + j</i>
+     * @param missing flags for missing values with the same layout as the values or <code>null</code> if the block
+     *            does not contain missing values
+     * @param nrRows the number of rows in the block
+     * @param fromCol the first column (inclusive)
+     * @param toCol the last column (exclusive)
+     */
+    public void update(final double[] values, final boolean[] missing, final int nrRows, final int fromCol,
+        final int toCol) {
+        for (int i = fromCol; i < toCol; i++) {
+            final int offset = offset(m_dim, i);
+            for (int r = 0; r < nrRows; r++) {
+                final int base = r * m_dim;
+                if (missing != null && missing[base + i]) {
+                    continue;
+                }
+                final double x = values[base + i];
+                int idx = offset;
+                for (int j = i; j < m_dim; j++, idx++) {
+                    if (missing != null && missing[base + j]) {
+                        continue;
+                    }
+                    final double y = values[base + j];
+                    final long n = ++m_counts[idx];
+                    final double dx = x - m_meansFirst[idx];
+                    final double dy = y - m_meansSecond[idx];
+                    m_meansFirst[idx] += dx / n;
+                    m_meansSecond[idx] += dy / n;
+                    m_comoments[idx] += dx * (y - m_meansSecond[idx]);
+                    if (m_sqDevsFirst != null) {
+                        m_sqDevsFirst[idx] += dx * (x - m_meansFirst[idx]);
+                        m_sqDevsSecond[idx] += dy * (y - m_meansSecond[idx]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the given partial result into this one.
+     *
+     * @param other the partial result to merge, must have the same dimension and track pair variances iff this one
+     *            does
+     * @throws IllegalArgumentException if the dimensions differ or only one of the results tracks pair variances
+     */
+    public void merge(final CovarianceAccumulator other) {
+        if (other.m_dim != m_dim) {
+            throw new IllegalArgumentException(
+                "Cannot merge covariances of dimension " + other.m_dim + " into dimension " + m_dim);
+        }
+        if ((other.m_sqDevsFirst == null) != (m_sqDevsFirst == null)) {
+            throw new IllegalArgumentException("Cannot merge covariances with and without pair variances");
+        }
+        for (int idx = 0; idx < m_counts.length; idx++) {
+            final long nb = other.m_counts[idx];
+            if (nb == 0) {
+                continue;
+            }
+            final long na = m_counts[idx];
+            if (na == 0) {
+                m_counts[idx] = nb;
+                m_meansFirst[idx] = other.m_meansFirst[idx];
+                m_meansSecond[idx] = other.m_meansSecond[idx];
+                m_comoments[idx] = other.m_comoments[idx];
+                if (m_sqDevsFirst != null) {
+                    m_sqDevsFirst[idx] = other.m_sqDevsFirst[idx];
+                    m_sqDevsSecond[idx] = other.m_sqDevsSecond[idx];
+                }
+                continue;
+            }
+            final double n = (double)na + nb;
+            final double dx = other.m_meansFirst[idx] - m_meansFirst[idx];
+            final double dy = other.m_meansSecond[idx] - m_meansSecond[idx];
+            m_meansFirst[idx] += dx * nb / n;
+            m_meansSecond[idx] += dy * nb / n;
+            m_comoments[idx] += other.m_comoments[idx] + dx * dy * na * nb / n;
+            if (m_sqDevsFirst != null) {
+                m_sqDevsFirst[idx] += other.m_sqDevsFirst[idx] + dx * dx * na * nb / n;
+                m_sqDevsSecond[idx] += other.m_sqDevsSecond[idx] + dy * dy * na * nb / n;
+            }
+            m_counts[idx] = na + nb;
+        }
+    }
+
+    private int index(final int i, final int j) {
+        return i <= j ? offset(m_dim, i) + j - i : offset(m_dim, j) + i - j;
+    }
+
+    /**
+     * @param i the first column
+     * @param j the second column
+     * @return the number of rows in which both columns have a value
+     */
+    public long getCount(final int i, final int j) {
+        return m_counts[index(i, j)];
+    }
+
+    /**
+     * @param i the column
+     * @return the mean of the column over all rows in which it has a value
+     */
+    public double getMean(final int i) {
+        return m_meansFirst[index(i, i)];
+    }
+
+    /**
+     * @param i the first column
+     * @param j the second column
+     * @return the mean of column <i>i</i> over the rows in which both columns have a value
+     */
+    public double getMean(final int i, final int j) {
+        final int idx = index(i, j);
+        return i <= j ? m_meansFirst[idx] : m_meansSecond[idx];
+    }
+
+    /**
+     * Returns the bias corrected (sample) variance of column <i>i</i> computed over the rows in which both columns
+     * have a value. Only available if the pair variances are tracked.
+     *
+     * @param i the first column
+     * @param j the second column
+     * @return the variance or {@link Double#NaN} if less than two rows contain values for both columns
+     * @throws IllegalStateException if the pair variances are not tracked
+     */
+    public double getVariance(final int i, final int j) {
+        if (m_sqDevsFirst == null) {
+            throw new IllegalStateException("Pair variances are not tracked");
+        }
+        final int idx = index(i, j);
+        final long n = m_counts[idx];
+        if (n < 2) {
+            return Double.NaN;
+        }
+        return (i <= j ? m_sqDevsFirst[idx] : m_sqDevsSecond[idx]) / (n - 1);
+    }
+
+    /**
+     * Returns the bias corrected (sample) covariance of the two columns, computed over the rows in which both columns
+     * have a value. For <i>i == j</i> this is the variance of the column.
+     *
+     * @param i the first column
+     * @param j the second column
+     * @return the covariance or {@link Double#NaN} if less than two rows contain values for both columns
+     */
+    public double getCovariance(final int i, final int j) {
+        final int idx = index(i, j);
+        final long n = m_counts[idx];
+        return n < 2 ? Double.NaN : m_comoments[idx] / (n - 1);
+    }
+
+    /**
+     * @return the bias corrected covariance matrix, see {@link #getCovariance(int, int)}
+     */
+    public RealMatrix getCovarianceMatrix() {
+        final RealMatrix covMatrix = new Array2DRowRealMatrix(m_dim, m_dim);
+        for (int i = 0; i < m_dim; i++) {
+            for (int j = i; j < m_dim; j++) {
+                final double cov = getCovariance(i, j);
+                covMatrix.setEntry(i, j, cov);
+                covMatrix.setEntry(j, i, cov);
+            }
+        }
+        return covMatrix;
+    }
+}
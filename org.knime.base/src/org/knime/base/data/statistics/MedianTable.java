@@ -51,12 +51,14 @@
 import java.util.List;
 
 import org.apache.commons.lang.mutable.MutableLong;
+import org.knime.base.data.util.ColumnProjection;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataValueComparator;
 import org.knime.core.data.DoubleValue;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.sort.ColumnBufferedDataTableSorter;
 import org.knime.core.data.sort.SortingConsumer;
@@ -144,28 +146,46 @@ public synchronized double[] medianValues(final ExecutionContext context) throws
         if (m_medians == null) {
             m_medians = new double[m_indices.length];
             int[] validCount = new int[m_indices.length];
-            for (DataRow row : m_table) {
-                context.checkCanceled();
-                for (int i = 0; i < m_indices.length; ++i) {
-                    int col = m_indices[i];
-                    final DataCell cell = row.getCell(col);
-                    if (cell.isMissing()) {
-                        if (m_includeMissingValues) {
-                            validCount[i]++;
-                        }
-                    } else if (cell instanceof DoubleValue) {
-                        DoubleValue dv = (DoubleValue)cell;
-                        if (m_includeNaNs) {
-                            validCount[i]++;
-                        } else if (!Double.isNaN(dv.getDoubleValue())) {
-                            validCount[i]++;
+            // if possible the values are kept in memory and the medians are selected without sorting the table
+            final double[][] values = fitsIntoMemory(m_table.size(), m_indices.length)
+                ? new double[m_indices.length][(int)m_table.size()] : null;
+            final int[] nrValues = new int[m_indices.length];
+            try (CloseableRowIterator it = ColumnProjection.iterator(m_table, m_indices)) {
+                while (it.hasNext()) {
+                    final DataRow row = it.next();
+                    context.checkCanceled();
+                    for (int i = 0; i < m_indices.length; ++i) {
+                        int col = m_indices[i];
+                        final DataCell cell = row.getCell(col);
+                        if (cell.isMissing()) {
+                            if (m_includeMissingValues) {
+                                validCount[i]++;
+                            }
+                        } else if (cell instanceof DoubleValue) {
+                            DoubleValue dv = (DoubleValue)cell;
+                            if (values != null) {
+                                values[i][nrValues[i]++] = dv.getDoubleValue();
+                            }
+                            if (m_includeNaNs) {
+                                validCount[i]++;
+                            } else if (!Double.isNaN(dv.getDoubleValue())) {
+                                validCount[i]++;
+                            }
+                        } else {
+                            throw new IllegalStateException("Not a double value: " + cell + " in column: "
+                                + m_table.getSpec().getColumnSpec(col).getName());
                         }
-                    } else {
-                        throw new IllegalStateException("Not a double value: " + cell + " in column: "
-                            + m_table.getSpec().getColumnSpec(col).getName());
                     }
                 }
             }
+            if (values != null) {
+                for (int i = 0; i < m_indices.length; i++) {
+                    m_medians[i] = median(values[i], nrValues[i], validCount[i]);
+                    // release the buffer as early as possible
+                    values[i] = null;
+                }
+                return m_medians.clone();
+            }
             List<String> incList = new ArrayList<String>(m_indices.length);
             final String[] columnNames = m_table.getSpec().getColumnNames();
             for (int i : m_indices) {
@@ -184,6 +204,106 @@ public synchronized double[] medianValues(final ExecutionContext context) throws
         return m_medians.clone();
     }
 
+    /**
+     * @param rowCount the number of rows
+     * @param nrColumns the number of columns
+     * @return whether the values of the columns can be buffered in primitive arrays
+     */
+    static boolean fitsIntoMemory(final long rowCount, final int nrColumns) {
+        final Runtime runtime = Runtime.getRuntime();
+        final long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return rowCount < Integer.MAX_VALUE - 8 && rowCount * nrColumns * Double.BYTES < freeMemory / 2;
+    }
+
+    /**
+     * Computes the median of the buffered values the same way as the sorting based implementation: the values are
+     * ordered by {@link Double#compare(double, double)} (i.e. {@link Double#NaN}s are the largest values) followed by
+     * the missing values, and the median is the average of the values at the positions <i>(validCount - 1) / 2</i>
+     * and <i>validCount / 2</i>. The buffer is reordered.
+     *
+     * @param values the non-missing values, reordered by this method
+     * @param nrValues the number of (non-missing) values in the buffer
+     * @param validCount the number of values the median is computed of (may include {@link Double#NaN}s and missing
+     *            values)
+     * @return the median, {@link Double#NaN} if there are no values or one of the median values is missing
+     */
+    static double median(final double[] values, final int nrValues, final long validCount) {
+        final long lower = validCount > 0 ? (validCount - 1) / 2 : 0;
+        final long upper = validCount > 0 ? validCount / 2 : 0;
+        if (upper >= nrValues) {
+            return Double.NaN;
+        }
+        final double lowerValue = select(values, 0, nrValues, (int)lower);
+        double upperValue = lowerValue;
+        if (upper > lower) {
+            // after the selection all values right of the lower index are not smaller than the lower value
+            upperValue = values[(int)upper];
+            for (int i = (int)upper + 1; i < nrValues; i++) {
+                if (Double.compare(values[i], upperValue) < 0) {
+                    upperValue = values[i];
+                }
+            }
+        }
+        return (lowerValue + upperValue) / 2;
+    }
+
+    /**
+     * Finds the <i>k</i>-th smallest value (with respect to {@link Double#compare(double, double)}) of the given range
+     * in expected linear time. Afterwards the value is at position <i>k</i>, all values left of it are not larger and
+     * all values right of it are not smaller.
+     *
+     * @param values the values, reordered by this method
+     * @param from the first index of the range (inclusive)
+     * @param to the last index of the range (exclusive)
+     * @param k the index of the value to select, <i>from &lt;= k &lt; to</i>
+     * @return the <i>k</i>-th smallest value
+     */
+    static double select(final double[] values, final int from, final int to, final int k) {
+        int left = from;
+        int right = to - 1;
+        while (right > left) {
+            // median of three as pivot
+            final int mid = (left + right) >>> 1;
+            if (Double.compare(values[mid], values[left]) < 0) {
+                swap(values, mid, left);
+            }
+            if (Double.compare(values[right], values[left]) < 0) {
+                swap(values, right, left);
+            }
+            if (Double.compare(values[right], values[mid]) < 0) {
+                swap(values, right, mid);
+            }
+            final double pivot = values[mid];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (Double.compare(values[i], pivot) < 0) {
+                    i++;
+                }
+                while (Double.compare(values[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(values, i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                break;
+            }
+        }
+        return values[k];
+    }
+
+    private static void swap(final double[] values, final int i, final int j) {
+        final double tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
     /**
      * Sorts the data on the disk, it moves the missing values to the end.
      *
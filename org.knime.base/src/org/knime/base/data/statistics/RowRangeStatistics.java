@@ -0,0 +1,498 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.data.statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.container.BlobWrapperDataCell;
+
+/**
+ * Mergeable statistics of a contiguous range of rows as computed by {@link Statistics3Table}: the central moments up to
+ * order four (updated and merged with the formulas of Pébay), the minimum and maximum cells, the counts of missing and
+ * special values, the nominal value counts and, optionally, the values needed for the median. The partial results of
+ * consecutive ranges must be merged in row order, then the result is the same as of a sequential scan (up to rounding
+ * of the moments).
+ *
+ * <p>
+ * All arrays are indexed by the position of the column in the selected column indices.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowRangeStatistics {
+
+    private final int[] m_colIndices;
+
+    private final boolean[] m_numeric;
+
+    private final DataValueComparator[] m_comparators;
+
+    private final int m_maxNominalValues;
+
+    private final long[] m_count;
+
+    private final double[] m_mean;
+
+    private final double[] m_m2;
+
+    private final double[] m_m3;
+
+    private final double[] m_m4;
+
+    private final int[] m_missing;
+
+    private final int[] m_nan;
+
+    private final int[] m_posInf;
+
+    private final int[] m_negInf;
+
+    private final DataCell[] m_min;
+
+    private final DataCell[] m_max;
+
+    /** The first non-NaN value, needed to compute the non-infinite extrema like the sequential scan. */
+    private final DataCell[] m_first;
+
+    private final DataCell[] m_minFinite;
+
+    private final DataCell[] m_maxFinite;
+
+    /** Value to {count, index of first row}, <code>null</code> for non-nominal columns. */
+    private final Map<DataCell, long[]>[] m_nominalValues;
+
+    /** The index of the row in which too many nominal values have been encountered, -1 if not (yet) happened. */
+    private final long[] m_nominalOverflowRow;
+
+    /** Buffers for the median values shared by all ranges, <code>null</code> if no medians are computed. */
+    private final double[][] m_medianBuffers;
+
+    /** Maps the column position to the index of its median buffer, -1 if not numeric. */
+    private final int[] m_medianBufferIndices;
+
+    private final int m_medianBufferOffset;
+
+    private final int[] m_nrMedianValues;
+
+    /**
+     * @param spec the spec of the table
+     * @param colIndices the indices of the selected columns
+     * @param nominal for each selected column whether its nominal values are counted
+     * @param maxNominalValues the maximal number of nominal values per column
+     * @param medianBuffers for each numeric selected column (in order) a buffer with one slot per row of the table
+     *            which is shared by all ranges or <code>null</code> if no medians are computed
+     * @param firstRowIndex the index of the first row of this range
+     */
+    @SuppressWarnings("unchecked")
+    RowRangeStatistics(final DataTableSpec spec, final int[] colIndices, final boolean[] nominal,
+        final int maxNominalValues, final double[][] medianBuffers, final long firstRowIndex) {
+        final int nrCols = colIndices.length;
+        m_colIndices = colIndices;
+        m_maxNominalValues = maxNominalValues;
+        m_numeric = new boolean[nrCols];
+        m_comparators = new DataValueComparator[nrCols];
+        m_medianBufferIndices = new int[nrCols];
+        int medianBufferIndex = 0;
+        for (int p = 0; p < nrCols; p++) {
+            final DataType type = spec.getColumnSpec(colIndices[p]).getType();
+            m_numeric[p] = type.isCompatible(DoubleValue.class);
+            m_comparators[p] = type.getComparator();
+            m_medianBufferIndices[p] = m_numeric[p] ? medianBufferIndex++ : -1;
+        }
+        m_count = new long[nrCols];
+        m_mean = new double[nrCols];
+        m_m2 = new double[nrCols];
+        m_m3 = new double[nrCols];
+        m_m4 = new double[nrCols];
+        m_missing = new int[nrCols];
+        m_nan = new int[nrCols];
+        m_posInf = new int[nrCols];
+        m_negInf = new int[nrCols];
+        m_min = new DataCell[nrCols];
+        m_max = new DataCell[nrCols];
+        m_first = new DataCell[nrCols];
+        m_minFinite = new DataCell[nrCols];
+        m_maxFinite = new DataCell[nrCols];
+        m_nominalValues = new Map[nrCols];
+        m_nominalOverflowRow = new long[nrCols];
+        for (int p = 0; p < nrCols; p++) {
+            m_nominalValues[p] = nominal[p] ? new LinkedHashMap<>() : null;
+            m_nominalOverflowRow[p] = -1;
+        }
+        m_medianBuffers = medianBuffers;
+        m_medianBufferOffset = (int)firstRowIndex;
+        m_nrMedianValues = new int[nrCols];
+    }
+
+    /**
+     * Adds the next row of the range.
+     *
+     * @param row the row
+     * @param rowIndex the index of the row in the table
+     */
+    void add(final DataRow row, final long rowIndex) {
+        for (int p = 0; p < m_colIndices.length; p++) {
+            final DataCell cell = row.getCell(m_colIndices[p]);
+            if (cell.isMissing()) {
+                m_missing[p]++;
+            } else if (m_numeric[p]) {
+                final double d = ((DoubleValue)cell).getDoubleValue();
+                addValue(p, d);
+                updateMinMax(p, cell, d);
+                if (d == Double.POSITIVE_INFINITY) {
+                    m_posInf[p]++;
+                }
+                if (d == Double.NEGATIVE_INFINITY) {
+                    m_negInf[p]++;
+                }
+                if (Double.isNaN(d)) {
+                    m_nan[p]++;
+                }
+                if (m_medianBuffers != null) {
+                    m_medianBuffers[m_medianBufferIndices[p]][m_medianBufferOffset + m_nrMedianValues[p]++] = d;
+                }
+            }
+            if (m_nominalValues[p] != null && m_nominalOverflowRow[p] < 0) {
+                final long[] countAndRow = m_nominalValues[p].get(cell);
+                if (countAndRow != null) {
+                    countAndRow[0]++;
+                } else {
+                    m_nominalValues[p].put(cell, new long[]{1, rowIndex});
+                    if (m_nominalValues[p].size() == m_maxNominalValues + 1) {
+                        m_nominalOverflowRow[p] = rowIndex;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Updates the central moments with one value (the same update as the commons math fourth moment). */
+    private void addValue(final int p, final double d) {
+        final double n0 = m_count[p];
+        final double n = ++m_count[p];
+        final double delta = d - m_mean[p];
+        final double dn = delta / n;
+        final double dn2 = dn * dn;
+        final double term1 = delta * dn * n0;
+        m_mean[p] += dn;
+        m_m4[p] += term1 * dn2 * (n * n - 3 * n + 3) + 6 * dn2 * m_m2[p] - 4 * dn * m_m3[p];
+        m_m3[p] += term1 * dn * (n - 2) - 3 * dn * m_m2[p];
+        m_m2[p] += term1;
+    }
+
+    private void updateMinMax(final int p, final DataCell cell, final double d) {
+        if (Double.isNaN(d)) {
+            return;
+        }
+        final DataCell value = cell instanceof BlobWrapperDataCell ? ((BlobWrapperDataCell)cell).getCell() : cell;
+        final DataValueComparator comparator = m_comparators[p];
+        if (m_min[p] == null || comparator.compare(value, m_min[p]) < 0) {
+            m_min[p] = value;
+        }
+        if (m_max[p] == null || comparator.compare(value, m_max[p]) > 0) {
+            m_max[p] = value;
+        }
+        if (m_first[p] == null) {
+            m_first[p] = value;
+        }
+        if (!Double.isInfinite(d)) {
+            if (m_minFinite[p] == null || comparator.compare(value, m_minFinite[p]) < 0) {
+                m_minFinite[p] = value;
+            }
+            if (m_maxFinite[p] == null || comparator.compare(value, m_maxFinite[p]) > 0) {
+                m_maxFinite[p] = value;
+            }
+        }
+    }
+
+    /**
+     * Merges the statistics of the range that directly follows this range into this one.
+     *
+     * @param next the statistics of the next range
+     */
+    void merge(final RowRangeStatistics next) {
+        for (int p = 0; p < m_colIndices.length; p++) {
+            m_missing[p] += next.m_missing[p];
+            m_nan[p] += next.m_nan[p];
+            m_posInf[p] += next.m_posInf[p];
+            m_negInf[p] += next.m_negInf[p];
+            mergeMoments(p, next);
+            final DataValueComparator comparator = m_comparators[p];
+            m_min[p] = extremum(m_min[p], next.m_min[p], comparator, -1);
+            m_max[p] = extremum(m_max[p], next.m_max[p], comparator, 1);
+            m_minFinite[p] = extremum(m_minFinite[p], next.m_minFinite[p], comparator, -1);
+            m_maxFinite[p] = extremum(m_maxFinite[p], next.m_maxFinite[p], comparator, 1);
+            if (m_first[p] == null) {
+                m_first[p] = next.m_first[p];
+            }
+            mergeNominalValues(p, next);
+            // move the median values of the next range directly behind the values of this range
+            if (m_medianBuffers != null && m_numeric[p]) {
+                final double[] buffer = m_medianBuffers[m_medianBufferIndices[p]];
+                System.arraycopy(buffer, next.m_medianBufferOffset, buffer,
+                    m_medianBufferOffset + m_nrMedianValues[p], next.m_nrMedianValues[p]);
+                m_nrMedianValues[p] += next.m_nrMedianValues[p];
+            }
+        }
+    }
+
+    private void mergeMoments(final int p, final RowRangeStatistics next) {
+        final long nb = next.m_count[p];
+        if (nb == 0) {
+            return;
+        }
+        final long na = m_count[p];
+        if (na == 0) {
+            m_count[p] = nb;
+            m_mean[p] = next.m_mean[p];
+            m_m2[p] = next.m_m2[p];
+            m_m3[p] = next.m_m3[p];
+            m_m4[p] = next.m_m4[p];
+            return;
+        }
+        final double a = na;
+        final double b = nb;
+        final double n = a + b;
+        final double delta = next.m_mean[p] - m_mean[p];
+        final double delta2 = delta * delta;
+        final double m2a = m_m2[p];
+        final double m2b = next.m_m2[p];
+        final double m3a = m_m3[p];
+        final double m3b = next.m_m3[p];
+        m_m4[p] += next.m_m4[p] + delta2 * delta2 * a * b * (a * a - a * b + b * b) / (n * n * n)
+            + 6 * delta2 * (a * a * m2b + b * b * m2a) / (n * n) + 4 * delta * (a * m3b - b * m3a) / n;
+        m_m3[p] += m3b + delta2 * delta * a * b * (a - b) / (n * n) + 3 * delta * (a * m2b - b * m2a) / n;
+        m_m2[p] += m2b + delta2 * a * b / n;
+        m_mean[p] += delta * b / n;
+        m_count[p] = na + nb;
+    }
+
+    /** @return the earlier cell unless the later one is strictly smaller (sign -1) or larger (sign 1) */
+    private static DataCell extremum(final DataCell earlier, final DataCell later,
+        final DataValueComparator comparator, final int sign) {
+        if (earlier == null) {
+            return later;
+        }
+        if (later != null && Integer.signum(comparator.compare(later, earlier)) == sign) {
+            return later;
+        }
+        return earlier;
+    }
+
+    /**
+     * Adds the nominal values of the next range in their order of appearance. If the maximal number of values is
+     * exceeded, the overflow row is the row in which the first value beyond the maximum appeared.
+     */
+    private void mergeNominalValues(final int p, final RowRangeStatistics next) {
+        final Map<DataCell, long[]> values = m_nominalValues[p];
+        if (values == null || m_nominalOverflowRow[p] >= 0) {
+            return;
+        }
+        for (final Map.Entry<DataCell, long[]> entry : next.m_nominalValues[p].entrySet()) {
+            final long[] countAndRow = values.get(entry.getKey());
+            if (countAndRow != null) {
+                countAndRow[0] += entry.getValue()[0];
+            } else {
+                values.put(entry.getKey(), entry.getValue().clone());
+                if (values.size() == m_maxNominalValues + 1) {
+                    m_nominalOverflowRow[p] = entry.getValue()[1];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param p the column position
+     * @return the number of non-missing numeric values
+     */
+    long getCount(final int p) {
+        return m_count[p];
+    }
+
+    /**
+     * @param p the column position
+     * @return the mean, undefined if there are no values
+     */
+    double getMean(final int p) {
+        return m_mean[p];
+    }
+
+    /**
+     * @param p the column position
+     * @return the bias corrected variance as computed by the commons math variance
+     */
+    double getVariance(final int p) {
+        final long n = m_count[p];
+        if (n == 0) {
+            return Double.NaN;
+        }
+        return n == 1 ? 0.0 : m_m2[p] / (n - 1);
+    }
+
+    /**
+     * @param p the column position
+     * @return the skewness as computed by the commons math skewness
+     */
+    double getSkewness(final int p) {
+        final double n = m_count[p];
+        if (n < 3) {
+            return Double.NaN;
+        }
+        final double variance = m_m2[p] / (n - 1);
+        if (variance < 10E-20) {
+            return 0.0;
+        }
+        return (n * m_m3[p]) / ((n - 1) * (n - 2) * Math.sqrt(variance) * variance);
+    }
+
+    /**
+     * @param p the column position
+     * @return the kurtosis as computed by the commons math kurtosis
+     */
+    double getKurtosis(final int p) {
+        final double n = m_count[p];
+        if (n <= 3) {
+            return Double.NaN;
+        }
+        final double variance = m_m2[p] / (n - 1);
+        if (variance < 10E-20) {
+            return 0.0;
+        }
+        return (n * (n + 1) * m_m4[p] - 3 * m_m2[p] * m_m2[p] * (n - 1))
+            / ((n - 1) * (n - 2) * (n - 3) * variance * variance);
+    }
+
+    int getMissingCount(final int p) {
+        return m_missing[p];
+    }
+
+    int getNaNCount(final int p) {
+        return m_nan[p];
+    }
+
+    int getPositiveInfinityCount(final int p) {
+        return m_posInf[p];
+    }
+
+    int getNegativeInfinityCount(final int p) {
+        return m_negInf[p];
+    }
+
+    /**
+     * @param p the column position
+     * @return the smallest non-NaN cell, a missing cell if there is none
+     */
+    DataCell getMin(final int p) {
+        return m_min[p] == null ? DataType.getMissingCell() : m_min[p];
+    }
+
+    /**
+     * @param p the column position
+     * @return the largest non-NaN cell, a missing cell if there is none
+     */
+    DataCell getMax(final int p) {
+        return m_max[p] == null ? DataType.getMissingCell() : m_max[p];
+    }
+
+    /**
+     * Returns the smallest non-infinite cell the same way as the sequential scan computes it, i.e. the first value
+     * unless there is a strictly smaller finite value.
+     *
+     * @param p the column position
+     * @return the smallest non-infinite cell, a missing cell if there are no values
+     */
+    DataCell getNonInfMin(final int p) {
+        if (m_first[p] == null) {
+            return DataType.getMissingCell();
+        }
+        return extremum(m_first[p], m_minFinite[p], m_comparators[p], -1);
+    }
+
+    /**
+     * @param p the column position
+     * @return the largest non-infinite cell, see {@link #getNonInfMin(int)}
+     */
+    DataCell getNonInfMax(final int p) {
+        if (m_first[p] == null) {
+            return DataType.getMissingCell();
+        }
+        return extremum(m_first[p], m_maxFinite[p], m_comparators[p], 1);
+    }
+
+    /**
+     * @param p the column position
+     * @return the nominal values with {count, first row index} in order of appearance, <code>null</code> for
+     *         non-nominal columns
+     */
+    Map<DataCell, long[]> getNominalValues(final int p) {
+        return m_nominalValues[p];
+    }
+
+    /**
+     * @param p the column position
+     * @return the index of the row in which the maximal number of nominal values has been exceeded, -1 if it has not
+     */
+    long getNominalOverflowRow(final int p) {
+        return m_nominalOverflowRow[p];
+    }
+
+    /**
+     * @param p the column position
+     * @return the number of values in the median buffer of the column (starting at the first row index of the range)
+     */
+    int getNrMedianValues(final int p) {
+        return m_nrMedianValues[p];
+    }
+}
@@ -58,12 +58,14 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.commons.math.stat.descriptive.moment.Kurtosis;
 import org.apache.commons.math.stat.descriptive.moment.Mean;
 import org.apache.commons.math.stat.descriptive.moment.Skewness;
 import org.apache.commons.math.stat.descriptive.moment.Variance;
+import org.knime.base.data.util.Futures;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnDomainCreator;
 import org.knime.core.data.DataColumnSpec;
@@ -77,9 +79,11 @@
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.BlobWrapperDataCell;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.container.CloseableTable;
 import org.knime.core.data.container.ContainerTable;
 import org.knime.core.data.container.DataContainer;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DefaultTable;
 import org.knime.core.data.def.DoubleCell;
@@ -89,14 +93,21 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.util.MutableInteger;
+import org.knime.core.util.ThreadPool;
 
 /**
  * New statistic table utility class to compute statistical moments, such as mean, variance, column sum, count missing
  * values, min/max values, median, and count occurrences of all possible values.
+ * <p>
+ * Unless the class is extended (subclasses may rely on {@link #onStatisticComputation(DataRow)} seeing the rows in
+ * order), the table is split into row ranges that are processed concurrently and the medians are selected from
+ * in-memory buffers if they fit.
  *
  * @author Thomas Gabriel, University of Konstanz
  * @author Gabor Bakos
@@ -105,6 +116,9 @@
  */
 @Deprecated
 public class Statistics3Table {
+
+    /** The minimal number of rows that are worth being processed by a separate thread. */
+    private static final long MIN_ROWS_PER_RANGE = 10000;
     /** Specification for the stats in the columns. */
     private static final DataTableSpec STATISTICS_SPECIFICATION;
     static {
@@ -345,84 +359,125 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
             nominalValues.add(null);
         }
 
-        final int rowCnt = table.getRowCount();
-        double diffProgress = rowCnt;
-        if (computeMedian) {
-            for (int i : colIndices) {
-                if (m_spec.getColumnSpec(i).getType().isCompatible(DoubleValue.class)) {
-                    diffProgress += rowCnt;
+        boolean mediansComputed = false;
+        if (getClass() == Statistics3Table.class) {
+            // no subclass hook needs to see the rows in order, hence row ranges can be processed concurrently
+            mediansComputed = computeConcurrently(table, colIndices, computeMedian, numNomValuesOutput,
+                nominalValueColumnsSet, nominalValues, warn, exec);
+        } else {
+            final int rowCnt = table.getRowCount();
+            double diffProgress = rowCnt;
+            if (computeMedian) {
+                for (int i : colIndices) {
+                    if (m_spec.getColumnSpec(i).getType().isCompatible(DoubleValue.class)) {
+                        diffProgress += rowCnt;
+                    }
                 }
             }
-        }
-        int rowIdx = 0;
-        for (RowIterator rowIt = table.iterator(); rowIt.hasNext(); rowIdx++) {
-            DataRow row = rowIt.next();
-            exec.setProgress(rowIdx / diffProgress, "Calculating statistics, processing row " + (rowIdx + 1) + " (\""
-                + row.getKey() + "\")");
-
-            onStatisticComputation(row);
-
-            for (int c : colIndices) {
-                exec.checkCanceled();
-                DataColumnSpec cspec = m_spec.getColumnSpec(c);
-                final DataCell cell = row.getCell(c);
-                if (!(cell.isMissing())) {
-                    // for double columns we calc the sum (for the mean calc)
-                    if (cspec.getType().isCompatible(DoubleValue.class)) {
-                        double d = ((DoubleValue)cell).getDoubleValue();
-                        means[c].increment(d);
-                        variances[c].increment(d);
-                        updateMinMax(c, cell, cspec.getType().getComparator());
-                        if (d == Double.POSITIVE_INFINITY) {
-                            m_posInfinityValueCnt[c]++;
-                        }
-                        if (d == Double.NEGATIVE_INFINITY) {
-                            m_negInfinityValueCnt[c]++;
-                        }
-                        if (Double.isNaN(d)) {
-                            m_nanValueCnt[c]++;
+            int rowIdx = 0;
+            for (RowIterator rowIt = table.iterator(); rowIt.hasNext(); rowIdx++) {
+                DataRow row = rowIt.next();
+                exec.setProgress(rowIdx / diffProgress,
+                    "Calculating statistics, processing row " + (rowIdx + 1) + " (\"" + row.getKey() + "\")");
+
+                onStatisticComputation(row);
+
+                for (int c : colIndices) {
+                    exec.checkCanceled();
+                    DataColumnSpec cspec = m_spec.getColumnSpec(c);
+                    final DataCell cell = row.getCell(c);
+                    if (!(cell.isMissing())) {
+                        // for double columns we calc the sum (for the mean calc)
+                        if (cspec.getType().isCompatible(DoubleValue.class)) {
+                            double d = ((DoubleValue)cell).getDoubleValue();
+                            means[c].increment(d);
+                            variances[c].increment(d);
+                            updateMinMax(c, cell, cspec.getType().getComparator());
+                            if (d == Double.POSITIVE_INFINITY) {
+                                m_posInfinityValueCnt[c]++;
+                            }
+                            if (d == Double.NEGATIVE_INFINITY) {
+                                m_negInfinityValueCnt[c]++;
+                            }
+                            if (Double.isNaN(d)) {
+                                m_nanValueCnt[c]++;
+                            }
+                            skewness[c].increment(d);
+                            kurtosis[c].increment(d);
+                            sumsquare[c] += d * d;
+                            validCount[c]++;
                         }
-                        skewness[c].increment(d);
-                        kurtosis[c].increment(d);
-                        sumsquare[c] += d * d;
-                        validCount[c]++;
+                    } else {
+                        m_missingValueCnt[c]++;
                     }
-                } else {
-                    m_missingValueCnt[c]++;
-                }
-                if (nominalValueColumnsSet.contains(cspec.getName())) {
-                    if (nominalValues.get(c) == null || (nominalValues.get(c) != null
-                    // list is only empty, when the number of poss.
-                    // values exceeded the maximum
-                        && nominalValues.get(c).size() > 0)) {
-                        if (nominalValues.get(c) == null) {
-                            nominalValues.set(c, new LinkedHashMap<DataCell, MutableInteger>());
-                        }
-                        MutableInteger cnt = nominalValues.get(c).get(cell);
-                        if (cnt == null) {
-                            nominalValues.get(c).put(cell, new MutableInteger(1));
-                        } else {
-                            cnt.inc();
-                        }
-                        if (nominalValues.get(c).size() == numNomValuesOutput + 1) {
-                            if (warn.length() == 0) {
-                                warn.append("Maximum number of unique possible " + "values (" + numNomValuesOutput
-                                    + ") exceeds for column(s): ");
+                    if (nominalValueColumnsSet.contains(cspec.getName())) {
+                        if (nominalValues.get(c) == null || (nominalValues.get(c) != null
+                        // list is only empty, when the number of poss.
+                        // values exceeded the maximum
+                            && nominalValues.get(c).size() > 0)) {
+                            if (nominalValues.get(c) == null) {
+                                nominalValues.set(c, new LinkedHashMap<DataCell, MutableInteger>());
+                            }
+                            MutableInteger cnt = nominalValues.get(c).get(cell);
+                            if (cnt == null) {
+                                nominalValues.get(c).put(cell, new MutableInteger(1));
                             } else {
-                                warn.append(",");
+                                cnt.inc();
+                            }
+                            if (nominalValues.get(c).size() == numNomValuesOutput + 1) {
+                                if (warn.length() == 0) {
+                                    warn.append("Maximum number of unique possible " + "values (" + numNomValuesOutput
+                                        + ") exceeds for column(s): ");
+                                } else {
+                                    warn.append(",");
+                                }
+                                warn.append("\"" + m_spec.getColumnSpec(c).getName() + "\"");
+                                nominalValues.get(c).clear();
                             }
-                            warn.append("\"" + m_spec.getColumnSpec(c).getName() + "\"");
-                            nominalValues.get(c).clear();
                         }
                     }
                 }
             }
-        }
-        //Table is empty, but we should provide the nominal values an empty map.
-        if (!table.iterator().hasNext()) {
-            for (int c : colIndices) {
-                if (nominalValueColumnsSet.contains(m_spec.getColumnSpec(c).getName())) {
-                    nominalValues.set(c, Collections.<DataCell, MutableInteger> emptyMap());
+            //Table is empty, but we should provide the nominal values an empty map.
+            if (!table.iterator().hasNext()) {
+                for (int c : colIndices) {
+                    if (nominalValueColumnsSet.contains(m_spec.getColumnSpec(c).getName())) {
+                        nominalValues.set(c, Collections.<DataCell, MutableInteger> emptyMap());
+                    }
+                }
+            }
+
+            for (int j = 0; j < nrCols; j++) {
+                // in case we got an empty table or columns that contain only
+                // missing values
+                if (validCount[j] == 0) {
+                    m_minValues[j] = Double.NaN;
+                    m_maxValues[j] = Double.NaN;
+                    m_meanValues[j] = Double.NaN;
+                    m_varianceValues[j] = Double.NaN;
+                    m_sum[j] = 0.0;
+                    m_skewness[j] = Double.NaN;
+                    m_kurtosis[j] = Double.NaN;
+                } else {
+                    m_minValues[j] =
+                        m_minCells[j].isMissing() ? Double.NaN : ((DoubleValue)m_minCells[j]).getDoubleValue();
+                    m_maxValues[j] =
+                        m_maxCells[j].isMissing() ? Double.NaN : ((DoubleValue)m_maxCells[j]).getDoubleValue();
+                    m_meanValues[j] = means[j].getResult();
+                    m_varianceValues[j] = variances[j].getResult();
+                    m_sum[j] = means[j].getResult() * means[j].getN();
+                    m_skewness[j] = skewness[j].getResult();
+                    m_kurtosis[j] = kurtosis[j].getResult();
+                    // unreported bug fix: in cases in which a column contains
+                    // almost only one value (for instance 1.0) but one single
+                    // 'outlier' whose value is, for instance 0.9999998, we get
+                    // round-off errors resulting in negative variance values
+                    if (m_varianceValues[j] < 0.0 && m_varianceValues[j] > -1.0E8) {
+                        m_varianceValues[j] = 0.0;
+                    }
+                    assert Double.isNaN(m_varianceValues[j]) || m_varianceValues[j] >= 0.0 : "Variance cannot be "
+                        + "negative (column \"" + m_spec.getColumnSpec(j).getName() + "\": " + m_varianceValues[j]
+                        + ")";
                 }
             }
         }
@@ -434,37 +489,6 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
             m_warning = null;
         }
 
-        for (int j = 0; j < nrCols; j++) {
-            // in case we got an empty table or columns that contain only
-            // missing values
-            if (validCount[j] == 0) {
-                m_minValues[j] = Double.NaN;
-                m_maxValues[j] = Double.NaN;
-                m_meanValues[j] = Double.NaN;
-                m_varianceValues[j] = Double.NaN;
-                m_sum[j] = 0.0;
-                m_skewness[j] = Double.NaN;
-                m_kurtosis[j] = Double.NaN;
-            } else {
-                m_minValues[j] = m_minCells[j].isMissing() ? Double.NaN : ((DoubleValue) m_minCells[j]).getDoubleValue();
-                m_maxValues[j] = m_maxCells[j].isMissing() ? Double.NaN : ((DoubleValue) m_maxCells[j]).getDoubleValue();
-                m_meanValues[j] = means[j].getResult();
-                m_varianceValues[j] = variances[j].getResult();
-                m_sum[j] = means[j].getResult() * means[j].getN();
-                m_skewness[j] = skewness[j].getResult();
-                m_kurtosis[j] = kurtosis[j].getResult();
-                // unreported bug fix: in cases in which a column contains
-                // almost only one value (for instance 1.0) but one single
-                // 'outlier' whose value is, for instance 0.9999998, we get
-                // round-off errors resulting in negative variance values
-                if (m_varianceValues[j] < 0.0 && m_varianceValues[j] > -1.0E8) {
-                    m_varianceValues[j] = 0.0;
-                }
-                assert Double.isNaN(m_varianceValues[j]) || m_varianceValues[j] >= 0.0 : "Variance cannot be "
-                    + "negative (column \"" + m_spec.getColumnSpec(j).getName() + "\": " + m_varianceValues[j] + ")";
-            }
-        }
-
         // copy map and sort each column
         for (int c = 0; c < nominalValues.size(); c++) {
             Map<DataCell, MutableInteger> map = nominalValues.get(c);
@@ -487,8 +511,8 @@ public int compare(final Entry<DataCell, MutableInteger> o1, final Entry<DataCel
             }
         }
 
-        // compute median values if desired
-        if (computeMedian) {
+        // compute median values if desired (and not yet done)
+        if (computeMedian && !mediansComputed) {
             final int[] filteredIndices = filter(table.getSpec(), colIndices);
             final MedianTable medianTable = new MedianTable(table, filteredIndices);
             medianTable.setInMemory(table.getRowCount() < Runtime.getRuntime().freeMemory() / Double.SIZE / 2);
@@ -499,6 +523,140 @@ public int compare(final Entry<DataCell, MutableInteger> o1, final Entry<DataCel
         }
     }
 
+    /**
+     * Computes the statistics of the selected columns by splitting the table into row ranges that are processed
+     * concurrently. The partial results are merged in row order, so the results (including the order of the nominal
+     * values and of the columns in the warning) are the same as of the sequential scan. If the values of the numeric
+     * columns fit into memory, the medians are selected from primitive buffers filled during the same scan.
+     *
+     * @return whether the medians have been computed
+     */
+    private boolean computeConcurrently(final BufferedDataTable table, final int[] colIndices,
+        final boolean computeMedian, final int numNomValuesOutput, final Set<String> nominalValueColumnsSet,
+        final List<Map<DataCell, MutableInteger>> nominalValues, final StringBuilder warn, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final long rowCount = table.size();
+        final boolean[] nominal = new boolean[colIndices.length];
+        final int[] numericColIndices = filter(m_spec, colIndices);
+        for (int p = 0; p < colIndices.length; p++) {
+            nominal[p] = nominalValueColumnsSet.contains(m_spec.getColumnSpec(colIndices[p]).getName());
+        }
+        final boolean bufferMedians = computeMedian && numericColIndices.length > 0
+            && MedianTable.fitsIntoMemory(rowCount, numericColIndices.length);
+        final double[][] medianBuffers = bufferMedians ? new double[numericColIndices.length][(int)rowCount] : null;
+
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final long nrRanges = Math.max(1, Math.min(pool.getMaxThreads(), rowCount / MIN_ROWS_PER_RANGE));
+        final long rangeSize = Math.max(1, (rowCount + nrRanges - 1) / nrRanges);
+        final ExecutionMonitor readExec = exec.createSubProgress(computeMedian ? 0.8 : 1.0);
+        final List<Future<RowRangeStatistics>> futures = new ArrayList<>();
+        for (long from = 0; from < rowCount; from += rangeSize) {
+            final long start = from;
+            final long end = Math.min(rowCount, from + rangeSize);
+            final ExecutionMonitor rangeExec = readExec.createSubProgress((end - start) / (double)rowCount);
+            futures.add(pool.enqueue(() -> {
+                final RowRangeStatistics stats = new RowRangeStatistics(m_spec, colIndices, nominal,
+                    numNomValuesOutput, medianBuffers, start);
+                final TableFilter filter = new TableFilter.Builder().withFromRowIndex(start).withToRowIndex(end - 1)
+                    .withMaterializeColumnIndices(colIndices).build();
+                long rowIdx = start;
+                try (final CloseableRowIterator it = table.filter(filter).iterator()) {
+                    while (it.hasNext()) {
+                        final DataRow row = it.next();
+                        rangeExec.checkCanceled();
+                        stats.add(row, rowIdx);
+                        rowIdx++;
+                        final long processed = rowIdx - start;
+                        rangeExec.setProgress(processed / (double)(end - start), () -> "Calculating statistics, "
+                            + "processing row " + processed + " of " + (end - start) + " (\"" + row.getKey() + "\")");
+                    }
+                }
+                return stats;
+            }));
+        }
+        final List<RowRangeStatistics> ranges = Futures.waitFor(futures, exec);
+        final RowRangeStatistics stats = ranges.isEmpty() ? new RowRangeStatistics(m_spec, colIndices, nominal,
+            numNomValuesOutput, medianBuffers, 0) : ranges.get(0);
+        for (int r = 1; r < ranges.size(); r++) {
+            stats.merge(ranges.get(r));
+        }
+
+        // same defaults as for columns without values in the sequential scan
+        Arrays.fill(m_minValues, Double.NaN);
+        Arrays.fill(m_maxValues, Double.NaN);
+        Arrays.fill(m_sum, 0.0);
+        final List<long[]> overflows = new ArrayList<>();
+        for (int p = 0; p < colIndices.length; p++) {
+            final int c = colIndices[p];
+            m_missingValueCnt[c] = stats.getMissingCount(p);
+            m_nanValueCnt[c] = stats.getNaNCount(p);
+            m_posInfinityValueCnt[c] = stats.getPositiveInfinityCount(p);
+            m_negInfinityValueCnt[c] = stats.getNegativeInfinityCount(p);
+            m_minCells[c] = stats.getMin(p);
+            m_maxCells[c] = stats.getMax(p);
+            m_minNonInfValues[c] = stats.getNonInfMin(p);
+            m_maxNonInfValues[c] = stats.getNonInfMax(p);
+            if (stats.getCount(p) > 0) {
+                m_minValues[c] =
+                    m_minCells[c].isMissing() ? Double.NaN : ((DoubleValue)m_minCells[c]).getDoubleValue();
+                m_maxValues[c] =
+                    m_maxCells[c].isMissing() ? Double.NaN : ((DoubleValue)m_maxCells[c]).getDoubleValue();
+                m_meanValues[c] = stats.getMean(p);
+                m_varianceValues[c] = stats.getVariance(p);
+                m_sum[c] = stats.getMean(p) * stats.getCount(p);
+                m_skewness[c] = stats.getSkewness(p);
+                m_kurtosis[c] = stats.getKurtosis(p);
+                // see the sequential scan: round-off errors may result in negative variance values
+                if (m_varianceValues[c] < 0.0 && m_varianceValues[c] > -1.0E8) {
+                    m_varianceValues[c] = 0.0;
+                }
+            }
+            if (nominal[p]) {
+                final Map<DataCell, MutableInteger> map = new LinkedHashMap<DataCell, MutableInteger>();
+                if (stats.getNominalOverflowRow(p) >= 0) {
+                    overflows.add(new long[]{stats.getNominalOverflowRow(p), p});
+                } else {
+                    for (final Map.Entry<DataCell, long[]> e : stats.getNominalValues(p).entrySet()) {
+                        map.put(e.getKey(), new MutableInteger((int)e.getValue()[0]));
+                    }
+                }
+                nominalValues.set(c, map);
+            }
+        }
+
+        // warn in the order in which the sequential scan encounters the columns with too many values
+        overflows.sort(Comparator.<long[]> comparingLong(o -> o[0]).thenComparingLong(o -> o[1]));
+        for (final long[] overflow : overflows) {
+            if (warn.length() == 0) {
+                warn.append("Maximum number of unique possible " + "values (" + numNomValuesOutput
+                    + ") exceeds for column(s): ");
+            } else {
+                warn.append(",");
+            }
+            warn.append("\"" + m_spec.getColumnSpec(colIndices[(int)overflow[1]]).getName() + "\"");
+        }
+
+        if (!bufferMedians) {
+            return false;
+        }
+        exec.setMessage("Calculating medians");
+        final ExecutionMonitor medianExec = exec.createSubProgress(0.2);
+        final List<Future<Double>> medianFutures = new ArrayList<>(numericColIndices.length);
+        for (int p = 0; p < colIndices.length; p++) {
+            // the buffers are in the order of the numeric columns
+            if (m_spec.getColumnSpec(colIndices[p]).getType().isCompatible(DoubleValue.class)) {
+                final double[] buffer = medianBuffers[medianFutures.size()];
+                final int nrValues = stats.getNrMedianValues(p);
+                medianFutures.add(pool.enqueue(() -> MedianTable.median(buffer, nrValues, nrValues)));
+            }
+        }
+        final List<Double> medians = Futures.waitFor(medianFutures, medianExec);
+        for (int i = 0; i < numericColIndices.length; i++) {
+            m_median[numericColIndices[i]] = medians.get(i);
+        }
+        return true;
+    }
+
     /**
      * Hook for subclasses to perform additional computations.
      *
@@ -48,20 +48,20 @@
  */
 package org.knime.base.data.statistics.calculation;
 
-import java.util.Arrays;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
-import org.apache.commons.math3.stat.descriptive.moment.Mean;
+import org.knime.base.data.statistics.BlockCovarianceCalculator;
+import org.knime.base.data.statistics.BlockCovarianceCalculator.MissingValueHandling;
+import org.knime.base.data.statistics.CovarianceAccumulator;
 import org.knime.base.data.statistics.TransformationMatrix;
 import org.knime.base.node.mine.transformation.util.TransformationUtils;
-import org.knime.core.data.DataRow;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.util.CheckUtils;
 
 /**
@@ -75,11 +75,9 @@ public final class PCA {
     /** The covariance matrix. */
     private RealMatrix m_covMtx;
 
-    /** The number of missing rows. */
-    private int m_missings;
-
     /**
-     * Calculates the PCA.
+     * Calculates the PCA. The means and the covariance matrix are computed in a single pass over the table using all
+     * available threads, see {@link BlockCovarianceCalculator}.
      *
      * @param exec the execution context
      * @param inTable the input table
@@ -91,93 +89,55 @@ public final class PCA {
      */
     public TransformationMatrix calcTransformationMatrix(final ExecutionContext exec, final BufferedDataTable inTable,
         final String[] colNames, final boolean failOnMissingValues) throws CanceledExecutionException {
-        final int[] colIdx = inTable.getSpec().columnsToIndices(colNames);
-        final RealVector means =
-            calculateColMeans(exec.createSubExecutionContext(0.33), inTable, colIdx, failOnMissingValues);
-        calcCovarMatrix(exec.createSubExecutionContext(0.33), inTable, colIdx, means);
-        correctCovarMatrix(inTable.size());
-        final TransformationMatrix transMatrix = new TransformationMatrix(m_covMtx, means);
-        exec.setProgress(1);
-        return transMatrix;
+        final BlockCovarianceCalculator calculator =
+            createCovarianceCalculator(inTable.getSpec().columnsToIndices(colNames), failOnMissingValues);
+        final CovarianceAccumulator covariances = calculator.compute(inTable, exec.createSubExecutionContext(0.66));
+        return createTransformationMatrix(exec, covariances);
     }
 
     /**
-     * Calculates the column means in order to center the input table columns.
+     * Calculates the PCA on a streamed input. The input is read only once.
      *
      * @param exec the execution context
-     * @param inTable the input table
-     * @param colIdx the columns for which the column means have to be computed
-     * @param failOnMissingValuesflag indicating if the computation should fail if a row contains missing values
+     * @param input the input rows, the input is not closed by this method
+     * @param colNames the columns for which the PCA has to be computed
+     * @param failOnMissingValues flag indicating if the computation should fail if a row contains missing values
      *            ({@code true}), or just ignore these rows ({@code false})
-     * @return the column means
-     * @throws CanceledExecutionException - If the execution gets canceled
-     */
-    private RealVector calculateColMeans(final ExecutionContext exec, final BufferedDataTable inTable,
-        final int[] colIdx, final boolean failOnMissingValues) throws CanceledExecutionException {
-        final long nRow = inTable.size();
-        final int nCols = colIdx.length;
-        double curRow = 0;
-        final Mean[] means = Stream.generate(Mean::new).limit(nCols).toArray(Mean[]::new);
-        // calculate column means
-        for (final DataRow row : inTable) {
-            exec.checkCanceled();
-            final Optional<RealVector> optRowVec = TransformationUtils.rowToRealVector(row, colIdx);
-            if (!optRowVec.isPresent()) {
-                ++m_missings;
-                if (failOnMissingValues) {
-                    throw new IllegalArgumentException(TransformationUtils.MISSING_VALUE_EXCEPTION);
-                }
-                continue;
-            }
-            final RealVector rowVec = optRowVec.get();
-            for (int i = 0; i < nCols; i++) {
-                exec.setProgress(++curRow / nRow);
-                means[i].increment(rowVec.getEntry(i));
-            }
-        }
-        return new ArrayRealVector(Arrays.stream(means).mapToDouble(Mean::getResult).toArray());
-    }
-
-    /**
-     * Calculate the covariance matrix.
-     *
-     * @param exec the execution context.
-     * @param inTable the input table
-     * @param colIdx the columns for which the covariance matrix has to be calculated
-     * @param means the column means used to center the matrix
+     * @return the PCA
      * @throws CanceledExecutionException - If the execution gets canceled
+     * @throws InterruptedException - If the thread gets interrupted while reading the input
+     * @since 4.4
      */
-    private void calcCovarMatrix(final ExecutionContext exec, final BufferedDataTable inTable, final int[] colIdx,
-        final RealVector means) throws CanceledExecutionException {
-        final long nRow = inTable.size();
-        double curRow = 0;
-        for (final DataRow row : inTable) {
-            exec.checkCanceled();
-            final Optional<RealVector> optVec = TransformationUtils.rowToRealVector(row, colIdx);
-            optVec.ifPresent(v -> updateCovarMatrix(v.combineToSelf(1, -1, means)));
-            exec.setProgress(++curRow / nRow);
-        }
+    public TransformationMatrix calcTransformationMatrix(final ExecutionContext exec, final RowInput input,
+        final String[] colNames, final boolean failOnMissingValues)
+        throws CanceledExecutionException, InterruptedException {
+        final BlockCovarianceCalculator calculator = createCovarianceCalculator(
+            input.getDataTableSpec().columnsToIndices(colNames), failOnMissingValues);
+        final CovarianceAccumulator covariances = calculator.compute(input, -1, exec.createSubExecutionContext(0.66));
+        return createTransformationMatrix(exec, covariances);
     }
 
-    /**
-     * Updates the covariance matrix.
-     *
-     * @param vec the vector to be added to the covariance matrix
-     */
-    private void updateCovarMatrix(final RealVector vec) {
-        final RealMatrix outerProd = vec.outerProduct(vec);
-        m_covMtx = m_covMtx == null ? outerProd : m_covMtx.add(outerProd);
+    private static BlockCovarianceCalculator createCovarianceCalculator(final int[] colIdx,
+        final boolean failOnMissingValues) {
+        return new BlockCovarianceCalculator(colIdx,
+            failOnMissingValues ? MissingValueHandling.FAIL : MissingValueHandling.SKIP_ROW,
+            TransformationUtils.MISSING_VALUE_EXCEPTION);
     }
 
-    /**
-     * Finalizes the covariance calculation by scaling it's entries.
-     *
-     * @param nRows the number of rows in the input table
-     */
-    private void correctCovarMatrix(final long nRows) {
-        final double nonMissings = nRows - m_missings;
-        CheckUtils.checkArgument(nonMissings >= 2, "The table has to contain at least two rows with valid values");
-        m_covMtx = m_covMtx.scalarMultiply(1 / (nonMissings - 1));
+    private TransformationMatrix createTransformationMatrix(final ExecutionContext exec,
+        final CovarianceAccumulator covariances) {
+        final int nCols = covariances.getDimension();
+        // rows with missing values are skipped, hence the counts of all column pairs are the same
+        CheckUtils.checkArgument(nCols > 0 && covariances.getCount(0, 0) >= 2,
+            "The table has to contain at least two rows with valid values");
+        final RealVector means = new ArrayRealVector(nCols);
+        for (int i = 0; i < nCols; i++) {
+            means.setEntry(i, covariances.getMean(i));
+        }
+        m_covMtx = covariances.getCovarianceMatrix();
+        final TransformationMatrix transMatrix = new TransformationMatrix(m_covMtx, means);
+        exec.setProgress(1);
+        return transMatrix;
     }
 
     /**
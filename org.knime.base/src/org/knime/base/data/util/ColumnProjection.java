@@ -0,0 +1,205 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.data.util;
+
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.RowIterator;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+
+/**
+ * Provides access to tables that only reads the cells of the columns that are actually used. Iterating a wide table
+ * row by row decodes every cell of each row, even if only a few columns are needed; restricting the iteration to these
+ * columns saves most of that work.
+ * <p>
+ * The rows returned by the iterators still have all cells of the table, hence the column indices of the table can be
+ * used as before. The cells of the columns that have not been requested must not be used, though; for
+ * {@link BufferedDataTable BufferedDataTables} they are usually missing.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public final class ColumnProjection {
+
+    private ColumnProjection() {
+    }
+
+    /**
+     * Returns an iterator over all rows of the table that only reads the cells of the given columns, if the table
+     * supports it. The iterator must be closed if it is not iterated to the end.
+     *
+     * @param table the table to iterate
+     * @param colIndices the indices of the columns that are read
+     * @return a new iterator
+     */
+    public static CloseableRowIterator iterator(final DataTable table, final int... colIndices) {
+        if (table instanceof BufferedDataTable) {
+            return ((BufferedDataTable)table).filter(TableFilter.materializeCols(normalize(colIndices))).iterator();
+        }
+        final RowIterator it = table.iterator();
+        if (it instanceof CloseableRowIterator) {
+            return (CloseableRowIterator)it;
+        }
+        return new DelegatingRowIterator(it);
+    }
+
+    /**
+     * Returns an iterator over a range of rows of the table that only reads the cells of the given columns. Ranges of
+     * rows can be iterated concurrently.
+     *
+     * @param table the table to iterate
+     * @param fromRowIndex the index of the first row to return
+     * @param toRowIndex the index of the last row to return (inclusive)
+     * @param colIndices the indices of the columns that are read
+     * @return a new iterator
+     */
+    public static CloseableRowIterator iterator(final BufferedDataTable table, final long fromRowIndex,
+        final long toRowIndex, final int... colIndices) {
+        return table.filter(new TableFilter.Builder().withFromRowIndex(fromRowIndex).withToRowIndex(toRowIndex)
+            .withMaterializeColumnIndices(normalize(colIndices)).build()).iterator();
+    }
+
+    /**
+     * Returns a table that only contains the given columns, in the order in which they appear in the table. No data
+     * is copied, hence this is cheap; it is useful if the table is handed to code that reads all columns, e.g. for
+     * sorting it.
+     *
+     * @param table the table to project
+     * @param exec the execution context creating the table
+     * @param colIndices the indices of the columns to keep
+     * @return the projected table
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    public static BufferedDataTable project(final BufferedDataTable table, final ExecutionContext exec,
+        final int... colIndices) throws CanceledExecutionException {
+        final ColumnRearranger rearranger = new ColumnRearranger(table.getDataTableSpec());
+        rearranger.keepOnly(normalize(colIndices));
+        return exec.createColumnRearrangeTable(table, rearranger, exec);
+    }
+
+    /**
+     * Returns the indices of the given columns.
+     *
+     * @param spec the spec of the table
+     * @param colNames the names of the columns
+     * @return the indices of the columns in the order of the names
+     * @throws IllegalArgumentException if a column does not exist
+     */
+    public static int[] indicesOf(final DataTableSpec spec, final Collection<String> colNames) {
+        return colNames.stream().mapToInt(name -> {
+            final int index = spec.findColumnIndex(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Table doesn't contain column: " + name);
+            }
+            return index;
+        }).toArray();
+    }
+
+    /**
+     * Returns the indices of all columns whose type is compatible with the given value class.
+     *
+     * @param spec the spec of the table
+     * @param valueClass the value class, e.g. {@link org.knime.core.data.DoubleValue}
+     * @return the ascending indices of the compatible columns
+     */
+    public static int[] indicesOf(final DataTableSpec spec, final Class<? extends DataValue> valueClass) {
+        return IntStream.range(0, spec.getNumColumns())
+            .filter(i -> spec.getColumnSpec(i).getType().isCompatible(valueClass)).toArray();
+    }
+
+    /**
+     * Concatenates column indices, e.g. the indices of a class column and of the feature columns.
+     *
+     * @param colIndices the column indices
+     * @param moreColIndices further column indices
+     * @return the concatenated indices
+     */
+    public static int[] concat(final int[] colIndices, final int... moreColIndices) {
+        return IntStream.concat(IntStream.of(colIndices), IntStream.of(moreColIndices)).toArray();
+    }
+
+    /** Sorts the indices and removes duplicates, which is what the table filters expect. */
+    private static int[] normalize(final int[] colIndices) {
+        return IntStream.of(colIndices).distinct().sorted().toArray();
+    }
+
+    /** Makes a plain row iterator closeable. */
+    private static final class DelegatingRowIterator extends CloseableRowIterator {
+
+        private final RowIterator m_iterator;
+
+        DelegatingRowIterator(final RowIterator iterator) {
+            m_iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_iterator.hasNext();
+        }
+
+        @Override
+        public DataRow next() {
+            return m_iterator.next();
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.data.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Waits for tasks that have been submitted to a thread pool, e.g. a sub pool of
+ * {@link org.knime.core.node.KNIMEConstants#GLOBAL_THREAD_POOL}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Waits for all futures and returns their results in the order of the futures. If a task fails or the execution
+     * is canceled, the remaining tasks are canceled. The exception of a failed task is rethrown unwrapped if it is a
+     * {@link CanceledExecutionException}, a {@link RuntimeException} or an {@link OutOfMemoryError}.
+     *
+     * @param <T> the type of the results
+     * @param futures the futures of the submitted tasks
+     * @param exec the execution monitor checked for cancellation after all tasks have finished
+     * @return the results of the tasks
+     * @throws CanceledExecutionException if the execution has been canceled or interrupted
+     */
+    public static <T> List<T> waitFor(final List<Future<T>> futures, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (final Future<T> future : futures) {
+                results.add(get(future));
+            }
+        } finally {
+            for (final Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        exec.checkCanceled();
+        return results;
+    }
+
+    /**
+     * Waits for a single future and returns its result. The exception of a failed task is rethrown unwrapped if it is
+     * a {@link CanceledExecutionException}, a {@link RuntimeException} or an {@link OutOfMemoryError}.
+     *
+     * @param <T> the type of the result
+     * @param future the future of the submitted task
+     * @return the result of the task
+     * @throws CanceledExecutionException if the task has been canceled or the waiting thread has been interrupted
+     */
+    public static <T> T get(final Future<T> future) throws CanceledExecutionException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            throw new CanceledExecutionException("Execution canceled");
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof OutOfMemoryError) {
+                throw (OutOfMemoryError)e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
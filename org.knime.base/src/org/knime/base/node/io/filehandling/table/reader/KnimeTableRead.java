@@ -67,6 +67,8 @@
  */
 final class KnimeTableRead implements Read<DataValue> {
 
+    private final PathBackedBoundedTable m_table;
+
     private final TableRead m_tableRead;
 
     /**
@@ -78,8 +80,8 @@ final class KnimeTableRead implements Read<DataValue> {
      * @throws InvalidSettingsException
      */
     KnimeTableRead(final Path path, final TableReadConfig<TableManipulatorConfig> config) throws IOException {
-        final PathBackedBoundedTable table = new PathBackedBoundedTable(path);
-        m_tableRead = new TableRead(table, config);
+        m_table = new PathBackedBoundedTable(path);
+        m_tableRead = new TableRead(m_table, config);
     }
 
     @Override
@@ -89,7 +91,11 @@ public RandomAccessible<DataValue> next() throws IOException {
 
     @Override
     public void close() throws IOException {
-        m_tableRead.close();
+        try {
+            m_tableRead.close();
+        } finally {
+            m_table.close();
+        }
     }
 
     @Override
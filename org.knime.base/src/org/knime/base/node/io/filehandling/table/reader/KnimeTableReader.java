@@ -140,6 +140,13 @@ private static Optional<DataTableSpec> getTableSpec(final Path path) throws IOEx
     private static DataTableSpec getTableSpecForOldFiles(final Path path) throws IOException {
         DataTableSpec spec;
         LOGGER.debug("Table spec is not first entry in input file, need to deflate entire file");
+        if (PathBackedBoundedTable.isUncompressedLocalFile(path)) {
+            // the data of the zip file is only read once it is accessed, which doesn't happen here
+            try (ContainerTable outTable = DataContainer.readFromZip(path.toFile())) {
+                spec = outTable.getDataTableSpec();
+            }
+            return spec;
+        }
         try (InputStream in = openInputStream(path); ContainerTable outTable = DataContainer.readFromStream(in)) {
             spec = outTable.getDataTableSpec();
         }
@@ -54,14 +54,17 @@
 import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.container.ContainerTable;
 import org.knime.core.data.container.DataContainer;
+import org.knime.filehandling.core.connections.FSCategory;
+import org.knime.filehandling.core.connections.FSPath;
 import org.knime.filehandling.core.util.CompressionAwareCountingInputStream;
+import org.knime.filehandling.core.util.FileCompressionUtils;
 
 /**
  * Implementation of {@link BoundedTable} that is backed by a {@link Path}.
  *
  * @author Moditha Hewasinghage, KNIME GmbH, Berlin, Germany
  */
-final class PathBackedBoundedTable implements BoundedTable {
+final class PathBackedBoundedTable implements BoundedTable, AutoCloseable {
 
     private static final String ERROR_MSG_DATA_BIN_EXCEPTION =
         "Cannot read file! The file is either not in KNIME table format or corrupted.";
@@ -86,8 +89,15 @@ private InputStream openInputStream() throws IOException {
     }
 
     private ContainerTable extractTable() throws IOException {
-        try (InputStream inputStream = openInputStream()) {
-            return DataContainer.readFromStream(inputStream);
+        try {
+            if (isUncompressedLocalFile(m_path)) {
+                // only the spec is read right away, the data is read from the zip file once it is accessed
+                return DataContainer.readFromZip(m_path.toFile());
+            }
+            // streams are copied into a temporary file first
+            try (InputStream inputStream = openInputStream()) {
+                return DataContainer.readFromStream(inputStream);
+            }
         } catch (IOException e) {
             if (e.getMessage().equals(DATA_BIN_EXCEPTION)) {
                 throw new IOException(ERROR_MSG_DATA_BIN_EXCEPTION, e);
@@ -96,6 +106,17 @@ private ContainerTable extractTable() throws IOException {
         }
     }
 
+    /**
+     * Whether the path is a .table file of the local file system, which can be read without copying it.
+     *
+     * @param path the path to the file
+     * @return <code>true</code> if the table can be read directly from the file
+     */
+    static boolean isUncompressedLocalFile(final Path path) {
+        return path instanceof FSPath && ((FSPath)path).toFSLocation().getFSCategory() == FSCategory.LOCAL
+            && !FileCompressionUtils.mightBeCompressed(path);
+    }
+
     @Override
     public DataTableSpec getDataTableSpec() {
         return m_table.getDataTableSpec();
@@ -113,4 +134,12 @@ public CloseableRowIterator cursor() {
     public long size() {
         return m_table.size();
     }
+
+    /**
+     * Releases the temporary files of the table.
+     */
+    @Override
+    public void close() {
+        m_table.close();
+    }
 }
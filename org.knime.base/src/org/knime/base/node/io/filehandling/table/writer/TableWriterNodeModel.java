@@ -68,6 +68,7 @@
 import org.knime.core.node.context.ports.PortsConfiguration;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
+import org.knime.filehandling.core.connections.FSCategory;
 import org.knime.filehandling.core.connections.FSFiles;
 import org.knime.filehandling.core.connections.FSPath;
 import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.FileOverwritePolicy;
@@ -128,8 +129,17 @@ protected PortObject[] execute(final PortObject[] inObjects, final ExecutionCont
                 throw new IOException("Output file '" + outpath.toString()
                     + "' exists and must not be overwritten due to user settings.");
             }
-            try (final OutputStream oS = new DelayedOpenOutputStream(outpath, fileOverwritePolicy.getOpenOptions())) {
-                DataContainer.writeToStream((BufferedDataTable)inObjects[m_dataPortIdx], oS, exec);
+            final BufferedDataTable table = (BufferedDataTable)inObjects[m_dataPortIdx];
+            try {
+                if (isLocalFile(outpath)) {
+                    // write the zip straight into the file instead of copying it from a temporary file
+                    DataContainer.writeToZip(table, outpath.toFile(), exec);
+                } else {
+                    try (final OutputStream oS =
+                        new DelayedOpenOutputStream(outpath, fileOverwritePolicy.getOpenOptions())) {
+                        DataContainer.writeToStream(table, oS, exec);
+                    }
+                }
             } catch (final CanceledExecutionException e) {
                 if (FSFiles.exists(outpath)) {
                     deleteFile(outpath);
@@ -140,6 +150,15 @@ protected PortObject[] execute(final PortObject[] inObjects, final ExecutionCont
         return new PortObject[]{};
     }
 
+    /**
+     * {@link DataContainer#writeToStream} writes the table into a temporary zip file and then copies it into the
+     * stream, which reads and writes the table twice and requires twice its size on disk. For files of the local file
+     * system this is avoided by writing the zip file directly.
+     */
+    private static boolean isLocalFile(final FSPath outpath) {
+        return outpath.toFSLocation().getFSCategory() == FSCategory.LOCAL;
+    }
+
     private static void deleteFile(final FSPath outpath) {
         try {
             Files.delete(outpath);
@@ -49,16 +49,23 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.knime.base.data.util.ColumnProjection;
 import org.knime.base.node.preproc.joiner.Joiner;
 import org.knime.base.node.preproc.joiner.Joiner2Settings;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.CompositionMode;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.DuplicateHandling;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.JoinMode;
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -80,12 +87,22 @@
  */
 final class LoopEndJoinNodeModel extends NodeModel implements LoopEndNode {
 
+    /** The maximum number of column chunks, once reached they are stitched into one. */
+    static final int MAX_NR_COLUMN_CHUNKS = 50;
+
     /** See bug 6544 - columns 51+ always had " (Iter #1)" appended. True only for deprecated node. */
     private final boolean m_appendIterSuffixForBackwardComp;
     private LoopEndJoinNodeConfiguration m_configuration;
     private BufferedDataTable m_currentAppendTable;
     private int m_iteration = 0;
 
+    /** The (renamed) inputs of all iterations so far as long as they have the same row keys in the same order, only
+     * used if the rows may differ between the iterations. They are stitched together once the loop terminates or
+     * an iteration has different rows, which avoids joining and rewriting the collected table in every iteration. */
+    private List<BufferedDataTable> m_columnChunks;
+    /** The spec of the stitched column chunks. */
+    private DataTableSpec m_columnChunksSpec;
+
     LoopEndJoinNodeModel(final boolean appendIterSuffixForBackwardComp6544) {
         super(1, 1);
         m_appendIterSuffixForBackwardComp = appendIterSuffixForBackwardComp6544;
@@ -106,8 +123,6 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs)
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
             final ExecutionContext exec) throws Exception {
-        boolean hasSameRowsInEachIteration =
-            m_configuration.hasSameRowsInEachIteration();
         LoopStartNode startNode = getLoopStartNode();
         if (!(startNode instanceof LoopStartNodeTerminator)) {
             throw new IllegalStateException("Loop end is not connected"
@@ -116,15 +131,43 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         }
         boolean continueLoop =
             !((LoopStartNodeTerminator)startNode).terminateLoop();
-        if (m_currentAppendTable == null) {
-            m_currentAppendTable = copy(inData[0], false, exec);
+        final BufferedDataTable result = appendIteration(inData[0], !continueLoop, exec);
+        if (continueLoop) {
+            super.continueLoop();
+            return null;
+        } else {
+            return new BufferedDataTable [] {result};
+        }
+    }
+
+    /**
+     * Appends the columns of the input of the current iteration to the collected table.
+     *
+     * @param input the input of the current iteration
+     * @param isLastIteration whether this is the last iteration of the loop
+     * @param exec the execution context
+     * @return the collected table after the last iteration, <code>null</code> before
+     */
+    BufferedDataTable appendIteration(final BufferedDataTable input, final boolean isLastIteration,
+            final ExecutionContext exec) throws CanceledExecutionException, InvalidSettingsException {
+        boolean hasSameRowsInEachIteration =
+            m_configuration.hasSameRowsInEachIteration();
+        if (m_currentAppendTable == null && m_columnChunks == null) {
+            final BufferedDataTable t = copy(input, false, exec);
+            if (hasSameRowsInEachIteration) {
+                m_currentAppendTable = t;
+            } else {
+                m_columnChunks = new ArrayList<>();
+                m_columnChunks.add(t);
+                m_columnChunksSpec = t.getDataTableSpec();
+            }
         } else if (hasSameRowsInEachIteration) {
             boolean isCacheNew = m_iteration % 50 == 0;
             double amount = isCacheNew ? (1.0 / 3.0) : (1.0 / 2.0);
             ExecutionContext copyCtx = exec.createSubExecutionContext(amount);
             ExecutionContext joinCtx = exec.createSubExecutionContext(amount);
             exec.setProgress("Copying input");
-            BufferedDataTable t = copy(inData[0], true, copyCtx);
+            BufferedDataTable t = copy(input, true, copyCtx);
             copyCtx.setProgress(1.0);
             exec.setProgress("Joining with previous input");
             m_currentAppendTable = exec.createJoinedTable(
@@ -140,35 +183,148 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
                 ctx.setProgress(1.0);
             }
         } else {
-            Joiner2Settings settings = new Joiner2Settings();
-            settings.setCompositionMode(CompositionMode.MatchAll);
-            settings.setDuplicateColumnSuffix(" (Iter #" + m_iteration + ")");
-            settings.setDuplicateHandling(DuplicateHandling.AppendSuffix);
-            settings.setEnableHiLite(false);
-            // joining on RowIDs, this should not generate new row IDs but
-            // only fill missing rows in either table
-            settings.setJoinMode(JoinMode.FullOuterJoin);
-            settings.setLeftIncludeAll(true);
-            settings.setRightIncludeAll(true);
-            // TODO to be replaced by Joiner2Settings.ROW_KEY_IDENTIFIER
-            // once that is public
-            settings.setLeftJoinColumns(new String[] {"$RowID$"});
-            settings.setRightJoinColumns(new String[] {"$RowID$"});
-            BufferedDataTable left = m_currentAppendTable;
-            BufferedDataTable right = copy(inData[0], true,
-                    exec.createSubExecutionContext(0.1));
-            Joiner joiner = new Joiner(left.getDataTableSpec(),
-                    right.getDataTableSpec(), settings);
-            m_currentAppendTable = joiner.computeJoinTable(left, right,
-                    exec.createSubExecutionContext(0.9));
+            ExecutionContext joinCtx = exec;
+            if (m_columnChunks != null) {
+                exec.setProgress("Copying input");
+                final BufferedDataTable t = copyIfAligned(input, exec.createSubExecutionContext(0.5));
+                if (t != null) {
+                    m_columnChunks.add(t);
+                    m_columnChunksSpec = new DataTableSpec(m_columnChunksSpec, t.getDataTableSpec());
+                    if (m_columnChunks.size() >= MAX_NR_COLUMN_CHUNKS && !isLastIteration) {
+                        // bounds the number of tables that are read at once when stitching
+                        exec.setProgress("Caching intermediate results (iteration " + m_iteration + ")");
+                        final BufferedDataTable stitched = stitchColumnChunks(exec.createSubExecutionContext(0.5));
+                        m_columnChunks = new ArrayList<>();
+                        m_columnChunks.add(stitched);
+                    }
+                } else {
+                    // the rows differ from the previous iterations, from now on the tables are joined
+                    exec.setProgress("Combining previous inputs");
+                    m_currentAppendTable = stitchColumnChunks(exec.createSubExecutionContext(0.3));
+                    joinCtx = exec.createSubExecutionContext(0.2);
+                }
+            }
+            if (m_columnChunks == null) {
+                joinWithCurrentAppendTable(input, joinCtx);
+            }
         }
         m_iteration += 1;
-        if (continueLoop) {
-            super.continueLoop();
+        if (!isLastIteration) {
             return null;
-        } else {
-            return new BufferedDataTable [] {m_currentAppendTable};
         }
+        if (m_columnChunks != null) {
+            exec.setProgress("Combining inputs of all iterations");
+            m_currentAppendTable = stitchColumnChunks(exec);
+        }
+        return m_currentAppendTable;
+    }
+
+    /** Joins the input of the current iteration with the collected table on the row keys. */
+    private void joinWithCurrentAppendTable(final BufferedDataTable input, final ExecutionContext exec)
+            throws CanceledExecutionException, InvalidSettingsException {
+        Joiner2Settings settings = new Joiner2Settings();
+        settings.setCompositionMode(CompositionMode.MatchAll);
+        settings.setDuplicateColumnSuffix(" (Iter #" + m_iteration + ")");
+        settings.setDuplicateHandling(DuplicateHandling.AppendSuffix);
+        settings.setEnableHiLite(false);
+        // joining on RowIDs, this should not generate new row IDs but
+        // only fill missing rows in either table
+        settings.setJoinMode(JoinMode.FullOuterJoin);
+        settings.setLeftIncludeAll(true);
+        settings.setRightIncludeAll(true);
+        // TODO to be replaced by Joiner2Settings.ROW_KEY_IDENTIFIER
+        // once that is public
+        settings.setLeftJoinColumns(new String[] {"$RowID$"});
+        settings.setRightJoinColumns(new String[] {"$RowID$"});
+        BufferedDataTable left = m_currentAppendTable;
+        BufferedDataTable right = copy(input, true,
+                exec.createSubExecutionContext(0.1));
+        Joiner joiner = new Joiner(left.getDataTableSpec(),
+                right.getDataTableSpec(), settings);
+        m_currentAppendTable = joiner.computeJoinTable(left, right,
+                exec.createSubExecutionContext(0.9));
+    }
+
+    /**
+     * Copies the input with unique column names if it has the same row keys in the same order as the first
+     * iteration, which is checked while copying.
+     *
+     * @return the copy or <code>null</code> if the row keys differ
+     */
+    private BufferedDataTable copyIfAligned(final BufferedDataTable table, final ExecutionContext exec)
+            throws CanceledExecutionException {
+        final BufferedDataTable reference = m_columnChunks.get(0);
+        if (table.size() != reference.size()) {
+            return null;
+        }
+        final BufferedDataContainer container =
+            exec.createDataContainer(uniqueColumnNames(table.getDataTableSpec()));
+        long i = 0;
+        final double rowCount = table.size();
+        // only the row keys of the reference are read
+        try (CloseableRowIterator referenceIt = ColumnProjection.iterator(reference)) {
+            for (DataRow r : table) {
+                if (!referenceIt.next().getKey().equals(r.getKey())) {
+                    container.close();
+                    exec.clearTable(container.getTable());
+                    return null;
+                }
+                container.addRowToTable(r);
+                exec.setProgress((i++) / rowCount, "Copied row " + i + "/"
+                        + rowCount + " (\"" + r.getKey() + "\")");
+                exec.checkCanceled();
+            }
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /**
+     * Stitches the column chunks of all iterations so far into a single table in one pass and releases them.
+     */
+    private BufferedDataTable stitchColumnChunks(final ExecutionContext exec) throws CanceledExecutionException {
+        final List<BufferedDataTable> chunks = m_columnChunks;
+        m_columnChunks = null;
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        }
+        final BufferedDataContainer container = exec.createDataContainer(m_columnChunksSpec);
+        final int nrCols = m_columnChunksSpec.getNumColumns();
+        final CloseableRowIterator[] its = new CloseableRowIterator[chunks.size()];
+        try {
+            for (int c = 0; c < its.length; c++) {
+                its[c] = chunks.get(c).iterator();
+            }
+            long i = 0;
+            final double rowCount = chunks.get(0).size();
+            while (its[0].hasNext()) {
+                final DataCell[] cells = new DataCell[nrCols];
+                RowKey key = null;
+                int col = 0;
+                for (CloseableRowIterator it : its) {
+                    final DataRow r = it.next();
+                    key = key == null ? r.getKey() : key;
+                    for (DataCell cell : r) {
+                        cells[col++] = cell;
+                    }
+                }
+                container.addRowToTable(new DefaultRow(key, cells));
+                final RowKey rowKey = key;
+                exec.setProgress((i++) / rowCount, () -> "Combined row " + rowKey);
+                exec.checkCanceled();
+            }
+        } finally {
+            for (CloseableRowIterator it : its) {
+                if (it != null) {
+                    it.close();
+                }
+            }
+        }
+        container.close();
+        for (BufferedDataTable chunk : chunks) {
+            exec.clearTable(chunk);
+        }
+        return container.getTable();
     }
 
     @Override
@@ -207,10 +363,12 @@ private BufferedDataTable copy(final BufferedDataTable table, final boolean uniq
      * (m_currentAppendTable). An "Iter # [m_iteration]" is appended to the duplicate column names.
      */
     private DataTableSpec uniqueColumnNames(final DataTableSpec spec) {
+        final DataTableSpec collectedSpec = m_columnChunks != null ? m_columnChunksSpec
+            : (m_currentAppendTable != null ? m_currentAppendTable.getDataTableSpec() : null);
         DataColumnSpec[] colSpecs = new DataColumnSpec[spec.getNumColumns()];
         int i = 0;
         for (DataColumnSpec cs : spec) {
-            if ((m_currentAppendTable != null) && m_currentAppendTable.getDataTableSpec().containsName(cs.getName())) {
+            if ((collectedSpec != null) && collectedSpec.containsName(cs.getName())) {
                 String newName = cs.getName() + " (Iter #" + m_iteration + ")";
                 colSpecs[i++] = new DataColumnSpecCreator(newName, cs.getType()).createSpec();
             } else {
@@ -224,6 +382,8 @@ private DataTableSpec uniqueColumnNames(final DataTableSpec spec) {
     @Override
     protected void reset() {
         m_currentAppendTable = null;
+        m_columnChunks = null;
+        m_columnChunksSpec = null;
         m_iteration = 0;
     }
 
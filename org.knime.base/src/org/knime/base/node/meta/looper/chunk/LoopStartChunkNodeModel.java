@@ -78,6 +78,8 @@ public class LoopStartChunkNodeModel extends NodeModel implements
     // loop invariants
     private BufferedDataTable m_table;
     private CloseableRowIterator m_iterator;
+    /** Whether the only chunk was the whole input table, which is then passed on without copying it. */
+    private boolean m_isSingleChunk;
 
     // loop variants
     private int m_iteration;
@@ -134,6 +136,13 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         if (m_iteration == 0) {
             assert getLoopEndNode() == null : "1st iteration but end node set";
             m_table = table;
+            if (rowCount > 0 && nrRowsPerIteration >= rowCount) {
+                m_isSingleChunk = true;
+                pushFlowVariableInt("currentIteration", m_iteration);
+                pushFlowVariableInt("maxIterations", totalChunkCount);
+                m_iteration++;
+                return new BufferedDataTable[] {table};
+            }
             m_iterator = table.iterator();
         } else {
             assert getLoopEndNode() != null : "No end node set";
@@ -161,13 +170,15 @@ protected void reset() {
             m_iterator.close();
         }
         m_iterator = null;
+        m_isSingleChunk = false;
         m_table = null;
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean terminateLoop() {
-        boolean continueLoop = m_iterator == null || m_iterator.hasNext();
+        boolean continueLoop = !m_isSingleChunk
+            && (m_iterator == null || m_iterator.hasNext());
         return !continueLoop;
     }
 
@@ -56,6 +56,7 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
 import org.knime.core.data.DoubleValue;
 import org.knime.core.data.IntValue;
 import org.knime.core.data.container.CloseableRowIterator;
@@ -110,16 +111,18 @@ class GroupLoopStartNodeModel extends NodeModel implements
     private CloseableRowIterator m_iterator;
     private DataTableSpec m_spec;
     private int[] m_includedColIndices;
-    private DuplicateChecker m_duplicateChecker;
+    private DataValueComparator[] m_comparators;
 
     // loop variants
     private int m_iteration;
 
-    private DataRow m_lastRow;
-    private GroupingState m_currentGroupingState;
+    /** The first row of the next group, which has already been read from the iterator. */
+    private DataRow m_nextRow;
+
+    private DuplicateChecker m_duplicateChecker;
+
     private GroupingState m_lastGroupingState;
 
-    private boolean m_isFinalRow = false;
     private boolean m_endLoop = false;
 
     /**
@@ -176,9 +179,6 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         ///////////////////////////
         BufferedDataTable table = inData[0];
         DataTableSpec spec = table.getDataTableSpec();
-        if (table.size() <= 0) {
-            m_endLoop = true;
-        }
 
         // parameters
         m_includedColIndices = getIncludedColIndices(table.getDataTableSpec());
@@ -205,104 +205,56 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
                 m_sortedTable = table;
             }
 
+            m_comparators = new DataValueComparator[m_includedColIndices.length];
+            for (int i = 0; i < m_comparators.length; i++) {
+                m_comparators[i] = m_spec.getColumnSpec(m_includedColIndices[i])
+                        .getType().getComparator();
+            }
+            m_duplicateChecker = new DuplicateChecker();
             m_iterator = m_sortedTable.iterator();
+            m_nextRow = m_iterator.hasNext() ? m_iterator.next() : null;
         } else {
             assert getLoopEndNode() != null : "No end node set";
             assert table == m_table : "Input tables differ between iterations";
         }
 
 
-        ///////////////////////////
-        //
-        /// INIT
-        //
-        ///////////////////////////
-        BufferedDataContainer cont = exec.createDataContainer(table.getSpec());
-
-        // create new duplicate checker if null
-        if (m_duplicateChecker == null) {
-            m_duplicateChecker = new DuplicateChecker();
-        }
-        // initialize grouping states if null
-        if (m_currentGroupingState == null) {
-            m_currentGroupingState = new GroupingState("", false, null);
-        }
-        m_lastGroupingState = m_currentGroupingState;
-
-
         ///////////////////////////
         //
         /// GROUPING / ROW COLLECTION
         //
         ///////////////////////////
-
-        // if there is one last row left, which did not fit in the last group
-        // add now to new group
-        if (m_lastRow != null) {
-            cont.addRowToTable(m_lastRow);
-        }
-        // if the final row has been reached and added set end loop flag
-        if (m_isFinalRow) {
-            m_endLoop = true;
-        }
-
-        // walk trough input table and group data
-        // as long as new row fits into the current group or there are no more
-        // rows left.
-        boolean groupEnd = false;
-        while (!groupEnd && m_iterator.hasNext()) {
-            DataRow row = m_iterator.next();
-
-            // get grouping state according to new row
-            m_currentGroupingState = getGroupingState(row);
-            groupEnd = m_currentGroupingState.isGroupEnd();
-
-            // if first row in table remember grouping state and add identifier
-            // to duplicate checker.
-            if (m_lastRow == null) {
-                m_lastGroupingState = m_currentGroupingState;
-                if (checkDuplicates) {
-                    m_duplicateChecker.addKey(
-                            m_currentGroupingState.getGroupIdentifier());
-                }
-            }
-            m_lastRow = row;
-
-            // if group end has not been reached add row
-            if (!groupEnd) {
-                cont.addRowToTable(row);
-                m_lastGroupingState = m_currentGroupingState;
-
-            // if group end has been reached add identifier of new group to
-            // duplicate checker
-            } else {
-                if (checkDuplicates) {
-                    try {
-                        m_duplicateChecker.addKey(
-                            m_currentGroupingState.getGroupIdentifier());
-                    } catch (DuplicateKeyException e) {
-                        throw new DuplicateKeyException("Input table was "
-                             + "not sorted, found duplicate (group identifier:"
-                             + m_currentGroupingState.getGroupIdentifier()
-                             + ")");
-                    }
+        BufferedDataContainer cont = exec.createDataContainer(table.getSpec());
+        if (m_nextRow == null) {
+            // empty table
+            m_lastGroupingState = new GroupingState("", null);
+        } else {
+            // the group starts with the row read last, the rows are added until the group values change
+            final DataRow groupStart = m_nextRow;
+            m_lastGroupingState = getGroupingState(groupStart);
+            if (checkDuplicates) {
+                try {
+                    m_duplicateChecker.addKey(m_lastGroupingState.getGroupIdentifier());
+                } catch (DuplicateKeyException e) {
+                    throw new DuplicateKeyException("Input table was "
+                         + "not sorted, found duplicate (group identifier:"
+                         + m_lastGroupingState.getGroupIdentifier() + ")");
                 }
             }
-
-            // if current row was the final row of an additional group it has
-            // not been added so far. A final iteration needs to be done in
-            // which row will be added.
-            if (!m_iterator.hasNext() && !m_isFinalRow) {
-                m_isFinalRow = true;
-
-                // if group end is not reached, row has been already added
-                // thus end loop
-                if (!groupEnd) {
-                    m_endLoop = true;
+            cont.addRowToTable(groupStart);
+            m_nextRow = null;
+            while (m_iterator.hasNext()) {
+                exec.checkCanceled();
+                final DataRow row = m_iterator.next();
+                if (isGroupEnd(groupStart, row)) {
+                    m_nextRow = row;
+                    break;
                 }
+                cont.addRowToTable(row);
             }
         }
         cont.close();
+        m_endLoop = m_nextRow == null;
 
         if (m_endLoop) {
             // check for duplicates and throw exception if duplicate exist
@@ -313,7 +265,6 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
                     "Input table was not sorted, found duplicate group identifier " + e.getKey());
             } finally {
                 m_duplicateChecker.clear();
-                m_duplicateChecker = null;
             }
         }
 
@@ -327,6 +278,17 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         return new BufferedDataTable[] {cont.getTable()};
     }
 
+    /** Whether the group values of the two rows differ. */
+    private boolean isGroupEnd(final DataRow groupStart, final DataRow row) {
+        for (int i = 0; i < m_comparators.length; i++) {
+            final int c = m_includedColIndices[i];
+            if (m_comparators[i].compare(groupStart.getCell(c), row.getCell(c)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -345,23 +307,21 @@ protected void reset() {
             m_iterator.close();
             m_iterator = null;
         }
-        if (m_duplicateChecker != null) {
-            m_duplicateChecker.clear();
-            m_duplicateChecker = null;
-        }
-
         m_iteration = 0;
         m_table = null;
         m_sortedTable = null;
-        m_lastRow = null;
         m_spec = null;
         m_includedColIndices = null;
+        m_comparators = null;
+        m_nextRow = null;
+        if (m_duplicateChecker != null) {
+            m_duplicateChecker.clear();
+            m_duplicateChecker = null;
+        }
 
         m_endLoop = false;
-        m_isFinalRow = false;
 
         m_lastGroupingState = null;
-        m_currentGroupingState = null;
     }
 
     /** {@inheritDoc} */
@@ -457,59 +417,23 @@ private GroupingState getGroupingState(final DataRow row) {
         // sanity checks
         if (row == null) {
             throw new IllegalArgumentException(
-                    "Row to check for group end may not be null!");
+                    "Row to create grouping state for may not be null!");
         }
         if (m_includedColIndices == null) {
             throw new IllegalStateException(
                     "Indices of included columns may not be null!");
         }
-        if (m_spec == null) {
-            throw new IllegalStateException("Data table spec may not be null!");
-        }
 
-        // check for end of group and create group identifier
-        boolean isGroupEnd = false;
-        String groupIdentifier = "";
+        // create group identifier
+        final StringBuilder groupIdentifier = new StringBuilder();
         DataCell[] groupCells = new DataCell[m_includedColIndices.length];
-
-        int currIncludedColIndex = 0;
-        int nextIncludedColIndex = m_includedColIndices[currIncludedColIndex];
-
-        // walk through all columns, compare values and update grouping
-        // identifier
-        for (int c = 0; c < row.getNumCells(); c++) {
-
-            // if column is included for grouping
-            if (c == nextIncludedColIndex) {
-                // compare only if last row exists
-                if (m_lastRow != null) {
-                    DataCell lastCell = m_lastRow.getCell(c);
-                    DataCell newCell = row.getCell(c);
-
-                    // compare last and new values, if one value differs, group
-                    // end is reached
-                    if (m_spec.getColumnSpec(c).getType().getComparator()
-                            .compare(lastCell, newCell) != 0) {
-                        isGroupEnd = true;
-                    }
-                }
-
-                groupIdentifier += GROUP_SEPARATOR + row.getCell(c).toString()
-                                 + GROUP_SEPARATOR;
-
-                // get current group cell
-                groupCells[currIncludedColIndex] = row.getCell(c);
-
-                // get index of next included column
-                currIncludedColIndex++;
-                if (currIncludedColIndex < m_includedColIndices.length) {
-                    nextIncludedColIndex =
-                        m_includedColIndices[currIncludedColIndex];
-                }
-            }
+        for (int i = 0; i < m_includedColIndices.length; i++) {
+            groupCells[i] = row.getCell(m_includedColIndices[i]);
+            groupIdentifier.append(GROUP_SEPARATOR).append(groupCells[i].toString())
+                .append(GROUP_SEPARATOR);
         }
 
-        return new GroupingState(groupIdentifier, isGroupEnd, groupCells);
+        return new GroupingState(groupIdentifier.toString(), groupCells);
     }
 
     /**
@@ -587,26 +511,20 @@ protected void saveInternals(final File nodeInternDir,
 
     /**
      * Encapsulates the grouping state, consisting of the group identifier and
-     * a flag specifying whether group has been reached or not.
+     * the values of the group columns.
      *
      * @author Kilian Thiel, KNIME.com, Berlin, Germany
      */
     private static class GroupingState {
         private String m_groupIdentifier;
-        private boolean m_groupEnd;
         private DataCell[] m_cells;
 
         public GroupingState(final String groupIdentifier,
-                final boolean groupEnd, final DataCell[] cells) {
+                final DataCell[] cells) {
             m_groupIdentifier = groupIdentifier;
-            m_groupEnd = groupEnd;
             m_cells = cells;
         }
 
-        public boolean isGroupEnd() {
-            return m_groupEnd;
-        }
-
         public String getGroupIdentifier() {
             return m_groupIdentifier;
         }
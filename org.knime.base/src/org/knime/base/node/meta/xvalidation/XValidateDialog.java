@@ -98,6 +98,8 @@ public class XValidateDialog extends NodeDialogPane {
 
     private final JTextField m_randomSeed = new JTextField(10);
 
+    private final JCheckBox m_writeFoldsOnce = new JCheckBox("Write each fold only once");
+
     /**
      * Creates a new dialog for the cross validation settings.
      */
@@ -184,10 +186,17 @@ public void stateChanged(final ChangeEvent e) {
             @Override
             public void stateChanged(final ChangeEvent e) {
                 m_validations.setEnabled(!m_leaveOneOut.isSelected());
+                m_writeFoldsOnce.setEnabled(!m_leaveOneOut.isSelected());
             }
         });
         m_leaveOneOut.doClick(); // enablement in sync
 
+        c.gridy++;
+        c.gridx = 0;
+        c.gridwidth = 2;
+        p.add(m_writeFoldsOnce, c);
+        c.gridwidth = 1;
+
         ButtonGroup bg = new ButtonGroup();
         bg.add(m_linearSampling);
         bg.add(m_randomSampling);
@@ -213,11 +222,13 @@ protected void loadSettingsFrom(final NodeSettingsRO settings,
         } else if (m_settings.leaveOneOut()) {
             m_leaveOneOut.setSelected(true);
             m_validations.setEnabled(false);
+            m_writeFoldsOnce.setEnabled(false);
         } else {
             m_linearSampling.setSelected(true);
         }
         m_useRandomSeed.setSelected(m_settings.useRandomSeed());
         m_randomSeed.setText(Long.toString(m_settings.randomSeed()));
+        m_writeFoldsOnce.setSelected(m_settings.writeFoldsOnce());
 
         m_classColumn.update(specs[0], m_settings.classColumn());
     }
@@ -236,6 +247,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings)
         m_settings.classColumn(m_classColumn.getSelectedColumn());
         m_settings.useRandomSeed(m_useRandomSeed.isSelected());
         m_settings.randomSeed(Long.parseLong(m_randomSeed.getText()));
+        m_settings.writeFoldsOnce(m_writeFoldsOnce.isSelected());
         m_settings.saveSettingsTo(settings);
     }
 }
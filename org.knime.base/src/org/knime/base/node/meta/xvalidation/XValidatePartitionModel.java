@@ -47,19 +47,16 @@
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
 
-import org.knime.core.data.DataCell;
+import org.knime.base.data.util.ColumnProjection;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.BufferedDataTableHolder;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
@@ -77,10 +74,13 @@
  * @author Thorsten Meinl, University of Konstanz
  */
 public class XValidatePartitionModel extends NodeModel implements
-        LoopStartNodeTerminator {
+        LoopStartNodeTerminator, BufferedDataTableHolder {
     private final XValidateSettings m_settings = new XValidateSettings();
 
-    private short[] m_partNumbers;
+    private FoldAssignment m_folds;
+
+    /** The rows of each fold if they are written only once. */
+    private BufferedDataTable[] m_foldTables;
 
     private int m_nrIterations;
 
@@ -125,93 +125,106 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
             final ExecutionContext exec) throws Exception {
-        boolean inLoop = (m_partNumbers != null);
-        if (!inLoop) {
+        final BufferedDataTable table = inData[0];
+        if (m_currIteration == 0) {
             if (m_settings.leaveOneOut()) {
-                m_nrIterations = inData[0].getRowCount();
-                m_currIteration = 0;
-                m_partNumbers = new short[0];
+                m_nrIterations = table.getRowCount();
+                m_folds = null;
             } else {
-                m_partNumbers = new short[inData[0].getRowCount()];
-
-                final double partSize =
-                        m_partNumbers.length / (double)m_settings.validations();
-
+                m_nrIterations = m_settings.validations();
                 if (m_settings.stratifiedSampling()) {
                     ExecutionMonitor subExec = exec.createSubProgress(0.0);
                     subExec.setMessage("Preparing stratified sampling");
-                    Map<DataCell, List<Integer>> valueCounts =
-                            countValues(inData[0], subExec,
-                                    m_settings.classColumn());
-
-                    int part = 0;
-                    for (Map.Entry<DataCell, List<Integer>> e : valueCounts
-                            .entrySet()) {
-                        List<Integer> l = e.getValue();
-
-                        for (Integer i : l) {
-                            m_partNumbers[i] = (short)part++;
-                            part %= m_settings.validations();
-                        }
-                    }
+                    m_folds = stratify(table, subExec).assign(m_nrIterations, getSeed());
+                } else if (m_settings.randomSampling()) {
+                    m_folds = FoldAssignment.random(table.size(), m_nrIterations, new Random(getSeed()));
                 } else {
-                    for (int i = 0; i < m_partNumbers.length; i++) {
-                        m_partNumbers[i] =
-                                (short)Math.min(i / partSize,
-                                        m_partNumbers.length);
-                    }
-
-                    if (m_settings.randomSampling()) {
-                        long seed =
-                                m_settings.useRandomSeed() ? m_settings
-                                        .randomSeed() : System
-                                        .currentTimeMillis();
-                        Random rand = new Random(seed);
-
-                        for (int i = 0; i < m_partNumbers.length; i++) {
-                            int pos = rand.nextInt(m_partNumbers.length);
-                            short x = m_partNumbers[pos];
-                            m_partNumbers[pos] = m_partNumbers[i];
-                            m_partNumbers[i] = x;
-                        }
-                    }
+                    m_folds = FoldAssignment.linear(table.size(), m_nrIterations);
+                }
+                if (m_settings.writeFoldsOnce()) {
+                    m_foldTables = writeFolds(table, exec);
                 }
-                m_nrIterations = m_settings.validations();
-                m_currIteration = 0;
             }
         }
 
-        BufferedDataContainer test =
-                exec.createDataContainer(inData[0].getDataTableSpec());
-
-        BufferedDataContainer train =
-                exec.createDataContainer(inData[0].getDataTableSpec());
-
-        int count = 0;
-        final double max = inData[0].getRowCount();
-        for (DataRow row : inData[0]) {
-            exec.checkCanceled();
-            exec.setProgress(count / max);
-
-            if (m_settings.leaveOneOut() && (count == m_currIteration)) {
-                test.addRowToTable(row);
-            } else if (!m_settings.leaveOneOut()
-                    && (m_partNumbers[count] == m_currIteration)) {
-                test.addRowToTable(row);
-            } else {
-                train.addRowToTable(row);
+        final BufferedDataTable train;
+        final BufferedDataTable test;
+        if (m_foldTables != null) {
+            // the folds are only written once, the training data is a concatenation of the other folds
+            test = m_foldTables[m_currIteration];
+            final BufferedDataTable[] otherFolds = new BufferedDataTable[m_foldTables.length - 1];
+            for (int i = 0, j = 0; i < m_foldTables.length; i++) {
+                if (i != m_currIteration) {
+                    otherFolds[j++] = m_foldTables[i];
+                }
             }
-            count++;
+            train = exec.createConcatenateTable(exec, Optional.empty(), false, otherFolds);
+        } else {
+            BufferedDataContainer testCont =
+                    exec.createDataContainer(table.getDataTableSpec());
+
+            BufferedDataContainer trainCont =
+                    exec.createDataContainer(table.getDataTableSpec());
+
+            long count = 0;
+            final double max = table.size();
+            for (DataRow row : table) {
+                exec.checkCanceled();
+                exec.setProgress(count / max);
+
+                if (m_settings.leaveOneOut() && (count == m_currIteration)) {
+                    testCont.addRowToTable(row);
+                } else if (!m_settings.leaveOneOut()
+                        && (m_folds.get(count) == m_currIteration)) {
+                    testCont.addRowToTable(row);
+                } else {
+                    trainCont.addRowToTable(row);
+                }
+                count++;
+            }
+            testCont.close();
+            trainCont.close();
+            train = trainCont.getTable();
+            test = testCont.getTable();
         }
-        test.close();
-        train.close();
 
         // we need to put the counts on the stack for the loop's tail to see:
         pushFlowVariableInt("currentIteration", m_currIteration);
         pushFlowVariableInt("maxIterations", m_nrIterations);
         m_currIteration++;
 
-        return new BufferedDataTable[]{train.getTable(), test.getTable()};
+        return new BufferedDataTable[]{train, test};
+    }
+
+    /**
+     * Writes the rows of each fold into a table of its own in a single pass.
+     */
+    private BufferedDataTable[] writeFolds(final BufferedDataTable table,
+            final ExecutionContext exec) throws CanceledExecutionException {
+        final BufferedDataContainer[] conts =
+                new BufferedDataContainer[m_nrIterations];
+        for (int i = 0; i < conts.length; i++) {
+            conts[i] = exec.createDataContainer(table.getDataTableSpec());
+        }
+        long count = 0;
+        final double max = table.size();
+        for (DataRow row : table) {
+            exec.checkCanceled();
+            exec.setProgress(count / max, "Writing folds");
+            conts[m_folds.get(count)].addRowToTable(row);
+            count++;
+        }
+        final BufferedDataTable[] folds = new BufferedDataTable[conts.length];
+        for (int i = 0; i < conts.length; i++) {
+            conts[i].close();
+            folds[i] = conts[i].getTable();
+        }
+        return folds;
+    }
+
+    private long getSeed() {
+        return m_settings.useRandomSeed() ? m_settings.randomSeed()
+                : System.currentTimeMillis();
     }
 
     /**
@@ -221,7 +234,24 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
     protected void reset() {
         m_currIteration = 0;
         m_nrIterations = -1;
-        m_partNumbers = null;
+        m_folds = null;
+        m_foldTables = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BufferedDataTable[] getInternalTables() {
+        return m_foldTables;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setInternalTables(final BufferedDataTable[] tables) {
+        // ignore, can't persist loop start anyway
     }
 
     /**
@@ -278,39 +308,26 @@ protected void saveInternals(final File nodeInternDir,
         // nothing to do here
     }
 
-    private Map<DataCell, List<Integer>> countValues(
-            final BufferedDataTable table, final ExecutionMonitor exec,
-            final String classColumn) throws CanceledExecutionException {
-        HashMap<DataCell, List<Integer>> valueCounts =
-                new LinkedHashMap<DataCell, List<Integer>>();
-
-        int classColIndex =
-                table.getDataTableSpec().findColumnIndex(classColumn);
-
-        final double rowTotalCount = table.getRowCount();
-        int rowCount = 0;
-        for (DataRow row : table) {
-            exec.setProgress(rowCount / rowTotalCount, "Row " + rowCount
-                    + " (\"" + row.getKey() + "\")");
-            exec.checkCanceled();
-            DataCell cell = row.getCell(classColIndex);
-            List<Integer> rowKeys = valueCounts.get(cell);
-            if (rowKeys == null) {
-                rowKeys = new ArrayList<Integer>();
-                valueCounts.put(cell, rowKeys);
+    private FoldAssignment.Strata stratify(final BufferedDataTable table,
+            final ExecutionMonitor exec) throws CanceledExecutionException {
+        final FoldAssignment.Strata strata = new FoldAssignment.Strata();
+
+        int classColIndex = table.getDataTableSpec().findColumnIndex(
+                m_settings.classColumn());
+
+        final double rowTotalCount = table.size();
+        long rowCount = 0;
+        try (CloseableRowIterator it =
+                ColumnProjection.iterator(table, classColIndex)) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                exec.setProgress(rowCount / rowTotalCount, "Row " + rowCount
+                        + " (\"" + row.getKey() + "\")");
+                exec.checkCanceled();
+                strata.add(row.getCell(classColIndex));
+                rowCount++;
             }
-            rowKeys.add(rowCount);
-            rowCount++;
         }
-
-        long seed =
-                m_settings.useRandomSeed() ? m_settings.randomSeed() : System
-                        .currentTimeMillis();
-        for (Map.Entry<DataCell, List<Integer>> e : valueCounts.entrySet()) {
-            List<Integer> l = e.getValue();
-            Collections.shuffle(l, new Random(seed));
-        }
-
-        return valueCounts;
+        return strata;
     }
 }
@@ -69,6 +69,8 @@ public class XValidateSettings {
 
     private boolean m_useRandomSeed;
 
+    private boolean m_writeFoldsOnce = false;
+
     /**
      * Returns if leave-one-out cross validation should be performed.
      *
@@ -102,6 +104,7 @@ public void saveSettingsTo(final NodeSettingsWO settings) {
         settings.addString("classColumn", m_classColumn);
         settings.addBoolean("useRandomSeed", m_useRandomSeed);
         settings.addLong("randomSeed", m_randomSeed);
+        settings.addBoolean("writeFoldsOnce", m_writeFoldsOnce);
     }
 
     /**
@@ -124,6 +127,9 @@ public void loadSettingsFrom(final NodeSettingsRO settings)
         m_useRandomSeed = settings.getBoolean("useRandomSeed", false);
         m_randomSeed =
                 settings.getLong("randomSeed", System.currentTimeMillis());
+
+        // added in 4.4
+        m_writeFoldsOnce = settings.getBoolean("writeFoldsOnce", false);
     }
 
     /**
@@ -142,6 +148,7 @@ public void loadSettingsForDialog(final NodeSettingsRO settings) {
         m_useRandomSeed = settings.getBoolean("useRandomSeed", false);
         m_randomSeed =
                 settings.getLong("randomSeed", System.currentTimeMillis());
+        m_writeFoldsOnce = settings.getBoolean("writeFoldsOnce", false);
     }
 
     /**
@@ -262,4 +269,27 @@ public long randomSeed() {
     public void randomSeed(final long value) {
         m_randomSeed = value;
     }
+
+    /**
+     * Returns if the rows of each fold should be written only once. The training data of each iteration is then the
+     * concatenation of the other folds instead of a copy of the rows in input order. Not used for leave-one-out.
+     *
+     * @return <code>true</code> if each fold is written once, <code>false</code> if the training and test data are
+     *         written in every iteration
+     * @since 4.4
+     */
+    public boolean writeFoldsOnce() {
+        return m_writeFoldsOnce;
+    }
+
+    /**
+     * Sets if the rows of each fold should be written only once.
+     *
+     * @param b <code>true</code> if each fold is written once, <code>false</code> if the training and test data are
+     *            written in every iteration
+     * @since 4.4
+     */
+    public void writeFoldsOnce(final boolean b) {
+        m_writeFoldsOnce = b;
+    }
 }
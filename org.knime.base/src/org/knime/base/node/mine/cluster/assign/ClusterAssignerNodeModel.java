@@ -61,7 +61,6 @@
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.DataType;
 import org.knime.core.data.container.ColumnRearranger;
 import org.knime.core.data.container.SingleCellFactory;
 import org.knime.core.data.def.StringCell;
@@ -281,9 +280,8 @@ protected void validateSettings(final NodeSettingsRO settings)
     }
 
     private static class ClusterAssignFactory extends SingleCellFactory {
-        private final ComparisonMeasure m_measure;
-        private final List<Prototype> m_prototypes;
-        private final int[] m_colIndices;
+        // null if the factory only creates the spec
+        private final NearestPrototype m_nearestPrototype;
 
         /**
          * Constructor.
@@ -297,9 +295,8 @@ private static class ClusterAssignFactory extends SingleCellFactory {
                 final DataColumnSpec newColspec,
                 final int[] learnedCols) {
             super(newColspec);
-            m_measure = measure;
-            m_prototypes = prototypes;
-            m_colIndices = learnedCols;
+            m_nearestPrototype = prototypes == null ? null
+                    : new NearestPrototype(measure, prototypes, learnedCols);
         }
 
         /**
@@ -307,25 +304,7 @@ private static class ClusterAssignFactory extends SingleCellFactory {
          */
         @Override
         public DataCell getCell(final DataRow row) {
-            double mindistance = Double.MAX_VALUE;
-            DataCell winnercell = DataType.getMissingCell();
-            for (Prototype proto : m_prototypes) {
-                double dist;
-                // TODO: if prototypes are normalized
-                // we have to normalize input data here
-                if (m_measure.equals(ComparisonMeasure.squaredEuclidean)) {
-                    dist = proto.getSquaredEuclideanDistance(row, m_colIndices);
-                } else {
-                    dist = proto.getDistance(row, m_colIndices);
-                }
-                if (dist < mindistance) {
-                    mindistance = dist;
-                    if (mindistance >= 0.0) {
-                        winnercell = proto.getLabel();
-                    }
-                }
-            }
-            return winnercell;
+            return m_nearestPrototype.getLabel(row);
         }
 
     }
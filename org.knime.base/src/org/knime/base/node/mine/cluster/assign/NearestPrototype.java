@@ -0,0 +1,126 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.cluster.assign;
+
+import java.util.List;
+
+import org.knime.base.node.mine.cluster.PMMLClusterTranslator.ComparisonMeasure;
+import org.knime.base.util.distance.DistanceKernel;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+
+/**
+ * Finds the prototype closest to a row. The values of the prototypes are stored back to back in one array, so that the
+ * distances of a row to all prototypes are computed in one pass by a {@link DistanceKernel}. The result is the same as
+ * comparing the row to each {@link Prototype} in turn: cells that are not numbers count as 0, rows with missing values
+ * are not assigned, values that are {@link Double#NaN} in the row or a prototype are ignored, and the first of several
+ * closest prototypes wins.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NearestPrototype {
+
+    private final DistanceKernel m_kernel;
+
+    private final int[] m_colIndices;
+
+    private final double[] m_prototypes;
+
+    private final DataCell[] m_labels;
+
+    /**
+     * @param measure the comparison measure
+     * @param prototypes the prototypes, each having a value per column
+     * @param colIndices the indices of the columns used for clustering
+     */
+    NearestPrototype(final ComparisonMeasure measure, final List<Prototype> prototypes, final int[] colIndices) {
+        m_kernel = ComparisonMeasure.squaredEuclidean.equals(measure) ? DistanceKernel.squaredEuclidean()
+            : DistanceKernel.euclidean();
+        m_colIndices = colIndices;
+        m_prototypes = new double[prototypes.size() * colIndices.length];
+        m_labels = new DataCell[prototypes.size()];
+        for (int i = 0; i < m_labels.length; i++) {
+            final Prototype prototype = prototypes.get(i);
+            System.arraycopy(prototype.getValues(), 0, m_prototypes, i * colIndices.length, colIndices.length);
+            m_labels[i] = prototype.getLabel();
+        }
+    }
+
+    /**
+     * @param row the row to assign
+     * @return the label of the closest prototype or a missing cell if the row has a missing value in one of the
+     *         columns or there are no prototypes
+     */
+    DataCell getLabel(final DataRow row) {
+        final double[] values = new double[m_colIndices.length];
+        for (int i = 0; i < values.length; i++) {
+            final DataCell cell = row.getCell(m_colIndices[i]);
+            if (cell.isMissing()) {
+                return DataType.getMissingCell();
+            }
+            if (cell.getType().isCompatible(DoubleValue.class)) {
+                values[i] = ((DoubleValue)cell).getDoubleValue();
+            }
+        }
+        // TODO: if prototypes are normalized
+        // we have to normalize input data here
+        final double[] distances = new double[m_labels.length];
+        m_kernel.oneToMany(values, 0, m_prototypes, m_labels.length, values.length, distances);
+        double minDistance = Double.MAX_VALUE;
+        DataCell winner = DataType.getMissingCell();
+        for (int i = 0; i < distances.length; i++) {
+            if (distances[i] < minDistance) {
+                minDistance = distances[i];
+                winner = m_labels[i];
+            }
+        }
+        return winner;
+    }
+}
@@ -55,10 +55,13 @@
 import org.knime.base.node.mine.cluster.hierarchical.distfunctions.DistanceFunction;
 import org.knime.base.node.mine.cluster.hierarchical.distfunctions.EuclideanDist;
 import org.knime.base.node.mine.cluster.hierarchical.distfunctions.ManhattanDist;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.MinkowskiDist;
 import org.knime.base.node.util.DataArray;
 import org.knime.base.node.util.DefaultDataArray;
 import org.knime.base.node.viz.plotter.DataProvider;
 import org.knime.base.util.HalfFloatMatrix;
+import org.knime.base.util.distance.DistanceKernel;
+import org.knime.base.util.distance.PackedRows;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -164,7 +167,12 @@ public enum Linkage {
     private final SettingsModelString m_distFunctionName =
         HierarchicalClusterNodeDialog.createSettingsDistanceFunction();
 
-    private DistanceFunction m_distFunction;
+    private MinkowskiDist m_distFunction;
+
+    // the selected values of the input rows and the kernel computing their distances, only set during execution
+    private PackedRows m_vectors;
+
+    private DistanceKernel m_kernel;
 
     private DataArray m_dataArray;
 
@@ -229,17 +237,23 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
             m_distFunction = EuclideanDist.EUCLIDEAN_DISTANCE;
         }
 
+        m_kernel = m_distFunction.getKernel();
+        m_vectors = new PackedRows(selectedColIndices.length, (int)inputData.size());
+
         // generate initial clustering
         // which means that every data point is one cluster
-        List<ClusterNode> clusters = initClusters(inputData, exec);
+        List<ClusterNode> clusters = initClusters(inputData, selectedColIndices, exec);
         // store the distance per each fusion step
         DataContainer fusionCont = exec.createDataContainer(createFusionSpec());
         int iterationStep = 0;
 
         final HalfFloatMatrix cache;
         if (m_cacheDistances.getBooleanValue()) {
+            // compute all distances up front, the vectors are compared tile by tile
             cache = new HalfFloatMatrix((int) inputData.size(), false);
-            cache.fill(Float.NaN);
+            exec.setMessage("Computing distances");
+            m_kernel.pairwise(m_vectors.getValues(), m_vectors.size(), m_vectors.getDimension(),
+                (i, j, d) -> cache.set(i, j, (float)d), exec);
         } else {
             cache = null;
         }
@@ -281,14 +295,11 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
                     // between two clusters. At the moment is single linkage
                     // and average linkage supported.
                     if (m_linkageType.getStringValue().equals(Linkage.SINGLE.name())) {
-                        dist = calculateSingleLinkageDist(node1, node2, cache,
-                                selectedColIndices);
+                        dist = calculateSingleLinkageDist(node1, node2, cache);
                     } else if (m_linkageType.getStringValue().equals(Linkage.AVERAGE.name())) {
-                        dist = calculateAverageLinkageDist(node1, node2, cache,
-                                selectedColIndices);
+                        dist = calculateAverageLinkageDist(node1, node2, cache);
                     } else {
-                        dist = calculateCompleteLinkageDist(node1, node2, cache,
-                                selectedColIndices);
+                        dist = calculateCompleteLinkageDist(node1, node2, cache);
                     }
 
                     if (dist < currentSmallestDist) {
@@ -334,6 +345,8 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
         if (outputData == null) {
             outputData = createResultTable(inputData, clusters, exec);
         }
+        m_vectors = null;
+        m_kernel = null;
         m_dataArray = new DefaultDataArray(inputData, 1, (int)inputData.size());
         m_fusionTable = new DefaultDataArray(
                 fusionCont.getTable(), 1, iterationStep);
@@ -357,6 +370,8 @@ private DataTableSpec createFusionSpec() {
      */
     @Override
     public final void reset() {
+        m_vectors = null;
+        m_kernel = null;
         m_dataArray = null;
         m_rootNode = null;
         m_fusionTable = null;
@@ -368,31 +383,15 @@ public final void reset() {
      *
      */
     private float calculateSingleLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
+            final ClusterNode node2, final HalfFloatMatrix cache) {
         float minDist = Float.MAX_VALUE;
 
         for (ClusterNode node1Leaf : node1.leafs()) {
-            final DataRow row1 = node1Leaf.getLeafDataPoint();
             final int row1Index = node1Leaf.getRowIndex();
             for (ClusterNode node2Leaf : node2.leafs()) {
-                final DataRow row2 = node2Leaf.getLeafDataPoint();
                 final int row2Index = node2Leaf.getRowIndex();
 
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f =
-                                (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f =
-                            (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
+                final float f = getDistance(row1Index, row2Index, cache);
                 minDist = Math.min(minDist, f);
             }
         }
@@ -406,31 +405,15 @@ private float calculateSingleLinkageDist(final ClusterNode node1,
      *
      */
     private float calculateCompleteLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
+            final ClusterNode node2, final HalfFloatMatrix cache) {
         float maxDist = 0;
 
         for (ClusterNode node1Leaf : node1.leafs()) {
-            final DataRow row1 = node1Leaf.getLeafDataPoint();
             final int row1Index = node1Leaf.getRowIndex();
             for (ClusterNode node2Leaf : node2.leafs()) {
-                final DataRow row2 = node2Leaf.getLeafDataPoint();
                 final int row2Index = node2Leaf.getRowIndex();
 
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f =
-                                (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f =
-                            (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
+                final float f = getDistance(row1Index, row2Index, cache);
                 maxDist = Math.max(maxDist, f);
             }
         }
@@ -444,29 +427,15 @@ private float calculateCompleteLinkageDist(final ClusterNode node1,
      * data rows.
      */
     private float calculateAverageLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
+            final ClusterNode node2, final HalfFloatMatrix cache) {
         float sumDist = 0;
 
         for (ClusterNode node1Leaf : node1.leafs()) {
-            final DataRow row1 = node1Leaf.getLeafDataPoint();
             final int row1Index = node1Leaf.getRowIndex();
             for (ClusterNode node2Leaf : node2.leafs()) {
-                final DataRow row2 = node2Leaf.getLeafDataPoint();
                 final int row2Index = node2Leaf.getRowIndex();
 
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f = (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f = (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
+                final float f = getDistance(row1Index, row2Index, cache);
                 sumDist += f;
             }
         }
@@ -475,11 +444,22 @@ private float calculateAverageLinkageDist(final ClusterNode node1,
         return sumDist / (node1.getLeafCount() * node2.getLeafCount());
     }
 
+    /** The distance of two input rows, taken from the cache if there is one. */
+    private float getDistance(final int row1Index, final int row2Index, final HalfFloatMatrix cache) {
+        if (cache != null) {
+            return cache.get(row1Index, row2Index);
+        }
+        return (float)m_kernel.distance(m_vectors.getValues(), m_vectors.offset(row1Index), m_vectors.getValues(),
+            m_vectors.offset(row2Index), m_vectors.getDimension());
+    }
+
     /**
      * Creates number of data rows clusters as initial clustering.
      *
      * @param inputData
      *            the input data rows
+     * @param selectedColIndices
+     *            the columns whose values are added to the vectors
      * @param exec
      *            to check for user cancelations
      *
@@ -489,11 +469,13 @@ private float calculateAverageLinkageDist(final ClusterNode node1,
      * @return the vector with all initial clusters.
      */
     private List<ClusterNode> initClusters(final DataTable inputData,
-            final ExecutionContext exec) throws CanceledExecutionException {
+            final int[] selectedColIndices, final ExecutionContext exec)
+            throws CanceledExecutionException {
         List<ClusterNode> rowVector = new ArrayList<ClusterNode>();
         int rowIdx = 0;
         for (DataRow row : inputData) {
             rowVector.add(new ClusterNode(row, rowIdx++));
+            m_vectors.add(row, selectedColIndices);
             exec.checkCanceled();
         }
         return rowVector;
@@ -45,7 +45,7 @@
  */
 package org.knime.base.node.mine.cluster.hierarchical.distfunctions;
 
-
+import org.knime.base.util.distance.DistanceKernel;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DoubleValue;
@@ -104,6 +104,20 @@ public double calcDistance(final DataRow firstDataRow,
         return Math.pow(sumPowDist, (double)1 / (double)m_p);
     }
     
+    /**
+     * Returns the kernel computing this distance on vectors of doubles, e.g.
+     * rows packed by {@link org.knime.base.util.distance.PackedRows}, in which
+     * missing and non-numeric cells are {@link Double#NaN}. Unlike
+     * {@link #calcDistance(DataRow, DataRow, int[])}, the kernel also ignores
+     * cells holding {@link Double#NaN} instead of returning {@link Double#NaN}.
+     *
+     * @return the kernel
+     * @since 4.4
+     */
+    public DistanceKernel getKernel() {
+        return DistanceKernel.minkowski(m_p);
+    }
+
     /**
      * @param o The object to compare with.
      * @return true if both instances (classes) are the same. 
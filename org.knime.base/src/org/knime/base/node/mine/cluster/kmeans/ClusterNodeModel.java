@@ -56,8 +56,10 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.apache.commons.math3.random.RandomDataGenerator;
+import org.knime.base.data.util.ColumnProjection;
 import org.knime.base.node.mine.cluster.PMMLClusterTranslator;
 import org.knime.base.node.mine.cluster.PMMLClusterTranslator.ComparisonMeasure;
 import org.knime.core.data.DataCell;
@@ -69,7 +71,6 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataTableSpecCreator;
 import org.knime.core.data.DoubleValue;
-import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.append.AppendedColumnRow;
 import org.knime.core.data.container.CloseableRowIterator;
@@ -469,31 +470,33 @@ protected PortObject[] execute(final PortObject[] data, final ExecutionContext e
             }
             // assume that we are done (i.e. clusters have stopped changing)
             finished = true;
-            RowIterator rowIt = inData.iterator(); // first training example
-            while (rowIt.hasNext()) {
-                DataRow currentRow = rowIt.next();
-                int winner = findClosestPrototypeFor(currentRow, clusters);
-                if (winner >= 0) {
-                    // update winning cluster centers delta
-                    int deltaPos = 0;
-                    for (int i = 0; i < m_dimension; i++) {
-                        DataCell currentCell = currentRow.getCell(i);
-                        if (!m_ignoreColumn[i]) {
-                            if (!currentCell.isMissing()) {
-                                delta[winner][deltaPos] += ((DoubleValue)(currentCell)).getDoubleValue();
-                            } else {
-                                throw new Exception("Missing Values not (yet) allowed in k-Means.");
+            // only read the used columns
+            try (CloseableRowIterator rowIt = ColumnProjection.iterator(inData, getUsedColumnIndices())) {
+                while (rowIt.hasNext()) {
+                    DataRow currentRow = rowIt.next();
+                    int winner = findClosestPrototypeFor(currentRow, clusters);
+                    if (winner >= 0) {
+                        // update winning cluster centers delta
+                        int deltaPos = 0;
+                        for (int i = 0; i < m_dimension; i++) {
+                            DataCell currentCell = currentRow.getCell(i);
+                            if (!m_ignoreColumn[i]) {
+                                if (!currentCell.isMissing()) {
+                                    delta[winner][deltaPos] += ((DoubleValue)(currentCell)).getDoubleValue();
+                                } else {
+                                    throw new Exception("Missing Values not (yet) allowed in k-Means.");
+                                }
+                                deltaPos++;
                             }
-                            deltaPos++;
                         }
+                        clusterCoverage[winner]++;
+                    } else {
+                        // we didn't find any winner - very odd
+                        assert (winner >= 0); // let's report this during
+                        // debugging!
+                        // otherwise just don't reproduce result
+                        throw new IllegalStateException("No winner found: " + winner);
                     }
-                    clusterCoverage[winner]++;
-                } else {
-                    // we didn't find any winner - very odd
-                    assert (winner >= 0); // let's report this during
-                    // debugging!
-                    // otherwise just don't reproduce result
-                    throw new IllegalStateException("No winner found: " + winner);
                 }
             }
             // update cluster centers
@@ -617,11 +620,12 @@ private boolean isFirstRowsInitialized() {
     private double[][] firstRowsClusterInitialization(final DataTable input, final double[][] clusters) {
         // initialize cluster centers with values of first rows in table
         int c = 0;
-        final RowIterator rowIt = input.iterator();
-        while (rowIt.hasNext() && c < m_nrOfClusters.getIntValue()) {
-            DataRow currentRow = rowIt.next();
-            assignCluster(currentRow, clusters, c);
-            c++;
+        try (final CloseableRowIterator rowIt = ColumnProjection.iterator(input, getUsedColumnIndices())) {
+            while (rowIt.hasNext() && c < m_nrOfClusters.getIntValue()) {
+                DataRow currentRow = rowIt.next();
+                assignCluster(currentRow, clusters, c);
+                c++;
+            }
         }
         return clusters;
     }
@@ -630,7 +634,7 @@ private double[][] randomClusterInitialization(final BufferedDataTable input, fi
         //initialize random centroids
         final long nrOfRows = input.size();
         final Set<Long> randomInitialization = randomCentroidsSetCreation(nrOfRows);
-        try(final CloseableRowIterator rowIt = input.iterator()) {
+        try(final CloseableRowIterator rowIt = ColumnProjection.iterator(input, getUsedColumnIndices())) {
             int c = 0;
             for (long rowTrack = 0; rowIt.hasNext(); rowTrack ++) {
                 DataRow currentRow = rowIt.next();
@@ -857,6 +861,10 @@ private DataTableSpec createAppendedSpec(final DataTableSpec originalSpec) {
         return new DataTableSpec(originalSpec, new DataTableSpec(labelColSpec));
     }
 
+    private int[] getUsedColumnIndices() {
+        return IntStream.range(0, m_dimension).filter(i -> !m_ignoreColumn[i]).toArray();
+    }
+
     private void addExcludeColumnsToIgnoreList(final DataTableSpec originalSpec) {
         // add all excluded columns to the ignore list
         m_ignoreColumn = new boolean[m_dimension];
@@ -93,4 +93,10 @@ public class MDSConfigKeys {
      * The configuration key for columns to use.
      */
     public static final String CFGKEY_SEED = "Seed";    
+
+    /**
+     * The configuration key for the parallel update of the data points.
+     * @since 4.4
+     */
+    public static final String CFGKEY_PARALLEL = "ParallelUpdates";
 }
@@ -0,0 +1,332 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.mds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.knime.base.data.util.Futures;
+import org.knime.base.util.HalfDoubleMatrix;
+import org.knime.base.util.distance.DistanceKernel;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Runs the epochs of the iterative MDS on low dimensional points that are stored back to back in one array. Each
+ * point is moved towards or away from a set of fixed reference points and, unless only a projection is computed,
+ * from all other points, so that their Euclidean distances approximate the distances of the original rows.
+ * <p>
+ * The original distances are accessed by index through {@link Distances}. They are computed once and cached by
+ * {@link #cacheDistances(ExecutionMonitor)} if they fit into a quarter of the free memory, otherwise they are
+ * recomputed in each epoch.
+ * <p>
+ * The points are updated by several threads, each taking a block of points. The reference points never change, so
+ * a projection yields exactly the same points as a sequential update. If the points are also adjusted to each other,
+ * they are moved towards the positions the other points had at the beginning of the epoch, which makes the result
+ * independent of the number of threads. Unless {@link #setParallel(boolean) parallel} updates are disabled; then
+ * the points are updated sequentially and in place, as done by the MDS nodes before.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public final class MDSEngine {
+
+    /**
+     * The distances of the original rows, addressed by their indices.
+     */
+    @FunctionalInterface
+    public interface Distances {
+
+        /**
+         * Returns the distance of two rows. Implementations must be thread-safe.
+         *
+         * @param i the index of the first row
+         * @param j the index of the second row
+         * @return their distance
+         */
+        double get(int i, int j);
+    }
+
+    /** The minimum number of distances looked at by one task during an epoch. */
+    private static final long MIN_DISTANCES_PER_BLOCK = 1 << 16;
+
+    /** The {@link HalfDoubleMatrix} computes its indices with ints, which overflow for more points. */
+    private static final int MAX_CACHED_POINTS = 46340;
+
+    private static final DistanceKernel EUCLIDEAN = DistanceKernel.euclidean();
+
+    private final int m_dimension;
+
+    private final int m_nrPoints;
+
+    private final double[] m_coordinates;
+
+    private final boolean[] m_unmodifiable;
+
+    private final int m_nrReferences;
+
+    private final double[] m_references;
+
+    private Distances m_referenceDistances;
+
+    private Distances m_pointDistances;
+
+    private double m_minDistThreshold = Double.NEGATIVE_INFINITY;
+
+    private boolean m_parallel = true;
+
+    /**
+     * Creates a new engine.
+     *
+     * @param dimension the dimension of the low dimensional points
+     * @param coordinates the initial coordinates of the points, one point after another, which are adjusted in place
+     * @param references the coordinates of the reference points, one point after another, may be empty
+     * @param referenceDistances the distances of the points (first index) to the reference points (second index) or
+     *            <code>null</code> if there are no reference points
+     * @param pointDistances the distances of the points to each other or <code>null</code> if the points are only
+     *            adjusted to the reference points
+     */
+    public MDSEngine(final int dimension, final double[] coordinates, final double[] references,
+        final Distances referenceDistances, final Distances pointDistances) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Dimension must not be smaller than 1!");
+        }
+        m_dimension = dimension;
+        m_nrPoints = coordinates.length / dimension;
+        m_coordinates = coordinates;
+        m_unmodifiable = new boolean[m_nrPoints];
+        m_nrReferences = referenceDistances == null ? 0 : references.length / dimension;
+        m_references = references;
+        m_referenceDistances = referenceDistances;
+        m_pointDistances = pointDistances;
+    }
+
+    /**
+     * Sets the threshold of the original distance up to which a point is placed exactly at the position of a
+     * reference or other point. Such a point is not adjusted anymore. By default no point is fixed this way.
+     *
+     * @param minDistThreshold the threshold
+     */
+    public void setMinDistanceThreshold(final double minDistThreshold) {
+        m_minDistThreshold = minDistThreshold;
+    }
+
+    /**
+     * Sets whether the points are adjusted to each other in parallel, which is the default. Has no effect on a
+     * projection onto the reference points, which is always computed in parallel.
+     *
+     * @param parallel <code>true</code> if the points are moved towards the positions of the other points at the
+     *            beginning of the epoch by several threads, <code>false</code> if they are updated sequentially and
+     *            in place
+     */
+    public void setParallel(final boolean parallel) {
+        m_parallel = parallel;
+    }
+
+    /**
+     * @return the coordinates of the points, one point after another
+     */
+    public double[] getCoordinates() {
+        return m_coordinates;
+    }
+
+    /**
+     * Computes all original distances once if they fit into memory, so that they are not recomputed in each epoch.
+     *
+     * @param exec the execution monitor for progress and cancelation
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    public void cacheDistances(final ExecutionMonitor exec) throws CanceledExecutionException {
+        final Runtime runtime = Runtime.getRuntime();
+        long freeMemory = (runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory())) / 4;
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+
+        final long nrReferenceDistances = (long)m_nrPoints * m_nrReferences;
+        if (m_referenceDistances != null && nrReferenceDistances <= Integer.MAX_VALUE
+            && nrReferenceDistances * Double.BYTES <= freeMemory) {
+            exec.setMessage("Computing distances to fixed points");
+            final Distances distances = m_referenceDistances;
+            final double[] cache = new double[(int)nrReferenceDistances];
+            final int nrReferences = m_nrReferences;
+            forEachBlock(pool, nrReferenceDistances, exec, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    exec.checkCanceled();
+                    for (int r = 0; r < nrReferences; r++) {
+                        cache[i * nrReferences + r] = distances.get(i, r);
+                    }
+                }
+            });
+            m_referenceDistances = (i, r) -> cache[i * nrReferences + r];
+            freeMemory -= nrReferenceDistances * Double.BYTES;
+        }
+
+        final long nrPointDistances = ((long)m_nrPoints * m_nrPoints - m_nrPoints) / 2;
+        if (m_pointDistances != null && m_nrPoints <= MAX_CACHED_POINTS
+            && nrPointDistances * Double.BYTES <= freeMemory) {
+            exec.setMessage("Computing distances between points");
+            final Distances distances = m_pointDistances;
+            final HalfDoubleMatrix cache = new HalfDoubleMatrix(m_nrPoints, false);
+            // row i holds i distances, so the rows are dealt out round robin to balance the blocks
+            final int nrPoints = m_nrPoints;
+            final int nrBlocks = nrBlocks(pool, nrPointDistances);
+            forEachBlock(pool, nrBlocks, 1, exec, (from, to) -> {
+                for (int i = from; i < nrPoints; i += nrBlocks) {
+                    exec.checkCanceled();
+                    for (int j = 0; j < i; j++) {
+                        cache.set(i, j, distances.get(i, j));
+                    }
+                }
+            });
+            m_pointDistances = cache::get;
+        }
+    }
+
+    /**
+     * Adjusts each point once to all reference points and, if given, to all other points.
+     *
+     * @param learningRate the step size of the adjustment
+     * @param exec the execution monitor for cancelation
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    public void doEpoch(final double learningRate, final ExecutionMonitor exec) throws CanceledExecutionException {
+        if (m_pointDistances != null && !m_parallel) {
+            adjust(0, m_nrPoints, learningRate, m_coordinates, exec);
+            return;
+        }
+        final double[] others = m_pointDistances == null ? null : m_coordinates.clone();
+        final long nrDistances = (long)m_nrPoints * (m_nrReferences + (others == null ? 0 : m_nrPoints));
+        forEachBlock(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(), nrDistances, exec,
+            (from, to) -> adjust(from, to, learningRate, others, exec));
+    }
+
+    /** Adjusts the points from index <code>from</code> (inclusive) to <code>to</code> (exclusive). */
+    private void adjust(final int from, final int to, final double learningRate, final double[] others,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        for (int i = from; i < to; i++) {
+            exec.checkCanceled();
+            for (int r = 0; r < m_nrReferences && !m_unmodifiable[i]; r++) {
+                adjust(i, m_references, r, m_referenceDistances.get(i, r), learningRate);
+            }
+            for (int j = 0; others != null && j < m_nrPoints && !m_unmodifiable[i]; j++) {
+                if (i != j) {
+                    adjust(i, others, j, m_pointDistances.get(i, j), learningRate);
+                }
+            }
+        }
+    }
+
+    /** Moves the i-th point towards or away from the j-th point of the given array. */
+    private void adjust(final int i, final double[] target, final int j, final double disparity,
+        final double learningRate) {
+        final int p1 = i * m_dimension;
+        final int p2 = j * m_dimension;
+        if (disparity <= m_minDistThreshold) {
+            // if the rows are (nearly) equal, place the point at the other one
+            System.arraycopy(target, p2, m_coordinates, p1, m_dimension);
+            m_unmodifiable[i] = true;
+            return;
+        }
+        // use only the Euclidean distance for low dimensional data.
+        final double distance = EUCLIDEAN.distance(m_coordinates, p1, target, p2, m_dimension);
+        if (distance != 0) {
+            final double factor = learningRate * (1 - (disparity / distance));
+            for (int d = 0; d < m_dimension; d++) {
+                final double value = m_coordinates[p1 + d];
+                m_coordinates[p1 + d] = value + factor * (target[p2 + d] - value);
+            }
+        }
+    }
+
+    /** Work on a range of points. */
+    @FunctionalInterface
+    private interface Block {
+        void run(int from, int to) throws CanceledExecutionException;
+    }
+
+    private int nrBlocks(final ThreadPool pool, final long nrDistances) {
+        return (int)Math.max(1, Math.min(Math.min(pool.getMaxThreads(), nrDistances / MIN_DISTANCES_PER_BLOCK),
+            m_nrPoints));
+    }
+
+    private void forEachBlock(final ThreadPool pool, final long nrDistances, final ExecutionMonitor exec,
+        final Block block) throws CanceledExecutionException {
+        final int nrBlocks = nrBlocks(pool, nrDistances);
+        forEachBlock(pool, nrBlocks, (m_nrPoints + nrBlocks - 1) / nrBlocks, exec, block);
+    }
+
+    /** Runs the blocks [0, size), [size, 2 * size), ... of the points, the first in this thread. */
+    private void forEachBlock(final ThreadPool pool, final int nrBlocks, final int size,
+        final ExecutionMonitor exec, final Block block) throws CanceledExecutionException {
+        if (nrBlocks == 1) {
+            block.run(0, Math.min(size, m_nrPoints));
+            return;
+        }
+        final List<Future<Void>> futures = new ArrayList<>();
+        for (int b = 1; b < nrBlocks; b++) {
+            final int from = b * size;
+            final int to = Math.min(m_nrPoints, from + size);
+            futures.add(pool.enqueue((Callable<Void>)() -> {
+                block.run(from, to);
+                return null;
+            }));
+        }
+        try {
+            block.run(0, Math.min(size, m_nrPoints));
+        } catch (CanceledExecutionException | RuntimeException e) {
+            for (final Future<Void> future : futures) {
+                future.cancel(true);
+            }
+            throw e;
+        }
+        Futures.waitFor(futures, exec);
+    }
+}
@@ -47,15 +47,20 @@
  */
 package org.knime.base.node.mine.mds;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Random;
 
-import org.knime.base.node.mine.mds.distances.DistanceManager;
 import org.knime.base.node.mine.mds.distances.DistanceManagerFactory;
 import org.knime.base.node.mine.mds.distances.RowDistanceManager;
+import org.knime.base.node.mine.mds.distances.VectorDistance;
 import org.knime.base.node.preproc.filter.row.RowFilterTable;
 import org.knime.base.node.preproc.filter.row.rowfilter.IRowFilter;
 import org.knime.base.node.preproc.filter.row.rowfilter.MissingCellRowFilter;
+import org.knime.base.util.distance.DistanceKernel;
+import org.knime.base.util.distance.PackedRows;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.RowIterator;
@@ -74,6 +79,11 @@
  * dimensional points. The rearrangement is an iterative process running as
  * many epochs as specified. The learn rate, specifying the step size is
  * reduced after each epoch, so that the process converges at the end.
+ * <p>
+ * The values of the rows are extracted once if the distance manager has a
+ * {@link RowDistanceManager#getVectorDistance() vector distance}, the low
+ * dimensional points are stored back to back in one array and adjusted by an
+ * {@link MDSEngine}.
  *
  * @author Kilian Thiel, University of Konstanz
  */
@@ -103,12 +113,24 @@ public class MDSManager {
 
     private RowDistanceManager m_distMan;
 
-    private DistanceManager m_euclideanDistMan;
+    private DistanceKernel m_kernel;
 
     private DataTable m_inData;
 
     private Hashtable<RowKey, DataPoint> m_points;
 
+    // the keys of the rows in the order of the input
+    private RowKey[] m_keys;
+
+    // the values of the rows if the distance manager has a vector distance
+    private PackedRows m_vectors;
+
+    // the rows if the distance manager has no vector distance
+    private DataRow[] m_rows;
+
+    // the coordinates of the low dimensional points, one point after another
+    private double[] m_coordinates;
+
     private double m_learningrate;
 
     private double m_initialLearningrate;
@@ -119,6 +141,8 @@ public class MDSManager {
 
     private boolean m_isInit = false;
 
+    private boolean m_parallel = false;
+
     private ExecutionMonitor m_exec;
 
     /**
@@ -191,9 +215,6 @@ public MDSManager(final int dimension, final RowDistanceManager distManager,
         }
         m_dimension = dimension;
         m_distMan = distManager;
-        m_euclideanDistMan = DistanceManagerFactory.createDistanceManager(
-                DistanceManagerFactory.EUCLIDEAN_DIST, fuzzy);
-
 
         IRowFilter rf = new MissingCellRowFilter();
         m_inData = new RowFilterTable(inData, rf);
@@ -214,20 +235,41 @@ public void init(final long seed) throws CanceledExecutionException {
 
         ExecutionMonitor exec = m_exec.createSubProgress(0.1);
 
+        final VectorDistance vectorDistance = m_distMan.getVectorDistance();
+        m_kernel = vectorDistance != null ? vectorDistance.getKernel() : null;
+        final int nrCells = m_inData.getDataTableSpec().getNumColumns();
+        final double[] vector = new double[nrCells];
+        final double[] point = new double[m_dimension];
+        final List<RowKey> keys = new ArrayList<RowKey>();
+        final List<DataRow> rows = new ArrayList<DataRow>();
+        final PackedRows points = new PackedRows(m_dimension, 16);
+        m_vectors = m_kernel != null ? new PackedRows(nrCells, 16) : null;
+
         // init all data points
         RowIterator it = m_inData.iterator();
         while (it.hasNext()) {
             exec.checkCanceled();
 
             DataRow row = it.next();
-            DataPoint p = new DataPoint(m_dimension);
+            keys.add(row.getKey());
+            if (m_vectors != null) {
+                vectorDistance.toVector(row, vector, 0);
+                m_vectors.add(vector);
+            } else {
+                rows.add(row);
+            }
             for (int j = 0; j < m_dimension; j++) {
-                p.setElementAt(j, rand.nextDouble());
+                point[j] = rand.nextDouble();
             }
-            m_points.put(row.getKey(), p);
+            points.add(point);
 
             exec.setProgress("Initialising data points.");
         }
+        m_keys = keys.toArray(new RowKey[keys.size()]);
+        m_rows = m_vectors == null ? rows.toArray(new DataRow[rows.size()])
+                : null;
+        m_coordinates =
+            Arrays.copyOf(points.getValues(), points.size() * m_dimension);
     }
 
     /**
@@ -247,67 +289,38 @@ public void train(final int epochs, final double learningrate)
 
         ExecutionMonitor exec = m_exec.createSubProgress(0.9);
 
+        final MDSEngine engine = new MDSEngine(m_dimension, m_coordinates,
+                new double[0], null,
+                (i, j) -> disparityTransformation(getDistance(i, j)));
+        engine.setParallel(m_parallel);
+        engine.cacheDistances(exec.createSubProgress(0.1));
+
+        ExecutionMonitor epochExec = exec.createSubProgress(0.9);
         m_learningrate = learningrate;
         m_initialLearningrate = learningrate;
         m_epochs = epochs;
         for (int e = 1; e <= epochs; e++) {
-            exec.setMessage("Start training");
-            exec.checkCanceled();
-            doEpoch(e, exec);
+            epochExec.setMessage("Start training");
+            epochExec.checkCanceled();
+            engine.doEpoch(m_learningrate, epochExec);
+            adjustLearningRate(e);
 
             double prog = (double)e / (double)epochs;
-            exec.setProgress(prog, "Training epoch " + e + " of " + epochs);
-        }
-    }
-
-    private void doEpoch(final int epoch, final ExecutionMonitor exec)
-    throws CanceledExecutionException {
-        // through all data points
-        RowIterator it1 = m_inData.iterator();
-        while (it1.hasNext()) {
-            DataRow r1 = it1.next();
-            DataPoint p1 = m_points.get(r1.getKey());
-
-            // through all data points again
-            RowIterator it2 = m_inData.iterator();
-            while (it2.hasNext()) {
-                exec.checkCanceled();
-
-                DataRow r2 = it2.next();
-                DataPoint p2 = m_points.get(r2.getKey());
-
-                adjustDataPoint(p1, p2, r1, r2);
-            }
+            epochExec.setProgress(prog,
+                    "Training epoch " + e + " of " + epochs);
         }
-
-        adjustLearningRate(epoch);
     }
 
-    private void adjustDataPoint(final DataPoint p1, final DataPoint p2,
-            final DataRow r1, final DataRow r2) {
-        if (!p1.equals(p2)) {
-            double disparity =
-                    disparityTransformation(m_distMan.getDistance(r1, r2));
-
-            // double distance = m_distMan.getDistance(p1, p2);
-            // use only the Euclidean distance for low
-            // dimensional data.
-            double distance = m_euclideanDistMan.getDistance(p1, p2);
-
-            // through all dimensions
-            for (int d = 0; d < m_dimension; d++) {
-                double value = p1.getElementAt(d);
-                if (distance != 0) {
-                    double delta =
-                            m_learningrate * (1 - (disparity / distance))
-                                    * (p2.getElementAt(d) - value);
-                    p1.setElementAt(d, value + delta);
-                }
-            }
+    /** The distance of the i-th and the j-th high dimensional row. */
+    private double getDistance(final int i, final int j) {
+        if (m_vectors == null) {
+            return m_distMan.getDistance(m_rows[i], m_rows[j]);
         }
+        return m_kernel.distance(m_vectors.getValues(), m_vectors.offset(i),
+                m_vectors.getValues(), m_vectors.offset(j),
+                m_vectors.getDimension());
     }
 
-
     private double disparityTransformation(final double distance) {
         return distance;
     }
@@ -324,6 +337,16 @@ private void adjustLearningRate(final int epoch) {
      * as values.
      */
     public Hashtable<RowKey, DataPoint> getDataPoints() {
+        m_points.clear();
+        if (m_keys != null) {
+            for (int i = 0; i < m_keys.length; i++) {
+                DataPoint p = new DataPoint(m_dimension);
+                for (int d = 0; d < m_dimension; d++) {
+                    p.setElementAt(d, m_coordinates[i * m_dimension + d]);
+                }
+                m_points.put(m_keys[i], p);
+            }
+        }
         return m_points;
     }
 
@@ -333,9 +356,25 @@ public Hashtable<RowKey, DataPoint> getDataPoints() {
      */
     public void reset() {
         m_points.clear();
+        m_keys = null;
+        m_vectors = null;
+        m_rows = null;
+        m_coordinates = null;
         m_isInit = false;
     }
 
+    /**
+     * @param parallel <code>true</code> if the data points are adjusted by
+     * several threads, towards the positions the other points had at the
+     * beginning of each epoch, <code>false</code> if they are adjusted
+     * sequentially, as before (default).
+     * @see MDSEngine#setParallel(boolean)
+     * @since 4.4
+     */
+    public void setParallel(final boolean parallel) {
+        m_parallel = parallel;
+    }
+
     /**
      * @return the dimension The dimension of the low dimensionl data points.
      */
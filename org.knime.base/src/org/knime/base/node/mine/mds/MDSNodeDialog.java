@@ -158,6 +158,18 @@ public static SettingsModelIntegerBounded getSeedModel() {
     }
     
     
+    /**
+     * @return Creates and returns a new instance of
+     * <code>SettingsModelBoolean</code> specifying if the data points are
+     * updated in parallel.
+     * @since 4.4
+     */
+    public static SettingsModelBoolean getParallelModel() {
+        return new SettingsModelBoolean(MDSConfigKeys.CFGKEY_PARALLEL,
+                MDSNodeModel.DEF_PARALLEL);
+    }
+    
+    
     private SettingsModelIntegerBounded m_rowsModel;
     
     private SettingsModelBoolean m_useRowsModel;
@@ -205,6 +217,9 @@ public MDSNodeDialog() {
         addDialogComponent(new DialogComponentStringSelection(
                 getDistanceModel(), "Distance metric: ", distanceMetric));
         
+        addDialogComponent(new DialogComponentBoolean(getParallelModel(),
+                "Update points in parallel"));
+        
         closeCurrentGroup();
 
         createNewTab("Input data");
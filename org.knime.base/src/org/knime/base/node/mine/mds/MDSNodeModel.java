@@ -156,6 +156,12 @@ public class MDSNodeModel extends NodeModel {
     public static final String DEF_DISTANCE =
         DistanceManagerFactory.EUCLIDEAN_DIST;
 
+    /**
+     * The default setting of the parallel update of the data points.
+     * @since 4.4
+     */
+    public static final boolean DEF_PARALLEL = true;
+
 
 
     private SettingsModelIntegerBounded m_rowsModel =
@@ -178,6 +184,9 @@ public class MDSNodeModel extends NodeModel {
     private SettingsModelFilterString m_colModel =
         MDSNodeDialog.getColumnModel();
 
+    private SettingsModelBoolean m_parallelModel =
+        MDSNodeDialog.getParallelModel();
+
     private SettingsModelIntegerBounded m_seedModel =
         MDSNodeDialog.getSeedModel();
 
@@ -290,6 +299,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         // create MDS manager, init and train stuff
         m_manager = new MDSManager(m_outputDimModel.getIntValue(),
                 m_distModel.getStringValue(), m_fuzzy, rowCutDataTable, exec);
+        m_manager.setParallel(m_parallelModel.getBooleanValue());
         m_manager.init(m_seedModel.getIntValue());
         m_manager.train(m_epochsModel.getIntValue(),
                 m_learnrateModel.getDoubleValue());
@@ -368,6 +378,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
         m_rowsModel.loadSettingsFrom(settings);
         m_seedModel.loadSettingsFrom(settings);
         m_useRowsModel.loadSettingsFrom(settings);
+        // nodes of older workflows update the points sequentially
+        if (settings.containsKey(MDSConfigKeys.CFGKEY_PARALLEL)) { // added in 4.4
+            m_parallelModel.loadSettingsFrom(settings);
+        } else {
+            m_parallelModel.setBooleanValue(false);
+        }
         checkUncheck();
     }
 
@@ -394,6 +410,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_rowsModel.saveSettingsTo(settings);
         m_seedModel.saveSettingsTo(settings);
         m_useRowsModel.saveSettingsTo(settings);
+        m_parallelModel.saveSettingsTo(settings);
     }
 
     /**
@@ -410,6 +427,9 @@ protected void validateSettings(final NodeSettingsRO settings)
         m_rowsModel.validateSettings(settings);
         m_seedModel.validateSettings(settings);
         m_useRowsModel.validateSettings(settings);
+        if (settings.containsKey(MDSConfigKeys.CFGKEY_PARALLEL)) { // added in 4.4
+            m_parallelModel.validateSettings(settings);
+        }
     }
 
 
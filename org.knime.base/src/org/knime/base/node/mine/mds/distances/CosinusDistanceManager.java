@@ -48,6 +48,7 @@
 package org.knime.base.node.mine.mds.distances;
 
 import org.knime.base.node.mine.mds.DataPoint;
+import org.knime.base.util.distance.DistanceKernel;
 import org.knime.core.data.DataRow;
 
 /**
@@ -91,6 +92,20 @@ public double getDistance(final DataPoint point1, final DataPoint point2) {
         return Distances.getCosinusDistance(point1, point2, m_offset);
     }    
     
+    /**
+     * {@inheritDoc}
+     * An offset of 0 has no vector distance, as the distance is the plain
+     * cosine then.
+     */
+    @Override
+    public VectorDistance getVectorDistance() {
+        if (m_offset == 0) {
+            return null;
+        }
+        return new VectorDistance(DistanceKernel.cosine(m_offset),
+            (row, target, offset) -> Distances.toVector(row, target, offset, m_fuzzy));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -50,6 +50,7 @@
 import org.knime.base.node.mine.mds.DataPoint;
 import org.knime.base.node.mine.sota.logic.SotaFuzzyMath;
 import org.knime.base.node.mine.sota.logic.SotaUtil;
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DoubleValue;
@@ -357,4 +358,66 @@ public static double getCosinusDistance(final DataPoint point1,
         }
         return distance;
     }    
+
+    /**
+     * Writes the values of the cells of a row into an array as they are used
+     * by the distances of this class with the fuzzy flag: if fuzzy is
+     * <code>true</code> the centers of the core regions of fuzzy intervals,
+     * otherwise numbers. All other cells are written as {@link Double#NaN},
+     * which the distance kernels ignore.
+     *
+     * @param row The row.
+     * @param target The array receiving the values.
+     * @param offset The index receiving the value of the first cell.
+     * @param fuzzy If true only fuzzy data is taken into account, if
+     * <code>false</code> only number data.
+     * @since 4.4
+     */
+    public static void toVector(final DataRow row, final double[] target,
+            final int offset, final boolean fuzzy) {
+        for (int i = 0; i < row.getNumCells(); i++) {
+            DataCell cell = row.getCell(i);
+            DataType type = cell.getType();
+            double value = Double.NaN;
+            if (cell.isMissing()) {
+                value = Double.NaN;
+            } else if (!fuzzy && SotaUtil.isNumberType(type)) {
+                value = ((DoubleValue)cell).getDoubleValue();
+            } else if (fuzzy && SotaUtil.isFuzzyIntervalType(type)) {
+                value = SotaFuzzyMath.getCenterOfCoreRegion(
+                        (FuzzyIntervalValue)cell);
+            }
+            target[offset + i] = value;
+        }
+    }
+
+    /**
+     * Writes the values of the cells of a row into an array as they are used
+     * by the distances of this class that ignore the type: numbers and the
+     * centers of the core regions of fuzzy intervals. Missing cells are
+     * written as {@link Double#NaN}, which the distance kernels ignore, all
+     * other cells as 0.
+     *
+     * @param row The row.
+     * @param target The array receiving the values.
+     * @param offset The index receiving the value of the first cell.
+     * @since 4.4
+     */
+    public static void toVector(final DataRow row, final double[] target,
+            final int offset) {
+        for (int i = 0; i < row.getNumCells(); i++) {
+            DataCell cell = row.getCell(i);
+            DataType type = cell.getType();
+            double value = 0;
+            if (cell.isMissing()) {
+                value = Double.NaN;
+            } else if (SotaUtil.isNumberType(type)) {
+                value = ((DoubleValue)cell).getDoubleValue();
+            } else if (SotaUtil.isFuzzyIntervalType(type)) {
+                value = SotaFuzzyMath.getCenterOfCoreRegion(
+                        (FuzzyIntervalValue)cell);
+            }
+            target[offset + i] = value;
+        }
+    }
 }
@@ -48,6 +48,7 @@
 package org.knime.base.node.mine.mds.distances;
 
 import org.knime.base.node.mine.mds.DataPoint;
+import org.knime.base.util.distance.DistanceKernel;
 import org.knime.core.data.DataRow;
 
 /**
@@ -103,6 +104,20 @@ public double getDistance(final DataPoint point1, final DataPoint point2) {
         return Distances.getEuclideanDistance(point1, point2);
     }    
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VectorDistance getVectorDistance() {
+        return new VectorDistance(DistanceKernel.euclidean(), (row, target, offset) -> {
+            if (m_ignoreType) {
+                Distances.toVector(row, target, offset);
+            } else {
+                Distances.toVector(row, target, offset, m_fuzzy);
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -76,4 +76,16 @@ public interface RowDistanceManager {
      * @see org.knime.base.node.mine.mds.distances.DistanceManagerFactory#MANHATTAN_DIST
      */
     public String getType();
+
+    /**
+     * Returns the distance of this manager computed by a kernel on vectors extracted from the rows once, which is much
+     * faster than computing many distances on the rows. Managers without such a distance return <code>null</code>,
+     * which is the default.
+     *
+     * @return the vector distance or <code>null</code>
+     * @since 4.4
+     */
+    public default VectorDistance getVectorDistance() {
+        return null;
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.mds.distances;
+
+import org.knime.base.util.distance.DistanceKernel;
+import org.knime.core.data.DataRow;
+
+/**
+ * The distance of a {@link RowDistanceManager} computed by a {@link DistanceKernel} on vectors that are extracted from
+ * the rows once. Computing many distances on the vectors is much faster than computing them on the rows.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public final class VectorDistance {
+
+    /**
+     * Writes the values of the cells of a row into an array.
+     */
+    @FunctionalInterface
+    public interface RowVectorizer {
+        /**
+         * Writes the values of the cells of a row into an array, one value per cell. Cells that are ignored by the
+         * distance are written as {@link Double#NaN}.
+         *
+         * @param row the row
+         * @param target the array receiving the values
+         * @param offset the index receiving the value of the first cell
+         */
+        void toVector(DataRow row, double[] target, int offset);
+    }
+
+    private final DistanceKernel m_kernel;
+
+    private final RowVectorizer m_vectorizer;
+
+    /**
+     * @param kernel the kernel computing the distance on the vectors
+     * @param vectorizer extracts the vectors from the rows
+     */
+    public VectorDistance(final DistanceKernel kernel, final RowVectorizer vectorizer) {
+        m_kernel = kernel;
+        m_vectorizer = vectorizer;
+    }
+
+    /**
+     * @return the kernel computing the distance on the vectors written by
+     *         {@link #toVector(DataRow, double[], int)}
+     */
+    public DistanceKernel getKernel() {
+        return m_kernel;
+    }
+
+    /**
+     * Writes the values of the cells of a row that are used by the kernel into an array, one value per cell. Cells
+     * that are ignored by the distance are written as {@link Double#NaN}.
+     *
+     * @param row the row
+     * @param target the array receiving the values
+     * @param offset the index receiving the value of the first cell
+     */
+    public void toVector(final DataRow row, final double[] target, final int offset) {
+        m_vectorizer.toVector(row, target, offset);
+    }
+}
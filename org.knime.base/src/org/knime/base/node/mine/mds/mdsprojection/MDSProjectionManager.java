@@ -47,21 +47,27 @@
  */
 package org.knime.base.node.mine.mds.mdsprojection;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
 import org.knime.base.data.filter.column.FilterColumnTable;
 import org.knime.base.node.mine.mds.DataPoint;
+import org.knime.base.node.mine.mds.MDSEngine;
 import org.knime.base.node.mine.mds.MDSManager;
 import org.knime.base.node.mine.mds.distances.DistanceManager;
 import org.knime.base.node.mine.mds.distances.DistanceManagerFactory;
 import org.knime.base.node.mine.mds.distances.RowDistanceManager;
+import org.knime.base.node.mine.mds.distances.VectorDistance;
 import org.knime.base.node.preproc.filter.row.RowFilterTable;
 import org.knime.base.node.preproc.filter.row.rowfilter.IRowFilter;
 import org.knime.base.node.preproc.filter.row.rowfilter.MissingCellRowFilter;
+import org.knime.base.util.distance.DistanceKernel;
+import org.knime.base.util.distance.PackedRows;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
@@ -82,6 +88,9 @@
  * The rearrangement is an iterative process running as
  * many epochs as specified. The learn rate, specifying the step size is
  * reduced after each epoch, so that the process converges at the end.
+ * <p>
+ * The epochs are run by an {@link MDSEngine}, which caches the distances of
+ * the rows to the fixed data points and adjusts blocks of points in parallel.
  *
  * @author Kilian Thiel, University of Konstanz
  */
@@ -109,7 +118,10 @@ public class MDSProjectionManager {
 
     /**
      * The set of unmodifyable data points.
+     * @deprecated only used by the deprecated
+     * {@link #adjustDataPoint(DataPoint, DataPoint, DataRow, DataRow)}
      */
+    @Deprecated
     protected Set<DataPoint> m_unmodifiablePoints = new HashSet<DataPoint>();
 
     /**
@@ -187,6 +199,30 @@ public class MDSProjectionManager {
      */
     protected boolean m_projectOnly = true;
 
+    private boolean m_parallel = false;
+
+    private DistanceKernel m_kernel;
+
+    // the keys of the input rows in the order of the input
+    private RowKey[] m_keys;
+
+    // the values of the input and fixed rows if the distance manager has a
+    // vector distance, otherwise the rows themselves
+    private PackedRows m_vectors;
+
+    private PackedRows m_fixedVectors;
+
+    private DataRow[] m_rows;
+
+    private DataRow[] m_fixedRows;
+
+    // the coordinates of the low dimensional points, one point after another
+    private double[] m_coordinates;
+
+    private double[] m_fixedCoordinates;
+
+    private MDSEngine m_engine;
+
     /**
      * Creates a new instance of <code>MDSProjectionManager</code> with the
      * given dimension, distance metric, fuzzy flag, in data and fixed data to
@@ -346,20 +382,69 @@ public void init(final long seed) throws CanceledExecutionException {
 
         ExecutionMonitor exec = m_exec.createSubProgress(0.1);
 
+        final VectorDistance vectorDistance = m_distMan.getVectorDistance();
+        m_kernel = vectorDistance != null ? vectorDistance.getKernel() : null;
+        final int nrCells = m_inData.getDataTableSpec().getNumColumns();
+        final int nrFixedCells =
+            m_fixedDataPoints.getDataTableSpec().getNumColumns();
+        final double[] vector = new double[Math.max(nrCells, nrFixedCells)];
+        final double[] point = new double[m_dimension];
+
+        // the fixed data points in the order of their table
+        final List<DataRow> fixedRows = new ArrayList<DataRow>();
+        final PackedRows fixedPoints = new PackedRows(m_dimension, 16);
+        m_fixedVectors = m_kernel != null ? new PackedRows(nrCells, 16) : null;
+        RowIterator fit = m_fixedDataPoints.iterator();
+        while (fit.hasNext()) {
+            exec.checkCanceled();
+            DataRow row = fit.next();
+            if (m_fixedVectors != null) {
+                Arrays.fill(vector, Double.NaN);
+                vectorDistance.toVector(row, vector, 0);
+                m_fixedVectors.add(vector);
+            } else {
+                fixedRows.add(row);
+            }
+            DataPoint p = m_fixedPoints.get(row.getKey());
+            for (int j = 0; j < m_dimension; j++) {
+                point[j] = p.getElementAt(j);
+            }
+            fixedPoints.add(point);
+        }
+        m_fixedRows = m_fixedVectors == null
+            ? fixedRows.toArray(new DataRow[fixedRows.size()]) : null;
+        m_fixedCoordinates =
+            Arrays.copyOf(fixedPoints.getValues(), fixedPoints.size() * m_dimension);
+
         // init all data points
+        final List<RowKey> keys = new ArrayList<RowKey>();
+        final List<DataRow> rows = new ArrayList<DataRow>();
+        final PackedRows points = new PackedRows(m_dimension, 16);
+        m_vectors = m_kernel != null ? new PackedRows(nrCells, 16) : null;
         RowIterator it = m_inData.iterator();
         while (it.hasNext()) {
             exec.checkCanceled();
 
             DataRow row = it.next();
-            DataPoint p = new DataPoint(m_dimension);
+            keys.add(row.getKey());
+            if (m_vectors != null) {
+                vectorDistance.toVector(row, vector, 0);
+                m_vectors.add(vector);
+            } else {
+                rows.add(row);
+            }
             for (int j = 0; j < m_dimension; j++) {
-                p.setElementAt(j, rand.nextDouble());
+                point[j] = rand.nextDouble();
             }
-            m_points.put(row.getKey(), p);
+            points.add(point);
 
             exec.setProgress("Initialising data points.");
         }
+        m_keys = keys.toArray(new RowKey[keys.size()]);
+        m_rows = m_vectors == null ? rows.toArray(new DataRow[rows.size()])
+                : null;
+        m_coordinates =
+            Arrays.copyOf(points.getValues(), points.size() * m_dimension);
     }
 
     /**
@@ -379,17 +464,49 @@ public void train(final int epochs, final double learningrate)
 
         ExecutionMonitor exec = m_exec.createSubProgress(0.9);
 
+        m_engine = new MDSEngine(m_dimension, m_coordinates,
+                m_fixedCoordinates,
+                (i, r) -> disparityTransformation(getFixedDistance(i, r)),
+                m_projectOnly ? null
+                    : (i, j) -> disparityTransformation(getDistance(i, j)));
+        m_engine.setMinDistanceThreshold(m_minDistThreshold);
+        m_engine.setParallel(m_parallel);
+        m_engine.cacheDistances(exec.createSubProgress(0.1));
+
+        ExecutionMonitor epochExec = exec.createSubProgress(0.9);
         m_learningrate = learningrate;
         m_initialLearningrate = learningrate;
         m_epochs = epochs;
-        exec.setMessage("Start training");
+        epochExec.setMessage("Start training");
         for (int e = 1; e <= epochs; e++) {
-            exec.checkCanceled();
-            doEpoch(e, exec);
+            epochExec.checkCanceled();
+            doEpoch(e, epochExec);
 
             double prog = (double)e / (double)epochs;
-            exec.setProgress(prog, "Training epoch " + e + " of " + epochs);
+            epochExec.setProgress(prog,
+                    "Training epoch " + e + " of " + epochs);
         }
+        m_engine = null;
+    }
+
+    /** The distance of the i-th input row and the r-th fixed row. */
+    private double getFixedDistance(final int i, final int r) {
+        if (m_vectors == null) {
+            return m_distMan.getDistance(m_rows[i], m_fixedRows[r]);
+        }
+        return m_kernel.distance(m_vectors.getValues(), m_vectors.offset(i),
+                m_fixedVectors.getValues(), m_fixedVectors.offset(r),
+                m_vectors.getDimension());
+    }
+
+    /** The distance of the i-th and the j-th input row. */
+    private double getDistance(final int i, final int j) {
+        if (m_vectors == null) {
+            return m_distMan.getDistance(m_rows[i], m_rows[j]);
+        }
+        return m_kernel.distance(m_vectors.getValues(), m_vectors.offset(i),
+                m_vectors.getValues(), m_vectors.offset(j),
+                m_vectors.getDimension());
     }
 
     /**
@@ -404,32 +521,7 @@ public void train(final int epochs, final double learningrate)
      */
     protected void doEpoch(final int epoch, final ExecutionMonitor exec)
             throws CanceledExecutionException {
-        // through all data points
-        RowIterator it1 = m_inData.iterator();
-        while (it1.hasNext()) {
-            exec.checkCanceled();
-
-            DataRow r1 = it1.next();
-            DataPoint p1 = m_points.get(r1.getKey());
-
-            // first adjust point at the fixed points
-            RowIterator fit = m_fixedDataPoints.iterator();
-            while (fit.hasNext()) {
-                DataRow fixedRow = fit.next();
-                DataPoint p2 = m_fixedPoints.get(fixedRow.getKey());
-                adjustDataPoint(p1, p2, r1, fixedRow);
-            }
-
-            // through all data points again
-            if (!m_projectOnly) {
-                RowIterator it2 = m_inData.iterator();
-                while (it2.hasNext()) {
-                    DataRow r2 = it2.next();
-                    DataPoint p2 = m_points.get(r2.getKey());
-                    adjustDataPoint(p1, p2, r1, r2);
-                }
-            }
-        }
+        m_engine.doEpoch(m_learningrate, exec);
 
         adjustLearningRate(epoch);
     }
@@ -442,7 +534,10 @@ protected void doEpoch(final int epoch, final ExecutionMonitor exec)
      * @param p2 The mapping of the second data point in the target space.
      * @param r1 The first data point in the original space.
      * @param r2 The second data point in the original space.
+     * @deprecated the data points are adjusted by the {@link MDSEngine}, this
+     * method is not called anymore.
      */
+    @Deprecated
     protected void adjustDataPoint(final DataPoint p1, final DataPoint p2,
             final DataRow r1, final DataRow r2) {
         if (!p1.equals(p2) && !m_unmodifiablePoints.contains(p1)) {
@@ -504,6 +599,16 @@ protected void adjustLearningRate(final int epoch) {
      * as values.
      */
     public Hashtable<RowKey, DataPoint> getDataPoints() {
+        m_points.clear();
+        if (m_keys != null) {
+            for (int i = 0; i < m_keys.length; i++) {
+                DataPoint p = new DataPoint(m_dimension);
+                for (int d = 0; d < m_dimension; d++) {
+                    p.setElementAt(d, m_coordinates[i * m_dimension + d]);
+                }
+                m_points.put(m_keys[i], p);
+            }
+        }
         return m_points;
     }
 
@@ -513,6 +618,14 @@ public Hashtable<RowKey, DataPoint> getDataPoints() {
      */
     public void reset() {
         m_points.clear();
+        m_keys = null;
+        m_vectors = null;
+        m_fixedVectors = null;
+        m_rows = null;
+        m_fixedRows = null;
+        m_coordinates = null;
+        m_fixedCoordinates = null;
+        m_engine = null;
         m_isInit = false;
     }
 
@@ -537,6 +650,19 @@ public void setProjectOnly(final boolean projectOnly) {
         m_projectOnly = projectOnly;
     }
 
+    /**
+     * @param parallel <code>true</code> if the data points are adjusted to
+     * the other (not fixed) points by several threads, towards the positions
+     * the other points had at the beginning of each epoch, <code>false</code>
+     * if they are adjusted sequentially, as before (default). A projection
+     * onto the fixed points only is always computed by several threads.
+     * @see MDSEngine#setParallel(boolean)
+     * @since 4.4
+     */
+    public void setParallel(final boolean parallel) {
+        m_parallel = parallel;
+    }
+
     /**
      * @return the minDistThreshold
      */
@@ -146,6 +146,10 @@ public MDSProjectionNodeDialog() {
                 MDSProjectionNodeDialog.getProjectOnlyModel(), 
                 "Project only"));
         
+        addDialogComponent(new DialogComponentBoolean(
+                MDSNodeDialog.getParallelModel(),
+                "Update points in parallel"));
+        
         closeCurrentGroup();
         
         
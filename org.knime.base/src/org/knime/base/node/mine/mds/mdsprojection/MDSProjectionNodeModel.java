@@ -56,6 +56,7 @@
 import javax.swing.event.ChangeListener;
 
 import org.knime.base.node.mine.mds.MDSCellFactory;
+import org.knime.base.node.mine.mds.MDSConfigKeys;
 import org.knime.base.node.mine.mds.MDSNodeDialog;
 import org.knime.base.node.mine.sota.logic.SotaUtil;
 import org.knime.base.node.util.DefaultDataArray;
@@ -122,6 +123,9 @@ public class MDSProjectionNodeModel extends NodeModel {
     private SettingsModelBoolean m_projectOnly =
         MDSProjectionNodeDialog.getProjectOnlyModel();
 
+    private SettingsModelBoolean m_parallelModel =
+        MDSNodeDialog.getParallelModel();
+
 
     private MDSProjectionManager m_manager;
 
@@ -288,6 +292,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
                 m_distModel.getStringValue(), m_fuzzy, rowCutDataTable,
                 inData[FIXED_DATA_INDEX], fixedMdsColsIndicies, exec);
         m_manager.setProjectOnly(m_projectOnly.getBooleanValue());
+        m_manager.setParallel(m_parallelModel.getBooleanValue());
         m_manager.init(m_seedModel.getIntValue());
         m_manager.train(m_epochsModel.getIntValue(), m_learnrateModel.getDoubleValue());
 
@@ -371,6 +376,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
         m_useRowsModel.loadSettingsFrom(settings);
         m_fixedMdsColModel.loadSettingsFrom(settings);
         m_projectOnly.loadSettingsFrom(settings);
+        // nodes of older workflows update the points sequentially
+        if (settings.containsKey(MDSConfigKeys.CFGKEY_PARALLEL)) { // added in 4.4
+            m_parallelModel.loadSettingsFrom(settings);
+        } else {
+            m_parallelModel.setBooleanValue(false);
+        }
         checkUncheck();
     }
 
@@ -399,6 +410,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_useRowsModel.saveSettingsTo(settings);
         m_fixedMdsColModel.saveSettingsTo(settings);
         m_projectOnly.saveSettingsTo(settings);
+        m_parallelModel.saveSettingsTo(settings);
     }
 
     /**
@@ -417,6 +429,9 @@ protected void validateSettings(final NodeSettingsRO settings)
         m_useRowsModel.validateSettings(settings);
         m_fixedMdsColModel.validateSettings(settings);
         m_projectOnly.validateSettings(settings);
+        if (settings.containsKey(MDSConfigKeys.CFGKEY_PARALLEL)) { // added in 4.4
+            m_parallelModel.validateSettings(settings);
+        }
     }
 
 
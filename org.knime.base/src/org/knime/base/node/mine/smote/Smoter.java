@@ -53,6 +53,7 @@
 import java.util.Map;
 import java.util.Random;
 
+import org.knime.base.data.util.ColumnProjection;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -64,6 +65,7 @@
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.append.AppendedRowsTable;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.node.BufferedDataContainer;
@@ -94,6 +96,9 @@ class Smoter {
 
     private final int m_targetCol;
 
+    /** The class column and the numeric columns, which are the only columns the neighbor search reads. */
+    private final int[] m_neighborColumns;
+
     private final BufferedDataContainer m_container;
 
     private final LinkedHashMap<DataCell, MutableInt> m_inStats;
@@ -127,16 +132,22 @@ public Smoter(final BufferedDataTable in, final String colName,
         DataTableSpec outSpec = createFinalSpec(in.getDataTableSpec());
         m_container = exec.createDataContainer(outSpec);
         m_inStats = new LinkedHashMap<DataCell, MutableInt>();
-        for (DataRow next : in) {
-            checkCanceled(exec);
-            DataCell clas = next.getCell(col);
-            MutableInt counter = m_inStats.get(clas);
-            if (counter == null) {
-                counter = new MutableInt(1);
-                m_inStats.put(clas, counter);
-            } else {
-                // I hope he doesn't mind if I change the value underneath.
-                counter.increment();
+        // the neighbor search only needs the class and the numeric columns
+        m_neighborColumns = ColumnProjection.concat(
+            ColumnProjection.indicesOf(in.getDataTableSpec(), DoubleValue.class), col);
+        try (CloseableRowIterator it = ColumnProjection.iterator(in, col)) {
+            while (it.hasNext()) {
+                DataRow next = it.next();
+                checkCanceled(exec);
+                DataCell clas = next.getCell(col);
+                MutableInt counter = m_inStats.get(clas);
+                if (counter == null) {
+                    counter = new MutableInt(1);
+                    m_inStats.put(clas, counter);
+                } else {
+                    // I hope he doesn't mind if I change the value underneath.
+                    counter.increment();
+                }
             }
         }
     }
@@ -257,12 +268,16 @@ private DataRow[] determineNeighbors(final DataRow ref, final int kNN,
             final ExecutionMonitor exec) throws CanceledExecutionException {
         final DataCell clas = ref.getCell(m_targetCol);
         LinkedList<RowAndDistance> list = new LinkedList<RowAndDistance>();
-        for (DataRow n : m_inTable) {
-            checkCanceled(exec);
-            // a potential neighbor?
-            if (n.getCell(m_targetCol).equals(clas) && !ref.equals(n)) {
-                double dis = distance(ref, n);
-                insertIntoList(list, n, dis, kNN);
+        try (CloseableRowIterator it = ColumnProjection.iterator(m_inTable, m_neighborColumns)) {
+            while (it.hasNext()) {
+                DataRow n = it.next();
+                checkCanceled(exec);
+                // a potential neighbor? (the projected row only has the
+                // neighbor columns, hence compare the keys to skip ref)
+                if (n.getCell(m_targetCol).equals(clas) && !ref.getKey().equals(n.getKey())) {
+                    double dis = distance(ref, n);
+                    insertIntoList(list, n, dis, kNN);
+                }
             }
         }
         DataRow[] neighbors = new DataRow[list.size()];
@@ -48,6 +48,7 @@
 package org.knime.base.node.mine.sota.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 
 import org.knime.base.node.mine.sota.SotaConfigKeys;
@@ -56,10 +57,13 @@
 import org.knime.base.node.mine.sota.view.interaction.SotaTreeCellLocations;
 import org.knime.base.node.util.DataArray;
 import org.knime.base.node.util.DefaultDataArray;
+import org.knime.base.util.distance.DistanceKernel;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.FuzzyIntervalValue;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.StringValue;
 import org.knime.core.node.CanceledExecutionException;
@@ -210,6 +214,19 @@ public class SotaManager {
 
     private DistanceManager m_distanceManager;
 
+    // computes the distance on the values of rows and cells if the distance has a kernel, see getDistance
+    private DistanceKernel m_kernel;
+
+    // the values of the rows that are used by the distances, extracted on first use
+    private double[][] m_rowVectors;
+
+    // whether the rows whose values have been extracted have missing values
+    private boolean[] m_rowHasMissing;
+
+    private double[] m_cellVector = new double[0];
+
+    private boolean m_useKernel = true;
+
     private String m_distance;
 
     private boolean m_useHierarchicalFuzzyData;
@@ -269,6 +286,7 @@ public void reset() {
         m_currentMaxResource = 0;
         m_dimension = 0;
         m_inDataContainer = null;
+        m_rowVectors = null;
         m_trained = false;
         m_currentHierarchyLevel = 1;
         m_state = 0;
@@ -328,6 +346,8 @@ public void initializeTree(final DataTable inData,
         double offset = 1;
         m_distanceManager = DistanceManagerFactory.createDistanceManager(
                 m_distance, m_isFuzzy, offset);
+        m_kernel = m_useKernel ? createKernel(m_distance, offset) : null;
+        m_rowVectors = null;
 
         //
         // / Create concrete specialized SotaHelper here !!!
@@ -413,6 +433,8 @@ public double doTraining() throws CanceledExecutionException {
 
                 ((FuzzyHierarchyFilterRowContainer)m_inDataContainer)
                         .setHierarchyLevel(m_currentHierarchyLevel);
+                // the rows have changed
+                m_rowVectors = null;
 
                 assignNewData(cells);
             }
@@ -533,9 +555,8 @@ public double doEpoch() throws CanceledExecutionException {
                 m_exec.checkCanceled();
 
                 int index = cells.get(i).getDataIds().get(j).intValue();
-                DataRow row = m_inDataContainer.getRow(index);
 
-                res += m_distanceManager.getDistance(row, cells.get(i));
+                res += getDistance(index, cells.get(i));
             }
 
             if (res > 0) {
@@ -561,6 +582,97 @@ public double doEpoch() throws CanceledExecutionException {
         return error;
     }
 
+    /**
+     * Returns the kernel computing the given distance on the values of rows
+     * and cells as extracted by {@link #getRowVector(int)}, or
+     * <code>null</code> if the distance manager has to be used. The Manhattan
+     * distance of SOTA sums the plain differences, which no kernel computes.
+     */
+    private static DistanceKernel createKernel(final String distance,
+            final double offset) {
+        if (DistanceManagerFactory.EUCLIDEAN_DIST.equals(distance)) {
+            return DistanceKernel.euclidean();
+        } else if (DistanceManagerFactory.COS_DIST.equals(distance)) {
+            return DistanceKernel.cosine(offset);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the values of the row with the given index that are used by
+     * the distances: the numbers or, if the data is fuzzy, the centers of the
+     * core regions of the fuzzy intervals, in the order of the columns. The
+     * values are extracted once, as the rows are compared many times. Values
+     * that are {@link Double#NaN} are ignored by the kernels, whereas the
+     * distance managers return {@link Double#NaN}.
+     */
+    private double[] getRowVector(final int index) {
+        if (m_rowVectors == null) {
+            m_rowVectors = new double[m_inDataContainer.size()][];
+            m_rowHasMissing = new boolean[m_inDataContainer.size()];
+        }
+        double[] vector = m_rowVectors[index];
+        if (vector == null) {
+            DataRow row = m_inDataContainer.getRow(index);
+            vector = new double[row.getNumCells()];
+            int length = 0;
+            for (int i = 0; i < row.getNumCells(); i++) {
+                DataCell cell = row.getCell(i);
+                DataType type = cell.getType();
+                if (SotaUtil.isNumberType(type) && !m_isFuzzy) {
+                    vector[length++] = ((DoubleValue)cell).getDoubleValue();
+                } else if (SotaUtil.isFuzzyIntervalType(type) && m_isFuzzy) {
+                    vector[length++] = SotaFuzzyMath.getCenterOfCoreRegion(
+                            (FuzzyIntervalValue)cell);
+                }
+            }
+            vector = Arrays.copyOf(vector, length);
+            m_rowVectors[index] = vector;
+            m_rowHasMissing[index] = SotaUtil.hasMissingValues(row);
+        }
+        return vector;
+    }
+
+    /**
+     * Computes the distance between the row with the given index and a cell.
+     * As the distance manager does, the values of the row are compared with
+     * the values of the cell in their order.
+     */
+    private double getDistance(final int index, final SotaTreeCell cell) {
+        if (m_kernel == null) {
+            return m_distanceManager.getDistance(
+                    m_inDataContainer.getRow(index), cell);
+        }
+        double[] row = getRowVector(index);
+        SotaCell[] data = cell.getData();
+        int length = Math.min(row.length, data.length);
+        if (m_cellVector.length < length) {
+            m_cellVector = new double[length];
+        }
+        for (int i = 0; i < length; i++) {
+            m_cellVector[i] = data[i].getValue();
+        }
+        return m_kernel.distance(row, 0, m_cellVector, 0, length);
+    }
+
+    /**
+     * Computes the distance between the rows with the given indices. The
+     * values of rows with missing values are not aligned by column, those
+     * rows are compared by the distance manager.
+     */
+    private double getDistance(final int index1, final int index2) {
+        if (m_kernel != null) {
+            double[] row1 = getRowVector(index1);
+            double[] row2 = getRowVector(index2);
+            if (!m_rowHasMissing[index1] && !m_rowHasMissing[index2]) {
+                return m_kernel.distance(row1, 0, row2, 0,
+                        Math.min(row1.length, row2.length));
+            }
+        }
+        return m_distanceManager.getDistance(m_inDataContainer.getRow(index1),
+                m_inDataContainer.getRow(index2));
+    }
+
     /**
      * Collects all cells of the tree recursive.
      *
@@ -603,14 +715,11 @@ private double getVariability(final ArrayList<Integer> ids)
         double tmpDist;
 
         for (int i = 0; i < ids.size(); i++) {
-            DataRow row1 = this.m_inDataContainer.getRow(ids.get(i));
-
             for (int j = 0; j < ids.size(); j++) {
                 m_exec.checkCanceled();
 
                 if (i != j) {
-                    DataRow row2 = this.m_inDataContainer.getRow(ids.get(j));
-                    tmpDist = m_distanceManager.getDistance(row1, row2);
+                    tmpDist = getDistance(ids.get(i), ids.get(j));
 
                     if (tmpDist > maxDist) {
                         maxDist = tmpDist;
@@ -640,8 +749,10 @@ private void assignDataToChildren(final SotaTreeCell cell)
                 SotaTreeCell winner;
                 double tmpDist1, tmpDist2;
 
-                tmpDist1 = m_distanceManager.getDistance(row, cell.getLeft());
-                tmpDist2 = m_distanceManager.getDistance(row, cell.getRight());
+                tmpDist1 = getDistance(cell.getDataIds().get(i),
+                        cell.getLeft());
+                tmpDist2 = getDistance(cell.getDataIds().get(i),
+                        cell.getRight());
 
                 if (tmpDist1 > tmpDist2) {
                     winner = cell.getRight();
@@ -755,15 +866,13 @@ private void cleanDataIdsOfCells(final ArrayList<SotaTreeCell> cells) {
     private void assignNewData(final ArrayList<SotaTreeCell> cells)
     throws CanceledExecutionException {
         for (int i = 0; i < m_inDataContainer.size(); i++) {
-            DataRow row = m_inDataContainer.getRow(i);
-
             SotaTreeCell winner = null;
             double minDist = Double.MAX_VALUE;
 
             for (int j = 0; j < cells.size(); j++) {
                 m_exec.checkCanceled();
 
-                double dist = m_distanceManager.getDistance(row, cells.get(j));
+                double dist = getDistance(i, cells.get(j));
                 if (dist < minDist) {
                     winner = cells.get(j);
                     minDist = dist;
@@ -917,6 +1026,17 @@ public void setUseVariability(final boolean variability) {
         m_useVariability = variability;
     }
 
+    /**
+     * Sets whether the Euclidean and cosine distances are computed by a
+     * kernel on values extracted once from the rows, or by the distance
+     * manager on the rows themselves. The default is <code>true</code>.
+     *
+     * @param useKernel <code>true</code> if the kernel should be used
+     */
+    void setUseKernel(final boolean useKernel) {
+        m_useKernel = useKernel;
+    }
+
     /**
      * @return the distance
      */
@@ -1141,6 +1261,7 @@ public void setRoot(final SotaTreeCell root) {
      */
     public void setInData(final DataArray inData) {
         m_inDataContainer = inData;
+        m_rowVectors = null;
     }
 
     /**
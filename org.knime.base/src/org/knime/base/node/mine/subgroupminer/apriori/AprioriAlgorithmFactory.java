@@ -70,7 +70,13 @@ public enum AlgorithmDataStructure {
         ARRAY,
         /* LIST */
         /** The TIDList stores the ids of the transactions. * */
-        TIDList;
+        TIDList,
+        /**
+         * Depth first search on compact transaction id sets, mining the itemsets of different items in parallel.
+         *
+         * @since 4.4
+         */
+        ECLAT;
 
         /**
          * Returns the values of this enum as a list of strings.
@@ -108,6 +114,8 @@ public static AprioriAlgorithm getAprioriAlgorithm(
             return new ArrayApriori(bitSetLength, dbsize);
         } else if (type.equals(AlgorithmDataStructure.TIDList)) {
             return new TIDApriori();
+        } else if (type.equals(AlgorithmDataStructure.ECLAT)) {
+            return new ParallelEclat(bitSetLength);
         } else {
             throw new RuntimeException("Type not supported: " + type);
         }
@@ -0,0 +1,206 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.Arrays;
+
+/**
+ * The ids of the transactions containing an itemset, stored either as a sorted array of ids or as a bitmap, whichever
+ * is smaller. Sparse sets, typical for market basket data, take 32 bits per transaction they contain, dense sets one
+ * bit per transaction of the database. Sets are immutable, intersections create new sets.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class CompactTIDSet {
+
+    // sorted transaction ids or null if the set is a bitmap
+    private final int[] m_tids;
+
+    // bit i is set if transaction i is contained, or null if the set is an array
+    private final long[] m_words;
+
+    private final int m_size;
+
+    private CompactTIDSet(final int[] tids, final long[] words, final int size) {
+        m_tids = tids;
+        m_words = words;
+        m_size = size;
+    }
+
+    /**
+     * Creates a set from sorted transaction ids.
+     *
+     * @param tids the sorted ids, only the first <code>size</code> are used
+     * @param size the number of ids
+     * @param dbsize the number of transactions of the database
+     * @return the set
+     */
+    static CompactTIDSet create(final int[] tids, final int size, final int dbsize) {
+        if (isDense(size, dbsize)) {
+            final long[] words = new long[words(dbsize)];
+            for (int i = 0; i < size; i++) {
+                words[tids[i] >>> 6] |= 1L << tids[i];
+            }
+            return new CompactTIDSet(null, words, size);
+        }
+        return new CompactTIDSet(tids.length == size ? tids : Arrays.copyOf(tids, size), null, size);
+    }
+
+    /**
+     * @return the number of transactions in this set
+     */
+    int size() {
+        return m_size;
+    }
+
+    /**
+     * Writes the transaction ids into the given array in ascending order.
+     *
+     * @param target an array of at least {@link #size()} elements
+     */
+    void getTIDs(final int[] target) {
+        if (m_tids != null) {
+            System.arraycopy(m_tids, 0, target, 0, m_size);
+            return;
+        }
+        int k = 0;
+        for (int w = 0; w < m_words.length; w++) {
+            for (long word = m_words[w]; word != 0; word &= word - 1) {
+                target[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+    }
+
+    /**
+     * Intersects this set with another one. The intersection is stopped as soon as it cannot reach the minimum size.
+     *
+     * @param other the other set
+     * @param minSize the minimum number of transactions of the intersection
+     * @param dbsize the number of transactions of the database
+     * @return the intersection or <code>null</code> if it contains less than <code>minSize</code> transactions
+     */
+    CompactTIDSet intersect(final CompactTIDSet other, final int minSize, final int dbsize) {
+        if (Math.min(m_size, other.m_size) < minSize) {
+            return null;
+        }
+        if (m_words != null && other.m_words != null) {
+            return intersectBitmaps(other, minSize, dbsize);
+        }
+        if (m_tids != null && other.m_tids != null) {
+            return intersectArrays(other, minSize);
+        }
+        final CompactTIDSet array = m_tids != null ? this : other;
+        final long[] words = m_tids != null ? other.m_words : m_words;
+        final int[] result = new int[array.m_size];
+        int size = 0;
+        for (int i = 0; i < array.m_size; i++) {
+            final int tid = array.m_tids[i];
+            if ((words[tid >>> 6] & (1L << tid)) != 0) {
+                result[size++] = tid;
+            } else if (size + array.m_size - i - 1 < minSize) {
+                return null;
+            }
+        }
+        return new CompactTIDSet(Arrays.copyOf(result, size), null, size);
+    }
+
+    private CompactTIDSet intersectArrays(final CompactTIDSet other, final int minSize) {
+        final int[] a = m_tids;
+        final int[] b = other.m_tids;
+        final int[] result = new int[Math.min(m_size, other.m_size)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (size + Math.min(a.length - i, b.length - j) < minSize) {
+                return null;
+            }
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        if (size < minSize) {
+            return null;
+        }
+        return new CompactTIDSet(size == result.length ? result : Arrays.copyOf(result, size), null, size);
+    }
+
+    private CompactTIDSet intersectBitmaps(final CompactTIDSet other, final int minSize, final int dbsize) {
+        final long[] words = new long[m_words.length];
+        int size = 0;
+        for (int w = 0; w < words.length; w++) {
+            words[w] = m_words[w] & other.m_words[w];
+            size += Long.bitCount(words[w]);
+        }
+        if (size < minSize) {
+            return null;
+        }
+        final CompactTIDSet bitmap = new CompactTIDSet(null, words, size);
+        if (isDense(size, dbsize)) {
+            return bitmap;
+        }
+        final int[] tids = new int[size];
+        bitmap.getTIDs(tids);
+        return new CompactTIDSet(tids, null, size);
+    }
+
+    /** A bitmap is smaller than an array of ints if more than every 32nd transaction is contained. */
+    private static boolean isDense(final int size, final int dbsize) {
+        return size > dbsize / 32;
+    }
+
+    private static int words(final int dbsize) {
+        return (dbsize + 63) >>> 6;
+    }
+}
@@ -0,0 +1,517 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.base.data.util.Futures;
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * A depth first (Eclat) implementation, which intersects the ids of the transactions containing the itemsets. The ids
+ * are stored in a {@link CompactTIDSet}, i.e. as a sorted array for rare and as a bitmap for common itemsets. The
+ * itemsets of two items are counted on the transactions instead of intersecting the ids of all pairs of items, which
+ * is the expensive step if there are many items.
+ * <p>
+ * Each frequent item is the prefix of a subtree of itemsets, which are mined by several threads concurrently. The
+ * found itemsets and association rules are the same and in the same order as those of the {@link ArrayApriori}: the
+ * items occurring in every transaction are reported separately, the itemsets follow in depth first order and closed
+ * and maximal itemsets are sorted by support and length.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public class ParallelEclat implements AprioriAlgorithm {
+
+    private final int m_bitSetLength;
+
+    private double m_minSupport;
+
+    private int m_minCount;
+
+    private int m_maxDepth;
+
+    private int m_dbsize;
+
+    // the number of transactions containing an item, for all items
+    private int[] m_itemCounts;
+
+    // the ids of the mined items, i.e. the frequent ones not occurring in every transaction
+    private int[] m_items;
+
+    private List<Integer> m_alwaysFrequentItems;
+
+    // the found itemsets in depth first order
+    private List<MinedSet> m_sets;
+
+    private Map<ItemKey, MinedSet> m_setIndex;
+
+    private int m_idCounter;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param bitSetLength the number of items
+     */
+    public ParallelEclat(final int bitSetLength) {
+        m_bitSetLength = bitSetLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void findFrequentItemSets(final List<BitVectorValue> transactions, final double minSupport,
+        final int maxDepth, final FrequentItemSet.Type type, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        m_minSupport = minSupport;
+        // like the ArrayApriori, at least the single items are mined
+        m_maxDepth = Math.max(1, maxDepth);
+        m_dbsize = transactions.size();
+        m_minCount = minCount();
+
+        exec.setMessage("detecting frequent items");
+        findFrequentItems(transactions, exec.createSubProgress(0.1));
+        final int[][] rows = m_maxDepth > 1 ? new int[m_dbsize][] : null;
+        final CompactTIDSet[] tidSets = createTIDSets(transactions, rows, exec.createSubProgress(0.1));
+        mine(tidSets, rows, exec.createSubProgress(0.8));
+        markClosedAndMaximal();
+    }
+
+    /** The smallest number of transactions that is frequent according to the relative minimum support. */
+    private int minCount() {
+        int count = (int)Math.min(Integer.MAX_VALUE, Math.max(0, Math.ceil(m_minSupport * m_dbsize)));
+        while (count > 0 && isFrequent(count - 1)) {
+            count--;
+        }
+        while (count <= m_dbsize && !isFrequent(count)) {
+            count++;
+        }
+        return count;
+    }
+
+    private boolean isFrequent(final int count) {
+        return ((double)count / (double)m_dbsize) >= m_minSupport;
+    }
+
+    /**
+     * Counts the items and determines the frequent ones. The items occurring in every transaction are not mined but
+     * reported separately.
+     */
+    private void findFrequentItems(final List<BitVectorValue> transactions, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        m_itemCounts = new int[m_bitSetLength + 1];
+        int transactionNr = 0;
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            exec.setProgress(transactionNr++ / (double)m_dbsize);
+            // this type cast is save since the maximum length was checked in
+            // SubgroupMinerModel2#preprocess
+            for (int i = (int)transaction.nextSetBit(0); i >= 0; i = (int)transaction.nextSetBit(i + 1)) {
+                m_itemCounts[i]++;
+            }
+        }
+        m_alwaysFrequentItems = new ArrayList<Integer>();
+        final List<Integer> items = new ArrayList<Integer>();
+        for (int i = 0; i < m_itemCounts.length; i++) {
+            if (m_itemCounts[i] == m_dbsize) {
+                m_alwaysFrequentItems.add(i);
+            } else if (isFrequent(m_itemCounts[i])) {
+                items.add(i);
+            }
+        }
+        m_items = new int[items.size()];
+        for (int k = 0; k < m_items.length; k++) {
+            m_items[k] = items.get(k);
+        }
+    }
+
+    /**
+     * Collects the ids of the transactions containing each mined item and, if itemsets of more than one item are
+     * mined, the indices of the mined items of each transaction.
+     */
+    private CompactTIDSet[] createTIDSets(final List<BitVectorValue> transactions, final int[][] rows,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int[] index = new int[m_itemCounts.length];
+        Arrays.fill(index, -1);
+        final int[][] tids = new int[m_items.length][];
+        for (int k = 0; k < m_items.length; k++) {
+            index[m_items[k]] = k;
+            tids[k] = new int[m_itemCounts[m_items[k]]];
+        }
+        final int[] sizes = new int[m_items.length];
+        final int[] row = new int[m_items.length];
+        int tid = 0;
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            exec.setProgress(tid / (double)m_dbsize);
+            int length = 0;
+            for (int i = (int)transaction.nextSetBit(0); i >= 0; i = (int)transaction.nextSetBit(i + 1)) {
+                final int k = index[i];
+                if (k >= 0) {
+                    tids[k][sizes[k]++] = tid;
+                    row[length++] = k;
+                }
+            }
+            if (rows != null) {
+                rows[tid] = Arrays.copyOf(row, length);
+            }
+            tid++;
+        }
+        final CompactTIDSet[] tidSets = new CompactTIDSet[m_items.length];
+        for (int k = 0; k < tidSets.length; k++) {
+            tidSets[k] = CompactTIDSet.create(tids[k], sizes[k], m_dbsize);
+            tids[k] = null;
+        }
+        return tidSets;
+    }
+
+    /**
+     * Mines the subtrees of all items on several threads. Each thread takes the next item not yet processed, the
+     * itemsets found below an item are stored at its index, so that their order does not depend on the threads.
+     */
+    private void mine(final CompactTIDSet[] tidSets, final int[][] rows, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final List<List<MinedSet>> subtrees = new ArrayList<List<MinedSet>>(
+            Collections.<List<MinedSet>> nCopies(tidSets.length, null));
+        final AtomicInteger nextItem = new AtomicInteger();
+        final AtomicInteger processed = new AtomicInteger();
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final int nrWorkers = Math.max(1, Math.min(pool.getMaxThreads(), tidSets.length));
+        final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        for (int w = 0; w < nrWorkers; w++) {
+            futures.add(pool.enqueue((Callable<Void>)() -> {
+                final int[] pairCounts = new int[tidSets.length];
+                for (int k = nextItem.getAndIncrement(); k < tidSets.length; k = nextItem.getAndIncrement()) {
+                    subtrees.set(k, mineSubtree(k, tidSets, rows, pairCounts, exec));
+                    exec.setProgress(processed.incrementAndGet() / (double)tidSets.length,
+                        "mining itemsets: " + processed.get() + " of " + tidSets.length + " items");
+                }
+                return null;
+            }));
+        }
+        Futures.waitFor(futures, exec);
+
+        m_sets = new ArrayList<MinedSet>();
+        for (List<MinedSet> subtree : subtrees) {
+            m_sets.addAll(subtree);
+        }
+        m_setIndex = new HashMap<ItemKey, MinedSet>(m_sets.size() * 2);
+        for (MinedSet set : m_sets) {
+            m_setIndex.put(new ItemKey(set.m_items), set);
+        }
+    }
+
+    /** Mines the itemsets starting with the k-th item. */
+    private List<MinedSet> mineSubtree(final int k, final CompactTIDSet[] tidSets, final int[][] rows,
+        final int[] pairCounts, final ExecutionMonitor exec) throws CanceledExecutionException {
+        exec.checkCanceled();
+        final List<MinedSet> result = new ArrayList<MinedSet>();
+        final int[] prefix = new int[m_maxDepth];
+        prefix[0] = m_items[k];
+        result.add(new MinedSet(Arrays.copyOf(prefix, 1), tidSets[k].size()));
+        if (m_maxDepth == 1) {
+            return result;
+        }
+
+        // count the items following the k-th one in the transactions containing it
+        final int[] tids = new int[tidSets[k].size()];
+        tidSets[k].getTIDs(tids);
+        final int[] touched = new int[tidSets.length];
+        int nrTouched = 0;
+        for (int tid : tids) {
+            final int[] row = rows[tid];
+            for (int r = row.length - 1; r >= 0 && row[r] > k; r--) {
+                if (pairCounts[row[r]]++ == 0) {
+                    touched[nrTouched++] = row[r];
+                }
+            }
+        }
+        final int[] candidates;
+        if (m_minCount == 0) {
+            // even items never occurring together with the k-th one are frequent
+            candidates = new int[tidSets.length - k - 1];
+            for (int c = 0; c < candidates.length; c++) {
+                candidates[c] = k + 1 + c;
+            }
+        } else {
+            candidates = Arrays.copyOf(touched, nrTouched);
+            Arrays.sort(candidates);
+        }
+        final int[] classItems = new int[candidates.length];
+        final CompactTIDSet[] classTIDs = new CompactTIDSet[candidates.length];
+        int size = 0;
+        for (int c : candidates) {
+            if (pairCounts[c] >= m_minCount) {
+                classItems[size] = c;
+                classTIDs[size++] = tidSets[k].intersect(tidSets[c], m_minCount, m_dbsize);
+            }
+        }
+        for (int t = 0; t < nrTouched; t++) {
+            pairCounts[touched[t]] = 0;
+        }
+        mine(prefix, 1, classItems, classTIDs, size, result, exec);
+        return result;
+    }
+
+    /**
+     * Extends the prefix of the given length by each item of its equivalence class, i.e. the following items the
+     * prefix is frequent with, and mines the extended prefix recursively.
+     */
+    private void mine(final int[] prefix, final int length, final int[] classItems, final CompactTIDSet[] classTIDs,
+        final int size, final List<MinedSet> result, final ExecutionMonitor exec) throws CanceledExecutionException {
+        for (int x = 0; x < size; x++) {
+            exec.checkCanceled();
+            prefix[length] = m_items[classItems[x]];
+            result.add(new MinedSet(Arrays.copyOf(prefix, length + 1), classTIDs[x].size()));
+            if (length + 1 < m_maxDepth && x + 1 < size) {
+                final int[] items = new int[size - x - 1];
+                final CompactTIDSet[] tidSets = new CompactTIDSet[size - x - 1];
+                int newSize = 0;
+                for (int y = x + 1; y < size; y++) {
+                    final CompactTIDSet tids = classTIDs[x].intersect(classTIDs[y], m_minCount, m_dbsize);
+                    if (tids != null) {
+                        items[newSize] = classItems[y];
+                        tidSets[newSize++] = tids;
+                    }
+                }
+                mine(prefix, length + 1, items, tidSets, newSize, result, exec);
+            }
+        }
+    }
+
+    /**
+     * An itemset is closed if no itemset with one more item has the same support and maximal if there is no such
+     * itemset at all. Itemsets of the maximal length have no mined supersets, thus they are closed and maximal.
+     */
+    private void markClosedAndMaximal() {
+        for (MinedSet set : m_sets) {
+            final int[] items = set.m_items;
+            if (items.length < 2) {
+                continue;
+            }
+            for (int drop = 0; drop < items.length; drop++) {
+                final int[] subset = new int[items.length - 1];
+                System.arraycopy(items, 0, subset, 0, drop);
+                System.arraycopy(items, drop + 1, subset, drop, subset.length - drop);
+                final MinedSet sub = m_setIndex.get(new ItemKey(subset));
+                sub.m_maximal = false;
+                if (sub.m_count == set.m_count) {
+                    sub.m_closed = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FrequentItemSet> getFrequentItemSets(final FrequentItemSet.Type type) {
+        final List<FrequentItemSet> list = new ArrayList<FrequentItemSet>();
+        final List<MinedSet> sets = new ArrayList<MinedSet>();
+        for (Integer i : m_alwaysFrequentItems) {
+            List<Integer> id = new ArrayList<Integer>();
+            id.add(i);
+            list.add(new FrequentItemSet(Integer.toString(m_idCounter++), id, 1));
+            sets.add(null);
+        }
+        for (MinedSet set : m_sets) {
+            final List<Integer> items = new ArrayList<Integer>(set.m_items.length);
+            for (int item : set.m_items) {
+                items.add(item);
+            }
+            list.add(new FrequentItemSet(Integer.toString(m_idCounter++), items, getSupport(set.m_count)));
+            sets.add(set);
+        }
+        if (type.equals(FrequentItemSet.Type.FREE)) {
+            return list;
+        }
+
+        // sorted like the closed itemsets of the ArrayApriori, the sort is stable
+        final Integer[] order = new Integer[list.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer i1, final Integer i2) {
+                final FrequentItemSet s1 = list.get(i1);
+                final FrequentItemSet s2 = list.get(i2);
+                if (s1.getSupport() == s2.getSupport()) {
+                    return s1.getItems().size() - s2.getItems().size();
+                }
+                return Double.compare(s1.getSupport(), s2.getSupport());
+            }
+        });
+        final boolean maximal = type.equals(FrequentItemSet.Type.MAXIMAL);
+        final List<FrequentItemSet> result = new ArrayList<FrequentItemSet>();
+        for (Integer i : order) {
+            final FrequentItemSet frequentSet = list.get(i);
+            final MinedSet set = sets.get(i);
+            frequentSet.setClosed(set == null || set.m_closed);
+            if (frequentSet.isClosed() && (!maximal || set == null || set.m_maximal)) {
+                result.add(frequentSet);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AssociationRule> getAssociationRules(final double confidence) {
+        List<FrequentItemSet> frequentItemSets = getFrequentItemSets(FrequentItemSet.Type.CLOSED);
+        List<AssociationRule> associationRules = new ArrayList<AssociationRule>();
+        // the items occurring in every transaction imply each other
+        for (Integer i : m_alwaysFrequentItems) {
+            List<Integer> withoutI = new ArrayList<Integer>(m_alwaysFrequentItems);
+            withoutI.remove(i);
+            List<Integer> iList = new ArrayList<Integer>(1);
+            iList.add(i);
+            AssociationRule rule = new AssociationRule(
+                new FrequentItemSet(Integer.toString(m_idCounter++), withoutI, 1.0),
+                new FrequentItemSet(Integer.toString(m_idCounter++), iList, 1.0), 1.0, 1.0, 1.0);
+            associationRules.add(rule);
+        }
+        for (FrequentItemSet s : frequentItemSets) {
+            if (s.getItems().size() > 1) {
+                double supportS = s.getSupport();
+                for (Integer i : s) {
+                    List<Integer> sWithoutI = new ArrayList<Integer>(s.getItems());
+                    sWithoutI.remove(i);
+                    double newSupport = getSupport(m_setIndex.get(new ItemKey(sWithoutI)).m_count);
+                    double c = supportS / newSupport;
+                    if (c >= confidence) {
+                        List<Integer> iList = new ArrayList<Integer>();
+                        iList.add(i);
+                        double itemSupport = getSupport(m_itemCounts[i]);
+                        AssociationRule rule = new AssociationRule(
+                            new FrequentItemSet(Integer.toString(m_idCounter++), sWithoutI, newSupport),
+                            new FrequentItemSet(Integer.toString(m_idCounter++), iList, itemSupport),
+                            s.getSupport(), c, c / itemSupport);
+                        associationRules.add(rule);
+                    }
+                }
+            }
+        }
+        return associationRules;
+    }
+
+    private double getSupport(final int count) {
+        return (double)count / (double)m_dbsize;
+    }
+
+    /** A found itemset with the number of transactions containing it. */
+    private static final class MinedSet {
+
+        private final int[] m_items;
+
+        private final int m_count;
+
+        private boolean m_closed = true;
+
+        private boolean m_maximal = true;
+
+        MinedSet(final int[] items, final int count) {
+            m_items = items;
+            m_count = count;
+        }
+    }
+
+    /** The ascending ids of an itemset as key of a hash map. */
+    private static final class ItemKey {
+
+        private final int[] m_items;
+
+        private final int m_hash;
+
+        ItemKey(final int[] items) {
+            m_items = items;
+            m_hash = Arrays.hashCode(items);
+        }
+
+        ItemKey(final List<Integer> items) {
+            this(toArray(items));
+        }
+
+        private static int[] toArray(final List<Integer> items) {
+            final int[] array = new int[items.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = items.get(i);
+            }
+            return array;
+        }
+
+        @Override
+        public int hashCode() {
+            return m_hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof ItemKey && Arrays.equals(m_items, ((ItemKey)obj).m_items);
+        }
+    }
+}
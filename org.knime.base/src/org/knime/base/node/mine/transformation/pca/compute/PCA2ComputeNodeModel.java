@@ -69,6 +69,13 @@
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectOutput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.StreamableOperator;
 
 /**
  * The PCA compute node model
@@ -91,6 +98,11 @@ protected PortObject[] doExecute(final BufferedDataTable inTable, final Executio
         final PCA pca = new PCA();
         TransformationMatrix transMtx = pca.calcTransformationMatrix(exec.createSubExecutionContext(0.9), inTable,
             getColumnNames(), m_computeSettings.getFailOnMissingsModel().getBooleanValue());
+        return createOutput(exec, pca, transMtx);
+    }
+
+    private PortObject[] createOutput(final ExecutionContext exec, final PCA pca,
+        final TransformationMatrix transMtx) {
         // the PCA's covariance matrix cannot be null so it's save to call get without further checks
         return new PortObject[]{
             createCovarianceMatrix(exec.createSubExecutionContext(0.05), pca.getCovMatrix().get()), TransformationUtils
@@ -98,6 +110,36 @@ protected PortObject[] doExecute(final BufferedDataTable inTable, final Executio
             new TransformationPortObject(TransformationType.PCA, transMtx, getColumnNames())};
     }
 
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        return new InputPortRole[]{InputPortRole.NONDISTRIBUTED_STREAMABLE};
+    }
+
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                final RowInput input = (RowInput)inputs[DATA_IN_PORT];
+                final PCA pca = new PCA();
+                final TransformationMatrix transMtx;
+                try {
+                    transMtx = pca.calcTransformationMatrix(exec.createSubExecutionContext(0.9), input,
+                        getColumnNames(), m_computeSettings.getFailOnMissingsModel().getBooleanValue());
+                } finally {
+                    input.close();
+                }
+                final PortObject[] result = createOutput(exec, pca, transMtx);
+                for (int i = 0; i < result.length; i++) {
+                    ((PortObjectOutput)outputs[i]).setPortObject(result[i]);
+                }
+            }
+        };
+    }
+
     private DataTableSpec createCovarianceMatrixSpec() {
         final DataType[] types = new DataType[getColumnNames().length];
         for (int i = 0; i < types.length; i++) {
@@ -62,6 +62,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.LongToDoubleFunction;
 
 import org.knime.base.data.sort.SortedTable;
 import org.knime.base.node.preproc.autobinner.apply.AutoBinnerApply;
@@ -163,45 +164,32 @@ public PMMLPreprocDiscretize execute(final BufferedDataTable data, final Executi
                 }
                 return createDisretizeOp(edgesMap);
             } else { // EqualityMethod.equalCount
+                // the columns are read in as few passes as memory allows, sketched if approximate edges suffice
+                final QuantileEngine engine = new QuantileEngine(data, getIncludedIndices(spec));
                 Map<String, double[]> edgesMap = new HashMap<String, double[]>();
-                for (String target : m_included) {
-                    int colIndex = data.getDataTableSpec().findColumnIndex(target);
-                    List<Double> values = new ArrayList<Double>();
-                    for (DataRow row : data) {
-                        if (!row.getCell(colIndex).isMissing()) {
-                            values.add(((DoubleValue)row.getCell(colIndex)).getDoubleValue());
-                        }
+                if (m_settings.getApproximateQuantiles()) {
+                    final QuantileSketch[] sketches = engine.createSketches(exec);
+                    for (int i = 0; i < m_included.length; i++) {
+                        edgesMap.put(m_included[i], findEdgesForEqualCount(sketches[i], m_settings.getBinCount()));
                     }
-                    edgesMap.put(target, findEdgesForEqualCount(values, m_settings.getBinCount()));
+                } else {
+                    // only the values of one batch of columns are held in memory at a time
+                    engine.readSortedValues(exec, (values, i) -> edgesMap.put(m_included[i],
+                        findEdgesForEqualCount(values, m_settings.getBinCount())));
                 }
                 return createDisretizeOp(edgesMap);
             }
         } else if (m_settings.getMethod().equals(Method.sampleQuantiles)) {
             init(spec);
             Map<String, double[]> edgesMap = new LinkedHashMap<String, double[]>();
-            final int colCount = m_included.length;
             // contains all numeric columns if include all is set!
-            for (String target : m_included) {
-                exec.setMessage("Calculating quantiles (column \"" + target + "\")");
-                ExecutionContext colSortContext = exec.createSubExecutionContext(0.7 / colCount);
-                ExecutionContext colCalcContext = exec.createSubExecutionContext(0.3 / colCount);
-                ColumnRearranger singleRearranger = new ColumnRearranger(spec);
-                singleRearranger.keepOnly(target);
-                BufferedDataTable singleColSorted =
-                    colSortContext.createColumnRearrangeTable(data, singleRearranger, colSortContext);
-                SortedTable sorted =
-                    new SortedTable(singleColSorted, Collections.singletonList(target), new boolean[]{true},
-                        colSortContext);
-                colSortContext.setProgress(1.0);
-                double[] edges =
-                    createEdgesFromQuantiles(sorted.getBufferedDataTable(), colCalcContext,
-                        m_settings.getSampleQuantiles());
-                colCalcContext.setProgress(1.0);
-                exec.clearTable(singleColSorted);
+            final double[][] allEdges = calculateQuantileEdges(data, exec);
+            for (int i = 0; i < m_included.length; i++) {
+                double[] edges = allEdges[i];
                 if (m_settings.getIntegerBounds()) {
                     edges = toIntegerBoundaries(edges);
                 }
-                edgesMap.put(target, edges);
+                edgesMap.put(m_included[i], edges);
             }
             return createDisretizeOp(edgesMap);
         } else {
@@ -247,25 +235,171 @@ public static double[] toIntegerBoundaries(final double[] boundaries) {
         return newEdges;
     }
 
-    private double[] findEdgesForEqualCount(final List<Double> values, final int binCount) {
-        Collections.sort(values);
-        int countPerBin = (int)(Math.round(values.size() / (double)binCount));
+    private int[] getIncludedIndices(final DataTableSpec spec) {
+        final int[] indices = new int[m_included.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = spec.findColumnIndex(m_included[i]);
+        }
+        return indices;
+    }
+
+    /**
+     * Calculates the sample quantiles of all included columns. If the values of all columns fit into memory they are
+     * read in a single pass and sorted per column. Otherwise the columns are sketched in a single pass and, unless
+     * approximate quantiles suffice, the exact values are determined in a refinement pass. Columns that cannot be
+     * refined are sorted one by one.
+     */
+    private double[][] calculateQuantileEdges(final BufferedDataTable data, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final DataTableSpec spec = data.getDataTableSpec();
+        final double[] sampleQuantiles = m_settings.getSampleQuantiles();
+        final long n = data.size();
+        final QuantileEngine engine = new QuantileEngine(data, getIncludedIndices(spec));
+        final double[][] edges = new double[m_included.length][];
+        if (!m_settings.getApproximateQuantiles() && engine.fitsIntoMemory()) {
+            exec.setMessage("Calculating quantiles");
+            final double[][] values = engine.readSortedValues(exec);
+            for (int i = 0; i < m_included.length; i++) {
+                final double[] colValues = values[i];
+                edges[i] = createEdgesFromQuantiles(n, n - colValues.length, sampleQuantiles,
+                    r -> colValues[(int)r - 1], m_included[i]);
+                values[i] = null;
+            }
+            return edges;
+        }
+
+        final QuantileSketch[] sketches =
+            engine.createSketches(exec.createSubExecutionContext(m_settings.getApproximateQuantiles() ? 1 : 0.4));
+        if (m_settings.getApproximateQuantiles()) {
+            for (int i = 0; i < m_included.length; i++) {
+                edges[i] = createEdgesFromQuantiles(n, sketches[i].getMissingCount(), sampleQuantiles,
+                    sketches[i]::getValueAtRank, m_included[i]);
+            }
+            return edges;
+        }
+
+        final long[][] ranks = new long[m_included.length][];
+        for (int i = 0; i < m_included.length; i++) {
+            ranks[i] = getQuantileRanks(n, sketches[i].getMissingCount(), sampleQuantiles);
+        }
+        final double[][] refined = engine.refine(sketches, ranks, exec.createSubExecutionContext(0.3));
+        final ExecutionContext sortExec = exec.createSubExecutionContext(0.3);
+        for (int i = 0; i < m_included.length; i++) {
+            final long[] colRanks = ranks[i];
+            final double[] colValues = refined[i];
+            if (colValues != null) {
+                edges[i] = createEdgesFromQuantiles(n, sketches[i].getMissingCount(), sampleQuantiles,
+                    r -> colValues[Arrays.binarySearch(colRanks, r)], m_included[i]);
+            } else {
+                // the sketch was too far off, sort the column instead
+                edges[i] = createEdgesFromSortedColumn(data, m_included[i], sampleQuantiles,
+                    sortExec.createSubExecutionContext(1.0 / m_included.length));
+            }
+        }
+        return edges;
+    }
+
+    private static double[] createEdgesFromSortedColumn(final BufferedDataTable data, final String target,
+        final double[] sampleQuantiles, final ExecutionContext exec) throws CanceledExecutionException {
+        exec.setMessage("Calculating quantiles (column \"" + target + "\")");
+        ExecutionContext colSortContext = exec.createSubExecutionContext(0.7);
+        ExecutionContext colCalcContext = exec.createSubExecutionContext(0.3);
+        ColumnRearranger singleRearranger = new ColumnRearranger(data.getDataTableSpec());
+        singleRearranger.keepOnly(target);
+        BufferedDataTable singleColSorted =
+            colSortContext.createColumnRearrangeTable(data, singleRearranger, colSortContext);
+        SortedTable sorted =
+            new SortedTable(singleColSorted, Collections.singletonList(target), new boolean[]{true},
+                colSortContext);
+        colSortContext.setProgress(1.0);
+        double[] edges = createEdgesFromQuantiles(sorted.getBufferedDataTable(), colCalcContext, sampleQuantiles);
+        colCalcContext.setProgress(1.0);
+        exec.clearTable(singleColSorted);
+        return edges;
+    }
+
+    /**
+     * Returns the ranks among the non-missing values whose values are needed to compute the sample quantiles.
+     *
+     * @param n the number of rows
+     * @param nrMissing the number of missing values, which are sorted first
+     */
+    private static long[] getQuantileRanks(final long n, final long nrMissing, final double[] sampleQuantiles) {
+        final Set<Long> ranks = new TreeSet<Long>();
+        for (double p : sampleQuantiles) {
+            double h = (n - 1) * p + 1;
+            long q = (long)Math.floor(h);
+            for (long rank : new long[]{q, Math.min(q + 1, n)}) {
+                if (rank > nrMissing && rank <= n) {
+                    ranks.add(rank - nrMissing);
+                }
+            }
+        }
+        return ranks.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Computes the sample quantiles from the order statistics of a column (R-7, like
+     * {@link #createEdgesFromQuantiles(BufferedDataTable, ExecutionContext, double[])}).
+     *
+     * @param n the number of rows
+     * @param nrMissing the number of missing values, which are sorted first
+     * @param orderStatistic the value at a rank among the non-missing values, 1 being the smallest
+     */
+    private static double[] createEdgesFromQuantiles(final long n, final long nrMissing,
+        final double[] sampleQuantiles, final LongToDoubleFunction orderStatistic, final String column) {
+        double[] edges = new double[sampleQuantiles.length];
+        for (int i = 0; i < sampleQuantiles.length; i++) {
+            double h = (n - 1) * sampleQuantiles[i] + 1;
+            long q = (long)Math.floor(h);
+            long q1 = Math.min(q + 1, n);
+            if (q > n || q < 1) {
+                throw new IllegalStateException("No values for quantile calculation (column \"" + column + "\")");
+            }
+            if (q <= nrMissing || q1 <= nrMissing) {
+                throw new RuntimeException(
+                    "Missing values not support for " + "quantile calculation (column \"" + column + "\")");
+            }
+            double xq = orderStatistic.applyAsDouble(q - nrMissing);
+            double xq1 = orderStatistic.applyAsDouble(q1 - nrMissing);
+            edges[i] = xq + (h - q) * (xq1 - xq);
+        }
+        return edges;
+    }
+
+    /** Approximate equal count edges from the sketch of a column, ties are not taken into account. */
+    private double[] findEdgesForEqualCount(final QuantileSketch sketch, final int binCount) {
+        long countPerBin = Math.round(sketch.getCount() / (double)binCount);
+        double[] edges = new double[binCount + 1];
+        double min = sketch.getValueAtRank(1);
+        edges[0] = m_settings.getIntegerBounds() ? Math.floor(min) : min;
+        edges[edges.length - 1] = roundedValue(sketch.getValueAtRank(sketch.getCount()));
+        for (int i = 1; i < edges.length - 1; i++) {
+            long rank = i * countPerBin;
+            edges[i] = rank <= sketch.getCount() ? roundedValue(sketch.getValueAtRank(rank)) : edges[i - 1];
+        }
+        return edges;
+    }
+
+    /** Equal count edges from the sorted non-missing values of a column. */
+    private double[] findEdgesForEqualCount(final double[] values, final int binCount) {
+        int countPerBin = (int)(Math.round(values.length / (double)binCount));
         double[] edges = new double[binCount + 1];
-        edges[0] = m_settings.getIntegerBounds() ? Math.floor(values.get(0)) : values.get(0);
-        edges[edges.length - 1] = roundedValue(values.get(values.size() - 1));
+        edges[0] = m_settings.getIntegerBounds() ? Math.floor(values[0]) : values[0];
+        edges[edges.length - 1] = roundedValue(values[values.length - 1]);
         int startIndex = 0;
         int index = countPerBin - 1;
         for (int i = 1; i < edges.length - 1; i++) {
-            if (index < values.size()) {
-                double edge = roundedValue(values.get(index));
+            if (index < values.length) {
+                double edge = roundedValue(values[index]);
                 // get lower index
                 int lowerIndex = index;
-                while (lowerIndex >= startIndex && !(edge > roundedValue(values.get(lowerIndex)))) {
+                while (lowerIndex >= startIndex && !(edge > roundedValue(values[lowerIndex]))) {
                     lowerIndex--;
                 }
                 // get higher index
                 int higherIndex = index;
-                while (higherIndex < values.size() - 1 && !(roundedValue(values.get(higherIndex + 1)) > edge)) {
+                while (higherIndex < values.length - 1 && !(roundedValue(values[higherIndex + 1]) > edge)) {
                     higherIndex++;
                 }
                 int lowerDiff = -1 * (lowerIndex - startIndex + 1 - countPerBin);
@@ -275,7 +409,7 @@ private double[] findEdgesForEqualCount(final List<Double> values, final int bin
                 } else {
                     index = higherIndex;
                 }
-                edges[i] = roundedValue(values.get(index));
+                edges[i] = roundedValue(values[index]);
                 startIndex = index + 1;
                 index += countPerBin;
             } else {
@@ -102,6 +102,8 @@ public class AutoBinnerLearnNodeDialogPane extends NodeDialogPane {
 
     private JCheckBox m_integerBounds;
 
+    private JCheckBox m_approximateQuantiles;
+
     private JTextField m_sampleQuantiles;
 
     private JRadioButton m_binNamingNumbered;
@@ -253,6 +255,12 @@ private JPanel createAutoBinnerSettingsTab(final boolean supportsQuantile) {
         c.gridy++;
         p.add(m_integerBounds, c);
 
+        m_approximateQuantiles = new JCheckBox("Approximate equal count and quantile edges (faster for large tables)");
+        if (supportsQuantile) {
+            c.gridy++;
+            p.add(m_approximateQuantiles, c);
+        }
+
         c.gridy++;
         m_replaceColumn = new JCheckBox("Replace target column(s)");
         p.add(m_replaceColumn, c);
@@ -456,6 +464,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final PortObjectS
         m_binNamingMidpoints.setSelected(m_settings.getBinNaming().equals(BinNaming.midpoints));
         m_replaceColumn.setSelected(m_settings.getReplaceColumn());
         m_integerBounds.setSelected(m_settings.getIntegerBounds());
+        m_approximateQuantiles.setSelected(m_settings.getApproximateQuantiles());
         m_defaultFormatting.setSelected(!m_settings.getAdvancedFormatting());
         m_advancedFormatting.setSelected(m_settings.getAdvancedFormatting());
         m_outputFormat.setEnabled(m_settings.getAdvancedFormatting());
@@ -515,6 +524,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         m_settings.setBinNaming(binNaming);
         m_settings.setReplaceColumn(m_replaceColumn.isSelected());
         m_settings.setIntegerBounds(m_integerBounds.isSelected());
+        m_settings.setApproximateQuantiles(m_approximateQuantiles.isSelected());
         m_settings.setAdvancedFormatting(m_advancedFormatting.isSelected());
         m_settings.setOutputFormat((OutputFormat)m_outputFormat.getSelectedItem());
         m_settings.setPrecision(((Number)m_precision.getValue()).intValue());
@@ -231,6 +231,8 @@ public String toString() {
 
     private static final String CFG_ROUNDING_MODE = "roundingMode";
 
+    private static final String CFG_APPROXIMATE_QUANTILES = "approximateQuantiles";
+
     private Method m_method = Method.fixedNumber;
 
     private int m_binCount = 5;
@@ -255,6 +257,8 @@ public String toString() {
 
     private RoundingMode m_roundingMode = RoundingMode.HALF_UP;
 
+    private boolean m_approximateQuantiles = false;
+
     private DataColumnSpecFilterConfiguration m_filterConfiguration = AutoBinnerLearnNodeModel.createDCSFilterConfiguration();
 
 
@@ -428,6 +432,23 @@ public void setRoundingMode(final RoundingMode roundingMode) {
         m_roundingMode = roundingMode;
     }
 
+    /**
+     * @return whether the equal count and quantile edges are approximated by a single pass over the data
+     * @since 4.4
+     */
+    public boolean getApproximateQuantiles() {
+        return m_approximateQuantiles;
+    }
+
+    /**
+     * @param approximateQuantiles whether the equal count and quantile edges are approximated by a single pass over
+     *            the data
+     * @since 4.4
+     */
+    public void setApproximateQuantiles(final boolean approximateQuantiles) {
+        m_approximateQuantiles = approximateQuantiles;
+    }
+
     /**
      * Loads the settings from the node settings object.
      *
@@ -450,6 +471,8 @@ public void loadSettings(final NodeSettingsRO settings) throws InvalidSettingsEx
         m_precision = settings.getInt(CFG_PRECISION);
         m_precisionMode = PrecisionMode.valueOf(settings.getString(CFG_PRECISION_MODE));
         m_roundingMode = RoundingMode.valueOf(settings.getString(CFG_ROUNDING_MODE));
+        // added in 4.4
+        m_approximateQuantiles = settings.getBoolean(CFG_APPROXIMATE_QUANTILES, false);
     }
 
     /**
@@ -473,6 +496,7 @@ public void loadSettingsForDialog(final NodeSettingsRO settings, final DataTable
         m_precision = settings.getInt(CFG_PRECISION, 3);
         m_precisionMode = PrecisionMode.valueOf(settings.getString(CFG_PRECISION_MODE, PrecisionMode.Decimal.name()));
         m_roundingMode = RoundingMode.valueOf(settings.getString(CFG_ROUNDING_MODE, RoundingMode.HALF_UP.name()));
+        m_approximateQuantiles = settings.getBoolean(CFG_APPROXIMATE_QUANTILES, false);
     }
 
     /**
@@ -494,6 +518,7 @@ public void saveSettings(final NodeSettingsWO settings) {
         settings.addInt(CFG_PRECISION, m_precision);
         settings.addString(CFG_PRECISION_MODE, m_precisionMode.name());
         settings.addString(CFG_ROUNDING_MODE, m_roundingMode.name());
+        settings.addBoolean(CFG_APPROXIMATE_QUANTILES, m_approximateQuantiles);
     }
 
     /**
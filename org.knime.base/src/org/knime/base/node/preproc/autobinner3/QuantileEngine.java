@@ -0,0 +1,551 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.autobinner3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.ObjIntConsumer;
+
+import org.knime.base.data.util.Futures;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Computes order statistics of several numeric columns of a table at the same time, reading all columns in a single
+ * pass instead of sorting the table once per column. Depending on the available memory and the required accuracy, the
+ * values are either
+ * <ul>
+ * <li>read into primitive arrays and sorted in parallel over the columns ({@link #readSortedValues}),</li>
+ * <li>summarized by mergeable {@link QuantileSketch QuantileSketches} ({@link #createSketches}), or</li>
+ * <li>determined exactly for a few ranks by a refinement pass that only keeps the values within the rank windows
+ * given by the sketches ({@link #refine}).</li>
+ * </ul>
+ * The table is read in ranges of rows that are processed concurrently.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class QuantileEngine {
+
+    /** The minimum number of rows processed by a single thread. */
+    private static final long MIN_ROWS_PER_RANGE = 10000;
+
+    /** The number of rows per sketched range, which doesn't depend on the number of threads for reproducibility. */
+    private static final long ROWS_PER_SKETCH = 1L << 18;
+
+    /** The fraction of the free memory the values read at once may occupy. */
+    private static final double MEMORY_FRACTION = 0.5;
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final BufferedDataTable m_data;
+
+    private final int[] m_colIndices;
+
+    private final ThreadPool m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+
+    /**
+     * @param data the table
+     * @param colIndices the indices of the (numeric) columns to process
+     */
+    QuantileEngine(final BufferedDataTable data, final int[] colIndices) {
+        m_data = data;
+        m_colIndices = colIndices;
+    }
+
+    /**
+     * @return <code>true</code> if the values of all columns can be read into memory in a single pass
+     */
+    boolean fitsIntoMemory() {
+        final long nrRows = m_data.size();
+        return nrRows <= MAX_ARRAY_SIZE && 8 * nrRows * m_colIndices.length <= getMemoryBudget();
+    }
+
+    /**
+     * Reads the non-missing values of all columns and sorts them. The columns are read in a single pass if they fit
+     * into memory, otherwise in as few passes as possible.
+     *
+     * @param exec the execution context
+     * @return the sorted non-missing values of each column
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    double[][] readSortedValues(final ExecutionContext exec) throws CanceledExecutionException {
+        final double[][] result = new double[m_colIndices.length][];
+        readSortedValues(exec, (values, col) -> result[col] = values);
+        return result;
+    }
+
+    /**
+     * Reads the non-missing values of the columns in batches that fit into memory, sorts them and passes each column
+     * to the consumer, in the order of the columns. The values of a batch can be garbage collected as soon as the
+     * consumer has processed them, hence the columns don't need to fit into memory all at once.
+     *
+     * @param exec the execution context
+     * @param consumer receives the sorted non-missing values and the position of each column
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    void readSortedValues(final ExecutionContext exec, final ObjIntConsumer<double[]> consumer)
+        throws CanceledExecutionException {
+        final long nrRows = m_data.size();
+        if (nrRows > MAX_ARRAY_SIZE) {
+            throw new IllegalStateException("Too many rows (" + nrRows + ") to read the values into memory.");
+        }
+        final int nrCols = m_colIndices.length;
+        final int colsPerPass =
+            (int)Math.max(1, Math.min(nrCols, getMemoryBudget() / Math.max(1, 8 * nrRows)));
+        for (int first = 0; first < nrCols; first += colsPerPass) {
+            final int[] positions = new int[Math.min(colsPerPass, nrCols - first)];
+            for (int p = 0; p < positions.length; p++) {
+                positions[p] = first + p;
+            }
+            final double[][] batch =
+                readSortedValues(positions, exec.createSubExecutionContext(positions.length / (double)nrCols));
+            for (int p = 0; p < positions.length; p++) {
+                consumer.accept(batch[p], positions[p]);
+                batch[p] = null;
+            }
+        }
+    }
+
+    private double[][] readSortedValues(final int[] positions, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final int nrRows = (int)m_data.size();
+        final int[] colIndices = new int[positions.length];
+        final double[][] values = new double[positions.length][];
+        final double[][] result = new double[positions.length][];
+        for (int p = 0; p < positions.length; p++) {
+            colIndices[p] = m_colIndices[positions[p]];
+            values[p] = new double[nrRows];
+        }
+        exec.setMessage("Reading values");
+        final List<ValueCollector> collectors = scan(colIndices, from -> new ValueCollector(values, colIndices,
+            (int)from), threadRangeSize(), exec.createSubExecutionContext(0.6));
+
+        exec.setMessage("Sorting values");
+        final ExecutionContext sortExec = exec.createSubExecutionContext(0.4);
+        final AtomicInteger nrSorted = new AtomicInteger();
+        final List<Future<Void>> futures = new ArrayList<>();
+        for (int p = 0; p < positions.length; p++) {
+            final int col = p;
+            futures.add(m_pool.enqueue(() -> {
+                // move the values of the ranges next to each other, dropping the gaps of the missing values
+                final double[] colValues = values[col];
+                int size = 0;
+                for (final ValueCollector collector : collectors) {
+                    System.arraycopy(colValues, collector.m_from, colValues, size, collector.m_counts[col]);
+                    size += collector.m_counts[col];
+                }
+                Arrays.sort(colValues, 0, size);
+                result[col] = size == nrRows ? colValues : Arrays.copyOf(colValues, size);
+                values[col] = null;
+                sortExec.setProgress(nrSorted.incrementAndGet() / (double)positions.length);
+                return null;
+            }));
+        }
+        Futures.waitFor(futures, exec);
+        return result;
+    }
+
+    /**
+     * Sketches the distributions of all columns in a single pass.
+     *
+     * @param exec the execution context
+     * @return a sketch for each column
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    QuantileSketch[] createSketches(final ExecutionContext exec) throws CanceledExecutionException {
+        exec.setMessage("Sketching value distributions");
+        final List<SketchCollector> collectors =
+            scan(m_colIndices, from -> new SketchCollector(m_colIndices, from), ROWS_PER_SKETCH, exec);
+        final QuantileSketch[] sketches = collectors.get(0).m_sketches;
+        for (int r = 1; r < collectors.size(); r++) {
+            for (int c = 0; c < sketches.length; c++) {
+                sketches[c].merge(collectors.get(r).m_sketches[c]);
+            }
+        }
+        return sketches;
+    }
+
+    /**
+     * Determines the exact values at the given ranks. For each rank the window of values that contains it according
+     * to the sketch is read, the number of values below the window counted and the window sorted. A column whose
+     * windows turn out to miss a rank (which happens only if the sketch error exceeds its bound) or don't fit into
+     * memory cannot be refined.
+     *
+     * @param sketches the sketches of the columns as computed by {@link #createSketches}
+     * @param ranks the sorted ranks to determine per column, 1 being the smallest non-missing value
+     * @param exec the execution context
+     * @return the values at the ranks per column, <code>null</code> for columns that couldn't be refined
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    double[][] refine(final QuantileSketch[] sketches, final long[][] ranks, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final int nrCols = m_colIndices.length;
+        final List<List<Window>> windows = new ArrayList<>(nrCols);
+        for (int c = 0; c < nrCols; c++) {
+            windows.add(createWindows(sketches[c], ranks[c]));
+        }
+        final double[][] result = new double[nrCols][];
+        // refine as many columns per pass as their windows fit into memory
+        final long budget = getMemoryBudget() / 8;
+        int first = 0;
+        while (first < nrCols) {
+            long nrValues = 0;
+            int last = first;
+            while (last < nrCols && (last == first || nrValues + getMaxSize(windows.get(last)) <= budget)) {
+                nrValues += getMaxSize(windows.get(last));
+                last++;
+            }
+            refine(first, last, windows, ranks, result,
+                exec.createSubExecutionContext((last - first) / (double)nrCols));
+            first = last;
+        }
+        return result;
+    }
+
+    private void refine(final int first, final int last, final List<List<Window>> windows, final long[][] ranks,
+        final double[][] result, final ExecutionContext exec) throws CanceledExecutionException {
+        final int[] colIndices = Arrays.copyOfRange(m_colIndices, first, last);
+        final List<List<Window>> passWindows = windows.subList(first, last);
+        exec.setMessage("Refining quantiles");
+        final List<WindowCollector> collectors = scan(colIndices, from -> new WindowCollector(colIndices, passWindows),
+            threadRangeSize(), exec.createSubExecutionContext(0.8));
+
+        final ExecutionContext sortExec = exec.createSubExecutionContext(0.2);
+        final AtomicInteger nrRefined = new AtomicInteger();
+        final List<Future<Void>> futures = new ArrayList<>();
+        for (int c = first; c < last; c++) {
+            final int col = c;
+            futures.add(m_pool.enqueue(() -> {
+                result[col] = refineColumn(col - first, windows.get(col), ranks[col], collectors);
+                sortExec.setProgress(nrRefined.incrementAndGet() / (double)(last - first));
+                return null;
+            }));
+        }
+        Futures.waitFor(futures, exec);
+    }
+
+    private static double[] refineColumn(final int col, final List<Window> windows, final long[] ranks,
+        final List<WindowCollector> collectors) {
+        final double[] result = new double[ranks.length];
+        int rankIndex = 0;
+        for (int w = 0; w < windows.size(); w++) {
+            final Window window = windows.get(w);
+            long below = 0;
+            int size = 0;
+            for (final WindowCollector collector : collectors) {
+                final WindowValues values = collector.m_values[col][w];
+                if (values.m_overflow) {
+                    return null;
+                }
+                below += values.m_below;
+                size += values.m_size;
+            }
+            if (size > window.m_maxSize) {
+                return null;
+            }
+            final double[] sorted = new double[size];
+            size = 0;
+            for (final WindowCollector collector : collectors) {
+                final WindowValues values = collector.m_values[col][w];
+                System.arraycopy(values.m_values, 0, sorted, size, values.m_size);
+                size += values.m_size;
+            }
+            Arrays.sort(sorted);
+            for (; rankIndex < ranks.length && ranks[rankIndex] <= window.m_lastRank; rankIndex++) {
+                final long localRank = ranks[rankIndex] - below;
+                if (localRank < 1 || localRank > size) {
+                    // the sketch was off by more than its error bound
+                    return null;
+                }
+                result[rankIndex] = sorted[(int)localRank - 1];
+            }
+        }
+        return result;
+    }
+
+    /** Creates the windows of values around the ranks, windows that overlap are combined. */
+    private static List<Window> createWindows(final QuantileSketch sketch, final long[] ranks) {
+        final long delta = sketch.getRankErrorBound() + 1;
+        final List<Window> windows = new ArrayList<>();
+        Window current = null;
+        for (final long rank : ranks) {
+            final double lower = sketch.getValueAtRank(rank - delta);
+            final double upper = sketch.getValueAtRank(rank + delta);
+            // ties may lead to more values within the window, but not arbitrarily many
+            final long maxSize = 4 * (2 * delta + 1) + 1024;
+            if (current != null && Double.compare(lower, current.m_upper) <= 0) {
+                current.m_upper = upper;
+                current.m_lastRank = rank;
+                current.m_maxSize = (int)Math.min(MAX_ARRAY_SIZE, current.m_maxSize + maxSize);
+            } else {
+                current = new Window(lower, upper, rank, (int)Math.min(MAX_ARRAY_SIZE, maxSize));
+                windows.add(current);
+            }
+        }
+        return windows;
+    }
+
+    private static long getMaxSize(final List<Window> windows) {
+        return windows.stream().mapToLong(w -> w.m_maxSize).sum();
+    }
+
+    private long threadRangeSize() {
+        final long nrRows = m_data.size();
+        final long nrRanges = Math.max(1, Math.min(m_pool.getMaxThreads(), nrRows / MIN_ROWS_PER_RANGE));
+        return Math.max(1, (nrRows + nrRanges - 1) / nrRanges);
+    }
+
+    /**
+     * Reads the given columns of the table in ranges of the given size that are processed concurrently.
+     *
+     * @return the consumers of the ranges in the order of the ranges
+     */
+    private <T extends RowConsumer> List<T> scan(final int[] colIndices, final LongFunction<T> consumerFactory,
+        final long rangeSize, final ExecutionContext exec) throws CanceledExecutionException {
+        final long nrRows = m_data.size();
+        final List<Future<T>> futures = new ArrayList<>();
+        for (long start = 0; start < Math.max(1, nrRows); start += rangeSize) {
+            final long from = start;
+            final long to = Math.min(nrRows, start + rangeSize) - 1;
+            final ExecutionContext rangeExec =
+                exec.createSubExecutionContext((to - from + 1) / (double)Math.max(1, nrRows));
+            final T consumer = consumerFactory.apply(from);
+            futures.add(m_pool.enqueue(() -> scanRange(colIndices, from, to, consumer, rangeExec)));
+        }
+        return Futures.waitFor(futures, exec);
+    }
+
+    private <T extends RowConsumer> T scanRange(final int[] colIndices, final long from, final long to,
+        final T consumer, final ExecutionContext exec) throws CanceledExecutionException {
+        if (from <= to) {
+            final double nrRows = to - from + 1;
+            final TableFilter filter = new TableFilter.Builder().withFromRowIndex(from).withToRowIndex(to)
+                .withMaterializeColumnIndices(colIndices).build();
+            try (final CloseableRowIterator it = m_data.filter(filter).iterator()) {
+                for (long i = 1; it.hasNext(); i++) {
+                    exec.checkCanceled();
+                    consumer.accept(it.next());
+                    exec.setProgress(i / nrRows);
+                }
+            }
+        }
+        return consumer;
+    }
+
+    private static long getMemoryBudget() {
+        final Runtime runtime = Runtime.getRuntime();
+        final long free = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return (long)(free * MEMORY_FRACTION);
+    }
+
+    /** Processes the rows of a range. */
+    private interface RowConsumer {
+        void accept(DataRow row);
+    }
+
+    /** Writes the non-missing values of a range to the value arrays, starting at the first index of the range. */
+    private static final class ValueCollector implements RowConsumer {
+
+        private final double[][] m_values;
+
+        private final int[] m_colIndices;
+
+        private final int m_from;
+
+        private final int[] m_counts;
+
+        ValueCollector(final double[][] values, final int[] colIndices, final int from) {
+            m_values = values;
+            m_colIndices = colIndices;
+            m_from = from;
+            m_counts = new int[colIndices.length];
+        }
+
+        @Override
+        public void accept(final DataRow row) {
+            for (int c = 0; c < m_colIndices.length; c++) {
+                final DataCell cell = row.getCell(m_colIndices[c]);
+                if (!cell.isMissing()) {
+                    m_values[c][m_from + m_counts[c]++] = ((DoubleValue)cell).getDoubleValue();
+                }
+            }
+        }
+    }
+
+    /** Sketches the values of a range. */
+    private static final class SketchCollector implements RowConsumer {
+
+        private final int[] m_colIndices;
+
+        private final QuantileSketch[] m_sketches;
+
+        SketchCollector(final int[] colIndices, final long from) {
+            m_colIndices = colIndices;
+            m_sketches = new QuantileSketch[colIndices.length];
+            for (int c = 0; c < colIndices.length; c++) {
+                m_sketches[c] = new QuantileSketch(QuantileSketch.DEFAULT_CAPACITY, 31 * from + c);
+            }
+        }
+
+        @Override
+        public void accept(final DataRow row) {
+            for (int c = 0; c < m_colIndices.length; c++) {
+                final DataCell cell = row.getCell(m_colIndices[c]);
+                if (cell.isMissing()) {
+                    m_sketches[c].updateMissing();
+                } else {
+                    m_sketches[c].update(((DoubleValue)cell).getDoubleValue());
+                }
+            }
+        }
+    }
+
+    /** A range of values that contains the values of one or more ranks. */
+    private static final class Window {
+
+        private final double m_lower;
+
+        private double m_upper;
+
+        private long m_lastRank;
+
+        private int m_maxSize;
+
+        Window(final double lower, final double upper, final long lastRank, final int maxSize) {
+            m_lower = lower;
+            m_upper = upper;
+            m_lastRank = lastRank;
+            m_maxSize = maxSize;
+        }
+    }
+
+    /** The values of a range of rows within a window and the number of values below it. */
+    private static final class WindowValues {
+
+        private final int m_maxSize;
+
+        private double[] m_values = new double[16];
+
+        private int m_size;
+
+        private long m_below;
+
+        private boolean m_overflow;
+
+        WindowValues(final int maxSize) {
+            m_maxSize = maxSize;
+        }
+
+        void add(final double value) {
+            if (m_size == m_maxSize) {
+                // the values are discarded, the column is sorted instead
+                m_overflow = true;
+                return;
+            }
+            if (m_size == m_values.length) {
+                m_values = Arrays.copyOf(m_values, (int)Math.min(m_maxSize, 2L * m_size));
+            }
+            m_values[m_size++] = value;
+        }
+    }
+
+    /** Collects the values of a range within the windows. */
+    private static final class WindowCollector implements RowConsumer {
+
+        private final int[] m_colIndices;
+
+        private final List<List<Window>> m_windows;
+
+        private final WindowValues[][] m_values;
+
+        WindowCollector(final int[] colIndices, final List<List<Window>> windows) {
+            m_colIndices = colIndices;
+            m_windows = windows;
+            m_values = new WindowValues[colIndices.length][];
+            for (int c = 0; c < colIndices.length; c++) {
+                final List<Window> colWindows = windows.get(c);
+                m_values[c] = new WindowValues[colWindows.size()];
+                for (int w = 0; w < m_values[c].length; w++) {
+                    m_values[c][w] = new WindowValues(colWindows.get(w).m_maxSize);
+                }
+            }
+        }
+
+        @Override
+        public void accept(final DataRow row) {
+            for (int c = 0; c < m_colIndices.length; c++) {
+                final DataCell cell = row.getCell(m_colIndices[c]);
+                if (cell.isMissing()) {
+                    continue;
+                }
+                final double value = ((DoubleValue)cell).getDoubleValue();
+                final List<Window> colWindows = m_windows.get(c);
+                for (int w = 0; w < m_values[c].length; w++) {
+                    final Window window = colWindows.get(w);
+                    if (Double.compare(value, window.m_lower) < 0) {
+                        m_values[c][w].m_below++;
+                    } else if (Double.compare(value, window.m_upper) <= 0) {
+                        m_values[c][w].add(value);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.autobinner3;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable sketch of the distribution of the values of a column that answers rank queries approximately in
+ * constant memory. Values are collected in levels of fixed capacity, the items of level <i>h</i> having a weight of
+ * 2<sup><i>h</i></sup>. A full level is compacted by sorting it and promoting every other item to the next level,
+ * starting at a (deterministically) random offset, which keeps the rank error of each compaction unbiased.
+ * <p>
+ * Sketches of disjoint parts of a column can be merged, which allows to sketch a table in parallel. As the offsets are
+ * drawn from a seeded generator, the result is deterministic given the seeds and the order of the merges.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class QuantileSketch {
+
+    /** The default capacity of a level, which results in a rank error in the order of 0.1 percent. */
+    static final int DEFAULT_CAPACITY = 2048;
+
+    private final int m_capacity;
+
+    private double[][] m_levels = new double[0][];
+
+    private int[] m_sizes = new int[0];
+
+    private long m_count;
+
+    private long m_missingCount;
+
+    private double m_min = Double.NaN;
+
+    private double m_max = Double.NaN;
+
+    // the variance of the rank error caused by all compactions so far
+    private double m_errorVariance;
+
+    private long m_random;
+
+    // the items of all levels sorted by value with their cumulative weights, computed on demand
+    private double[] m_sortedValues;
+
+    private long[] m_cumulativeWeights;
+
+    /**
+     * Creates a new empty sketch.
+     *
+     * @param capacity the capacity of each level, at least 2
+     * @param seed the seed for the offsets of the compactions
+     */
+    QuantileSketch(final int capacity, final long seed) {
+        m_capacity = Math.max(2, capacity);
+        m_random = seed;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value to add
+     */
+    void update(final double value) {
+        if (m_count == 0 || Double.compare(value, m_min) < 0) {
+            m_min = value;
+        }
+        if (m_count == 0 || Double.compare(value, m_max) > 0) {
+            m_max = value;
+        }
+        m_count++;
+        ensureLevel(0, 1);
+        m_levels[0][m_sizes[0]++] = value;
+        if (m_sizes[0] >= m_capacity) {
+            compact(0);
+        }
+        m_sortedValues = null;
+    }
+
+    /** Counts a missing value, which is not part of the distribution. */
+    void updateMissing() {
+        m_missingCount++;
+    }
+
+    /**
+     * Merges another sketch into this one. The other sketch is not changed.
+     *
+     * @param other the sketch of other values of the same column
+     */
+    void merge(final QuantileSketch other) {
+        if (other.m_count > 0) {
+            if (m_count == 0 || Double.compare(other.m_min, m_min) < 0) {
+                m_min = other.m_min;
+            }
+            if (m_count == 0 || Double.compare(other.m_max, m_max) > 0) {
+                m_max = other.m_max;
+            }
+        }
+        m_count += other.m_count;
+        m_missingCount += other.m_missingCount;
+        m_errorVariance += other.m_errorVariance;
+        for (int h = 0; h < other.m_sizes.length; h++) {
+            ensureLevel(h, other.m_sizes[h]);
+            System.arraycopy(other.m_levels[h], 0, m_levels[h], m_sizes[h], other.m_sizes[h]);
+            m_sizes[h] += other.m_sizes[h];
+        }
+        for (int h = 0; h < m_sizes.length; h++) {
+            if (m_sizes[h] >= m_capacity) {
+                compact(h);
+            }
+        }
+        m_sortedValues = null;
+    }
+
+    /**
+     * @return the number of (non-missing) values
+     */
+    long getCount() {
+        return m_count;
+    }
+
+    /**
+     * @return the number of missing values
+     */
+    long getMissingCount() {
+        return m_missingCount;
+    }
+
+    /**
+     * Returns a bound of the rank error of {@link #getValueAtRank(long)}. It is four times the standard deviation of
+     * the accumulated errors of the compactions, hence it is exceeded only with a very small probability.
+     *
+     * @return the bound of the rank error
+     */
+    long getRankErrorBound() {
+        return (long)Math.ceil(4 * Math.sqrt(m_errorVariance));
+    }
+
+    /**
+     * Returns the approximate value at the given rank, the smallest value having rank 1 and the largest value rank
+     * {@link #getCount()}. Ranks outside these bounds return the minimum and maximum, respectively.
+     *
+     * @param rank the rank
+     * @return the approximate value at the rank or {@link Double#NaN} if the sketch is empty
+     */
+    double getValueAtRank(final long rank) {
+        if (m_count == 0) {
+            return Double.NaN;
+        }
+        if (rank <= 1) {
+            return m_min;
+        }
+        if (rank >= m_count) {
+            return m_max;
+        }
+        if (m_sortedValues == null) {
+            sortItems();
+        }
+        int index = Arrays.binarySearch(m_cumulativeWeights, rank);
+        if (index < 0) {
+            // the first item whose cumulative weight exceeds the rank
+            index = Math.min(-index - 1, m_sortedValues.length - 1);
+        }
+        return m_sortedValues[index];
+    }
+
+    private void sortItems() {
+        int nrItems = 0;
+        for (final int size : m_sizes) {
+            nrItems += size;
+        }
+        // sort the items by value, their levels determine their weights
+        final double[] values = new double[nrItems];
+        final int[] levels = new int[nrItems];
+        int i = 0;
+        for (int h = 0; h < m_sizes.length; h++) {
+            for (int j = 0; j < m_sizes[h]; j++) {
+                values[i] = m_levels[h][j];
+                levels[i++] = h;
+            }
+        }
+        final Integer[] order = new Integer[nrItems];
+        for (int j = 0; j < nrItems; j++) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        m_sortedValues = new double[nrItems];
+        m_cumulativeWeights = new long[nrItems];
+        long weight = 0;
+        for (int j = 0; j < nrItems; j++) {
+            m_sortedValues[j] = values[order[j]];
+            weight += 1L << levels[order[j]];
+            m_cumulativeWeights[j] = weight;
+        }
+    }
+
+    /** Promotes every other item of the level to the next one, an odd item remains. */
+    private void compact(final int level) {
+        final double[] items = m_levels[level];
+        final int size = m_sizes[level];
+        Arrays.sort(items, 0, size);
+        final int nrPairs = size / 2;
+        final int offset = nextRandomBit();
+        ensureLevel(level + 1, nrPairs);
+        final double[] next = m_levels[level + 1];
+        int nextSize = m_sizes[level + 1];
+        for (int i = 0; i < nrPairs; i++) {
+            next[nextSize++] = items[2 * i + offset];
+        }
+        m_sizes[level + 1] = nextSize;
+        if (size % 2 == 1) {
+            items[0] = items[size - 1];
+        }
+        m_sizes[level] = size % 2;
+        // the rank of any value changes by at most the weight of the items, in either direction with equal probability
+        final double weight = Math.scalb(1.0, level);
+        m_errorVariance += weight * weight;
+        if (nextSize >= m_capacity) {
+            compact(level + 1);
+        }
+    }
+
+    private void ensureLevel(final int level, final int additionalItems) {
+        if (level >= m_levels.length) {
+            m_levels = Arrays.copyOf(m_levels, level + 1);
+            m_sizes = Arrays.copyOf(m_sizes, level + 1);
+            m_levels[level] = new double[m_capacity];
+        }
+        final int required = m_sizes[level] + additionalItems;
+        if (required > m_levels[level].length) {
+            m_levels[level] = Arrays.copyOf(m_levels[level], Math.max(required, 2 * m_levels[level].length));
+        }
+    }
+
+    private int nextRandomBit() {
+        // SplitMix64
+        m_random += 0x9E3779B97F4A7C15L;
+        long z = m_random;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int)((z ^ (z >>> 31)) >>> 63);
+    }
+}
@@ -53,6 +53,7 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -157,7 +158,7 @@ public DataCell[] getCells(final DataRow row) {
      * @param inputCell The cell to extract the string representation from.
      * @return The string representation of the given cell.
      */
-    private static String getInputString(final DataCell inputCell) {
+    static String getInputString(final DataCell inputCell) {
         final String inputString;
         if (inputCell instanceof StringValue) {
             inputString = ((StringValue)inputCell).getStringValue();
@@ -174,7 +175,7 @@ private static String getInputString(final DataCell inputCell) {
      * @param settings Tokenizer settings.
      * @return The tokenizer created on the string reader.
      */
-    private static Tokenizer prepareTokenizer(final StringReader inputReader, final TokenizerSettings settings) {
+    static Tokenizer prepareTokenizer(final StringReader inputReader, final TokenizerSettings settings) {
         assert inputReader.markSupported();
         final Tokenizer tokenizer = new Tokenizer(inputReader);
         tokenizer.setSettings(settings);
@@ -241,18 +242,7 @@ private DataCell[] tokenizeAndCreateCells(final DataCell inputCell, final int nu
         DataCell[] result = new DataCell[numOfCells];
 
         if (inputCell.isMissing()) {
-
-            Arrays.fill(result, DataType.getMissingCell());
-
-            if (m_settings.isUseEmptyString()) {
-                // replace cells for string columns with empty string cells
-                for (int c = 0; c < result.length; c++) {
-                    if (m_settings.getTypeOfColumn(c).equals(StringCell.TYPE)) {
-                        result[c] = EMPTY_STRINGCELL;
-                    }
-                }
-            }
-            return result;
+            return createMissingCells(numOfCells);
         }
 
         final String inputString = getInputString(inputCell);
@@ -293,23 +283,66 @@ private DataCell[] tokenizeAndCreateCells(final DataCell inputCell, final int nu
 
             }
 
-            if (token == null) {
-                if (m_settings.isUseEmptyString() && m_settings.getTypeOfColumn(col).equals(StringCell.TYPE)) {
-                    // create empty string cells - not missing cells.
-                    result[col] = EMPTY_STRINGCELL;
-                } else {
-                    result[col] = DataType.getMissingCell();
-                }
-            } else {
-                if (m_settings.isTrim()) {
-                    token = token.trim();
+            result[col] = createCell(token, col);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the cells for a row from tokens that have been determined beforehand, which is the case if the number
+     * of columns is guessed in the same pass that tokenizes the input (see {@link CellSplitter2SinglePass}). The cells
+     * are the same as the ones created by {@link #getCells(DataRow)}, given that no row has more tokens than there are
+     * columns to create.
+     *
+     * @param tokens the (untrimmed) tokens of the input string, <code>null</code> if the input cell is missing
+     * @param remainder the rest of the input string starting at the last token if there is more input after the last
+     *            token, <code>null</code> otherwise
+     * @return the cells of the new columns
+     */
+    DataCell[] createCells(final List<String> tokens, final String remainder) {
+        final int numOfCells = m_settings.getNumOfColsGuessed();
+        if (tokens == null) {
+            return createMissingCells(numOfCells);
+        }
+        final DataCell[] result = new DataCell[numOfCells];
+        for (int col = 0; col < numOfCells; col++) {
+            String token = col < tokens.size() ? tokens.get(col) : null;
+            if (col == numOfCells - 1 && col == tokens.size() - 1 && remainder != null) {
+                // the last column stores the entire rest of the input
+                token = remainder;
+            }
+            result[col] = createCell(token, col);
+        }
+        return result;
+    }
+
+    private DataCell[] createMissingCells(final int numOfCells) {
+        final DataCell[] result = new DataCell[numOfCells];
+        Arrays.fill(result, DataType.getMissingCell());
+
+        if (m_settings.isUseEmptyString()) {
+            // replace cells for string columns with empty string cells
+            for (int c = 0; c < result.length; c++) {
+                if (m_settings.getTypeOfColumn(c).equals(StringCell.TYPE)) {
+                    result[c] = EMPTY_STRINGCELL;
                 }
-                result[col] = createDataCell(token, m_settings.getTypeOfColumn(col));
             }
         }
         return result;
     }
 
+    private DataCell createCell(final String token, final int col) {
+        if (token == null) {
+            if (m_settings.isUseEmptyString() && m_settings.getTypeOfColumn(col).equals(StringCell.TYPE)) {
+                // create empty string cells - not missing cells.
+                return EMPTY_STRINGCELL;
+            } else {
+                return DataType.getMissingCell();
+            }
+        }
+        return createDataCell(m_settings.isTrim() ? token.trim() : token, m_settings.getTypeOfColumn(col));
+    }
+
     private static DataCell createDataCell(final String token, final DataType type) {
         if (type.equals(StringCell.TYPE)) {
             return new StringCell(token);
@@ -544,16 +577,7 @@ static CellSplitter2Settings createNewColumnTypes(final BufferedDataTable table,
         }
 
         // transfer the user settings into a new settings object (the result)
-        CellSplitter2Settings result;
-        NodeSettings tmp = new NodeSettings("tmp");
-        userSettings.saveSettingsTo(tmp);
-
-        try {
-            result = new CellSplitter2Settings(tmp);
-        } catch (InvalidSettingsException ise) {
-            // the getStatus should have covered any invalidities
-            throw new IllegalStateException(ise.getMessage());
-        }
+        final CellSplitter2Settings result = copySettings(userSettings);
 
         /*
          * not guessing types: output as columns
@@ -693,4 +717,22 @@ static CellSplitter2Settings createNewColumnTypes(final BufferedDataTable table,
 
         return result;
     }
+
+    /**
+     * Transfers the user settings into a new settings object without any column types.
+     *
+     * @param userSettings the (valid) user settings
+     * @return a new settings object
+     */
+    static CellSplitter2Settings copySettings(final CellSplitter2UserSettings userSettings) {
+        NodeSettings tmp = new NodeSettings("tmp");
+        userSettings.saveSettingsTo(tmp);
+
+        try {
+            return new CellSplitter2Settings(tmp);
+        } catch (InvalidSettingsException ise) {
+            // the getStatus should have covered any invalidities
+            throw new IllegalStateException(ise.getMessage());
+        }
+    }
 }
@@ -127,6 +127,14 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws Invali
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
 
+        if (CellSplitter2SinglePass.isApplicable(m_settings)) {
+            // guess the columns while tokenizing, avoids a second pass over the input
+            final CellSplitter2SinglePass singlePass = new CellSplitter2SinglePass(m_settings);
+            final BufferedDataTable outTable = singlePass.execute(inData[0], exec);
+            m_settings = singlePass.getSettings();
+            return new BufferedDataTable[]{outTable};
+        }
+
         m_settings =
             CellSplitter2CellFactory.createNewColumnTypes(inData[0], m_settings, exec.createSubExecutionContext(0.5));
 
@@ -0,0 +1,417 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.cellsplit2;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Future;
+
+import org.knime.base.data.util.Futures;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.collection.CollectionCellFactory;
+import org.knime.core.data.collection.ListCell;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.core.util.tokenizer.Tokenizer;
+import org.knime.core.util.tokenizer.TokenizerSettings;
+
+/**
+ * Splits a column into a guessed number of columns while tokenizing the input only once. The input is split into
+ * ranges of rows that are tokenized concurrently; each range caches the tokens of its rows in a (spillable) data
+ * container and guesses the types of the columns it has seen. Once all ranges are done, their column types are merged
+ * and the new columns are created from the cached tokens, again range by range.
+ * <p>
+ * This is only applicable if the number of columns is guessed from all rows, i.e. without a scan limit, as otherwise
+ * rows beyond the scan limit might have more tokens than columns.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class CellSplitter2SinglePass {
+
+    /** The minimum number of rows processed by a single thread. */
+    private static final long MIN_ROWS_PER_RANGE = 10000;
+
+    // the guessed column types, ordered such that the type of a column is the maximum of the types of its tokens
+    private static final byte INT = 0;
+
+    private static final byte DOUBLE = 1;
+
+    private static final byte STRING = 2;
+
+    private static final DataTableSpec CACHE_SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("Tokens", ListCell.getCollectionType(StringCell.TYPE)).createSpec(),
+        new DataColumnSpecCreator("Remainder", StringCell.TYPE).createSpec());
+
+    private final CellSplitter2UserSettings m_userSettings;
+
+    private CellSplitter2Settings m_settings;
+
+    /**
+     * @param userSettings the (valid) user settings
+     */
+    CellSplitter2SinglePass(final CellSplitter2UserSettings userSettings) {
+        m_userSettings = userSettings;
+    }
+
+    /**
+     * @param userSettings the user settings
+     * @return <code>true</code> if the output is created as columns whose number is guessed from all rows
+     */
+    static boolean isApplicable(final CellSplitter2UserSettings userSettings) {
+        return userSettings.isGuessNumOfCols() && userSettings.isOutputAsCols() && !userSettings.hasScanLimit();
+    }
+
+    /**
+     * @return the settings containing the guessed column types, <code>null</code> before {@link #execute} has been
+     *         called
+     */
+    CellSplitter2Settings getSettings() {
+        return m_settings;
+    }
+
+    /**
+     * Creates the output table, which is identical to the one of the column rearranger of the node model after the
+     * column types have been guessed.
+     *
+     * @param table the input table
+     * @param exec the execution context
+     * @return the output table
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    BufferedDataTable execute(final BufferedDataTable table, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final DataTableSpec inSpec = table.getDataTableSpec();
+        final int colIdx = inSpec.findColumnIndex(m_userSettings.getColumnName());
+        if (colIdx < 0) {
+            // the status should have checked this!
+            assert false;
+            throw new IllegalStateException("Input table doesn't contain selected column");
+        }
+        final TokenizerSettings tokenizerSettings = m_userSettings.createTokenizerSettings();
+        if (tokenizerSettings == null) {
+            throw new IllegalStateException("Incorrect user settings");
+        }
+
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final long nrRows = table.size();
+        final long nrRanges = Math.max(1, Math.min(pool.getMaxThreads(), nrRows / MIN_ROWS_PER_RANGE));
+        final long rangeSize = Math.max(1, (nrRows + nrRanges - 1) / nrRanges);
+
+        // tokenize the ranges and guess their column types
+        final ExecutionContext tokenizeExec = exec.createSubExecutionContext(0.5);
+        final List<Future<TokenizedRange>> tokenizeFutures = new ArrayList<>();
+        for (long start = 0; start < Math.max(1, nrRows); start += rangeSize) {
+            final long from = start;
+            final long to = Math.min(nrRows, start + rangeSize) - 1;
+            final ExecutionContext rangeExec =
+                tokenizeExec.createSubExecutionContext((to - from + 1) / (double)Math.max(1, nrRows));
+            tokenizeFutures.add(
+                pool.enqueue(() -> tokenize(table, colIdx, tokenizerSettings, from, to, rangeExec)));
+        }
+        final List<TokenizedRange> ranges = Futures.waitFor(tokenizeFutures, exec);
+
+        m_settings = createSettings(ranges);
+        final CellSplitter2CellFactory factory = new CellSplitter2CellFactory(inSpec, m_settings);
+        final DataTableSpec newColsSpec = new DataTableSpec(factory.getColumnSpecs());
+
+        // create the new columns from the cached tokens
+        final ExecutionContext createExec = exec.createSubExecutionContext(0.45);
+        final List<Future<BufferedDataTable>> createFutures = new ArrayList<>();
+        for (final TokenizedRange range : ranges) {
+            final ExecutionContext rangeExec =
+                createExec.createSubExecutionContext(range.m_tokens.size() / (double)Math.max(1, nrRows));
+            createFutures.add(pool.enqueue(() -> createCells(range.m_tokens, factory, newColsSpec, rangeExec)));
+        }
+        final List<BufferedDataTable> newColsTables = Futures.waitFor(createFutures, exec);
+        for (final TokenizedRange range : ranges) {
+            exec.clearTable(range.m_tokens);
+        }
+
+        exec.setMessage("Combining columns");
+        final ExecutionContext combineExec = exec.createSubExecutionContext(0.05);
+        // the row keys are unique as all rows stem from the same table
+        final BufferedDataTable newCols = exec.createConcatenateTable(combineExec.createSubProgress(0.5),
+            Optional.empty(), false, newColsTables.toArray(new BufferedDataTable[0]));
+        final BufferedDataTable joined = exec.createJoinedTable(table, newCols, combineExec.createSubProgress(0.5));
+        if (!m_settings.isRemoveInputColumn()) {
+            return joined;
+        }
+        final ColumnRearranger rearranger = new ColumnRearranger(joined.getDataTableSpec());
+        rearranger.remove(m_settings.getColumnName());
+        return exec.createColumnRearrangeTable(joined, rearranger, exec.createSubProgress(0));
+    }
+
+    private static TokenizedRange tokenize(final BufferedDataTable table, final int colIdx,
+        final TokenizerSettings tokenizerSettings, final long from, final long to, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final TokenizedRange range = new TokenizedRange();
+        final BufferedDataContainer cache = exec.createDataContainer(CACHE_SPEC);
+        if (from <= to) {
+            final double nrRows = to - from + 1;
+            final TableFilter filter = new TableFilter.Builder().withFromRowIndex(from).withToRowIndex(to)
+                .withMaterializeColumnIndices(colIdx).build();
+            try (final CloseableRowIterator it = table.filter(filter).iterator()) {
+                for (long i = 1; it.hasNext(); i++) {
+                    exec.checkCanceled();
+                    final DataRow row = it.next();
+                    cache.addRowToTable(tokenize(row, colIdx, tokenizerSettings, range));
+                    final long rowCnt = from + i;
+                    exec.setProgress(i / nrRows, () -> "Tokenizing row #" + rowCnt);
+                }
+            }
+        }
+        cache.close();
+        range.m_tokens = cache.getTable();
+        return range;
+    }
+
+    private static DataRow tokenize(final DataRow row, final int colIdx, final TokenizerSettings tokenizerSettings,
+        final TokenizedRange range) {
+        final DataCell inputCell = row.getCell(colIdx);
+        if (inputCell.isMissing()) {
+            // missing cells don't help determining the target types
+            return new DefaultRow(row.getKey(), DataType.getMissingCell(), DataType.getMissingCell());
+        }
+        final String inputString = CellSplitter2CellFactory.getInputString(inputCell);
+        final PositionReader inputReader = new PositionReader(inputString);
+        final Tokenizer tokenizer = CellSplitter2CellFactory.prepareTokenizer(inputReader, tokenizerSettings);
+
+        final List<DataCell> tokens = new ArrayList<>();
+        int lastTokenStart = 0;
+        int lastTokenEnd;
+        while (true) {
+            final int tokenStart = inputReader.getPosition();
+            final String token = tokenizer.nextToken();
+            if (token == null) {
+                lastTokenEnd = tokenStart;
+                break;
+            }
+            lastTokenStart = tokenStart;
+            range.guessType(tokens.size(), token.trim());
+            tokens.add(new StringCell(token));
+        }
+        // if there is more input after the last token, the last column stores the entire rest (see the cell factory)
+        final DataCell remainder = !tokens.isEmpty() && lastTokenEnd < inputString.length()
+            ? new StringCell(inputString.substring(lastTokenStart)) : DataType.getMissingCell();
+        return new DefaultRow(row.getKey(), CollectionCellFactory.createListCell(tokens), remainder);
+    }
+
+    private CellSplitter2Settings createSettings(final List<TokenizedRange> ranges) {
+        final CellSplitter2Settings settings = CellSplitter2CellFactory.copySettings(m_userSettings);
+        final byte[] types = new byte[ranges.stream().mapToInt(r -> r.m_nrCols).max().orElse(0)];
+        for (final TokenizedRange range : ranges) {
+            for (int col = 0; col < range.m_nrCols; col++) {
+                types[col] = (byte)Math.max(types[col], range.m_types[col]);
+            }
+        }
+        for (final byte type : types) {
+            settings.addColumnOfType(type == INT ? IntCell.TYPE : (type == DOUBLE ? DoubleCell.TYPE : StringCell.TYPE));
+        }
+        /*
+         * if the input table contained missing values only, we end up with no
+         * column to add. Throw an exception.
+         */
+        if (settings.getNumOfColsGuessed() < 1) {
+            throw new IllegalStateException(
+                "Data analysis computed no " + "columns to add (happens if input table is empty or "
+                    + "has only missing values).\n" + "Please set the array size manually.");
+        }
+        return settings;
+    }
+
+    private static BufferedDataTable createCells(final BufferedDataTable tokens,
+        final CellSplitter2CellFactory factory, final DataTableSpec spec, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final BufferedDataContainer container = exec.createDataContainer(spec);
+        final double nrRows = tokens.size();
+        long rowCnt = 0;
+        for (final DataRow row : tokens) {
+            exec.checkCanceled();
+            final DataCell tokensCell = row.getCell(0);
+            final DataCell remainderCell = row.getCell(1);
+            List<String> tokenStrings = null;
+            if (!tokensCell.isMissing()) {
+                final ListCell listCell = (ListCell)tokensCell;
+                tokenStrings = new ArrayList<>(listCell.size());
+                for (final DataCell token : listCell) {
+                    tokenStrings.add(((StringValue)token).getStringValue());
+                }
+            }
+            final String remainder =
+                remainderCell.isMissing() ? null : ((StringValue)remainderCell).getStringValue();
+            container.addRowToTable(new DefaultRow(row.getKey(), factory.createCells(tokenStrings, remainder)));
+            rowCnt++;
+            exec.setProgress(rowCnt / nrRows);
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /** The cached tokens of a range of rows and the column types guessed from them. */
+    private static final class TokenizedRange {
+
+        private BufferedDataTable m_tokens;
+
+        private byte[] m_types = new byte[8];
+
+        private int m_nrCols;
+
+        /** Widens the type of a column such that it can hold the given (trimmed) token. */
+        private void guessType(final int col, final String token) {
+            if (col == m_nrCols) {
+                if (col == m_types.length) {
+                    m_types = Arrays.copyOf(m_types, 2 * col);
+                }
+                m_types[col] = INT;
+                m_nrCols++;
+            }
+            byte type = m_types[col];
+            if (type == INT && !isInt(token)) {
+                type = DOUBLE;
+            }
+            if (type == DOUBLE && !isDouble(token)) {
+                type = STRING;
+            }
+            m_types[col] = type;
+        }
+
+        private static boolean isInt(final String token) {
+            try {
+                Integer.parseInt(token);
+                return true;
+            } catch (NumberFormatException nfe) {
+                return false;
+            }
+        }
+
+        private static boolean isDouble(final String token) {
+            try {
+                Double.parseDouble(token);
+                return true;
+            } catch (NumberFormatException nfe) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A {@link StringReader} that keeps track of the number of characters read, which is the offset at which the
+     * tokenizer continues.
+     */
+    private static final class PositionReader extends StringReader {
+
+        private int m_position;
+
+        private int m_mark;
+
+        PositionReader(final String s) {
+            super(s);
+        }
+
+        int getPosition() {
+            return m_position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int c = super.read();
+            if (c != -1) {
+                m_position++;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            final int n = super.read(cbuf, off, len);
+            if (n > 0) {
+                m_position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            m_position += (int)skipped;
+            return skipped;
+        }
+
+        @Override
+        public void mark(final int readAheadLimit) throws IOException {
+            super.mark(readAheadLimit);
+            m_mark = m_position;
+        }
+
+        @Override
+        public void reset() throws IOException {
+            super.reset();
+            m_position = m_mark;
+        }
+    }
+}
@@ -80,6 +80,11 @@ final class CorrelationCompute2NodeDialogPane extends DefaultNodeSettingsPane {
         final DialogComponentNumberEdit cI = new DialogComponentNumberEdit(sI, "Possible Values Count");
         addDialogComponent(cI);
 
+        final SettingsModelString cM = CorrelationCompute2NodeModel.createCorrelationMethodModel();
+        final DialogComponentButtonGroup cC = new DialogComponentButtonGroup(cM, "Numeric correlation", true,
+            CorrelationMethod.descriptions(), CorrelationMethod.names());
+        addDialogComponent(cC);
+
         final SettingsModelString pA = CorrelationCompute2NodeModel.createPValAlternativeModel();
         final DialogComponentButtonGroup cP = new DialogComponentButtonGroup(pA, "p-value", true,
             PValueAlternative.descriptions(), PValueAlternative.names());
@@ -85,14 +85,14 @@
  */
 final class CorrelationCompute2NodeModel extends NodeModel implements BufferedDataTableHolder {
 
-    /** Progress of the first step */
-    private static final double PROG_STEP1 = 0.48;
-
-    /** Progress of the second step */
-    private static final double PROG_STEP2 = 0.48;
+    /** Progress of the computation */
+    private static final double PROG_COMPUTE = 0.96;
 
     /** Progress of the last step */
-    private static final double PROG_FINISH = 1 - PROG_STEP1 - PROG_STEP2;
+    private static final double PROG_FINISH = 1 - PROG_COMPUTE;
+
+    /** Config key of the correlation method, added in 4.4. */
+    private static final String CFG_CORRELATION_METHOD = "correlationMethod";
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(CorrelationCompute2NodeModel.class);
 
@@ -133,6 +133,15 @@ static SettingsModelString createColumnPairsFilterModel() {
         return new SettingsModelString("columnPairsFilter", ColumnPairFilter.COMPATIBLE_PAIRS.name());
     }
 
+    /**
+     * Factory method to create the string model for the correlation method of numeric columns.
+     *
+     * @return A new model.
+     */
+    static SettingsModelString createCorrelationMethodModel() {
+        return new SettingsModelString(CFG_CORRELATION_METHOD, CorrelationMethod.PEARSON.name());
+    }
+
     private SettingsModelColumnFilter2 m_columnFilterModel;
 
     private final SettingsModelIntegerBounded m_maxPossValueCountModel;
@@ -141,6 +150,8 @@ static SettingsModelString createColumnPairsFilterModel() {
 
     private final SettingsModelString m_columnPairsFilter;
 
+    private final SettingsModelString m_correlationMethodModel;
+
     private BufferedDataTable m_correlationTable;
 
     /**
@@ -155,6 +166,7 @@ static SettingsModelString createColumnPairsFilterModel() {
         m_maxPossValueCountModel = createNewPossValueCounterModel();
         m_pValAlternativeModel = createPValAlternativeModel();
         m_columnPairsFilter = createColumnPairsFilterModel();
+        m_correlationMethodModel = createCorrelationMethodModel();
     }
 
     @Override
@@ -202,18 +214,12 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
         CorrelationComputer2 calculator =
             new CorrelationComputer2(filteredTableSpec, m_maxPossValueCountModel.getIntValue());
 
-        // Calculate statistics on the table
-        exec.setMessage("Calculating table statistics");
-        ExecutionContext execStep1 = exec.createSubExecutionContext(PROG_STEP1);
-        calculator.calculateStatistics(filteredTable, execStep1);
-        execStep1.setProgress(1.0);
-
-        // Calculate the correlation
+        // Calculate the correlation in a single pass
         exec.setMessage("Calculating correlation values");
-        ExecutionMonitor execStep2 = exec.createSubExecutionContext(PROG_STEP2);
-        CorrelationResult correlationResult =
-            calculator.calculateOutput(filteredTable, execStep2, selectedPValAlternative());
-        execStep2.setProgress(1.0);
+        ExecutionContext execCompute = exec.createSubExecutionContext(PROG_COMPUTE);
+        CorrelationResult correlationResult = calculator.calculateCorrelation(filteredTable, execCompute,
+            selectedPValAlternative(), selectedCorrelationMethod());
+        execCompute.setProgress(1.0);
 
         // Create the output
         exec.setMessage("Assembling output");
@@ -257,6 +263,10 @@ private PValueAlternative selectedPValAlternative() {
         return PValueAlternative.valueOf(m_pValAlternativeModel.getStringValue());
     }
 
+    private CorrelationMethod selectedCorrelationMethod() {
+        return CorrelationMethod.valueOf(m_correlationMethodModel.getStringValue());
+    }
+
     private ColumnPairFilter selectedColumnPairFilter() {
         return ColumnPairFilter.valueOf(m_columnPairsFilter.getStringValue());
     }
@@ -273,6 +283,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
             m_maxPossValueCountModel.saveSettingsTo(settings);
             m_pValAlternativeModel.saveSettingsTo(settings);
             m_columnPairsFilter.saveSettingsTo(settings);
+            m_correlationMethodModel.saveSettingsTo(settings);
         }
     }
 
@@ -282,6 +293,15 @@ protected void validateSettings(final NodeSettingsRO settings) throws InvalidSet
         m_maxPossValueCountModel.validateSettings(settings);
         m_pValAlternativeModel.validateSettings(settings);
         m_columnPairsFilter.validateSettings(settings);
+        if (settings.containsKey(CFG_CORRELATION_METHOD)) {
+            final SettingsModelString method = createCorrelationMethodModel();
+            method.loadSettingsFrom(settings);
+            try {
+                CorrelationMethod.valueOf(method.getStringValue());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidSettingsException("Unknown correlation method: " + method.getStringValue(), e);
+            }
+        }
     }
 
     @Override
@@ -293,6 +313,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
         m_maxPossValueCountModel.loadSettingsFrom(settings);
         m_pValAlternativeModel.loadSettingsFrom(settings);
         m_columnPairsFilter.loadSettingsFrom(settings);
+        // added in 4.4, older nodes compute Pearson's coefficient
+        if (settings.containsKey(CFG_CORRELATION_METHOD)) {
+            m_correlationMethodModel.loadSettingsFrom(settings);
+        } else {
+            m_correlationMethodModel.setStringValue(CorrelationMethod.PEARSON.name());
+        }
     }
 
     /**
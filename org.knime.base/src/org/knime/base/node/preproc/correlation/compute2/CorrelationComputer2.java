@@ -47,6 +47,7 @@
  */
 package org.knime.base.node.preproc.correlation.compute2;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -56,11 +57,17 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.commons.math3.distribution.ChiSquaredDistribution;
 import org.apache.commons.math3.distribution.TDistribution;
+import org.knime.base.data.sort.SortedTable;
+import org.knime.base.data.statistics.CovarianceAccumulator;
+import org.knime.base.data.util.ColumnProjection;
+import org.knime.base.data.util.Futures;
 import org.knime.base.node.preproc.correlation.CorrelationUtils.CorrelationResult;
 import org.knime.base.node.preproc.correlation.pmcc.PMCCPortObjectAndSpec;
 import org.knime.base.node.preproc.correlation.pmcc.PValueAlternative;
@@ -68,14 +75,27 @@
 import org.knime.base.util.HalfIntMatrix;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
 import org.knime.core.data.DoubleValue;
+import org.knime.core.data.LongValue;
 import org.knime.core.data.NominalValue;
+import org.knime.core.data.container.AbstractCellFactory;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.util.Pair;
+import org.knime.core.util.ThreadPool;
 
 import com.google.common.primitives.Ints;
 
@@ -92,6 +112,12 @@
  */
 public final class CorrelationComputer2 {
 
+    /** The minimal number of rows that are worth being processed by a separate thread. */
+    private static final long MIN_ROWS_PER_RANGE = 10000;
+
+    /** The number of rows per block of numeric values. */
+    private static final int BLOCK_SIZE = 256;
+
     private final DataTableSpec m_tableSpec;
 
     /** indices of numeric columns. */
@@ -132,6 +158,9 @@ public final class CorrelationComputer2 {
      */
     private final List<Pair<Integer, Integer>> m_numericsWithConstantValues;
 
+    /** Whether the numeric columns are ranked with sorted tables even if the ranks fit into memory. */
+    private boolean m_rankOnDisk;
+
     /**
      * Inits fields.
      *
@@ -191,16 +220,19 @@ public void calculateStatistics(final BufferedDataTable table, final ExecutionMo
         // Loop over the rows and fill the sum/sumSq/validCount matrix and possible categorical values
         long rowIndex = 1;
         final long rowCount = table.size();
-        for (DataRow r : table) {
-
-            addToSumIfValid(r, sumMatrix, sumSqMatrix, m_numericValidCountMatrix, numericCellBuffer);
-            addPossibleValues(r);
-
-            exec.checkCanceled();
-            final long currentRow = rowIndex;
-            exec.setProgress(currentRow / (double)rowCount,
-                () -> String.format("Calculating statistics - %d/%d (\"%s\")", currentRow, rowCount, r.getKey()));
-            rowIndex += 1;
+        try (final CloseableRowIterator it = ColumnProjection.iterator(table, getUsedColumnIndices())) {
+            while (it.hasNext()) {
+                final DataRow r = it.next();
+
+                addToSumIfValid(r, sumMatrix, sumSqMatrix, m_numericValidCountMatrix, numericCellBuffer);
+                addPossibleValues(r);
+
+                exec.checkCanceled();
+                final long currentRow = rowIndex;
+                exec.setProgress(currentRow / (double)rowCount, () -> String
+                    .format("Calculating statistics - %d/%d (\"%s\")", currentRow, rowCount, r.getKey()));
+                rowIndex += 1;
+            }
         }
 
         assignIndexToCategoricalValues();
@@ -337,16 +369,19 @@ public CorrelationResult calculateOutput(final BufferedDataTable table, final Ex
 
         long rowIndex = 0;
         final long rowCount = table.size();
-        for (DataRow r : table) {
+        try (final CloseableRowIterator it = ColumnProjection.iterator(table, getUsedColumnIndices())) {
+            while (it.hasNext()) {
+                final DataRow r = it.next();
 
-            addRowToNominatorMatrix(r, nominatorMatrix, numericCellBuffer);
+                addRowToNominatorMatrix(r, nominatorMatrix, numericCellBuffer);
 
-            addRowToContigencyTable(r, contingencyTables);
+                addRowToContigencyTable(r, contingencyTables);
 
-            exec.checkCanceled();
-            exec.setProgress(rowIndex / (double)rowCount,
-                String.format("Calculating statistics - %d/%d (\"%s\")", rowIndex, rowCount, r.getKey()));
-            rowIndex += 1;
+                exec.checkCanceled();
+                exec.setProgress(rowIndex / (double)rowCount,
+                    String.format("Calculating statistics - %d/%d (\"%s\")", rowIndex, rowCount, r.getKey()));
+                rowIndex += 1;
+            }
         }
 
         normalizeNumericCorrelation(nominatorMatrix);
@@ -358,6 +393,697 @@ public CorrelationResult calculateOutput(final BufferedDataTable table, final Ex
         return new CorrelationResult(nominatorMatrix, pValMatrix, dofMatrix);
     }
 
+    /**
+     * Computes the pairwise correlations in a single pass over the data (replaces {@link #calculateStatistics} followed
+     * by {@link #calculateOutput}). The table is split into row ranges which are processed concurrently; each range
+     * accumulates the co-moments of the numeric columns (see {@link CovarianceAccumulator}), the possible values of
+     * the categorical columns and the contingency tables of the categorical pairs. The partial results are merged in
+     * the order of the ranges, hence the result does not depend on the number of threads. The chi-square statistics of
+     * the categorical pairs are computed concurrently, too.
+     *
+     * <p>
+     * For {@link CorrelationMethod#SPEARMAN} the values of the numeric columns are buffered in memory, replaced by
+     * their (average) ranks and Pearson's coefficient is computed on the ranks. The ranks of a column are computed over
+     * all rows in which the column has a value. If the values don't fit into memory, each numeric column is ranked
+     * with a {@link SortedTable} on disk instead and the correlation is computed on a table holding the ranks.
+     *
+     * @param table the table, must have the structure of the spec this computer has been created with
+     * @param exec the execution context for progress and cancelation and for creating the tables of ranks
+     * @param pValueAlternative which p value should be computed
+     * @param method the correlation measure for numeric columns
+     * @return the output matrix to be turned into the output model
+     * @throws CanceledExecutionException if the execution has been canceled
+     * @since 4.4
+     */
+    public CorrelationResult calculateCorrelation(final BufferedDataTable table, final ExecutionContext exec,
+        final PValueAlternative pValueAlternative, final CorrelationMethod method) throws CanceledExecutionException {
+        assert table.getDataTableSpec().equalStructure(m_tableSpec);
+        final boolean ranked = method == CorrelationMethod.SPEARMAN && m_numericColIndexMap.length > 0;
+        if (ranked && (m_rankOnDisk || !ranksFitIntoMemory(table.size()))) {
+            // Pearson's coefficient of the ranks is Spearman's coefficient
+            exec.setMessage("Ranking numeric columns");
+            final BufferedDataTable ranks = createRankTable(table, exec.createSubExecutionContext(0.5));
+            return calculateCorrelation(ranks, exec.createSubProgress(0.5), pValueAlternative, false);
+        }
+        return calculateCorrelation(table, exec, pValueAlternative, ranked);
+    }
+
+    /**
+     * @param ranked whether the numeric values are to be buffered and replaced by their ranks
+     */
+    private CorrelationResult calculateCorrelation(final BufferedDataTable table, final ExecutionMonitor exec,
+        final PValueAlternative pValueAlternative, final boolean ranked) throws CanceledExecutionException {
+        m_numericsWithMissings.clear();
+        m_numericsWithConstantValues.clear();
+        final int numericColCount = m_numericColIndexMap.length;
+        final long rowCount = table.size();
+        final double[][] numericColumns;
+        final boolean[][] numericMissings;
+        if (ranked) {
+            numericColumns = new double[numericColCount][(int)rowCount];
+            numericMissings = new boolean[numericColCount][(int)rowCount];
+        } else {
+            numericColumns = null;
+            numericMissings = null;
+        }
+
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final Runtime runtime = Runtime.getRuntime();
+        final long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        final long nrRanges = Math.max(1, Math.min(Math.min(pool.getMaxThreads(), rowCount / MIN_ROWS_PER_RANGE),
+            freeMemory / 4 / Math.max(1, estimateRangeSize())));
+        final int[] materialized = getUsedColumnIndices();
+
+        // single scan, each row range is processed by a separate thread
+        final ExecutionMonitor readExec = exec.createSubProgress(ranked ? 0.8 : 0.95);
+        final List<RangeStatistics> ranges;
+        if (nrRanges == 1) {
+            final RangeStatistics range = new RangeStatistics(!ranked, numericColumns, numericMissings);
+            try (final CloseableRowIterator it = ColumnProjection.iterator(table, materialized)) {
+                range.addRows(it, 0, rowCount, readExec);
+            }
+            ranges = Collections.singletonList(range);
+        } else {
+            final List<Future<RangeStatistics>> futures = new ArrayList<>();
+            final long rangeSize = (rowCount + nrRanges - 1) / nrRanges;
+            for (long from = 0; from < rowCount; from += rangeSize) {
+                final long start = from;
+                final long end = Math.min(rowCount, from + rangeSize);
+                final ExecutionMonitor rangeExec = readExec.createSubProgress((end - start) / (double)rowCount);
+                futures.add(pool.enqueue(() -> {
+                    final RangeStatistics range = new RangeStatistics(!ranked, numericColumns, numericMissings);
+                    try (final CloseableRowIterator it =
+                        ColumnProjection.iterator(table, start, end - 1, materialized)) {
+                        range.addRows(it, start, end - start, rangeExec);
+                    }
+                    return range;
+                }));
+            }
+            ranges = Futures.waitFor(futures, exec);
+        }
+
+        // merge the partial results in row order
+        CovarianceAccumulator covariance =
+            numericColCount == 0 ? null : new CovarianceAccumulator(numericColCount, true);
+        for (final RangeStatistics range : ranges) {
+            m_numericsWithMissings.addAll(range.m_missingColumns);
+            if (!ranked && covariance != null) {
+                covariance.merge(range.m_covariance);
+            }
+        }
+        final int[][][] contingencyTables = mergeCategoricalStatistics(ranges);
+        if (ranked) {
+            exec.setMessage("Ranking numeric columns");
+            rankColumns(numericColumns, numericMissings, pool, exec.createSubProgress(0.05));
+            covariance = accumulateColumns(numericColumns, numericMissings, (int)rowCount, nrRanges, pool,
+                exec.createSubProgress(0.1));
+        }
+
+        final int numColumns = m_tableSpec.getNumColumns();
+        final HalfDoubleMatrix nominatorMatrix = new HalfDoubleMatrix(numColumns, /*includeDiagonal=*/false);
+        nominatorMatrix.fill(Double.NaN);
+        final HalfDoubleMatrix pValMatrix = new HalfDoubleMatrix(numColumns, false);
+        pValMatrix.fill(Double.NaN);
+        final HalfIntMatrix dofMatrix = new HalfIntMatrix(numColumns, false);
+        dofMatrix.fill(0);
+
+        setNumericStatistics(covariance);
+        handleZeroStdDev(nominatorMatrix);
+        fillNumericCorrelation(covariance, nominatorMatrix);
+        computeNumericPValues(nominatorMatrix, pValMatrix, dofMatrix, pValueAlternative);
+
+        fillCategoricalCorrelation(computeCramersVs(contingencyTables, pool, exec), nominatorMatrix, pValMatrix,
+            dofMatrix);
+        return new CorrelationResult(nominatorMatrix, pValMatrix, dofMatrix);
+    }
+
+    /** The indices of the numeric and categorical columns, the only ones that are read. */
+    private int[] getUsedColumnIndices() {
+        return Ints.concat(m_numericColIndexMap, m_categoricalColIndexMap);
+    }
+
+    /** Estimates the number of bytes the partial statistics of one row range require. */
+    private long estimateRangeSize() {
+        final long numericPairs = (long)m_numericColIndexMap.length * (m_numericColIndexMap.length + 1) / 2;
+        final long catCount = m_categoricalColIndexMap.length;
+        final long valuesPerColumn = Math.min(m_maxPossibleValues, 64);
+        return 48 * numericPairs + 4 * valuesPerColumn * valuesPerColumn * catCount * (catCount - 1) / 2;
+    }
+
+    /** @return whether the values and ranks of the numeric columns can be held in memory */
+    private boolean ranksFitIntoMemory(final long rowCount) {
+        final Runtime runtime = Runtime.getRuntime();
+        final long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        final int threads = KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads();
+        // values and missing flags of all columns plus one sorted copy per concurrently ranked column
+        final long required = rowCount * (9L * m_numericColIndexMap.length
+            + 8L * Math.max(1, Math.min(threads, m_numericColIndexMap.length)));
+        return rowCount < Integer.MAX_VALUE - 8 && required < freeMemory / 2;
+    }
+
+    /**
+     * Whether the ranks of the numeric columns are always determined with sorted tables, used by tests.
+     *
+     * @param rankOnDisk <code>true</code> to rank on disk even if the ranks fit into memory
+     */
+    void setRankOnDisk(final boolean rankOnDisk) {
+        m_rankOnDisk = rankOnDisk;
+    }
+
+    /**
+     * Creates a table with the columns of the given table in which the values of the numeric columns are replaced by
+     * their (average) ranks. Each numeric column is ranked with sorted tables, so that none of them needs to fit into
+     * memory.
+     */
+    private BufferedDataTable createRankTable(final BufferedDataTable table, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final int numericColCount = m_numericColIndexMap.length;
+        final DataTableSpec valueSpec =
+            new DataTableSpec(new DataColumnSpecCreator("index", LongCell.TYPE).createSpec(),
+                new DataColumnSpecCreator("value", DoubleCell.TYPE).createSpec());
+        final BufferedDataContainer[] valueContainers = new BufferedDataContainer[numericColCount];
+        for (int c = 0; c < numericColCount; c++) {
+            valueContainers[c] = exec.createDataContainer(valueSpec);
+        }
+        // split the numeric columns into tables of (row index, value) pairs, without the missing values
+        final ExecutionMonitor readExec = exec.createSubProgress(0.2);
+        final long rowCount = table.size();
+        long rowIndex = 0;
+        try (final CloseableRowIterator it = ColumnProjection.iterator(table, m_numericColIndexMap)) {
+            while (it.hasNext()) {
+                final DataRow r = it.next();
+                for (int c = 0; c < numericColCount; c++) {
+                    final DataCell cell = r.getCell(m_numericColIndexMap[c]);
+                    if (!cell.isMissing()) {
+                        valueContainers[c].addRowToTable(new DefaultRow(r.getKey(), new LongCell(rowIndex),
+                            new DoubleCell(((DoubleValue)cell).getDoubleValue())));
+                    }
+                }
+                readExec.checkCanceled();
+                readExec.setProgress(rowIndex / (double)rowCount);
+                rowIndex += 1;
+            }
+        }
+        final BufferedDataTable[] ranks = new BufferedDataTable[numericColCount];
+        final DataColumnSpec[] rankSpecs = new DataColumnSpec[numericColCount];
+        for (int c = 0; c < numericColCount; c++) {
+            valueContainers[c].close();
+            ranks[c] = rankColumn(valueContainers[c].getTable(), exec.createSubExecutionContext(0.7 / numericColCount));
+            rankSpecs[c] = new DataColumnSpecCreator(m_tableSpec.getColumnSpec(m_numericColIndexMap[c]).getName(),
+                DoubleCell.TYPE).createSpec();
+        }
+        final ColumnRearranger rearranger = new ColumnRearranger(table.getDataTableSpec());
+        rearranger.replace(new RankFactory(rankSpecs, ranks), m_numericColIndexMap);
+        return exec.createColumnRearrangeTable(table, rearranger, exec.createSubProgress(0.1));
+    }
+
+    /**
+     * Sorts the (row index, value) pairs by value, replaces the values by their rank (starting with 1, tied values get
+     * the average of their ranks) and sorts the pairs by row index again.
+     */
+    private static BufferedDataTable rankColumn(final BufferedDataTable values, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final BufferedDataTable sorted = new SortedTable(values,
+            (r1, r2) -> Double.compare(getValue(r1), getValue(r2)), false, exec.createSubExecutionContext(0.4))
+                .getBufferedDataTable();
+        final ExecutionMonitor rankExec = exec.createSubProgress(0.2);
+        final long size = sorted.size();
+        final BufferedDataContainer ranks = exec.createDataContainer(values.getDataTableSpec());
+        // the leading iterator finds the end of a group of tied values, the trailing one assigns their rank
+        try (final CloseableRowIterator lead = sorted.iterator();
+                final CloseableRowIterator trail = sorted.iterator()) {
+            long position = 0;
+            DataRow next = lead.hasNext() ? lead.next() : null;
+            while (next != null) {
+                final double value = getValue(next);
+                long end = position + 1;
+                next = null;
+                while (next == null && lead.hasNext()) {
+                    final DataRow r = lead.next();
+                    if (Double.compare(getValue(r), value) == 0) {
+                        end += 1;
+                    } else {
+                        next = r;
+                    }
+                }
+                // the value occupies the (zero based) positions [position, end) of the sorted values
+                final DoubleCell rank = new DoubleCell((position + end + 1) / 2.0);
+                for (; position < end; position++) {
+                    final DataRow r = trail.next();
+                    ranks.addRowToTable(new DefaultRow(r.getKey(), r.getCell(0), rank));
+                }
+                rankExec.checkCanceled();
+                rankExec.setProgress(position / (double)size);
+            }
+        }
+        ranks.close();
+        return new SortedTable(ranks.getTable(), (r1, r2) -> Long.compare(getIndex(r1), getIndex(r2)), false,
+            exec.createSubExecutionContext(0.4)).getBufferedDataTable();
+    }
+
+    private static long getIndex(final DataRow indexAndValue) {
+        return ((LongValue)indexAndValue.getCell(0)).getLongValue();
+    }
+
+    private static double getValue(final DataRow indexAndValue) {
+        return ((DoubleValue)indexAndValue.getCell(1)).getDoubleValue();
+    }
+
+    /**
+     * Replaces the cells of the numeric columns by their ranks. The tables of ranks are sorted by row index and read
+     * alongside the input table; rows without a rank have a missing value.
+     */
+    private static final class RankFactory extends AbstractCellFactory {
+
+        private final CloseableRowIterator[] m_ranks;
+
+        /** the next (row index, rank) pair of each column, <code>null</code> if there are no more. */
+        private final DataRow[] m_next;
+
+        private long m_rowIndex;
+
+        RankFactory(final DataColumnSpec[] rankSpecs, final BufferedDataTable[] ranks) {
+            super(rankSpecs);
+            m_ranks = new CloseableRowIterator[ranks.length];
+            m_next = new DataRow[ranks.length];
+            for (int c = 0; c < ranks.length; c++) {
+                m_ranks[c] = ranks[c].iterator();
+                m_next[c] = m_ranks[c].hasNext() ? m_ranks[c].next() : null;
+            }
+        }
+
+        @Override
+        public DataCell[] getCells(final DataRow row) {
+            final DataCell[] cells = new DataCell[m_ranks.length];
+            for (int c = 0; c < cells.length; c++) {
+                if (m_next[c] != null && getIndex(m_next[c]) == m_rowIndex) {
+                    cells[c] = m_next[c].getCell(1);
+                    m_next[c] = m_ranks[c].hasNext() ? m_ranks[c].next() : null;
+                } else {
+                    cells[c] = DataType.getMissingCell();
+                }
+            }
+            m_rowIndex += 1;
+            return cells;
+        }
+
+        @Override
+        public void afterProcessing() {
+            for (final CloseableRowIterator it : m_ranks) {
+                it.close();
+            }
+        }
+    }
+
+    /**
+     * Merges the possible values and the contingency tables of the categorical columns of all ranges (in the given
+     * order, so that the value indices are the same as in a sequential scan) and assigns {@link #m_possibleValues}.
+     *
+     * @return the contingency tables of all categorical pairs, <code>null</code> for pairs with a column that has too
+     *         many possible values
+     */
+    @SuppressWarnings("unchecked")
+    private int[][][] mergeCategoricalStatistics(final List<RangeStatistics> ranges) {
+        final int catCount = m_categoricalColIndexMap.length;
+        m_possibleValues = new LinkedHashMap[catCount];
+        for (int i = 0; i < catCount; i++) {
+            m_possibleValues[i] = new LinkedHashMap<>();
+        }
+        final int[][][] contingencyTables = new int[catCount * (catCount - 1) / 2][][];
+        Arrays.fill(contingencyTables, new int[0][]);
+        for (final RangeStatistics range : ranges) {
+            // maps the value indices of the range to the global value indices
+            final int[][] globalIndices = new int[catCount][];
+            for (int i = 0; i < catCount; i++) {
+                final LinkedHashMap<DataCell, Integer> values = range.m_possibleValues.get(i);
+                if (values == null || m_possibleValues[i] == null) {
+                    m_possibleValues[i] = null;
+                    continue;
+                }
+                globalIndices[i] = new int[values.size()];
+                for (final Map.Entry<DataCell, Integer> entry : values.entrySet()) {
+                    final Integer index = m_possibleValues[i].putIfAbsent(entry.getKey(), m_possibleValues[i].size());
+                    globalIndices[i][entry.getValue()] = index == null ? m_possibleValues[i].size() - 1 : index;
+                }
+                if (m_possibleValues[i].size() > m_maxPossibleValues) {
+                    m_possibleValues[i] = null;
+                }
+            }
+            int valIndex = 0;
+            for (int i = 0; i < catCount; i++) {
+                for (int j = i + 1; j < catCount; j++, valIndex++) {
+                    if (m_possibleValues[i] == null || m_possibleValues[j] == null) {
+                        contingencyTables[valIndex] = null;
+                        continue;
+                    }
+                    final int[][] counts = range.m_contingencyTables[valIndex];
+                    for (int a = 0; a < counts.length; a++) {
+                        for (int b = 0; counts[a] != null && b < counts[a].length; b++) {
+                            if (counts[a][b] > 0) {
+                                contingencyTables[valIndex] = increment(contingencyTables[valIndex],
+                                    globalIndices[i][a], globalIndices[j][b], counts[a][b]);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // bring the tables into their final rectangular shape
+        int valIndex = 0;
+        for (int i = 0; i < catCount; i++) {
+            for (int j = i + 1; j < catCount; j++, valIndex++) {
+                final int[][] counts = contingencyTables[valIndex];
+                if (counts != null) {
+                    final int[][] table = new int[m_possibleValues[i].size()][m_possibleValues[j].size()];
+                    for (int a = 0; a < counts.length; a++) {
+                        if (counts[a] != null) {
+                            System.arraycopy(counts[a], 0, table[a], 0, counts[a].length);
+                        }
+                    }
+                    contingencyTables[valIndex] = table;
+                }
+            }
+        }
+        return contingencyTables;
+    }
+
+    /**
+     * Adds the count to the given cell of a growable contingency table whose rows may be shorter than the table is
+     * wide (or <code>null</code>).
+     *
+     * @return the table, a new instance if it had to be grown
+     */
+    private static int[][] increment(final int[][] table, final int row, final int col, final int count) {
+        int[][] result = table;
+        if (row >= result.length) {
+            result = Arrays.copyOf(result, Math.max(row + 1, 2 * result.length));
+        }
+        if (result[row] == null) {
+            result[row] = new int[Math.max(col + 1, 4)];
+        } else if (col >= result[row].length) {
+            result[row] = Arrays.copyOf(result[row], Math.max(col + 1, 2 * result[row].length));
+        }
+        result[row][col] += count;
+        return result;
+    }
+
+    /**
+     * Assigns the pairwise means, standard deviations and valid counts of the numeric columns from the accumulated
+     * co-moments.
+     */
+    private void setNumericStatistics(final CovarianceAccumulator covariance) {
+        final int numericColCount = m_numericColIndexMap.length;
+        m_numericValidCountMatrix = new HalfIntMatrix(numericColCount, true);
+        m_numericMeanMatrix = new double[numericColCount][numericColCount];
+        m_numericStdDevMatrix = new double[numericColCount][numericColCount];
+        for (int i = 0; i < numericColCount; i++) {
+            for (int j = 0; j < numericColCount; j++) {
+                final long validCount = covariance.getCount(i, j);
+                if (j >= i) {
+                    m_numericValidCountMatrix.set(i, j, (int)validCount);
+                }
+                if (validCount > 1) {
+                    double variance = covariance.getVariance(i, j);
+                    if (variance < PMCCPortObjectAndSpec.ROUND_ERROR_OK) {
+                        variance = 0.0;
+                    }
+                    m_numericStdDevMatrix[i][j] = Math.sqrt(variance);
+                }
+                m_numericMeanMatrix[i][j] = validCount > 0 ? covariance.getMean(i, j) : Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Sets the correlation of all numeric pairs which have not been excluded by {@link #handleZeroStdDev}.
+     */
+    private void fillNumericCorrelation(final CovarianceAccumulator covariance,
+        final HalfDoubleMatrix nominatorMatrix) {
+        for (int i = 0; i < m_numericColIndexMap.length; i++) {
+            for (int j = i + 1; j < m_numericColIndexMap.length; j++) {
+                final int tableI = m_numericColIndexMap[i];
+                final int tableJ = m_numericColIndexMap[j];
+                if (!Double.isNaN(nominatorMatrix.get(tableI, tableJ))) {
+                    double r = covariance.getCovariance(i, j)
+                        / (m_numericStdDevMatrix[i][j] * m_numericStdDevMatrix[j][i]);
+                    if (r > 1) {
+                        // Numeric instability
+                        r = 1;
+                    }
+                    nominatorMatrix.set(tableI, tableJ, r);
+                }
+            }
+        }
+    }
+
+    /** Replaces the values of the columns by their ranks, one column per thread. */
+    private static void rankColumns(final double[][] columns, final boolean[][] missings, final ThreadPool pool,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        final List<Future<Void>> futures = new ArrayList<>(columns.length);
+        final AtomicInteger rankedColumns = new AtomicInteger();
+        for (int c = 0; c < columns.length; c++) {
+            final int col = c;
+            futures.add(pool.enqueue(() -> {
+                exec.checkCanceled();
+                rank(columns[col], missings[col]);
+                exec.setProgress(rankedColumns.incrementAndGet() / (double)columns.length);
+                return null;
+            }));
+        }
+        Futures.waitFor(futures, exec);
+    }
+
+    /**
+     * Replaces the non-missing values by their rank among these values (starting with 1), tied values get the average
+     * of their ranks.
+     */
+    private static void rank(final double[] values, final boolean[] missing) {
+        int present = 0;
+        for (int r = 0; r < values.length; r++) {
+            if (!missing[r]) {
+                present++;
+            }
+        }
+        final double[] sorted = new double[present];
+        present = 0;
+        for (int r = 0; r < values.length; r++) {
+            if (!missing[r]) {
+                sorted[present++] = values[r];
+            }
+        }
+        Arrays.sort(sorted);
+        for (int r = 0; r < values.length; r++) {
+            if (!missing[r]) {
+                // the value occupies the (zero based) positions [lower, upper) of the sorted values
+                final int lower = bound(sorted, values[r], false);
+                final int upper = bound(sorted, values[r], true);
+                values[r] = (lower + upper + 1) / 2.0;
+            }
+        }
+    }
+
+    /**
+     * @return the index of the first value that is larger (or larger or equal if <code>upper</code> is false) than the
+     *         given value
+     */
+    private static int bound(final double[] sorted, final double value, final boolean upper) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = Double.compare(sorted[mid], value);
+            if (cmp < 0 || (upper && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Accumulates the co-moments of the buffered columns, each row range in a separate thread. */
+    private static CovarianceAccumulator accumulateColumns(final double[][] columns, final boolean[][] missings,
+        final int rowCount, final long nrRanges, final ThreadPool pool, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int dim = columns.length;
+        final int rangeSize = (int)Math.max(1, (rowCount + nrRanges - 1) / nrRanges);
+        final List<Future<CovarianceAccumulator>> futures = new ArrayList<>();
+        for (long from = 0; from < rowCount; from += rangeSize) {
+            final int start = (int)from;
+            final int end = (int)Math.min(rowCount, from + rangeSize);
+            futures.add(pool.enqueue(() -> {
+                final CovarianceAccumulator acc = new CovarianceAccumulator(dim, true);
+                final double[] values = new double[BLOCK_SIZE * dim];
+                final boolean[] blockMissings = new boolean[BLOCK_SIZE * dim];
+                for (int blockStart = start, nrRows; blockStart < end; blockStart += nrRows) {
+                    exec.checkCanceled();
+                    nrRows = Math.min(BLOCK_SIZE, end - blockStart);
+                    for (int r = 0; r < nrRows; r++) {
+                        for (int c = 0; c < dim; c++) {
+                            values[r * dim + c] = columns[c][blockStart + r];
+                            blockMissings[r * dim + c] = missings[c][blockStart + r];
+                        }
+                    }
+                    acc.update(values, blockMissings, nrRows, 0, dim);
+                }
+                return acc;
+            }));
+        }
+        final CovarianceAccumulator result = new CovarianceAccumulator(dim, true);
+        for (final CovarianceAccumulator partial : Futures.waitFor(futures, exec)) {
+            result.merge(partial);
+        }
+        return result;
+    }
+
+    /** Computes Cramer's V and the chi-square p-value of all categorical pairs concurrently. */
+    private static List<Triple<Double, Double, Integer>> computeCramersVs(final int[][][] contingencyTables,
+        final ThreadPool pool, final ExecutionMonitor exec) throws CanceledExecutionException {
+        final List<Future<Triple<Double, Double, Integer>>> futures = new ArrayList<>(contingencyTables.length);
+        for (final int[][] contingencyTable : contingencyTables) {
+            futures.add(pool.enqueue(() -> computeCramersV(contingencyTable)));
+        }
+        return Futures.waitFor(futures, exec);
+    }
+
+    /**
+     * The partial statistics of a range of rows: the co-moments of the numeric columns, the possible values of the
+     * categorical columns (with their index in order of appearance) and the contingency tables of the categorical pairs
+     * indexed with these value indices.
+     */
+    private final class RangeStatistics {
+
+        /** <code>null</code> if the numeric values are buffered for ranking. */
+        private final CovarianceAccumulator m_covariance;
+
+        private final double[] m_blockValues;
+
+        private final boolean[] m_blockMissings;
+
+        private int m_blockRows;
+
+        /** the buffered numeric columns shared by all ranges, <code>null</code> if not ranked. */
+        private final double[][] m_columns;
+
+        private final boolean[][] m_columnMissings;
+
+        /** table indices of the numeric columns with missing values in order of appearance. */
+        private final Set<Integer> m_missingColumns = new LinkedHashSet<>();
+
+        /** element is <code>null</code> if column has too many distinct values. */
+        private final List<LinkedHashMap<DataCell, Integer>> m_possibleValues;
+
+        /** growable contingency tables, <code>null</code> if either column has too many distinct values. */
+        private final int[][][] m_contingencyTables;
+
+        /** the value indices of the categorical cells of the current row. */
+        private final int[] m_valueIndices;
+
+        RangeStatistics(final boolean accumulateCovariance, final double[][] columns,
+            final boolean[][] columnMissings) {
+            final int numericColCount = m_numericColIndexMap.length;
+            if (accumulateCovariance && numericColCount > 0) {
+                m_covariance = new CovarianceAccumulator(numericColCount, true);
+                m_blockValues = new double[BLOCK_SIZE * numericColCount];
+                m_blockMissings = new boolean[BLOCK_SIZE * numericColCount];
+            } else {
+                m_covariance = null;
+                m_blockValues = null;
+                m_blockMissings = null;
+            }
+            m_columns = columns;
+            m_columnMissings = columnMissings;
+            final int catCount = m_categoricalColIndexMap.length;
+            m_possibleValues = new ArrayList<>(catCount);
+            for (int i = 0; i < catCount; i++) {
+                m_possibleValues.add(new LinkedHashMap<>());
+            }
+            m_contingencyTables = new int[catCount * (catCount - 1) / 2][][];
+            Arrays.fill(m_contingencyTables, new int[0][]);
+            m_valueIndices = new int[catCount];
+        }
+
+        void addRows(final CloseableRowIterator it, final long firstRowIndex, final long nrRows,
+            final ExecutionMonitor exec) throws CanceledExecutionException {
+            long rowIndex = firstRowIndex;
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                exec.checkCanceled();
+                addNumericValues(row, rowIndex);
+                addCategoricalValues(row);
+                rowIndex++;
+                final long currentRow = rowIndex - firstRowIndex;
+                exec.setProgress(currentRow / (double)nrRows,
+                    () -> String.format("Calculating statistics - %d/%d (\"%s\")", currentRow, nrRows, row.getKey()));
+            }
+            flushBlock();
+        }
+
+        private void addNumericValues(final DataRow row, final long rowIndex) {
+            final int numericColCount = m_numericColIndexMap.length;
+            final int base = m_blockRows * numericColCount;
+            for (int i = 0; i < numericColCount; i++) {
+                final DataCell cell = row.getCell(m_numericColIndexMap[i]);
+                final boolean isMissing = cell.isMissing();
+                final double value = isMissing ? 0.0 : ((DoubleValue)cell).getDoubleValue();
+                if (isMissing) {
+                    m_missingColumns.add(m_numericColIndexMap[i]);
+                }
+                if (m_covariance != null) {
+                    m_blockValues[base + i] = value;
+                    m_blockMissings[base + i] = isMissing;
+                } else if (m_columns != null) {
+                    m_columns[i][(int)rowIndex] = value;
+                    m_columnMissings[i][(int)rowIndex] = isMissing;
+                }
+            }
+            if (m_covariance != null && ++m_blockRows == BLOCK_SIZE) {
+                flushBlock();
+            }
+        }
+
+        private void flushBlock() {
+            if (m_covariance != null && m_blockRows > 0) {
+                m_covariance.update(m_blockValues, m_blockMissings, m_blockRows, 0, m_numericColIndexMap.length);
+                m_blockRows = 0;
+            }
+        }
+
+        private void addCategoricalValues(final DataRow row) {
+            final int catCount = m_categoricalColIndexMap.length;
+            for (int i = 0; i < catCount; i++) {
+                final LinkedHashMap<DataCell, Integer> values = m_possibleValues.get(i);
+                m_valueIndices[i] = -1;
+                if (values != null) {
+                    // note: also take missing value as possible value
+                    final DataCell cell = row.getCell(m_categoricalColIndexMap[i]);
+                    final Integer index = values.get(cell);
+                    if (index != null) {
+                        m_valueIndices[i] = index;
+                    } else if (values.size() < m_maxPossibleValues) {
+                        m_valueIndices[i] = values.size();
+                        values.put(cell, m_valueIndices[i]);
+                    } else {
+                        // too many possible values
+                        m_possibleValues.set(i, null);
+                    }
+                }
+            }
+            int valIndex = 0;
+            for (int i = 0; i < catCount; i++) {
+                for (int j = i + 1; j < catCount; j++, valIndex++) {
+                    if (m_valueIndices[i] < 0 || m_valueIndices[j] < 0) {
+                        m_contingencyTables[valIndex] = null;
+                    } else {
+                        m_contingencyTables[valIndex] =
+                            increment(m_contingencyTables[valIndex], m_valueIndices[i], m_valueIndices[j], 1);
+                    }
+                }
+            }
+        }
+    }
+
     private int[][][] initContingencyTables() {
         final int catCount = m_categoricalColIndexMap.length;
         final int categoricalPairsCount = (catCount - 1) * catCount / 2;
@@ -565,11 +1291,19 @@ private static double getPearsonPValueForAlternative(final PValueAlternative pVa
 
     private void fillCategoricalCorrelation(final int[][][] contingencyTables, final HalfDoubleMatrix nominatorMatrix,
         final HalfDoubleMatrix pValMatrix, final HalfIntMatrix dofMatrix) {
+        final List<Triple<Double, Double, Integer>> stats = new ArrayList<>(contingencyTables.length);
+        for (final int[][] contingencyTable : contingencyTables) {
+            stats.add(computeCramersV(contingencyTable));
+        }
+        fillCategoricalCorrelation(stats, nominatorMatrix, pValMatrix, dofMatrix);
+    }
+
+    private void fillCategoricalCorrelation(final List<Triple<Double, Double, Integer>> pairStats,
+        final HalfDoubleMatrix nominatorMatrix, final HalfDoubleMatrix pValMatrix, final HalfIntMatrix dofMatrix) {
         int valIndex = 0;
         for (int i = 0; i < m_categoricalColIndexMap.length; i++) {
             for (int j = i + 1; j < m_categoricalColIndexMap.length; j++) {
-                int[][] contingencyTable = contingencyTables[valIndex];
-                final Triple<Double, Double, Integer> stats = computeCramersV(contingencyTable);
+                final Triple<Double, Double, Integer> stats = pairStats.get(valIndex);
                 final double cramersV = stats.getLeft();
                 final double pVal = stats.getMiddle();
                 final int dof = stats.getRight();
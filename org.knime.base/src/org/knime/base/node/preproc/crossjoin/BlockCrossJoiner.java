@@ -0,0 +1,317 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.crossjoin;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+import org.knime.base.data.util.Futures;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Joins the rows of two tables block by block on several threads. The output has the same order as joining each chunk
+ * of left rows with each chunk of right rows in turn, i.e.
+ *
+ * <pre>
+ * for each chunk of left rows
+ *     for each chunk of right rows
+ *         for each left row of the chunk
+ *             for each right row of the chunk
+ * </pre>
+ *
+ * Contiguous parts of this sequence, the tiles, are joined concurrently and written in order. The right table is read
+ * once and kept in memory unless memory becomes low, in which case it is read again for each chunk of left rows.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BlockCrossJoiner {
+
+    /** The number of pairs of rows joined by a task, large enough to outweigh the overhead of the task. */
+    private static final int MIN_PAIRS_PER_TILE = 1 << 14;
+
+    private final int m_chunkSize;
+
+    private final BiFunction<DataRow, DataRow, DataRow> m_joiner;
+
+    private final BiPredicate<DataRow, DataRow> m_condition;
+
+    /**
+     * @param chunkSize the number of rows of the chunks determining the order of the output
+     * @param joiner creates the joined row of a left and a right row
+     * @param condition the condition a left and a right row must fulfill to be joined or <code>null</code> if all
+     *            pairs of rows are joined
+     */
+    BlockCrossJoiner(final int chunkSize, final BiFunction<DataRow, DataRow, DataRow> joiner,
+        final BiPredicate<DataRow, DataRow> condition) {
+        m_chunkSize = chunkSize;
+        m_joiner = joiner;
+        m_condition = condition;
+    }
+
+    /**
+     * Cross joins the left and right data input and writes the result to the output.
+     *
+     * @param lData the left data input
+     * @param rData the right data input
+     * @param output the output, i.e., the joined table
+     * @param totalNumPairs the number of pairs of rows. Use 0 if it's not known in advance
+     * @param exec the execution context
+     * @throws Exception - If the execution was, e.g., interrupted or canceled
+     */
+    void crossJoin(final RowInput lData, final BufferedDataTable rData, final RowOutput output,
+        final long totalNumPairs, final ExecutionContext exec) throws Exception {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final Tiles tiles = new Tiles(pool.getMaxThreads() * 2, output, totalNumPairs, exec);
+        final MemoryAlertSystem memSys = MemoryAlertSystem.getInstance();
+        // the rows of the right table if they have been read completely, or are being read, and fit into memory
+        List<DataRow> rightRows = new ArrayList<DataRow>();
+        boolean rightRowsComplete = false;
+        try {
+            final List<DataRow> lDataChunk = new ArrayList<DataRow>();
+            boolean finished = false;
+            while (!finished) {
+                // collect a chunk from the left data input
+                fillLeftDataChunk(lDataChunk, lData, exec);
+                // check whether we reached the end of the left data input
+                finished = lDataChunk.size() < m_chunkSize;
+                if (lDataChunk.isEmpty()) {
+                    continue;
+                }
+                final List<DataRow> left = new ArrayList<DataRow>(lDataChunk);
+                lDataChunk.clear();
+                // join whole chunks of right rows, at least so many that a block is worth a task
+                final long pairsPerChunk = (long)left.size() * m_chunkSize;
+                final long chunksPerBlock = pairsPerChunk >= MIN_PAIRS_PER_TILE ? 1
+                    : (MIN_PAIRS_PER_TILE + pairsPerChunk - 1) / pairsPerChunk;
+                final int blockSize = (int)Math.min(Integer.MAX_VALUE, chunksPerBlock * m_chunkSize);
+                if (rightRowsComplete) {
+                    for (int from = 0; from < rightRows.size();) {
+                        final int to = (int)Math.min(rightRows.size(), (long)from + blockSize);
+                        submit(pool, tiles, left, rightRows.subList(from, to), chunksPerBlock > 1);
+                        from = to;
+                    }
+                    continue;
+                }
+                try (CloseableRowIterator rRowIt = rData.iterator()) {
+                    List<DataRow> block = new ArrayList<DataRow>();
+                    while (rRowIt.hasNext()) {
+                        exec.checkCanceled();
+                        final DataRow row = rRowIt.next();
+                        block.add(row);
+                        if (rightRows != null) {
+                            if (memSys.isMemoryLow()) {
+                                // read the right table again for the next chunks
+                                rightRows = null;
+                            } else {
+                                rightRows.add(row);
+                            }
+                        }
+                        if (block.size() == blockSize) {
+                            submit(pool, tiles, left, block, chunksPerBlock > 1);
+                            block = new ArrayList<DataRow>();
+                        }
+                    }
+                    if (!block.isEmpty()) {
+                        submit(pool, tiles, left, block, chunksPerBlock > 1);
+                    }
+                }
+                rightRowsComplete = rightRows != null;
+            }
+            tiles.flush();
+        } finally {
+            tiles.cancel();
+        }
+        output.close();
+    }
+
+    /**
+     * Splits the join of the left rows with a block of right rows into tiles of about {@link #MIN_PAIRS_PER_TILE}
+     * pairs and enqueues them in the order of the output.
+     *
+     * @param multipleChunks whether the block holds several chunks of right rows, it is joined as a whole then
+     */
+    private void submit(final ThreadPool pool, final Tiles tiles, final List<DataRow> left,
+        final List<DataRow> block, final boolean multipleChunks) throws Exception {
+        if (multipleChunks) {
+            tiles.add(pool.enqueue(createTile(left, block, m_chunkSize)), (long)left.size() * block.size());
+            return;
+        }
+        // the block is a single chunk, the left rows are joined one after another with it
+        final int leftStep = Math.max(1, MIN_PAIRS_PER_TILE / block.size());
+        final int rightStep = leftStep > 1 ? block.size() : Math.min(block.size(), MIN_PAIRS_PER_TILE);
+        for (int l = 0; l < left.size(); l += leftStep) {
+            final List<DataRow> leftRows = left.subList(l, Math.min(l + leftStep, left.size()));
+            for (int r = 0; r < block.size(); r += rightStep) {
+                final List<DataRow> rightRows = block.subList(r, Math.min(r + rightStep, block.size()));
+                tiles.add(pool.enqueue(createTile(leftRows, rightRows, rightStep)),
+                    (long)leftRows.size() * rightRows.size());
+            }
+        }
+    }
+
+    private Callable<List<DataRow>> createTile(final List<DataRow> left, final List<DataRow> right,
+        final int chunkSize) {
+        return () -> {
+            final List<DataRow> rows = new ArrayList<DataRow>();
+            for (int from = 0; from < right.size(); from += chunkSize) {
+                final int to = Math.min(from + chunkSize, right.size());
+                for (final DataRow lRow : left) {
+                    for (int r = from; r < to; r++) {
+                        final DataRow rRow = right.get(r);
+                        if (m_condition == null || m_condition.test(lRow, rRow)) {
+                            rows.add(m_joiner.apply(lRow, rRow));
+                        }
+                    }
+                }
+            }
+            return rows;
+        };
+    }
+
+    /**
+     * Fills the provided list with an unprocessed chunk of data rows.
+     *
+     * @param list the list to store the chunk of data rows to
+     * @param data the input holding the next chunk of data rows
+     * @param exec the execution context
+     * @throws InterruptedException - If the execution was interrupted
+     * @throws CanceledExecutionException - If the execution was canceled
+     */
+    private void fillLeftDataChunk(final List<DataRow> list, final RowInput data, final ExecutionContext exec)
+        throws InterruptedException, CanceledExecutionException {
+        for (int i = 0; i < m_chunkSize; i++) {
+            exec.checkCanceled();
+            final DataRow row = data.poll();
+            if (row == null) {
+                return;
+            }
+            list.add(row);
+        }
+    }
+
+    /** The enqueued tiles, whose rows are written in the order the tiles have been added. */
+    private static final class Tiles {
+
+        private final Deque<Future<List<DataRow>>> m_futures = new ArrayDeque<Future<List<DataRow>>>();
+
+        private final Deque<Long> m_pairs = new ArrayDeque<Long>();
+
+        private final int m_maxPending;
+
+        private final RowOutput m_output;
+
+        private final long m_totalNumPairs;
+
+        private final ExecutionContext m_exec;
+
+        private long m_pairCounter;
+
+        Tiles(final int maxPending, final RowOutput output, final long totalNumPairs, final ExecutionContext exec) {
+            m_maxPending = maxPending;
+            m_output = output;
+            m_totalNumPairs = totalNumPairs;
+            m_exec = exec;
+        }
+
+        /** Adds a tile, writes the oldest ones if too many are pending. */
+        void add(final Future<List<DataRow>> future, final long pairs) throws Exception {
+            m_futures.add(future);
+            m_pairs.add(pairs);
+            while (m_futures.size() > m_maxPending) {
+                writeNext();
+            }
+        }
+
+        /** Writes all pending tiles. */
+        void flush() throws Exception {
+            while (!m_futures.isEmpty()) {
+                writeNext();
+            }
+        }
+
+        /** Cancels all pending tiles. */
+        void cancel() {
+            for (final Future<List<DataRow>> future : m_futures) {
+                future.cancel(true);
+            }
+            m_futures.clear();
+        }
+
+        private void writeNext() throws Exception {
+            final List<DataRow> rows = Futures.get(m_futures.peek());
+            m_futures.poll();
+            m_pairCounter += m_pairs.poll();
+            for (final DataRow row : rows) {
+                m_exec.checkCanceled();
+                m_output.push(row);
+            }
+            if (!rows.isEmpty()) {
+                final DataRow last = rows.get(rows.size() - 1);
+                m_exec.setProgress(m_pairCounter / (double)m_totalNumPairs,
+                    () -> "Generating Row " + last.getKey().toString());
+            } else {
+                m_exec.setProgress(m_pairCounter / (double)m_totalNumPairs);
+            }
+        }
+    }
+}
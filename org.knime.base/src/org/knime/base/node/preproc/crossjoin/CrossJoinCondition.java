@@ -0,0 +1,188 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.crossjoin;
+
+import java.util.function.BiPredicate;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * A condition comparing a column of the top table with a column of the bottom table, only pairs of rows fulfilling it
+ * are joined. Rows with a missing value in one of the columns are never joined.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class CrossJoinCondition implements BiPredicate<DataRow, DataRow> {
+
+    /** The comparison of the left and the right value. */
+    enum Operator {
+        /** Equal values. */
+        EQUAL("="),
+        /** Different values. */
+        NOT_EQUAL("!="),
+        /** The left value is less than the right one. */
+        LESS("<"),
+        /** The left value is less than or equal to the right one. */
+        LESS_OR_EQUAL("<="),
+        /** The left value is greater than the right one. */
+        GREATER(">"),
+        /** The left value is greater than or equal to the right one. */
+        GREATER_OR_EQUAL(">=");
+
+        private final String m_symbol;
+
+        Operator(final String symbol) {
+            m_symbol = symbol;
+        }
+
+        /**
+         * @return the symbol shown in the dialog and stored in the settings
+         */
+        String getSymbol() {
+            return m_symbol;
+        }
+
+        private boolean test(final int comparison) {
+            switch (this) {
+                case EQUAL:
+                    return comparison == 0;
+                case NOT_EQUAL:
+                    return comparison != 0;
+                case LESS:
+                    return comparison < 0;
+                case LESS_OR_EQUAL:
+                    return comparison <= 0;
+                case GREATER:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        /**
+         * @return the symbols of all operators
+         */
+        static String[] getSymbols() {
+            final Operator[] values = values();
+            final String[] symbols = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                symbols[i] = values[i].m_symbol;
+            }
+            return symbols;
+        }
+
+        /**
+         * @param symbol the symbol of an operator
+         * @return the operator
+         * @throws InvalidSettingsException if there is no operator with the symbol
+         */
+        static Operator fromSymbol(final String symbol) throws InvalidSettingsException {
+            for (final Operator operator : values()) {
+                if (operator.m_symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            throw new InvalidSettingsException("Unknown comparison operator: " + symbol);
+        }
+    }
+
+    private final int m_leftIndex;
+
+    private final int m_rightIndex;
+
+    private final Operator m_operator;
+
+    private final DataValueComparator m_comparator;
+
+    /**
+     * @param leftSpec the spec of the top table
+     * @param leftColumn the compared column of the top table
+     * @param operator the symbol of the comparison operator
+     * @param rightSpec the spec of the bottom table
+     * @param rightColumn the compared column of the bottom table
+     * @throws InvalidSettingsException if a column does not exist or the operator is unknown
+     */
+    CrossJoinCondition(final DataTableSpec leftSpec, final String leftColumn, final String operator,
+        final DataTableSpec rightSpec, final String rightColumn) throws InvalidSettingsException {
+        if (leftColumn == null || rightColumn == null) {
+            throw new InvalidSettingsException("Please select the columns of the join condition.");
+        }
+        m_leftIndex = leftSpec.findColumnIndex(leftColumn);
+        if (m_leftIndex < 0) {
+            throw new InvalidSettingsException(
+                "The join condition column \"" + leftColumn + "\" does not exist in the top table.");
+        }
+        m_rightIndex = rightSpec.findColumnIndex(rightColumn);
+        if (m_rightIndex < 0) {
+            throw new InvalidSettingsException(
+                "The join condition column \"" + rightColumn + "\" does not exist in the bottom table.");
+        }
+        m_operator = Operator.fromSymbol(operator);
+        final DataType type = DataType.getCommonSuperType(leftSpec.getColumnSpec(m_leftIndex).getType(),
+            rightSpec.getColumnSpec(m_rightIndex).getType());
+        m_comparator = type.getComparator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean test(final DataRow left, final DataRow right) {
+        final DataCell leftCell = left.getCell(m_leftIndex);
+        final DataCell rightCell = right.getCell(m_rightIndex);
+        if (leftCell.isMissing() || rightCell.isMissing()) {
+            return false;
+        }
+        return m_operator.test(m_comparator.compare(leftCell, rightCell));
+    }
+}
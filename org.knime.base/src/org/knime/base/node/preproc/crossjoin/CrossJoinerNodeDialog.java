@@ -45,10 +45,13 @@
  *
  */
 
+import org.knime.core.data.DataValue;
 import org.knime.core.node.defaultnodesettings.DefaultNodeSettingsPane;
 import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
+import org.knime.core.node.defaultnodesettings.DialogComponentColumnNameSelection;
 import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.DialogComponentString;
+import org.knime.core.node.defaultnodesettings.DialogComponentStringSelection;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 
 /**
@@ -78,6 +81,22 @@ final class CrossJoinerNodeDialog extends DefaultNodeSettingsPane {
         addDialogComponent(new DialogComponentBoolean(showSecondRowIdsModel, "Append bottom data tables RowIds"));
         addDialogComponent(new DialogComponentString(
             CrossJoinerNodeModel.createSecondRowIdsNameSettingsModel(showSecondRowIdsModel), "Column name(bottom)"));
+
+        createNewGroup("Join condition");
+        final SettingsModelBoolean conditionEnabledModel = CrossJoinerNodeModel.createConditionEnabledSettingsModel();
+        addDialogComponent(new DialogComponentBoolean(conditionEnabledModel, "Only join rows fulfilling a condition"));
+        setHorizontalPlacement(true);
+        addDialogComponent(new DialogComponentColumnNameSelection(
+            CrossJoinerNodeModel.createConditionLeftColumnSettingsModel(conditionEnabledModel), "Top column", 0,
+            false, DataValue.class));
+        addDialogComponent(new DialogComponentStringSelection(
+            CrossJoinerNodeModel.createConditionOperatorSettingsModel(conditionEnabledModel), "",
+            CrossJoinCondition.Operator.getSymbols()));
+        addDialogComponent(new DialogComponentColumnNameSelection(
+            CrossJoinerNodeModel.createConditionRightColumnSettingsModel(conditionEnabledModel), "Bottom column", 1,
+            false, DataValue.class));
+        setHorizontalPlacement(false);
+        closeCurrentGroup();
     }
 }
 
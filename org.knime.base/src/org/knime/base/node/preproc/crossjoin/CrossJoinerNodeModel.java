@@ -47,7 +47,6 @@
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -61,7 +60,6 @@
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.StringCell;
 import org.knime.core.node.BufferedDataTable;
@@ -112,6 +110,15 @@ final class CrossJoinerNodeModel extends NodeModel {
 
     private final SettingsModelString m_nameRight = createSecondRowIdsNameSettingsModel(m_showRight);
 
+    private final SettingsModelBoolean m_conditionEnabled = createConditionEnabledSettingsModel();
+
+    private final SettingsModelString m_conditionLeft = createConditionLeftColumnSettingsModel(m_conditionEnabled);
+
+    private final SettingsModelString m_conditionOperator =
+        createConditionOperatorSettingsModel(m_conditionEnabled);
+
+    private final SettingsModelString m_conditionRight = createConditionRightColumnSettingsModel(m_conditionEnabled);
+
     /**
      * Constructor for the node model.
      */
@@ -175,83 +182,18 @@ public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final
      * @param lData the left data input
      * @param rData the right data input
      * @param output the output, i.e., the joined table
-     * @param totalNumRows the row count of the resulting table. Use 0 if it's not known in advance
+     * @param totalNumRows the row count of the product of both tables. Use 0 if it's not known in advance
      * @param exec the execution context
      * @throws Exception - If the execution was, e.g., interrupted or canceled
      */
     private void crossJoin(final RowInput lData, final BufferedDataTable rData, final RowOutput output,
         final long totalNumRows, final ExecutionContext exec) throws Exception {
-        int chunksize = m_cacheSize.getIntValue();
-        double rowCounter = 0;
-        final List<DataRow> lDataChunk = new ArrayList<DataRow>();
-        final List<DataRow> rDataChunk = new ArrayList<DataRow>();
-        boolean finished = false;
-        while (!finished) {
-            // collect a chunk from the left data input
-            fillLeftDataChunk(lDataChunk, lData, chunksize, exec);
-            // check whether we reached the end of the left data input
-            finished = lDataChunk.size() < chunksize;
-            // start joining the chunked data rows of the left data input with the right input data
-            if (!lDataChunk.isEmpty()) {
-                try (CloseableRowIterator rRowIt = rData.iterator()) {
-                    while (rRowIt.hasNext()) {
-                        // collect a chunk from the right data input
-                        fillRightDataChunk(rDataChunk, rRowIt, chunksize, exec);
-                        // join the data rows
-                        for (final DataRow lRow : lDataChunk) {
-                            for (final DataRow rRow : rDataChunk) {
-                                exec.checkCanceled();
-                                final DataRow row = joinRows(lRow, rRow);
-                                output.push(row);
-                                exec.setProgress(++rowCounter / totalNumRows,
-                                    () -> "Generating Row " + row.getKey().toString());
-                            }
-                        }
-                        rDataChunk.clear();
-                    }
-                    lDataChunk.clear();
-                }
-            }
-        }
-        output.close();
-    }
-
-    /**
-     * Fills the provided list with an unprocessed chunk of data rows.
-     *
-     * @param list the list to store the chunk of data rows to
-     * @param rowIt the data row iterator
-     * @param chunkSize the size of the chunk to be collected
-     * @throws CanceledExecutionException - If the execution was canceled
-     */
-    private static void fillRightDataChunk(final List<DataRow> list, final CloseableRowIterator rowIt,
-        final int chunkSize, final ExecutionContext exec) throws CanceledExecutionException {
-        for (int i = 0; i < chunkSize && rowIt.hasNext(); i++) {
-            exec.checkCanceled();
-            list.add(rowIt.next());
-        }
-    }
-
-    /**
-     * Fills the provided list with an unprocessed chunk of data rows.
-     *
-     * @param list the list to store the chunk of data rows to
-     * @param data the input holding the next chunk of data rows
-     * @param chunkSize the size of the chunk to be collected
-     * @param exec the execution context
-     * @throws InterruptedException - If the execution was interrupted
-     * @throws CanceledExecutionException - If the execution was canceled
-     */
-    private static void fillLeftDataChunk(final List<DataRow> list, final RowInput data, final int chunkSize,
-        final ExecutionContext exec) throws InterruptedException, CanceledExecutionException {
-        for (int i = 0; i < chunkSize; i++) {
-            exec.checkCanceled();
-            final DataRow row = data.poll();
-            if (row == null) {
-                return;
-            }
-            list.add(row);
-        }
+        final CrossJoinCondition condition = m_conditionEnabled.getBooleanValue()
+            ? new CrossJoinCondition(lData.getDataTableSpec(), m_conditionLeft.getStringValue(),
+                m_conditionOperator.getStringValue(), rData.getDataTableSpec(), m_conditionRight.getStringValue())
+            : null;
+        new BlockCrossJoiner(m_cacheSize.getIntValue(), this::joinRows, condition).crossJoin(lData, rData, output,
+            totalNumRows, exec);
     }
 
     /**
@@ -353,6 +295,11 @@ protected void reset() {
      */
     @Override
     protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+        if (m_conditionEnabled.getBooleanValue()) {
+            // checks the columns and the operator
+            new CrossJoinCondition(inSpecs[0], m_conditionLeft.getStringValue(), m_conditionOperator.getStringValue(),
+                inSpecs[1], m_conditionRight.getStringValue());
+        }
         return new DataTableSpec[]{createSpec(inSpecs[0], inSpecs[1])};
     }
 
@@ -369,6 +316,11 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_showRight.saveSettingsTo(settings);
         m_nameLeft.saveSettingsTo(settings);
         m_nameRight.saveSettingsTo(settings);
+        // new since 4.4
+        m_conditionEnabled.saveSettingsTo(settings);
+        m_conditionLeft.saveSettingsTo(settings);
+        m_conditionOperator.saveSettingsTo(settings);
+        m_conditionRight.saveSettingsTo(settings);
     }
 
     /**
@@ -387,6 +339,15 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
             m_nameLeft.loadSettingsFrom(settings);
             m_nameRight.loadSettingsFrom(settings);
         }
+        // new since 4.4
+        if (settings.containsKey(m_conditionEnabled.getKey())) {
+            m_conditionEnabled.loadSettingsFrom(settings);
+            m_conditionLeft.loadSettingsFrom(settings);
+            m_conditionOperator.loadSettingsFrom(settings);
+            m_conditionRight.loadSettingsFrom(settings);
+        } else {
+            m_conditionEnabled.setBooleanValue(false);
+        }
     }
 
     /**
@@ -417,6 +378,15 @@ protected void validateSettings(final NodeSettingsRO settings) throws InvalidSet
             m_nameLeft.validateSettings(settings);
             m_nameRight.validateSettings(settings);
         }
+        // new since 4.4
+        if (settings.containsKey(m_conditionEnabled.getKey())) {
+            m_conditionEnabled.validateSettings(settings);
+            m_conditionLeft.validateSettings(settings);
+            m_conditionOperator.validateSettings(settings);
+            m_conditionRight.validateSettings(settings);
+            CrossJoinCondition.Operator.fromSymbol(
+                ((SettingsModelString)m_conditionOperator.createCloneWithValidatedValue(settings)).getStringValue());
+        }
     }
 
     /**
@@ -497,6 +467,48 @@ public void stateChanged(final ChangeEvent e) {
         return settingsModel;
     }
 
+    /**
+     * @return the SM for joining only rows fulfilling a condition
+     */
+    static SettingsModelBoolean createConditionEnabledSettingsModel() {
+        return new SettingsModelBoolean("CFG_CONDITION", false);
+    }
+
+    /**
+     * @param conditionEnabledSettingsModel the enable checker model.
+     * @return the SM for the compared column of the top table
+     */
+    static SettingsModelString
+        createConditionLeftColumnSettingsModel(final SettingsModelBoolean conditionEnabledSettingsModel) {
+        return enableWith(new SettingsModelString("CFG_CONDITION_LEFT", null), conditionEnabledSettingsModel);
+    }
+
+    /**
+     * @param conditionEnabledSettingsModel the enable checker model.
+     * @return the SM for the comparison operator of the condition
+     */
+    static SettingsModelString
+        createConditionOperatorSettingsModel(final SettingsModelBoolean conditionEnabledSettingsModel) {
+        return enableWith(new SettingsModelString("CFG_CONDITION_OPERATOR",
+            CrossJoinCondition.Operator.EQUAL.getSymbol()), conditionEnabledSettingsModel);
+    }
+
+    /**
+     * @param conditionEnabledSettingsModel the enable checker model.
+     * @return the SM for the compared column of the bottom table
+     */
+    static SettingsModelString
+        createConditionRightColumnSettingsModel(final SettingsModelBoolean conditionEnabledSettingsModel) {
+        return enableWith(new SettingsModelString("CFG_CONDITION_RIGHT", null), conditionEnabledSettingsModel);
+    }
+
+    private static SettingsModelString enableWith(final SettingsModelString settingsModel,
+        final SettingsModelBoolean enabledSettingsModel) {
+        enabledSettingsModel.addChangeListener(e -> settingsModel.setEnabled(enabledSettingsModel.getBooleanValue()));
+        settingsModel.setEnabled(enabledSettingsModel.getBooleanValue());
+        return settingsModel;
+    }
+
     /**
      * Creates a settings model for the suffix of duplicate column names in the right table.
      *
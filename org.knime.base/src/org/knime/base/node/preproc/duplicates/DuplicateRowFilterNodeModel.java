@@ -51,7 +51,6 @@
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import org.knime.base.node.preproc.duplicates.DuplicateRowFilterSettings.RowSelectionType;
@@ -61,6 +60,7 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
 import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.container.ColumnRearranger;
 import org.knime.core.data.container.SingleCellFactory;
@@ -131,10 +131,15 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         // sort the table according to the selected group columns
         final String[] grpCols = m_settings.getGroupCols(data.getDataTableSpec()).getIncludes();
 
+        // retaining the row order doesn't require any sorting if the groups are hashed
+        if (m_settings.retainOrder()) {
+            return new BufferedDataTable[]{filterWithHashing(exec, grpCols, data)};
+        }
+
         // append the row order column if required
         final boolean hasOrderCol;
         final ExecutionContext mainContext;
-        if (m_settings.retainOrder() || m_settings.getRowSelectionType() == RowSelectionType.LAST) {
+        if (m_settings.getRowSelectionType() == RowSelectionType.LAST) {
             hasOrderCol = true;
             mainContext = exec.createSubExecutionContext(0.95);
             data = addOrderColumn(exec.createSubExecutionContext(0.05), data, orderColName);
@@ -146,8 +151,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         final ExecutionContext sortContext = mainContext.createSubExecutionContext(0.9);
         final ExecutionContext duplicatesContext = mainContext.createSubExecutionContext(0.1);
 
-        data = sortTable(data, m_settings.retainOrder() ? sortContext.createSubExecutionContext(0.5) : sortContext,
-            grpCols, orderColName);
+        data = sortTable(data, sortContext, grpCols, orderColName);
 
         // removed / flag duplicates
         if (m_settings.removeDuplicates()) {
@@ -156,14 +160,6 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
             data = appendColumns(duplicatesContext, grpCols, data);
         }
 
-        // retain the row order
-        if (m_settings.retainOrder()) {
-            final BufferedDataTableSorter sorter =
-                new BufferedDataTableSorter(data, Collections.singletonList(orderColName), new boolean[]{true}, false);
-            sorter.setSortInMemory(m_settings.inMemory());
-            data = sorter.sort(sortContext.createSubExecutionContext(0.5));
-        }
-
         // remove the ordering column if required
         if (hasOrderCol) {
             final ColumnRearranger cR = new ColumnRearranger(data.getDataTableSpec());
@@ -175,6 +171,27 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         return new BufferedDataTable[]{data};
     }
 
+    /**
+     * Removes or labels the duplicates in input order without sorting the table.
+     *
+     * @param exec the execution context
+     * @param grpCols the columns used to identify duplicates
+     * @param data the data
+     * @return the table without duplicates or with the additional columns
+     * @throws CanceledExecutionException - If the execution has been canceled
+     */
+    private BufferedDataTable filterWithHashing(final ExecutionContext exec, final String[] grpCols,
+        final BufferedDataTable data) throws CanceledExecutionException {
+        final DataTableSpec spec = data.getDataTableSpec();
+        final RowSelectionType rowSelectionType = m_settings.getRowSelectionType();
+        final int refIndex =
+            rowSelectionType.supportsRefCol() ? spec.findColumnIndex(m_settings.getReferenceCol()) : -1;
+        final HashDuplicateFilter filter = new HashDuplicateFilter(spec, spec.columnsToIndices(grpCols),
+            rowSelectionType, refIndex, m_settings.removeDuplicates() ? null : createAdditionalColsSpec(spec),
+            this::createRow);
+        return filter.execute(data, exec);
+    }
+
     /**
      * Adds a column used to later on retain the original row order.
      *
@@ -291,7 +308,7 @@ private BufferedDataTable appendColumns(final ExecutionContext exec, final Strin
                 final DataRow row;
                 // if cur row is not the first in the group it must be a duplicate
                 if (!isFirstRowInGrp) {
-                    row = createRow(curRow, DUPLICATE_IDENTIFIER, referenceKey);
+                    row = createRow(curRow.getKey(), DUPLICATE_IDENTIFIER, referenceKey);
                     if (diffGroup) {
                         isFirstRowInGrp = true;
                     }
@@ -299,9 +316,9 @@ private BufferedDataTable appendColumns(final ExecutionContext exec, final Strin
                     // if cur row isFirstRowInGrp and nextEntry belongs to a different group curRow is unique
                     referenceKey = DataType.getMissingCell();
                     if (diffGroup) {
-                        row = createRow(curRow, UNIQUE_IDENTIFIER, referenceKey);
+                        row = createRow(curRow.getKey(), UNIQUE_IDENTIFIER, referenceKey);
                     } else {
-                        row = createRow(curRow, CHOSEN_IDENTIFIER, referenceKey);
+                        row = createRow(curRow.getKey(), CHOSEN_IDENTIFIER, referenceKey);
                         referenceKey = new StringCell(curRow.getKey().getString());
                         isFirstRowInGrp = false;
                     }
@@ -312,22 +329,22 @@ private BufferedDataTable appendColumns(final ExecutionContext exec, final Strin
             } while (nextRow != null);
             // add the last row
             if (isFirstRowInGrp) {
-                cont.addRowToTable(createRow(curRow, UNIQUE_IDENTIFIER, DataType.getMissingCell()));
+                cont.addRowToTable(createRow(curRow.getKey(), UNIQUE_IDENTIFIER, DataType.getMissingCell()));
             } else {
-                cont.addRowToTable(createRow(curRow, DUPLICATE_IDENTIFIER, referenceKey));
+                cont.addRowToTable(createRow(curRow.getKey(), DUPLICATE_IDENTIFIER, referenceKey));
             }
         }
         cont.close();
         return exec.createJoinedTable(sortedTbl, cont.getTable(), exec);
     }
 
-    private DataRow createRow(final DataRow curRow, final StringCell label, final DataCell referenceKey) {
+    private DataRow createRow(final RowKey key, final StringCell label, final DataCell referenceKey) {
         if (m_settings.addUniqueLabel() && m_settings.addRowLabel()) {
-            return new DefaultRow(curRow.getKey(), label, referenceKey);
+            return new DefaultRow(key, label, referenceKey);
         } else if (m_settings.addUniqueLabel()) {
-            return new DefaultRow(curRow.getKey(), label);
+            return new DefaultRow(key, label);
         } else {
-            return new DefaultRow(curRow.getKey(), referenceKey);
+            return new DefaultRow(key, referenceKey);
         }
     }
 
@@ -0,0 +1,514 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.duplicates;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.knime.base.data.util.ColumnProjection;
+import org.knime.base.node.preproc.duplicates.DuplicateRowFilterSettings.RowSelectionType;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+
+/**
+ * Identifies duplicate rows without sorting the table. A first pass over the group (and reference) columns determines
+ * the chosen row of each group, which is kept in a hash map keyed on the group values; a second pass then writes the
+ * output in the order of the input table.
+ * <p>
+ * If the groups do not fit into memory, the group values of all rows are hash partitioned to disk and each partition
+ * is processed on its own. As the rows of each partition are in input order, so are the results of each partition and
+ * the final pass merges them back into input order by recomputing the partition of each row.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class HashDuplicateFilter {
+
+    /** The maximum number of partitions if the groups do not fit into memory. */
+    private static final int MAX_NR_PARTITIONS = 256;
+
+    /** The minimum number of rows read before switching to partitions if memory becomes low. */
+    private static final long MIN_ROWS_READ = 10000;
+
+    /** Creates the row holding the additional columns of a row. */
+    @FunctionalInterface
+    interface LabelRowFactory {
+        /**
+         * @param key the key of the row
+         * @param label the type of the row, i.e. unique, chosen or duplicate
+         * @param referenceKey the key of the chosen row of the group if the row is a duplicate, a missing cell
+         *            otherwise
+         * @return the row holding the additional columns
+         */
+        DataRow createRow(RowKey key, StringCell label, DataCell referenceKey);
+    }
+
+    private final int[] m_grpIndices;
+
+    private final int m_refIndex;
+
+    private final RowSelectionType m_rowSelectionType;
+
+    private final DataValueComparator m_refComparator;
+
+    private final DataTableSpec m_labelSpec;
+
+    private final LabelRowFactory m_labelRowFactory;
+
+    /**
+     * Creates a new filter that removes the duplicates.
+     *
+     * @param spec the spec of the input table
+     * @param grpIndices the indices of the columns used to identify duplicates
+     * @param rowSelectionType how to choose the row of each group
+     * @param refIndex the index of the reference column if the row selection type requires one, -1 otherwise
+     * @param labelSpec the spec of the additional columns or <code>null</code> if duplicates are removed
+     * @param labelRowFactory creates the additional columns, not used if duplicates are removed
+     */
+    HashDuplicateFilter(final DataTableSpec spec, final int[] grpIndices, final RowSelectionType rowSelectionType,
+        final int refIndex, final DataTableSpec labelSpec, final LabelRowFactory labelRowFactory) {
+        m_grpIndices = grpIndices.clone();
+        m_rowSelectionType = rowSelectionType;
+        m_refIndex = rowSelectionType.supportsRefCol() ? refIndex : -1;
+        m_refComparator = m_refIndex < 0 ? null : spec.getColumnSpec(m_refIndex).getType().getComparator();
+        m_labelSpec = labelSpec;
+        m_labelRowFactory = labelRowFactory;
+    }
+
+    private boolean isRemoveDuplicates() {
+        return m_labelSpec == null;
+    }
+
+    /**
+     * Removes or labels the duplicates of the given table.
+     *
+     * @param data the input table
+     * @param exec the execution context
+     * @return the rows of the table without duplicates or all rows with the additional columns, in input order
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    BufferedDataTable execute(final BufferedDataTable data, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final int[] usedIndices = getUsedIndices();
+        final ExecutionContext groupExec = exec.createSubExecutionContext(0.4);
+        final ExecutionContext writeExec = exec.createSubExecutionContext(0.6);
+        final long nRows = data.size();
+
+        // determine the chosen row of each group unless memory becomes low
+        final MemoryAlertSystem memSys = MemoryAlertSystem.getInstance();
+        Groups groups = new Groups(m_grpIndices, m_refIndex);
+        boolean fullyFitsIntoMemory = true;
+        long rowIdx = 0;
+        try (final CloseableRowIterator it = ColumnProjection.iterator(data, usedIndices)) {
+            while (it.hasNext()) {
+                groupExec.checkCanceled();
+                groups.add(it.next(), rowIdx);
+                rowIdx++;
+                groupExec.setProgress(rowIdx / (double)nRows, () -> "Identifying duplicates...");
+                if (memSys.isMemoryLow() && rowIdx >= MIN_ROWS_READ && it.hasNext()) {
+                    fullyFitsIntoMemory = false;
+                    break;
+                }
+            }
+        }
+        if (fullyFitsIntoMemory) {
+            return write(data, groups, writeExec);
+        }
+
+        // release the partial groups and partition the rows instead, each partition holding about half as many rows
+        // as have been processed before memory became low
+        groups = null;
+        final int nrPartitions =
+            (int)Math.min(MAX_NR_PARTITIONS, Math.max(2, 2 * ((nRows + rowIdx - 1) / rowIdx)));
+        return executePartitioned(data, usedIndices, nrPartitions, writeExec);
+    }
+
+    /**
+     * Removes or labels the duplicates of the given table partition by partition, as done if the groups do not fit
+     * into memory.
+     *
+     * @param data the input table
+     * @param nrPartitions the number of partitions
+     * @param exec the execution context
+     * @return the rows of the table without duplicates or all rows with the additional columns, in input order
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    BufferedDataTable executePartitioned(final BufferedDataTable data, final int nrPartitions,
+        final ExecutionContext exec) throws CanceledExecutionException {
+        return executePartitioned(data, getUsedIndices(), nrPartitions, exec);
+    }
+
+    private int[] getUsedIndices() {
+        return m_refIndex < 0 ? m_grpIndices : ColumnProjection.concat(m_grpIndices, m_refIndex);
+    }
+
+    private BufferedDataTable write(final BufferedDataTable data, final Groups groups, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final long nRows = data.size();
+        long rowIdx = 0;
+        if (isRemoveDuplicates()) {
+            final BufferedDataContainer cont = exec.createDataContainer(data.getDataTableSpec());
+            for (final DataRow row : data) {
+                exec.checkCanceled();
+                if (groups.get(row).m_chosenIdx == rowIdx) {
+                    cont.addRowToTable(row);
+                }
+                rowIdx++;
+                exec.setProgress(rowIdx / (double)nRows, () -> "Removing duplicates...");
+            }
+            cont.close();
+            return cont.getTable();
+        }
+        final ExecutionContext labelExec = exec.createSubExecutionContext(0.9);
+        final BufferedDataContainer cont = labelExec.createDataContainer(m_labelSpec);
+        try (final CloseableRowIterator it = ColumnProjection.iterator(data, m_grpIndices)) {
+            while (it.hasNext()) {
+                labelExec.checkCanceled();
+                final DataRow row = it.next();
+                cont.addRowToTable(createLabelRow(row.getKey(), groups.get(row), rowIdx));
+                rowIdx++;
+                labelExec.setProgress(rowIdx / (double)nRows, () -> "Labeling duplicates...");
+            }
+        }
+        cont.close();
+        return exec.createJoinedTable(data, cont.getTable(), exec.createSubExecutionContext(0.1));
+    }
+
+    private BufferedDataTable executePartitioned(final BufferedDataTable data, final int[] usedIndices,
+        final int nrPartitions, final ExecutionContext exec) throws CanceledExecutionException {
+        final ExecutionContext partitionExec = exec.createSubExecutionContext(0.3);
+        final ExecutionContext groupExec = exec.createSubExecutionContext(0.4);
+        final ExecutionContext writeExec = exec.createSubExecutionContext(0.3);
+        final long nRows = data.size();
+
+        // partition the row index and the used cells of each row by its group, keeping the row key
+        final DataTableSpec spec = data.getDataTableSpec();
+        final DataColumnSpec[] partitionCols = new DataColumnSpec[usedIndices.length + 1];
+        partitionCols[0] =
+            new DataColumnSpecCreator(DataTableSpec.getUniqueColumnName(spec, "index"), LongCell.TYPE).createSpec();
+        for (int i = 0; i < usedIndices.length; i++) {
+            partitionCols[i + 1] = spec.getColumnSpec(usedIndices[i]);
+        }
+        final BufferedDataContainer[] partitionConts =
+            createContainers(partitionExec, new DataTableSpec(partitionCols), nrPartitions);
+        long rowIdx = 0;
+        try (final CloseableRowIterator it = ColumnProjection.iterator(data, usedIndices)) {
+            while (it.hasNext()) {
+                partitionExec.checkCanceled();
+                final DataRow row = it.next();
+                final DataCell[] cells = new DataCell[partitionCols.length];
+                cells[0] = new LongCell(rowIdx);
+                for (int i = 0; i < usedIndices.length; i++) {
+                    cells[i + 1] = row.getCell(usedIndices[i]);
+                }
+                partitionConts[partition(row, m_grpIndices, nrPartitions)]
+                    .addRowToTable(new DefaultRow(row.getKey(), cells));
+                rowIdx++;
+                partitionExec.setProgress(rowIdx / (double)nRows, () -> "Partitioning rows...");
+            }
+        }
+        final BufferedDataTable[] partitions = closeContainers(partitionConts);
+
+        // determine the chosen rows partition by partition, the results of each partition are in input order
+        final int[] partitionGrpIndices = IntStream.rangeClosed(1, m_grpIndices.length).toArray();
+        final int partitionRefIndex = m_refIndex < 0 ? -1 : m_grpIndices.length + 1;
+        final DataColumnSpec[] resultCols;
+        if (isRemoveDuplicates()) {
+            resultCols = new DataColumnSpec[]{partitionCols[0]};
+        } else {
+            resultCols = new DataColumnSpec[m_labelSpec.getNumColumns() + 1];
+            resultCols[0] = partitionCols[0];
+            for (int i = 0; i < m_labelSpec.getNumColumns(); i++) {
+                resultCols[i + 1] = m_labelSpec.getColumnSpec(i);
+            }
+        }
+        final BufferedDataContainer[] resultConts =
+            createContainers(groupExec, new DataTableSpec(resultCols), nrPartitions);
+        for (int p = 0; p < nrPartitions; p++) {
+            final int partition = p + 1;
+            groupExec.setProgress(p / (double)nrPartitions,
+                () -> "Identifying duplicates in partition " + partition + " of " + nrPartitions + "...");
+            final Groups groups = new Groups(partitionGrpIndices, partitionRefIndex);
+            for (final DataRow row : partitions[p]) {
+                groupExec.checkCanceled();
+                groups.add(row, ((LongValue)row.getCell(0)).getLongValue());
+            }
+            for (final DataRow row : partitions[p]) {
+                groupExec.checkCanceled();
+                final long idx = ((LongValue)row.getCell(0)).getLongValue();
+                final Group group = groups.get(row);
+                if (isRemoveDuplicates()) {
+                    if (group.m_chosenIdx == idx) {
+                        resultConts[p].addRowToTable(new DefaultRow(row.getKey(), row.getCell(0)));
+                    }
+                } else {
+                    final DataRow labelRow = createLabelRow(row.getKey(), group, idx);
+                    final DataCell[] cells = new DataCell[resultCols.length];
+                    cells[0] = row.getCell(0);
+                    for (int i = 1; i < cells.length; i++) {
+                        cells[i] = labelRow.getCell(i - 1);
+                    }
+                    resultConts[p].addRowToTable(new DefaultRow(row.getKey(), cells));
+                }
+            }
+            exec.clearTable(partitions[p]);
+        }
+        final BufferedDataTable[] results = closeContainers(resultConts);
+
+        // merge the results into input order, the partition of each row tells which result comes next
+        final CloseableRowIterator[] resultIts = new CloseableRowIterator[nrPartitions];
+        final DataRow[] nextResults = new DataRow[nrPartitions];
+        try {
+            for (int p = 0; p < nrPartitions; p++) {
+                resultIts[p] = results[p].iterator();
+                nextResults[p] = resultIts[p].hasNext() ? resultIts[p].next() : null;
+            }
+            final BufferedDataContainer cont = writeExec.createDataContainer(
+                isRemoveDuplicates() ? data.getDataTableSpec() : m_labelSpec);
+            rowIdx = 0;
+            try (final CloseableRowIterator it = isRemoveDuplicates() ? data.iterator()
+                : ColumnProjection.iterator(data, m_grpIndices)) {
+                while (it.hasNext()) {
+                    writeExec.checkCanceled();
+                    final DataRow row = it.next();
+                    final int p = partition(row, m_grpIndices, nrPartitions);
+                    final DataRow result = nextResults[p];
+                    if (result != null && ((LongValue)result.getCell(0)).getLongValue() == rowIdx) {
+                        if (isRemoveDuplicates()) {
+                            cont.addRowToTable(row);
+                        } else {
+                            final DataCell[] cells = new DataCell[result.getNumCells() - 1];
+                            for (int i = 0; i < cells.length; i++) {
+                                cells[i] = result.getCell(i + 1);
+                            }
+                            cont.addRowToTable(new DefaultRow(result.getKey(), cells));
+                        }
+                        nextResults[p] = resultIts[p].hasNext() ? resultIts[p].next() : null;
+                    }
+                    rowIdx++;
+                    writeExec.setProgress(rowIdx / (double)nRows, () -> "Writing rows...");
+                }
+            }
+            cont.close();
+            if (isRemoveDuplicates()) {
+                return cont.getTable();
+            }
+            return exec.createJoinedTable(data, cont.getTable(), exec);
+        } finally {
+            for (int p = 0; p < nrPartitions; p++) {
+                if (resultIts[p] != null) {
+                    resultIts[p].close();
+                }
+                exec.clearTable(results[p]);
+            }
+        }
+    }
+
+    private DataRow createLabelRow(final RowKey key, final Group group, final long rowIdx) {
+        if (!group.m_hasDuplicates) {
+            return m_labelRowFactory.createRow(key, DuplicateRowFilterNodeModel.UNIQUE_IDENTIFIER,
+                DataType.getMissingCell());
+        } else if (group.m_chosenIdx == rowIdx) {
+            return m_labelRowFactory.createRow(key, DuplicateRowFilterNodeModel.CHOSEN_IDENTIFIER,
+                DataType.getMissingCell());
+        } else {
+            return m_labelRowFactory.createRow(key, DuplicateRowFilterNodeModel.DUPLICATE_IDENTIFIER,
+                new StringCell(group.m_chosenKey.getString()));
+        }
+    }
+
+    private static int hash(final DataRow row, final int[] grpIndices) {
+        int hash = 1;
+        for (final int i : grpIndices) {
+            hash = 31 * hash + row.getCell(i).hashCode();
+        }
+        return hash;
+    }
+
+    private static int partition(final DataRow row, final int[] grpIndices, final int nrPartitions) {
+        // spread the bits of the hash code before reducing it to the number of partitions
+        return (int)Long.remainderUnsigned(hash(row, grpIndices) * 0x9E3779B97F4A7C15L, nrPartitions);
+    }
+
+    private static BufferedDataContainer[] createContainers(final ExecutionContext exec, final DataTableSpec spec,
+        final int nrPartitions) {
+        final BufferedDataContainer[] containers = new BufferedDataContainer[nrPartitions];
+        for (int p = 0; p < nrPartitions; p++) {
+            // the partitions are written to disk right away as they do not fit into memory altogether
+            containers[p] = exec.createDataContainer(spec, false, 0);
+        }
+        return containers;
+    }
+
+    private static BufferedDataTable[] closeContainers(final BufferedDataContainer[] containers) {
+        final BufferedDataTable[] tables = new BufferedDataTable[containers.length];
+        for (int p = 0; p < containers.length; p++) {
+            containers[p].close();
+            tables[p] = containers[p].getTable();
+        }
+        return tables;
+    }
+
+    /** The groups of a table with their chosen rows. */
+    private final class Groups {
+
+        private final Map<GroupKey, Group> m_groups = new HashMap<>();
+
+        private final int[] m_groupIndices;
+
+        private final int m_referenceIndex;
+
+        Groups(final int[] grpIndices, final int refIndex) {
+            m_groupIndices = grpIndices;
+            m_referenceIndex = refIndex;
+        }
+
+        void add(final DataRow row, final long rowIdx) {
+            final GroupKey key = new GroupKey(row, m_groupIndices);
+            final DataCell ref = m_referenceIndex < 0 ? null : row.getCell(m_referenceIndex);
+            final Group group = m_groups.get(key);
+            if (group == null) {
+                m_groups.put(key, new Group(rowIdx, row.getKey(), ref));
+            } else {
+                group.m_hasDuplicates = true;
+                if (isPreferred(ref, group.m_chosenRef)) {
+                    group.m_chosenIdx = rowIdx;
+                    group.m_chosenKey = row.getKey();
+                    group.m_chosenRef = ref;
+                }
+            }
+        }
+
+        Group get(final DataRow row) {
+            return m_groups.get(new GroupKey(row, m_groupIndices));
+        }
+
+        /** Whether a later row replaces the chosen row, ties are resolved in favor of the earlier row. */
+        private boolean isPreferred(final DataCell ref, final DataCell chosenRef) {
+            switch (m_rowSelectionType) {
+                case LAST:
+                    return true;
+                case MINIMUM:
+                case MAXIMUM:
+                    // missing values are only chosen if there is no other value
+                    if (ref.isMissing()) {
+                        return false;
+                    }
+                    if (chosenRef.isMissing()) {
+                        return true;
+                    }
+                    final int cmp = m_refComparator.compare(ref, chosenRef);
+                    return m_rowSelectionType == RowSelectionType.MINIMUM ? cmp < 0 : cmp > 0;
+                case FIRST:
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /** The values of the group columns of a row. */
+    private static final class GroupKey {
+
+        private final DataCell[] m_cells;
+
+        private final int m_hash;
+
+        GroupKey(final DataRow row, final int[] grpIndices) {
+            m_cells = new DataCell[grpIndices.length];
+            for (int i = 0; i < grpIndices.length; i++) {
+                m_cells[i] = row.getCell(grpIndices[i]);
+            }
+            m_hash = hash(row, grpIndices);
+        }
+
+        @Override
+        public int hashCode() {
+            return m_hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof GroupKey && Arrays.equals(m_cells, ((GroupKey)obj).m_cells);
+        }
+    }
+
+    /** The chosen row of a group. */
+    private static final class Group {
+
+        private long m_chosenIdx;
+
+        private RowKey m_chosenKey;
+
+        private DataCell m_chosenRef;
+
+        private boolean m_hasDuplicates;
+
+        Group(final long chosenIdx, final RowKey chosenKey, final DataCell chosenRef) {
+            m_chosenIdx = chosenIdx;
+            m_chosenKey = chosenKey;
+            m_chosenRef = chosenRef;
+        }
+    }
+}
@@ -47,12 +47,10 @@
  */
 package org.knime.base.node.preproc.filter.row2;
 
+import org.knime.base.node.preproc.filter.row2.operator.CompiledRowPredicate;
 import org.knime.base.node.preproc.filter.row2.operator.RowPredicate;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.container.CloseableRowIterator;
-import org.knime.core.data.container.filter.TableFilter;
-import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -103,10 +101,11 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws Invali
      */
     private static void filterInput(final RowInput inData, final RowOutput outData, final RowPredicate rowPredicate,
         final ExecutionContext exec) throws InterruptedException, CanceledExecutionException {
+        final CompiledRowPredicate compiledPredicate = rowPredicate.compile();
         DataRow row;
         for (long i = 0; (row = inData.poll()) != null; i++) {
             exec.checkCanceled();
-            if (rowPredicate.test(row, i)) {
+            if (compiledPredicate.test(row, i)) {
                 outData.push(row);
             }
         }
@@ -118,47 +117,9 @@ private static void filterInput(final RowInput inData, final RowOutput outData,
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
         final BufferedDataTable in = inData[0];
-        final BufferedDataContainer container = exec.createDataContainer(in.getDataTableSpec());
-        exec.setMessage("Searching first matching row...");
         // Create RowPredicate
         final RowPredicate rowPredicate = createRowPredicate(in.getDataTableSpec());
-        final long totalRowCount = in.size();
-        final double totalRowCountDouble = totalRowCount;
-        // progress is handled here, so the subprogress for the iterator should have no contribution to the progress
-        try (CloseableRowIterator rowIterator =
-            in.filter(createTableFilter(rowPredicate), exec.createSilentSubProgress(0)).iterator()) {
-            for (long i = getStartIdx(rowPredicate); rowIterator.hasNext(); i++) {
-                exec.checkCanceled();
-                final DataRow row = rowIterator.next();
-                final long finalI = i;
-                exec.setProgress(i / totalRowCountDouble,
-                    () -> String.format("Testing row %s/%s, (%s)", finalI, totalRowCount, row.getKey()));
-                if (rowPredicate.test(row, i)) {
-                    container.addRowToTable(row);
-                }
-            }
-        }
-        container.close();
-        return new BufferedDataTable[]{container.getTable()};
-    }
-
-    private static long getStartIdx(final RowPredicate rowPredicate) {
-        if (rowPredicate.getRowIndexRange().hasLowerBound()) {
-            return rowPredicate.getRowIndexRange().lowerEndpoint();
-        } else {
-            return 0;
-        }
-    }
-
-    private static TableFilter createTableFilter(final RowPredicate rowPredicate) {
-        TableFilter.Builder tableFilterBuilder = new TableFilter.Builder();
-        if (rowPredicate.getRowIndexRange().hasLowerBound()) {
-            tableFilterBuilder = tableFilterBuilder.withFromRowIndex(rowPredicate.getRowIndexRange().lowerEndpoint());
-        }
-        if (rowPredicate.getRowIndexRange().hasUpperBound()) {
-            tableFilterBuilder = tableFilterBuilder.withToRowIndex(rowPredicate.getRowIndexRange().upperEndpoint());
-        }
-        return tableFilterBuilder.build();
+        return RowRangeFilter.filter(in, rowPredicate, false, exec);
     }
 
     @Override
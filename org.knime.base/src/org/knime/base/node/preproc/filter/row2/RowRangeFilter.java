@@ -0,0 +1,176 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.row2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Future;
+
+import org.knime.base.data.util.Futures;
+import org.knime.base.node.preproc.filter.row2.operator.CompiledRowPredicate;
+import org.knime.base.node.preproc.filter.row2.operator.RowPredicate;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+import com.google.common.collect.Range;
+
+/**
+ * Filters or splits a table by splitting it into ranges of row indices that are processed concurrently. Each range is
+ * read via a {@link TableFilter}, tested with its own {@link CompiledRowPredicate} and written to its own containers,
+ * which are concatenated in the order of the ranges afterwards. Hence, the output is identical to a sequential pass.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowRangeFilter {
+
+    /** The minimum number of rows processed by a single thread. */
+    private static final long MIN_ROWS_PER_RANGE = 10000;
+
+    private RowRangeFilter() {
+        // static utility class
+    }
+
+    /**
+     * Filters or splits the table.
+     *
+     * @param table the table to filter
+     * @param rowPredicate the predicate a row needs to pass in order to be included (in the first output)
+     * @param split <code>true</code> if the rows that don't pass the predicate are returned in a second table,
+     *            <code>false</code> if they are discarded
+     * @param exec the execution context
+     * @return the table with the matching rows and, if split, the table with the non-matching rows
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    static BufferedDataTable[] filter(final BufferedDataTable table, final RowPredicate rowPredicate,
+        final boolean split, final ExecutionContext exec) throws CanceledExecutionException {
+        long from = 0;
+        long to = table.size() - 1;
+        if (!split) {
+            // rows outside of the index range never pass the predicate and don't need to be read at all
+            final Range<Long> indexRange = rowPredicate.getRowIndexRange();
+            if (indexRange.hasLowerBound()) {
+                from = Math.max(from, indexRange.lowerEndpoint());
+            }
+            if (indexRange.hasUpperBound()) {
+                to = Math.min(to, indexRange.upperEndpoint());
+            }
+        }
+        final long nrRows = Math.max(0, to - from + 1);
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final long nrRanges = Math.max(1, Math.min(pool.getMaxThreads(), nrRows / MIN_ROWS_PER_RANGE));
+        if (nrRanges == 1) {
+            return filterRange(table, rowPredicate, from, to, split, exec);
+        }
+
+        final long rangeSize = (nrRows + nrRanges - 1) / nrRanges;
+        final ExecutionContext filterExec = exec.createSubExecutionContext(0.99);
+        final List<Future<BufferedDataTable[]>> futures = new ArrayList<>();
+        for (long start = from; start <= to; start += rangeSize) {
+            final long rangeFrom = start;
+            final long rangeTo = Math.min(to, start + rangeSize - 1);
+            final ExecutionContext rangeExec =
+                filterExec.createSubExecutionContext((rangeTo - rangeFrom + 1) / (double)nrRows);
+            futures.add(pool.enqueue(() -> filterRange(table, rowPredicate, rangeFrom, rangeTo, split, rangeExec)));
+        }
+        final List<BufferedDataTable[]> rangeTables = Futures.waitFor(futures, exec);
+
+        exec.setMessage("Concatenating results");
+        final BufferedDataTable[] result = new BufferedDataTable[split ? 2 : 1];
+        for (int i = 0; i < result.length; i++) {
+            final BufferedDataTable[] tables = new BufferedDataTable[rangeTables.size()];
+            for (int r = 0; r < tables.length; r++) {
+                tables[r] = rangeTables.get(r)[i];
+            }
+            // the row keys are unique as all rows stem from the same table
+            result[i] = exec.createConcatenateTable(exec.createSubProgress(0.01 / result.length), Optional.empty(),
+                false, tables);
+        }
+        return result;
+    }
+
+    private static BufferedDataTable[] filterRange(final BufferedDataTable table, final RowPredicate rowPredicate,
+        final long from, final long to, final boolean split, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        // compiled predicates must not be shared between threads
+        final CompiledRowPredicate predicate = rowPredicate.compile();
+        final DataTableSpec spec = table.getDataTableSpec();
+        final BufferedDataContainer match = exec.createDataContainer(spec);
+        final BufferedDataContainer miss = split ? exec.createDataContainer(spec) : null;
+        if (from <= to) {
+            final double nrRows = to - from + 1;
+            final TableFilter filter = new TableFilter.Builder().withFromRowIndex(from).withToRowIndex(to).build();
+            try (final CloseableRowIterator it = table.filter(filter).iterator()) {
+                for (long i = from; it.hasNext(); i++) {
+                    exec.checkCanceled();
+                    final DataRow row = it.next();
+                    if (predicate.test(row, i)) {
+                        match.addRowToTable(row);
+                    } else if (split) {
+                        miss.addRowToTable(row);
+                    }
+                    exec.setProgress((i - from + 1) / nrRows);
+                }
+            }
+        }
+        match.close();
+        if (!split) {
+            return new BufferedDataTable[]{match.getTable()};
+        }
+        miss.close();
+        return new BufferedDataTable[]{match.getTable(), miss.getTable()};
+    }
+}
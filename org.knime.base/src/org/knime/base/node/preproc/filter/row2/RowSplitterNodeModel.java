@@ -48,17 +48,15 @@
  */
 package org.knime.base.node.preproc.filter.row2;
 
+import org.knime.base.node.preproc.filter.row2.operator.CompiledRowPredicate;
 import org.knime.base.node.preproc.filter.row2.operator.RowPredicate;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.port.PortObjectSpec;
-import org.knime.core.node.streamable.BufferedDataTableRowOutput;
-import org.knime.core.node.streamable.DataTableRowInput;
 import org.knime.core.node.streamable.InputPortRole;
 import org.knime.core.node.streamable.OutputPortRole;
 import org.knime.core.node.streamable.PartitionInfo;
@@ -104,15 +102,9 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws Invali
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
         final BufferedDataTable inTable = inData[0];
-        final DataTableRowInput rowInput = new DataTableRowInput(inTable);
-        final DataTableSpec inSpec = inTable.getDataTableSpec();
-        final BufferedDataContainer match = exec.createDataContainer(inSpec);
-        final BufferedDataTableRowOutput matchOutput = new BufferedDataTableRowOutput(match);
-        final BufferedDataContainer miss = exec.createDataContainer(inSpec);
-        final BufferedDataTableRowOutput missOutput = new BufferedDataTableRowOutput(miss);
-        final RowPredicate rowPredicate = createRowPredicate(inSpec);
-        RowSplitterNodeModel.filterInput(rowInput, matchOutput, missOutput, rowPredicate, exec, inTable.size());
-        return new BufferedDataTable[]{matchOutput.getDataTable(), missOutput.getDataTable()};
+        final RowPredicate rowPredicate = createRowPredicate(inTable.getDataTableSpec());
+        // both outputs are filled in a single (parallel) pass
+        return RowRangeFilter.filter(inTable, rowPredicate, true, exec);
     }
 
     /**
@@ -130,10 +122,11 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
     private static void filterInput(final RowInput inData, final RowOutput matchData, final RowOutput missData,
         final RowPredicate rowPredicate, final ExecutionContext exec, final long tableLength)
         throws InterruptedException, CanceledExecutionException {
+        final CompiledRowPredicate compiledPredicate = rowPredicate.compile();
         DataRow row;
         for (long i = 0; (row = inData.poll()) != null; i++) {
             exec.checkCanceled();
-            if (rowPredicate.test(row, i)) {
+            if (compiledPredicate.test(row, i)) {
                 matchData.push(row);
             } else {
                 missData.push(row);
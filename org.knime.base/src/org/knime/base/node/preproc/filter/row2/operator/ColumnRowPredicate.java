@@ -82,6 +82,18 @@ public boolean test(final DataRow t, final Long index) {
         return m_cellPredicate.test(t.getCell(m_columnIndex));
     }
 
+    @Override
+    public CompiledRowPredicate compile() {
+        final int columnIndex = m_columnIndex;
+        final Predicate<DataCell> cellPredicate = m_cellPredicate instanceof StringCellPredicate
+            ? ((StringCellPredicate)m_cellPredicate).compile() : m_cellPredicate;
+        return (row, index) -> cellPredicate.test(row.getCell(columnIndex));
+    }
+
+    Predicate<DataCell> getCellPredicate() {
+        return m_cellPredicate;
+    }
+
     @Override
     public Set<Integer> getRequiredColumns() {
         return Collections.singleton(m_columnIndex);
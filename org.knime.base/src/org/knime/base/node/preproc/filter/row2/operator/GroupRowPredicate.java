@@ -48,9 +48,12 @@
  */
 package org.knime.base.node.preproc.filter.row2.operator;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.BinaryOperator;
@@ -68,27 +71,51 @@
  */
 final class GroupRowPredicate implements RowPredicate {
 
+    /** The logical operation that combines the predicates of a group. */
+    private enum Combination {
+        /** Logical AND. */
+        AND,
+        /** Logical OR. */
+        OR,
+        /** An arbitrary combination that is only known to the combiner. */
+        CUSTOM
+    }
+
     private final Set<Integer> m_requiredColumns;
 
     private final BiPredicate<DataRow, Long> m_combinedPredicate;
 
     private final Range<Long> m_indexRange;
 
+    private final List<RowPredicate> m_predicates;
+
+    private final Combination m_combination;
+
     /**
      * @param predicateIterator is an iterator of row predicates, created by multiple conditions given by the user.
      * @param combiner combines the row predicates from multiple conditions.
      */
     GroupRowPredicate(final Iterator<RowPredicate> predicateIterator,
         final BinaryOperator<BiPredicate<DataRow, Long>> combiner, final BinaryOperator<Range<Long>> rangeCombiner) {
+        this(predicateIterator, combiner, rangeCombiner, Combination.CUSTOM);
+    }
+
+    private GroupRowPredicate(final Iterator<RowPredicate> predicateIterator,
+        final BinaryOperator<BiPredicate<DataRow, Long>> combiner, final BinaryOperator<Range<Long>> rangeCombiner,
+        final Combination combination) {
         m_requiredColumns = new HashSet<>();
+        m_predicates = new ArrayList<>();
+        m_combination = combination;
         CheckUtils.checkArgument(predicateIterator.hasNext(), "Empty iterators are not allowed.");
         RowPredicate predicate = predicateIterator.next();
         BiPredicate<DataRow, Long> combined = predicate;
         m_requiredColumns.addAll(predicate.getRequiredColumns());
+        m_predicates.add(predicate);
         Range<Long> indexRange = predicate.getRowIndexRange();
         while (predicateIterator.hasNext()) {
             predicate = predicateIterator.next();
             m_requiredColumns.addAll(predicate.getRequiredColumns());
+            m_predicates.add(predicate);
             combined = combiner.apply(combined, predicate);
             indexRange = rangeCombiner.apply(indexRange, predicate.getRowIndexRange());
         }
@@ -96,11 +123,86 @@ final class GroupRowPredicate implements RowPredicate {
         m_combinedPredicate = combined;
     }
 
+    /**
+     * @param predicateIterator the predicates to combine
+     * @return the conjunction of the predicates
+     */
+    static GroupRowPredicate and(final Iterator<RowPredicate> predicateIterator) {
+        return new GroupRowPredicate(predicateIterator, (p, q) -> p.and(q), (p, q) -> p.intersection(q),
+            Combination.AND);
+    }
+
+    /**
+     * @param predicateIterator the predicates to combine
+     * @return the disjunction of the predicates
+     */
+    static GroupRowPredicate or(final Iterator<RowPredicate> predicateIterator) {
+        return new GroupRowPredicate(predicateIterator, (p, q) -> p.or(q), (p, q) -> p.span(q), Combination.OR);
+    }
+
     @Override
     public boolean test(final DataRow t, final Long index) {
         return m_combinedPredicate.test(t, index);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The predicates of the group are evaluated in ascending order of their {@link SelectivityEstimator#rank rank},
+     * i.e. cheap predicates that are likely to decide the result first.
+     */
+    @Override
+    public CompiledRowPredicate compile() {
+        if (m_combination == Combination.CUSTOM) {
+            return RowPredicate.super.compile();
+        }
+        final boolean isConjunction = m_combination == Combination.AND;
+        final CompiledRowPredicate[] predicates = m_predicates.stream()//
+            .sorted(Comparator.comparingDouble(p -> SelectivityEstimator.rank(p, isConjunction)))//
+            .map(RowPredicate::compile)//
+            .toArray(CompiledRowPredicate[]::new);
+        if (isConjunction) {
+            return (row, index) -> {
+                for (final CompiledRowPredicate predicate : predicates) {
+                    if (!predicate.test(row, index)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        } else {
+            return (row, index) -> {
+                for (final CompiledRowPredicate predicate : predicates) {
+                    if (predicate.test(row, index)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+    }
+
+    /**
+     * @return the estimated fraction of rows that pass the group assuming independent predicates
+     */
+    double estimateSelectivity() {
+        if (m_combination == Combination.AND) {
+            return m_predicates.stream().mapToDouble(SelectivityEstimator::estimateSelectivity)
+                .reduce(1, (a, b) -> a * b);
+        } else if (m_combination == Combination.OR) {
+            return 1 - m_predicates.stream().mapToDouble(p -> 1 - SelectivityEstimator.estimateSelectivity(p))
+                .reduce(1, (a, b) -> a * b);
+        }
+        return 0.5;
+    }
+
+    /**
+     * @return the estimated cost of evaluating all predicates of the group
+     */
+    double estimateCost() {
+        return m_predicates.stream().mapToDouble(SelectivityEstimator::estimateCost).sum();
+    }
+
     @Override
     public Set<Integer> getRequiredColumns() {
         return Collections.unmodifiableSet(m_requiredColumns);
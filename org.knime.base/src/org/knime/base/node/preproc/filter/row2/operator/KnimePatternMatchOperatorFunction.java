@@ -50,6 +50,7 @@
 
 import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.knime.base.data.filter.row.dialog.OperatorParameters;
@@ -95,7 +96,11 @@ private static Predicate<DataCell> createMatcherPredicate(final String matcherEx
         final boolean isCaseSensitive) {
         final int flags = getFlags(isCaseSensitive);
         final Pattern regExpression = Pattern.compile(matcherExpression, flags);
-        return c -> regExpression.matcher(c.toString()).matches();
+        return new StringCellPredicate(c -> regExpression.matcher(c.toString()).matches(), () -> {
+            // compiled predicates are used by a single thread and can therefore reuse the matcher
+            final Matcher matcher = regExpression.matcher("");
+            return s -> matcher.reset(s).matches();
+        }, SelectivityEstimator.EQUAL_SELECTIVITY, SelectivityEstimator.PATTERN_COST);
     }
 
     private static int getFlags(final boolean isCaseSensitive) {
@@ -108,9 +113,12 @@ private static int getFlags(final boolean isCaseSensitive) {
 
     private static Predicate<DataCell> createEqualityPredicate(final String expression, final boolean caseSensitive) {
         if (caseSensitive) {
-            return c -> expression.equals(c.toString());
+            return new StringCellPredicate(c -> expression.equals(c.toString()), () -> expression::equals,
+                SelectivityEstimator.EQUAL_SELECTIVITY, SelectivityEstimator.STRING_COST);
         } else {
-            return c -> expression.equalsIgnoreCase(c.toString());
+            return new StringCellPredicate(c -> expression.equalsIgnoreCase(c.toString()),
+                () -> expression::equalsIgnoreCase, SelectivityEstimator.EQUAL_SELECTIVITY,
+                SelectivityEstimator.STRING_COST);
         }
     }
 
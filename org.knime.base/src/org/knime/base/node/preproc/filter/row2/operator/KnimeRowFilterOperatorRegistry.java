@@ -61,6 +61,7 @@
 import org.knime.base.data.filter.row.dialog.validation.SingleOperandValidation;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DoubleValue;
+import org.knime.core.data.StringValue;
 import org.knime.core.data.def.BooleanCell;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.StringCell;
@@ -127,13 +128,14 @@ private void registerOperatorsForStringColumns() {
         Function<String, DataCell> stringToStringCell = StringCell::new;
 
         // EQUAL
-        KnimeOperatorFunction stringEquals = new KnimeOneParameterOperatorFunction(stringToStringCell, p -> p::equals);
+        KnimeOperatorFunction stringEquals = new KnimeOneParameterOperatorFunction(stringToStringCell,
+            KnimeRowFilterOperatorRegistry::createEqualsPredicateString);
         addStringOperator(KnimeOperator.EQUAL.getOperator(), OperatorValue.builder(stringEquals)
             .withValidation(oneOperandValidation).withPanel(SingleFieldPanel::new).build());
 
         // NOT EQUAL
         KnimeOperatorFunction notEqualStringFunction = new KnimeOneParameterOperatorFunction(stringToStringCell,
-            KnimeRowFilterOperatorRegistry::createNotEqualsPredicate);
+            KnimeRowFilterOperatorRegistry::createNotEqualsPredicateString);
         addStringOperator(KnimeOperator.NOT_EQUAL.getOperator(), OperatorValue.builder(notEqualStringFunction)
             .withValidation(oneOperandValidation).withPanel(SingleFieldPanel::new).build());
 
@@ -196,15 +198,8 @@ private void registerOperatorsForNumericalColumns() {
      *         equality is passed
      */
     private static Predicate<DataCell> createEqualPredicateNumeric(final DataCell parameter) {
-        CheckUtils.checkArgument(parameter instanceof DoubleValue, DOUBLE_TYPE_ERROR_TEMPLATE, parameter);
-        final DoubleValue reference = (DoubleValue)parameter;
-        final Predicate<DataCell> notMissingPredicate = IS_NOT_MISSING;
-        return c -> notMissingPredicate.test(c) && c instanceof DoubleValue && equalsNumeric((DoubleValue)c, reference);
-    }
-
-    /** @return true if the data cell is equal to the operand chosen by the user. */
-    private static boolean equalsNumeric(final DoubleValue value, final DoubleValue reference) {
-        return value.getDoubleValue() == reference.getDoubleValue();
+        final double reference = getDoubleValue(parameter);
+        return new NumericCellPredicate(v -> v == reference, false, SelectivityEstimator.EQUAL_SELECTIVITY);
     }
 
     /**
@@ -215,20 +210,27 @@ private static Predicate<DataCell> createNotEqualsPredicate(final DataCell param
         return c -> !parameter.equals(c);
     }
 
+    /** @return true if the string cell is equal to the operand chosen by the user. */
+    private static Predicate<DataCell> createEqualsPredicateString(final DataCell parameter) {
+        final String reference = ((StringValue)parameter).getStringValue();
+        return new StringCellPredicate(parameter::equals, () -> reference::equals,
+            SelectivityEstimator.EQUAL_SELECTIVITY, SelectivityEstimator.STRING_COST);
+    }
+
+    /** @return true if the string cell is not equal to the operand chosen by the user. */
+    private static Predicate<DataCell> createNotEqualsPredicateString(final DataCell parameter) {
+        final String reference = ((StringValue)parameter).getStringValue();
+        return new StringCellPredicate(createNotEqualsPredicate(parameter), () -> s -> !reference.equals(s),
+            1 - SelectivityEstimator.EQUAL_SELECTIVITY, SelectivityEstimator.STRING_COST);
+    }
+
     /**
      * @return true if the cell is missing or if the cell we testing is numeric and the predicate test for equality is
      *         passed. Also the missing cell is considered to be not equal.
      **/
     private static Predicate<DataCell> createNotEqualsPredicateNumeric(final DataCell parameter) {
-        CheckUtils.checkArgument(parameter instanceof DoubleValue, DOUBLE_TYPE_ERROR_TEMPLATE, parameter);
-        final DoubleValue reference = (DoubleValue)parameter;
-        final Predicate<DataCell> missingPredicate = IS_MISSING;
-        return c -> missingPredicate.test(c) || c instanceof DoubleValue && notEqualsNumeric((DoubleValue)c, reference);
-    }
-
-    /** @return true if the data cell is not equal to the operand chosen by the user. */
-    private static boolean notEqualsNumeric(final DoubleValue value, final DoubleValue reference) {
-        return value.getDoubleValue() != reference.getDoubleValue();
+        final double reference = getDoubleValue(parameter);
+        return new NumericCellPredicate(v -> v != reference, true, 1 - SelectivityEstimator.EQUAL_SELECTIVITY);
     }
 
     /**
@@ -236,15 +238,8 @@ private static boolean notEqualsNumeric(final DoubleValue value, final DoubleVal
      *         passed.
      */
     private static Predicate<DataCell> createGreaterPredicate(final DataCell parameter) {
-        CheckUtils.checkArgument(parameter instanceof DoubleValue, DOUBLE_TYPE_ERROR_TEMPLATE, parameter);
-        final DoubleValue reference = (DoubleValue)parameter;
-        final Predicate<DataCell> notMissingPredicate = IS_NOT_MISSING;
-        return c -> notMissingPredicate.test(c) && c instanceof DoubleValue && greater((DoubleValue)c, reference);
-    }
-
-    /** @return true if the data cell is greater compared to the operand chosen by the user. */
-    private static boolean greater(final DoubleValue value, final DoubleValue reference) {
-        return value.getDoubleValue() > reference.getDoubleValue();
+        final double reference = getDoubleValue(parameter);
+        return new NumericCellPredicate(v -> v > reference, false, SelectivityEstimator.RANGE_SELECTIVITY);
     }
 
     /**
@@ -252,16 +247,8 @@ private static boolean greater(final DoubleValue value, final DoubleValue refere
      *         greaterOrEqual is passed.
      */
     private static Predicate<DataCell> createGreaterOrEqualPredicate(final DataCell parameter) {
-        CheckUtils.checkArgument(parameter instanceof DoubleValue, DOUBLE_TYPE_ERROR_TEMPLATE, parameter);
-        final DoubleValue reference = (DoubleValue)parameter;
-        final Predicate<DataCell> notMissingPredicate = IS_NOT_MISSING;
-        return c -> notMissingPredicate.test(c) && c instanceof DoubleValue
-            && greaterOrEqual((DoubleValue)c, reference);
-    }
-
-    /** @return true if the data cell is greater or equal compared to the operand chosen by the user. */
-    private static boolean greaterOrEqual(final DoubleValue value, final DoubleValue reference) {
-        return value.getDoubleValue() >= reference.getDoubleValue();
+        final double reference = getDoubleValue(parameter);
+        return new NumericCellPredicate(v -> v >= reference, false, SelectivityEstimator.RANGE_SELECTIVITY);
     }
 
     /**
@@ -269,15 +256,8 @@ private static boolean greaterOrEqual(final DoubleValue value, final DoubleValue
      *         passed.
      */
     private static Predicate<DataCell> createLessPredicate(final DataCell parameter) {
-        CheckUtils.checkArgument(parameter instanceof DoubleValue, DOUBLE_TYPE_ERROR_TEMPLATE, parameter);
-        final DoubleValue reference = (DoubleValue)parameter;
-        final Predicate<DataCell> notMissingPredicate = IS_NOT_MISSING;
-        return c -> notMissingPredicate.test(c) && c instanceof DoubleValue && less((DoubleValue)c, reference);
-    }
-
-    /** @return true if the data cell is smaller compared to the operand chosen by the user. */
-    private static boolean less(final DoubleValue value, final DoubleValue reference) {
-        return value.getDoubleValue() < reference.getDoubleValue();
+        final double reference = getDoubleValue(parameter);
+        return new NumericCellPredicate(v -> v < reference, false, SelectivityEstimator.RANGE_SELECTIVITY);
     }
 
     /**
@@ -285,15 +265,8 @@ private static boolean less(final DoubleValue value, final DoubleValue reference
      *         is passed.
      */
     private static Predicate<DataCell> createLessOrEqualPredicate(final DataCell parameter) {
-        CheckUtils.checkArgument(parameter instanceof DoubleValue, DOUBLE_TYPE_ERROR_TEMPLATE, parameter);
-        final DoubleValue reference = (DoubleValue)parameter;
-        final Predicate<DataCell> notMissingPredicate = IS_NOT_MISSING;
-        return c -> notMissingPredicate.test(c) && c instanceof DoubleValue && lessOrEqual((DoubleValue)c, reference);
-    }
-
-    /** @return true if the data cell is smaller or equal compared to the operand chosen by the user. */
-    private static boolean lessOrEqual(final DoubleValue value, final DoubleValue reference) {
-        return value.getDoubleValue() <= reference.getDoubleValue();
+        final double reference = getDoubleValue(parameter);
+        return new NumericCellPredicate(v -> v <= reference, false, SelectivityEstimator.RANGE_SELECTIVITY);
     }
 
     /**
@@ -301,20 +274,15 @@ private static boolean lessOrEqual(final DoubleValue value, final DoubleValue re
      *         passed.
      */
     private static Predicate<DataCell> createBetweenPredicate(final DataCell parameter1, final DataCell parameter2) {
-        CheckUtils.checkArgument(parameter1 instanceof DoubleValue, DOUBLE_TYPE_ERROR_TEMPLATE, parameter1);
-        final DoubleValue reference1 = (DoubleValue)parameter1;
-        CheckUtils.checkArgument(parameter2 instanceof DoubleValue, DOUBLE_TYPE_ERROR_TEMPLATE, parameter2);
-        final DoubleValue reference2 = (DoubleValue)parameter2;
-        final Predicate<DataCell> notMissingPredicate = IS_NOT_MISSING;
-        return c -> notMissingPredicate.test(c) && c instanceof DoubleValue
-            && between((DoubleValue)c, reference1, reference2);
+        final double reference1 = getDoubleValue(parameter1);
+        final double reference2 = getDoubleValue(parameter2);
+        return new NumericCellPredicate(v -> v >= reference1 && v <= reference2, false,
+            SelectivityEstimator.BETWEEN_SELECTIVITY);
     }
 
-    /** @return true if the data cell is between the two operands chosen by the user. */
-    private static boolean between(final DoubleValue value, final DoubleValue reference1,
-        final DoubleValue reference2) {
-        return value.getDoubleValue() >= reference1.getDoubleValue()
-            && value.getDoubleValue() <= reference2.getDoubleValue();
+    private static double getDoubleValue(final DataCell parameter) {
+        CheckUtils.checkArgument(parameter instanceof DoubleValue, DOUBLE_TYPE_ERROR_TEMPLATE, parameter);
+        return ((DoubleValue)parameter).getDoubleValue();
     }
 
 }
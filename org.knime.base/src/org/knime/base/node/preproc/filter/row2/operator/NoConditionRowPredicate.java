@@ -76,6 +76,15 @@ public boolean test(final DataRow t, final Long u) {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * @return a predicate that always returns true
+     */
+    @Override
+    public CompiledRowPredicate compile() {
+        return (row, index) -> true;
+    }
+
     /**
      * {@inheritDoc}
      * @return the empty set since it always returns true
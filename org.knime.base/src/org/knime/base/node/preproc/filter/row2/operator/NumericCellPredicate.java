@@ -0,0 +1,104 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.row2.operator;
+
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DoubleValue;
+
+/**
+ * Predicate for numeric cells that compares the primitive double value of a cell. Since the comparison doesn't require
+ * a {@link DataCell}, it can also be evaluated directly on primitive values such as the row index.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NumericCellPredicate implements Predicate<DataCell> {
+
+    private final DoublePredicate m_valuePredicate;
+
+    private final boolean m_missingResult;
+
+    private final double m_selectivity;
+
+    /**
+     * @param valuePredicate the predicate on the double value of a cell
+     * @param missingResult the result for missing cells
+     * @param selectivity the estimated fraction of values that pass the predicate
+     */
+    NumericCellPredicate(final DoublePredicate valuePredicate, final boolean missingResult,
+        final double selectivity) {
+        m_valuePredicate = valuePredicate;
+        m_missingResult = missingResult;
+        m_selectivity = selectivity;
+    }
+
+    @Override
+    public boolean test(final DataCell cell) {
+        if (cell.isMissing()) {
+            return m_missingResult;
+        }
+        return cell instanceof DoubleValue && m_valuePredicate.test(((DoubleValue)cell).getDoubleValue());
+    }
+
+    /**
+     * @param value the value to test
+     * @return <code>true</code> if the value passes the predicate
+     */
+    boolean test(final double value) {
+        return m_valuePredicate.test(value);
+    }
+
+    /**
+     * @return the estimated fraction of values that pass the predicate
+     */
+    double getSelectivity() {
+        return m_selectivity;
+    }
+}
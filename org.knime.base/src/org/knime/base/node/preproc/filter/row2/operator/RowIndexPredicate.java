@@ -84,6 +84,20 @@ public boolean test(final DataRow t, final Long index) {
         return m_cellPredicate.test(new LongCell(index));
     }
 
+    @Override
+    public CompiledRowPredicate compile() {
+        if (m_cellPredicate instanceof NumericCellPredicate) {
+            // avoids creating a LongCell per row
+            final NumericCellPredicate numericPredicate = (NumericCellPredicate)m_cellPredicate;
+            return (row, index) -> numericPredicate.test((double)index);
+        }
+        return (row, index) -> m_cellPredicate.test(new LongCell(index));
+    }
+
+    Predicate<DataCell> getCellPredicate() {
+        return m_cellPredicate;
+    }
+
     @Override
     public Set<Integer> getRequiredColumns() {
         return Collections.emptySet();
@@ -80,6 +80,20 @@ public boolean test(final DataRow t, final Long index) {
         return m_cellPredicate.test(new StringCell(t.getKey().toString()));
     }
 
+    @Override
+    public CompiledRowPredicate compile() {
+        if (m_cellPredicate instanceof StringCellPredicate) {
+            // avoids creating a StringCell per row
+            final Predicate<String> stringPredicate = ((StringCellPredicate)m_cellPredicate).createStringPredicate();
+            return (row, index) -> stringPredicate.test(row.getKey().getString());
+        }
+        return (row, index) -> m_cellPredicate.test(new StringCell(row.getKey().getString()));
+    }
+
+    Predicate<DataCell> getCellPredicate() {
+        return m_cellPredicate;
+    }
+
     @Override
     public Set<Integer> getRequiredColumns() {
         return Collections.emptySet();
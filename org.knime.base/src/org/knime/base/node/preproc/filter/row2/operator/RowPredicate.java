@@ -74,6 +74,18 @@ public interface RowPredicate extends BiPredicate<DataRow, Long> {
      */
     Range<Long> getRowIndexRange();
 
+    /**
+     * Compiles this predicate for the evaluation on many rows. The returned predicate takes the row index as
+     * primitive, uses allocation-free fast paths where possible, and evaluates the conditions of groups in the order of
+     * their estimated selectivity and cost. It must not be used by multiple threads concurrently.
+     *
+     * @return the compiled predicate
+     * @since 4.4
+     */
+    default CompiledRowPredicate compile() {
+        return (row, index) -> test(row, index);
+    }
+
     /**
      * Negates the RowPredicate created. If the test is passed, then this method fails it or vice-versa.
      *
@@ -89,7 +101,7 @@ static RowPredicate negate(final RowPredicate rowPredicate) {
      * @return GroupRowPredicate handled with AND.
      */
     static RowPredicate and(final Iterator<RowPredicate> predicateIterator) {
-        return new GroupRowPredicate(predicateIterator, (p, q) -> p.and(q), (p, q) -> p.intersection(q));
+        return GroupRowPredicate.and(predicateIterator);
     }
 
     /**
@@ -97,7 +109,7 @@ static RowPredicate and(final Iterator<RowPredicate> predicateIterator) {
      * @return GroupRowPredicate handled with OR.
      */
     static RowPredicate or(final Iterator<RowPredicate> predicateIterator) {
-        return new GroupRowPredicate(predicateIterator, (p, q) -> p.or(q), (p, q) -> p.span(q));
+        return GroupRowPredicate.or(predicateIterator);
     }
 
     /**
@@ -135,11 +147,21 @@ public boolean test(final DataRow t, final Long index) {
             return !m_rowPredicate.test(t, index);
         }
 
+        @Override
+        public CompiledRowPredicate compile() {
+            final CompiledRowPredicate rowPredicate = m_rowPredicate.compile();
+            return (row, index) -> !rowPredicate.test(row, index);
+        }
+
         @Override
         public Set<Integer> getRequiredColumns() {
             return m_rowPredicate.getRequiredColumns();
         }
 
+        RowPredicate getNegatedPredicate() {
+            return m_rowPredicate;
+        }
+
         @Override
         public Range<Long> getRowIndexRange() {
             return m_range;
@@ -0,0 +1,159 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.row2.operator;
+
+import java.util.function.Predicate;
+
+import org.knime.core.data.DataCell;
+
+/**
+ * Estimates the selectivity (the fraction of rows that pass) and the relative evaluation cost of {@link RowPredicate
+ * RowPredicates}. The estimates are used to order the predicates of a group such that the evaluation short-circuits as
+ * early and as cheaply as possible. Without statistics on the data, the usual textbook defaults are used, e.g. one
+ * tenth for equality and one third for range conditions.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class SelectivityEstimator {
+
+    /** Estimated selectivity of equality conditions. */
+    static final double EQUAL_SELECTIVITY = 0.1;
+
+    /** Estimated selectivity of open range conditions, e.g. greater than. */
+    static final double RANGE_SELECTIVITY = 1.0 / 3;
+
+    /** Estimated selectivity of closed range conditions, i.e. between. */
+    static final double BETWEEN_SELECTIVITY = 0.25;
+
+    /** Estimated cost of a comparison of two strings. */
+    static final double STRING_COST = 2;
+
+    /** Estimated cost of matching a regular expression. */
+    static final double PATTERN_COST = 20;
+
+    private static final double DEFAULT_SELECTIVITY = 0.5;
+
+    private static final double DEFAULT_COST = 1;
+
+    private SelectivityEstimator() {
+        // static utility class
+    }
+
+    /**
+     * @param predicate the predicate
+     * @return the estimated fraction of rows that pass the predicate
+     */
+    static double estimateSelectivity(final RowPredicate predicate) {
+        if (predicate instanceof ColumnRowPredicate) {
+            return estimateSelectivity(((ColumnRowPredicate)predicate).getCellPredicate());
+        } else if (predicate instanceof RowKeyPredicate) {
+            return estimateSelectivity(((RowKeyPredicate)predicate).getCellPredicate());
+        } else if (predicate instanceof RowIndexPredicate) {
+            return estimateSelectivity(((RowIndexPredicate)predicate).getCellPredicate());
+        } else if (predicate instanceof GroupRowPredicate) {
+            return ((GroupRowPredicate)predicate).estimateSelectivity();
+        } else if (predicate instanceof RowPredicate.NegationPredicate) {
+            return 1 - estimateSelectivity(((RowPredicate.NegationPredicate)predicate).getNegatedPredicate());
+        } else if (predicate instanceof NoConditionRowPredicate) {
+            return 1;
+        }
+        return DEFAULT_SELECTIVITY;
+    }
+
+    /**
+     * @param predicate the predicate
+     * @return the estimated relative cost of evaluating the predicate on a single row
+     */
+    static double estimateCost(final RowPredicate predicate) {
+        if (predicate instanceof ColumnRowPredicate) {
+            return estimateCost(((ColumnRowPredicate)predicate).getCellPredicate());
+        } else if (predicate instanceof RowKeyPredicate) {
+            return estimateCost(((RowKeyPredicate)predicate).getCellPredicate());
+        } else if (predicate instanceof RowIndexPredicate) {
+            // the index is available without accessing the row
+            return estimateCost(((RowIndexPredicate)predicate).getCellPredicate()) / 2;
+        } else if (predicate instanceof GroupRowPredicate) {
+            return ((GroupRowPredicate)predicate).estimateCost();
+        } else if (predicate instanceof RowPredicate.NegationPredicate) {
+            return estimateCost(((RowPredicate.NegationPredicate)predicate).getNegatedPredicate());
+        } else if (predicate instanceof NoConditionRowPredicate) {
+            return 0;
+        }
+        return DEFAULT_COST;
+    }
+
+    private static double estimateSelectivity(final Predicate<DataCell> cellPredicate) {
+        if (cellPredicate instanceof NumericCellPredicate) {
+            return ((NumericCellPredicate)cellPredicate).getSelectivity();
+        } else if (cellPredicate instanceof StringCellPredicate) {
+            return ((StringCellPredicate)cellPredicate).getSelectivity();
+        }
+        return DEFAULT_SELECTIVITY;
+    }
+
+    private static double estimateCost(final Predicate<DataCell> cellPredicate) {
+        if (cellPredicate instanceof StringCellPredicate) {
+            return ((StringCellPredicate)cellPredicate).getCost();
+        }
+        return DEFAULT_COST;
+    }
+
+    /**
+     * Returns the rank of a predicate within a conjunction or disjunction; evaluating the predicates in ascending order
+     * of their rank minimizes the expected evaluation cost of independent predicates.
+     *
+     * @param predicate the predicate
+     * @param isConjunction <code>true</code> for a conjunction (AND), <code>false</code> for a disjunction (OR)
+     * @return the rank of the predicate
+     */
+    static double rank(final RowPredicate predicate, final boolean isConjunction) {
+        final double selectivity = Math.min(0.99, Math.max(0.01, estimateSelectivity(predicate)));
+        // a conjunction stops at the first predicate that fails, a disjunction at the first that passes
+        return estimateCost(predicate) / (isConjunction ? (1 - selectivity) : selectivity);
+    }
+}
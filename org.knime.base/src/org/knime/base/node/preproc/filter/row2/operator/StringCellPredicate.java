@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.row2.operator;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Predicate for string cells that can be evaluated directly on the string value of {@link StringCell StringCells} and
+ * RowIDs. The string predicates may keep state (e.g. a reusable regular expression matcher) and are therefore created
+ * per evaluating thread via {@link #createStringPredicate()}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StringCellPredicate implements Predicate<DataCell> {
+
+    private final Predicate<DataCell> m_cellPredicate;
+
+    private final Supplier<Predicate<String>> m_stringPredicateFactory;
+
+    private final double m_selectivity;
+
+    private final double m_cost;
+
+    /**
+     * @param cellPredicate the thread-safe predicate on arbitrary cells
+     * @param stringPredicateFactory creates predicates on the string value that are equivalent to the cell predicate
+     *            for {@link StringCell StringCells}
+     * @param selectivity the estimated fraction of values that pass the predicate
+     * @param cost the estimated relative cost of evaluating the predicate
+     */
+    StringCellPredicate(final Predicate<DataCell> cellPredicate,
+        final Supplier<Predicate<String>> stringPredicateFactory, final double selectivity, final double cost) {
+        m_cellPredicate = cellPredicate;
+        m_stringPredicateFactory = stringPredicateFactory;
+        m_selectivity = selectivity;
+        m_cost = cost;
+    }
+
+    @Override
+    public boolean test(final DataCell cell) {
+        return m_cellPredicate.test(cell);
+    }
+
+    /**
+     * @return a new predicate on string values, which must not be used concurrently
+     */
+    Predicate<String> createStringPredicate() {
+        return m_stringPredicateFactory.get();
+    }
+
+    /**
+     * @return a new cell predicate that evaluates {@link StringCell StringCells} on their string value, which must not
+     *         be used concurrently
+     */
+    Predicate<DataCell> compile() {
+        final Predicate<String> stringPredicate = createStringPredicate();
+        return c -> c instanceof StringCell ? stringPredicate.test(((StringCell)c).getStringValue())
+            : m_cellPredicate.test(c);
+    }
+
+    /**
+     * @return the estimated fraction of values that pass the predicate
+     */
+    double getSelectivity() {
+        return m_selectivity;
+    }
+
+    /**
+     * @return the estimated relative cost of evaluating the predicate
+     */
+    double getCost() {
+        return m_cost;
+    }
+}
@@ -45,13 +45,16 @@
 package org.knime.base.node.preproc.filter.rowref;
 
 import java.io.File;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Set;
+import java.util.function.Function;
 
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.StringCell;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
@@ -169,114 +172,65 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
             }
         }
 
+        // string keys (also RowKeys) are held in a compact set that does not need any objects per key
+        final boolean stringKeys = filterByString || useDataRowKey
+            || StringCell.TYPE.equals(refTableSpec.getColumnSpec(refColName).getType());
+        final Function<DataRow, Object> dataKey =
+            createKeyFunction(useDataRowKey, dataColIdx, filterByString, stringKeys);
+        final Function<DataRow, Object> refKey = createKeyFunction(useRefRowKey, refColIdx, filterByString, stringKeys);
+
         final boolean isInvertInclusion = isInvertInclusion();
         final BufferedDataContainer firstBuf = exec.createDataContainer(dataTableSpec);
         final BufferedDataContainer secondBuf = m_isSplitter ? exec.createDataContainer(dataTableSpec) : null;
 
         final double refTableSizeFraction = (double) refTable.size() / (refTable.size() + dataTable.size());
         final ExecutionMonitor readRefMon = exec.createSubExecutionContext(refTableSizeFraction);
-        final ExecutionMonitor writeMon = exec.createSubExecutionContext(1 - refTableSizeFraction);
+        final ExecutionContext writeExec = exec.createSubExecutionContext(1 - refTableSizeFraction);
 
-        // we only init the disk-backed bit array if memory becomes low while reading the reference set
+        // read the reference keys into memory unless memory becomes low
         final MemoryAlertSystem memSys = MemoryAlertSystem.getInstance();
-        DiskBackedBitArray bitArray = null;
+        KeySet keySet = KeySet.create(stringKeys);
         boolean fullyFitsIntoMemory = true;
-
-        long rowCnt = 0;
-        final Iterator<DataRow> it = refTable.iterator();
-        do {
-            //create the set to filter by
-            final Set<Object> keySet = new HashSet<Object>();
-
-            long elementsRead = 0;
+        long elementsRead = 0;
+        try (CloseableRowIterator it = refTable.iterator()) {
             while (it.hasNext()) {
                 exec.checkCanceled();
-                if (filterByString) {
-                    if (useRefRowKey) {
-                        keySet.add(it.next().getKey().getString());
-                    } else {
-                        keySet.add(it.next().getCell(refColIdx).toString());
-                    }
-                } else {
-                    if (useRefRowKey) {
-                        keySet.add(it.next().getKey());
-                    } else {
-                        keySet.add(it.next().getCell(refColIdx));
-                    }
-                }
-                readRefMon.setProgress(rowCnt++ / (double)refTable.size(), () -> "Reading reference table...");
+                keySet.add(refKey.apply(it.next()));
                 elementsRead++;
+                readRefMon.setProgress(elementsRead / (double)refTable.size(), () -> "Reading reference table...");
 
-                if (memSys.isMemoryLow() && elementsRead >= MIN_ELEMENTS_READ) {
+                if (memSys.isMemoryLow() && elementsRead >= MIN_ELEMENTS_READ && it.hasNext()) {
                     fullyFitsIntoMemory = false;
                     break;
                 }
             }
+        }
 
-            if (!fullyFitsIntoMemory) {
-                if (bitArray == null) {
-                    bitArray = new DiskBackedBitArray(dataTable.size());
-                } else {
-                    bitArray.setPosition(0);
-                }
-            }
-
-            rowCnt = 1;
+        if (fullyFitsIntoMemory) {
+            long rowCnt = 1;
             for (final DataRow row : dataTable) {
                 exec.checkCanceled();
-                //get the right value to check for...
-                final Object val2Compare;
-                if (filterByString) {
-                    if (useDataRowKey) {
-                        val2Compare = row.getKey().getString();
-                    } else {
-                        val2Compare = row.getCell(dataColIdx).toString();
-                    }
-                } else {
-                    if (useDataRowKey) {
-                        val2Compare = row.getKey();
-                    } else {
-                        val2Compare = row.getCell(dataColIdx);
-                    }
-                }
-
-                if (fullyFitsIntoMemory) {
-                    //...include/exclude matching rows by checking the val2Compare
-                    writeMon.setProgress(rowCnt++ / (double)dataTable.size(), () -> "Filtering...");
-                    if ((keySet.contains(val2Compare) && !isInvertInclusion)
-                        || (!keySet.contains(val2Compare) && isInvertInclusion)) {
-                        firstBuf.addRowToTable(row);
-                    } else if (m_isSplitter) {
-                        secondBuf.addRowToTable(row);
-                    }
-                } else {
-                    // use the bit array to memorize which rows to keep / discard
-                    if (keySet.contains(val2Compare)) {
-                        bitArray.setBit();
-                    } else {
-                        bitArray.skipBit();
-                    }
-                }
+                writeExec.setProgress(rowCnt++ / (double)dataTable.size(), () -> "Filtering...");
+                addRow(row, keySet.contains(dataKey.apply(row)), isInvertInclusion, firstBuf, secondBuf);
             }
-
-        } while (it.hasNext());
-
-        if (!fullyFitsIntoMemory) {
-            bitArray.setPosition(0);
-            rowCnt = 1;
-            for (final DataRow row : dataTable) {
-                exec.checkCanceled();
-                writeMon.setProgress(rowCnt++ / (double)dataTable.size(), () -> "Filtering...");
-                final boolean bit = bitArray.getBit();
-                if ((bit && !isInvertInclusion) || (!bit && isInvertInclusion)) {
-                    firstBuf.addRowToTable(row);
-                } else if (m_isSplitter) {
-                    secondBuf.addRowToTable(row);
+        } else {
+            // release the partial key set and semi-join hash partitions of both tables instead, with each partition
+            // holding about half as many reference keys as fitted into memory
+            keySet = null;
+            final DataType keyType =
+                stringKeys ? StringCell.TYPE : refTableSpec.getColumnSpec(refColName).getType();
+            try (DiskBackedBitArray bitArray = PartitionedReferenceMatcher.match(dataTable, dataKey, refTable,
+                refKey, keyType, Math.max(1, elementsRead / 2), writeExec.createSubExecutionContext(0.7))) {
+                final ExecutionMonitor filterMon = writeExec.createSubProgress(0.3);
+                bitArray.setPosition(0);
+                long rowCnt = 1;
+                for (final DataRow row : dataTable) {
+                    exec.checkCanceled();
+                    filterMon.setProgress(rowCnt++ / (double)dataTable.size(), () -> "Filtering...");
+                    addRow(row, bitArray.getBit(), isInvertInclusion, firstBuf, secondBuf);
                 }
             }
-            bitArray.close();
         }
-
         firstBuf.close();
         if (m_isSplitter) {
             secondBuf.close();
@@ -285,6 +239,34 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
             : new BufferedDataTable[]{firstBuf.getTable()};
     }
 
+    private static void addRow(final DataRow row, final boolean isContained, final boolean isInvertInclusion,
+        final BufferedDataContainer firstBuf, final BufferedDataContainer secondBuf) {
+        if (isContained != isInvertInclusion) {
+            firstBuf.addRowToTable(row);
+        } else if (secondBuf != null) {
+            secondBuf.addRowToTable(row);
+        }
+    }
+
+    /**
+     * Creates the function that extracts the key of a row which is looked up in (or added to) the reference key set.
+     */
+    private static Function<DataRow, Object> createKeyFunction(final boolean useRowKey, final int colIdx,
+        final boolean filterByString, final boolean stringKeys) {
+        if (useRowKey) {
+            return row -> row.getKey().getString();
+        } else if (filterByString) {
+            return row -> row.getCell(colIdx).toString();
+        } else if (stringKeys) {
+            return row -> {
+                final DataCell cell = row.getCell(colIdx);
+                return cell.isMissing() ? null : ((StringValue)cell).getStringValue();
+            };
+        } else {
+            return row -> row.getCell(colIdx);
+        }
+    }
+
     /**
      * It's a hack to get row-reference filter working. Row Reference filter can override this method and determine is
      * mode.
@@ -0,0 +1,125 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.rowref;
+
+/**
+ * A Bloom filter over the hash codes of reference keys. It is used to discard most of the rows that do not match any
+ * reference key before they are written to disk partitions. With the default of ten bits per key and seven hash
+ * functions the false positive rate is about one percent.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BloomFilter {
+
+    private static final int BITS_PER_KEY = 10;
+
+    private static final int MAX_NR_HASHES = 7;
+
+    private final long[] m_bits;
+
+    private final long m_nrBits;
+
+    private final int m_nrHashes;
+
+    /**
+     * Creates a new empty Bloom filter.
+     *
+     * @param expectedNrKeys the expected number of keys
+     * @param maxBytes the maximum size of the filter in bytes
+     */
+    BloomFilter(final long expectedNrKeys, final long maxBytes) {
+        final long bits = Math.max(64, Math.min(8 * maxBytes, BITS_PER_KEY * Math.max(1, expectedNrKeys)));
+        m_bits = new long[(int)Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64)];
+        m_nrBits = 64L * m_bits.length;
+        // the optimal number of hash functions is ln(2) * bits per key
+        final long nrHashes = Math.round(Math.log(2) * m_nrBits / Math.max(1, expectedNrKeys));
+        m_nrHashes = (int)Math.max(1, Math.min(MAX_NR_HASHES, nrHashes));
+    }
+
+    /**
+     * Computes the 64 bit hash of a key that is passed to {@link #add(long)} and {@link #mightContain(long)}.
+     *
+     * @param key the key, may be <code>null</code>
+     * @return the hash of the key
+     */
+    static long hash(final Object key) {
+        // finalizer of the SplitMix64 generator
+        long h = key == null ? 0 : key.hashCode();
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * @param hash the hash of the key to add as computed by {@link #hash(Object)}
+     */
+    void add(final long hash) {
+        final long h1 = hash & 0xFFFFFFFFL;
+        final long h2 = hash >>> 32;
+        for (int i = 0; i < m_nrHashes; i++) {
+            final long bit = (h1 + i * h2) % m_nrBits;
+            m_bits[(int)(bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @param hash the hash of the key to look up as computed by {@link #hash(Object)}
+     * @return <code>false</code> if the key has definitely not been added, <code>true</code> if it might have been
+     */
+    boolean mightContain(final long hash) {
+        final long h1 = hash & 0xFFFFFFFFL;
+        final long h2 = hash >>> 32;
+        for (int i = 0; i < m_nrHashes; i++) {
+            final long bit = (h1 + i * h2) % m_nrBits;
+            if ((m_bits[(int)(bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -59,8 +59,8 @@
 
 /**
  * A class representing an array of bits written to and read from disk. Bits can be set, unset, skipped, and read
- * sequentially. The pointer that runs over the array can also be reset to the beginning of the array. While random
- * access in constant time is also possible, there is no API for it implemented yet.
+ * sequentially. The pointer that runs over the array can also be moved to any position of the array, which is cheap
+ * if the new position lies within the currently buffered block.
  *
  * @author Marc Bux, KNIME GmbH, Berlin, Germany
  */
@@ -135,7 +135,7 @@ private void flush() throws IOException {
 
     private void setPositionInternal(final long pos) throws IOException {
         m_offset = pos / 8;
-        m_pos = (int)pos % 8;
+        m_pos = (int)(pos % 8);
         m_eof = pos >= m_length;
         if (!m_eof) {
             m_raf.seek(m_offset);
@@ -144,7 +144,7 @@ private void setPositionInternal(final long pos) throws IOException {
     }
 
     /**
-     * Resets the pointer to the beginning of the array.
+     * Moves the pointer to the given position of the array.
      *
      * @throws IOException if anything goes wrong with disk I/O
      * @throws IllegalArgumentException if the position argument is greater than the size of the array or lesser than 0
@@ -157,6 +157,13 @@ void setPosition(final long pos) throws IOException {
         }
         checkClosed();
         if (m_isInitialized) {
+            // positions within the current buffer are reached without any disk I/O
+            final long bitInBuffer = pos - m_offset * 8;
+            if (bitInBuffer >= 0 && bitInBuffer < BUFFER_SIZE * 8) {
+                m_pos = (int)bitInBuffer;
+                m_eof = false;
+                return;
+            }
             flush();
         } else {
             lazyInit();
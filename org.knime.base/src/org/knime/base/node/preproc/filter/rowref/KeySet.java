@@ -0,0 +1,100 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.rowref;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A set of reference keys against which the keys of the table to filter are looked up.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+interface KeySet {
+
+    /**
+     * Adds a key to this set.
+     *
+     * @param key the key to add, may be <code>null</code>
+     * @return <code>true</code> if the key was not yet contained in this set
+     */
+    boolean add(Object key);
+
+    /**
+     * @param key the key to look up, may be <code>null</code>
+     * @return <code>true</code> if the key is contained in this set
+     */
+    boolean contains(Object key);
+
+    /**
+     * Creates an empty key set.
+     *
+     * @param stringKeys <code>true</code> if all keys are {@link String Strings} (or <code>null</code>), in which case
+     *            a compact {@link StringKeySet} is returned
+     * @return a new empty key set
+     */
+    static KeySet create(final boolean stringKeys) {
+        return stringKeys ? new StringKeySet() : new HashKeySet();
+    }
+
+    /** Key set for arbitrary keys that is backed by a {@link HashSet}. */
+    final class HashKeySet implements KeySet {
+
+        private final Set<Object> m_keys = new HashSet<>();
+
+        @Override
+        public boolean add(final Object key) {
+            return m_keys.add(key);
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return m_keys.contains(key);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.rowref;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+
+/**
+ * Determines which rows of a table have a key that is contained in a reference table that does not fit into memory.
+ * Both tables are hash partitioned to disk such that the reference keys of each partition fit into memory; the
+ * partitions are then matched one after another (a partitioned hash semi-join). A Bloom filter built over all
+ * reference keys keeps most of the non-matching rows out of the data partitions. Partitions that hold more reference
+ * keys than fit into memory, e.g. because the number of partitions is capped, are split again with another hash.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class PartitionedReferenceMatcher {
+
+    /** The maximum number of partitions per level. */
+    static final int MAX_NR_PARTITIONS = 256;
+
+    /**
+     * The maximum number of times a partition is split again. Partitions at this level are matched in memory regardless
+     * of their size, which only happens if many reference keys share a hash, e.g. duplicate keys.
+     */
+    static final int MAX_LEVEL = 4;
+
+    private static final long MAX_BLOOM_FILTER_BYTES = 32L << 20;
+
+    private PartitionedReferenceMatcher() {
+    }
+
+    /**
+     * Matches the keys of the data table against the keys of the reference table.
+     *
+     * @param dataTable the table to filter
+     * @param dataKey extracts the key of a row of the table to filter
+     * @param refTable the reference table
+     * @param refKey extracts the key of a row of the reference table
+     * @param keyType the type of the keys, {@link StringCell#TYPE} if the keys are {@link String Strings} (or
+     *            <code>null</code>), the column type if they are {@link DataCell DataCells}
+     * @param maxKeysPerPartition the maximum number of reference keys per partition that are held in memory at once
+     * @param exec the execution context used to create the partitions and report progress
+     * @return a bit array with a set bit for each row of the data table whose key is contained in the reference table
+     * @throws CanceledExecutionException if the execution has been canceled
+     * @throws IOException if the bit array cannot be written
+     */
+    static DiskBackedBitArray match(final BufferedDataTable dataTable, final Function<DataRow, Object> dataKey,
+        final BufferedDataTable refTable, final Function<DataRow, Object> refKey, final DataType keyType,
+        final long maxKeysPerPartition, final ExecutionContext exec) throws CanceledExecutionException, IOException {
+        final boolean stringKeys = StringCell.TYPE.equals(keyType);
+        final int nrPartitions = getNrPartitions(refTable.size(), maxKeysPerPartition);
+        final DataTableSpec refSpec = new DataTableSpec(new DataColumnSpecCreator("Key", keyType).createSpec());
+        final DataTableSpec dataSpec = new DataTableSpec(
+            new DataColumnSpecCreator("Index", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Key", keyType).createSpec());
+        final ExecutionContext refExec = exec.createSubExecutionContext(0.3);
+        final ExecutionContext dataExec = exec.createSubExecutionContext(0.3);
+        final ExecutionContext matchExec = exec.createSubExecutionContext(0.4);
+
+        // partition the reference keys and build the Bloom filter
+        final BloomFilter bloomFilter = new BloomFilter(refTable.size(), MAX_BLOOM_FILTER_BYTES);
+        final BufferedDataContainer[] refContainers = createContainers(refExec, refSpec, nrPartitions);
+        long rowCnt = 0;
+        for (final DataRow row : refTable) {
+            refExec.checkCanceled();
+            final Object key = refKey.apply(row);
+            final long hash = BloomFilter.hash(key);
+            bloomFilter.add(hash);
+            refContainers[partition(hash, nrPartitions, 0)]
+                .addRowToTable(new DefaultRow(RowKey.createRowKey(rowCnt), toCell(key, stringKeys)));
+            rowCnt++;
+            refExec.setProgress(rowCnt / (double)refTable.size(), () -> "Partitioning reference table...");
+        }
+        final BufferedDataTable[] refParts = closeContainers(refContainers);
+
+        // partition the rows of the data table that pass the Bloom filter by their index
+        final BufferedDataContainer[] dataContainers = createContainers(dataExec, dataSpec, nrPartitions);
+        long rowIndex = 0;
+        for (final DataRow row : dataTable) {
+            dataExec.checkCanceled();
+            final Object key = dataKey.apply(row);
+            final long hash = BloomFilter.hash(key);
+            if (bloomFilter.mightContain(hash)) {
+                dataContainers[partition(hash, nrPartitions, 0)].addRowToTable(new DefaultRow(
+                    RowKey.createRowKey(rowIndex), new LongCell(rowIndex), toCell(key, stringKeys)));
+            }
+            rowIndex++;
+            dataExec.setProgress(rowIndex / (double)dataTable.size(), () -> "Partitioning table to filter...");
+        }
+        final BufferedDataTable[] dataParts = closeContainers(dataContainers);
+
+        // match partition by partition, each partition sets its bits in ascending row order
+        final DiskBackedBitArray bitArray = new DiskBackedBitArray(dataTable.size());
+        boolean success = false;
+        try {
+            for (int p = 0; p < nrPartitions; p++) {
+                final int partition = p + 1;
+                matchExec.setProgress(p / (double)nrPartitions,
+                    () -> "Matching partition " + partition + " of " + nrPartitions + "...");
+                matchPartition(refParts[p], dataParts[p], stringKeys, maxKeysPerPartition, 0, bitArray, matchExec);
+            }
+            success = true;
+            return bitArray;
+        } finally {
+            if (!success) {
+                bitArray.close();
+            }
+        }
+    }
+
+    private static int getNrPartitions(final long nrKeys, final long maxKeysPerPartition) {
+        final long maxKeys = Math.max(1, maxKeysPerPartition);
+        return (int)Math.min(MAX_NR_PARTITIONS, Math.max(2, (nrKeys + maxKeys - 1) / maxKeys));
+    }
+
+    /**
+     * Matches the rows of a data partition against the keys of the corresponding reference partition. If the
+     * reference partition holds too many keys, both partitions are split again and matched recursively. The partitions
+     * are cleared afterwards.
+     */
+    private static void matchPartition(final BufferedDataTable refPart, final BufferedDataTable dataPart,
+        final boolean stringKeys, final long maxKeysPerPartition, final int level, final DiskBackedBitArray bitArray,
+        final ExecutionContext exec) throws CanceledExecutionException, IOException {
+        if (refPart.size() > maxKeysPerPartition && dataPart.size() > 0 && level < MAX_LEVEL) {
+            final int nrPartitions = getNrPartitions(refPart.size(), maxKeysPerPartition);
+            final BufferedDataTable[] refParts = split(refPart, 0, stringKeys, nrPartitions, level + 1, exec);
+            final BufferedDataTable[] dataParts = split(dataPart, 1, stringKeys, nrPartitions, level + 1, exec);
+            exec.clearTable(refPart);
+            exec.clearTable(dataPart);
+            for (int p = 0; p < nrPartitions; p++) {
+                matchPartition(refParts[p], dataParts[p], stringKeys, maxKeysPerPartition, level + 1, bitArray, exec);
+            }
+            return;
+        }
+        final KeySet keySet = KeySet.create(stringKeys);
+        if (dataPart.size() > 0) {
+            for (final DataRow row : refPart) {
+                exec.checkCanceled();
+                keySet.add(fromCell(row.getCell(0), stringKeys));
+            }
+        }
+        for (final DataRow row : dataPart) {
+            exec.checkCanceled();
+            if (keySet.contains(fromCell(row.getCell(1), stringKeys))) {
+                bitArray.setPosition(((LongValue)row.getCell(0)).getLongValue());
+                bitArray.setBit();
+            }
+        }
+        exec.clearTable(refPart);
+        exec.clearTable(dataPart);
+    }
+
+    /** Splits a partition by the key in the given column, keeping the order of its rows. */
+    private static BufferedDataTable[] split(final BufferedDataTable part, final int keyCol, final boolean stringKeys,
+        final int nrPartitions, final int level, final ExecutionContext exec) throws CanceledExecutionException {
+        final BufferedDataContainer[] containers = createContainers(exec, part.getDataTableSpec(), nrPartitions);
+        for (final DataRow row : part) {
+            exec.checkCanceled();
+            final long hash = BloomFilter.hash(fromCell(row.getCell(keyCol), stringKeys));
+            containers[partition(hash, nrPartitions, level)].addRowToTable(row);
+        }
+        return closeContainers(containers);
+    }
+
+    private static int partition(final long hash, final int nrPartitions, final int level) {
+        // the Bloom filter uses both halves of the hash, hence remix it for the partition index; each level uses
+        // different bits such that the keys of a partition are spread over all of its sub-partitions
+        return (int)Long.remainderUnsigned(Long.rotateLeft(hash, 21 + 13 * level) * 0x9E3779B97F4A7C15L,
+            nrPartitions);
+    }
+
+    private static DataCell toCell(final Object key, final boolean stringKeys) {
+        if (!stringKeys) {
+            return (DataCell)key;
+        }
+        return key == null ? DataType.getMissingCell() : new StringCell((String)key);
+    }
+
+    private static Object fromCell(final DataCell cell, final boolean stringKeys) {
+        if (!stringKeys) {
+            return cell;
+        }
+        return cell.isMissing() ? null : ((StringValue)cell).getStringValue();
+    }
+
+    private static BufferedDataContainer[] createContainers(final ExecutionContext exec, final DataTableSpec spec,
+        final int nrPartitions) {
+        final BufferedDataContainer[] containers = new BufferedDataContainer[nrPartitions];
+        for (int p = 0; p < nrPartitions; p++) {
+            // the partitions are written to disk right away as they do not fit into memory altogether
+            containers[p] = exec.createDataContainer(spec, false, 0);
+        }
+        return containers;
+    }
+
+    private static BufferedDataTable[] closeContainers(final BufferedDataContainer[] containers) {
+        final BufferedDataTable[] tables = new BufferedDataTable[containers.length];
+        for (int p = 0; p < containers.length; p++) {
+            containers[p].close();
+            tables[p] = containers[p].getTable();
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.filter.rowref;
+
+import java.util.Arrays;
+
+/**
+ * A set of {@link String} keys that stores the characters of all keys in a single shared array and uses open addressing
+ * on primitive arrays. Compared to a {@link java.util.HashSet} of strings it needs neither a string nor an entry object
+ * per key, which considerably reduces the memory footprint and the load on the garbage collector for large reference
+ * tables. The set also accepts the <code>null</code> key.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StringKeySet implements KeySet {
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    // the slots of the hash table, each holding the index of an entry plus one or 0 if the slot is empty
+    private int[] m_slots = new int[16];
+
+    // the hash code of each entry
+    private int[] m_hashes = new int[8];
+
+    // the (exclusive) end offset of each entry in the character array, the start being the end of the previous entry
+    private int[] m_ends = new int[8];
+
+    // the characters of all entries
+    private char[] m_chars = new char[64];
+
+    private int m_size;
+
+    private boolean m_containsNull;
+
+    @Override
+    public boolean add(final Object key) {
+        if (key == null) {
+            final boolean added = !m_containsNull;
+            m_containsNull = true;
+            return added;
+        }
+        final String s = (String)key;
+        final int hash = s.hashCode();
+        final int slot = findSlot(s, hash);
+        if (m_slots[slot] != 0) {
+            return false;
+        }
+        final int start = m_size == 0 ? 0 : m_ends[m_size - 1];
+        if ((long)start + s.length() > MAX_ARRAY_SIZE) {
+            throw new IllegalStateException("Too many characters in reference keys");
+        }
+        ensureCapacity(start + s.length());
+        s.getChars(0, s.length(), m_chars, start);
+        m_hashes[m_size] = hash;
+        m_ends[m_size] = start + s.length();
+        m_size++;
+        m_slots[slot] = m_size;
+        if (m_size > m_slots.length / 2) {
+            rehash();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object key) {
+        if (key == null) {
+            return m_containsNull;
+        }
+        final String s = (String)key;
+        return m_slots[findSlot(s, s.hashCode())] != 0;
+    }
+
+    /**
+     * @return the number of keys in this set
+     */
+    int size() {
+        return m_size + (m_containsNull ? 1 : 0);
+    }
+
+    /** Returns the slot that holds the given string or the empty slot where it would be inserted. */
+    private int findSlot(final String s, final int hash) {
+        final int mask = m_slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (true) {
+            final int entry = m_slots[slot] - 1;
+            if (entry < 0 || (m_hashes[entry] == hash && equalsEntry(entry, s))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean equalsEntry(final int entry, final String s) {
+        final int start = entry == 0 ? 0 : m_ends[entry - 1];
+        if (m_ends[entry] - start != s.length()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (m_chars[start + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(final int nrChars) {
+        if (nrChars > m_chars.length) {
+            m_chars = Arrays.copyOf(m_chars, (int)Math.min(MAX_ARRAY_SIZE, Math.max(nrChars, 2L * m_chars.length)));
+        }
+        if (m_size == m_ends.length) {
+            m_ends = Arrays.copyOf(m_ends, 2 * m_size);
+            m_hashes = Arrays.copyOf(m_hashes, 2 * m_size);
+        }
+    }
+
+    private void rehash() {
+        final int[] slots = new int[2 * m_slots.length];
+        final int mask = slots.length - 1;
+        for (int entry = 0; entry < m_size; entry++) {
+            int slot = mix(m_hashes[entry]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry + 1;
+        }
+        m_slots = slots;
+    }
+
+    /** Spreads the bits of the string hash code, which are poorly distributed in the lower bits for similar keys. */
+    private static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
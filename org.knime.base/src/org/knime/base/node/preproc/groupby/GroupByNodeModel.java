@@ -826,6 +826,22 @@ protected boolean isProcessInMemory() {
         return m_inMemory.getBooleanValue();
     }
 
+    /**
+     * @return <code>true</code> if a hilite mapping should be maintained
+     * @since 4.4
+     */
+    protected final boolean isEnableHilite() {
+        return m_enableHilite.getBooleanValue();
+    }
+
+    /**
+     * @return the maximum number of unique values per group
+     * @since 4.4
+     */
+    protected final int getMaxUniqueValues() {
+        return m_maxUniqueValues.getIntValue();
+    }
+
     /**
      * @return <code>true</code> if any sorting should be performed in memory
      * @deprecated sort in memory is no longer required
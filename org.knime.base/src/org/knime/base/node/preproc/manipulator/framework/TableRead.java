@@ -161,6 +161,7 @@ public long getProgress() {
 
     @Override
     public void close() throws IOException {
-        // nothing to close
+        // releases the resources of the cursor if the read is closed early, e.g. if the number of rows is limited
+        m_rowCursor.close();
     }
 }
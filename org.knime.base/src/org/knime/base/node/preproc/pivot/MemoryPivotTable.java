@@ -0,0 +1,480 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.pivot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.node.preproc.groupby.GroupByTable;
+import org.knime.base.node.preproc.groupby.GroupKey;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.Pair;
+
+/**
+ * Pivots a table in memory with a single pass over the input. Each group is mapped by a hash map to its state, which
+ * holds a dense array of aggregation operators indexed by the pivot value (combination) and the operators of the group
+ * totals. The operators of the pivot totals and of the overall totals are updated from the same pass, hence neither
+ * intermediate group-by tables nor any sorting is required.
+ *
+ * <p>
+ * The groups of the pivot table are in the order of their first row with a non-ignored pivot value, the group totals
+ * are in the order of the first row of each group and the pivot values are numbered in the order of their first
+ * occurrence. This is the order the in-memory group-by based implementation produces.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class MemoryPivotTable {
+
+    private final ColumnAggregator[] m_aggregators;
+
+    private final int[] m_aggregationColIdx;
+
+    private final GlobalSettings m_pivotSettings;
+
+    private final GlobalSettings m_pivotTotalSettings;
+
+    private final GlobalSettings m_overallTotalSettings;
+
+    private final GlobalSettings m_groupTotalSettings;
+
+    private final boolean m_ignoreMissingPivots;
+
+    private final Map<GroupKey, GroupState> m_groups = new LinkedHashMap<>();
+
+    /** The groups in the order of their first row with a non-ignored pivot value. */
+    private final List<GroupState> m_pivotGroups = new ArrayList<>();
+
+    private final Map<GroupKey, Integer> m_pivotIds = new HashMap<>();
+
+    private final List<DataCell[]> m_pivotValues = new ArrayList<>();
+
+    private final List<Boolean> m_pivotIgnored = new ArrayList<>();
+
+    private final List<AggregationOperator[]> m_pivotTotals = new ArrayList<>();
+
+    private final AggregationOperator[] m_overallTotals;
+
+    private final Map<RowKey, Set<RowKey>> m_hiliteMapping;
+
+    private final List<Map<String, Collection<Pair<String, String>>>> m_skippedGroups = new ArrayList<>();
+
+    private long m_rowCount;
+
+    /**
+     * Reads the table and aggregates all groups and pivots.
+     *
+     * @param table the table to pivot
+     * @param groupCols the names of the group columns
+     * @param pivotCols the names of the pivot columns
+     * @param aggregators the aggregation columns
+     * @param globalSettings creates the global settings of the aggregation operators for the given group columns
+     * @param ignoreMissingPivots <code>true</code> if pivot value combinations containing a missing value are ignored
+     * @param enableHilite <code>true</code> if the hilite mapping of the group totals should be maintained
+     * @param exec the execution monitor for reporting progress and checking for cancelation
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    MemoryPivotTable(final BufferedDataTable table, final List<String> groupCols, final List<String> pivotCols,
+        final List<ColumnAggregator> aggregators, final Function<List<String>, GlobalSettings> globalSettings,
+        final boolean ignoreMissingPivots, final boolean enableHilite, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final DataTableSpec spec = table.getDataTableSpec();
+        m_aggregators = aggregators.toArray(new ColumnAggregator[0]);
+        m_aggregationColIdx = new int[m_aggregators.length];
+        for (int i = 0; i < m_aggregators.length; i++) {
+            m_aggregationColIdx[i] = spec.findColumnIndex(m_aggregators[i].getOriginalColName());
+        }
+        final List<String> groupAndPivotCols = new ArrayList<>(groupCols);
+        groupAndPivotCols.addAll(pivotCols);
+        m_pivotSettings = globalSettings.apply(groupAndPivotCols);
+        m_pivotTotalSettings = globalSettings.apply(pivotCols);
+        m_overallTotalSettings = globalSettings.apply(Collections.emptyList());
+        m_groupTotalSettings = globalSettings.apply(groupCols);
+        m_ignoreMissingPivots = ignoreMissingPivots;
+        m_hiliteMapping = enableHilite ? new HashMap<>() : null;
+        m_overallTotals = createOperators(m_overallTotalSettings);
+
+        final int[] groupColIdx = findColumnIndices(spec, groupCols);
+        final int[] pivotColIdx = findColumnIndices(spec, pivotCols);
+        final long rowCount = table.size();
+        for (final DataRow row : table) {
+            exec.checkCanceled();
+            final long rowIndex = m_rowCount++;
+            exec.setProgress(rowIndex / (double)rowCount, () -> "Analyzing row " + rowIndex + " of " + rowCount);
+            final GroupKey groupKey = new GroupKey(getCells(row, groupColIdx));
+            GroupState group = m_groups.get(groupKey);
+            if (group == null) {
+                group = new GroupState(groupKey.getGroupVals(), createOperators(m_groupTotalSettings),
+                    m_hiliteMapping != null);
+                m_groups.put(groupKey, group);
+            }
+            if (m_hiliteMapping != null) {
+                group.m_rowKeys.add(row.getKey());
+            }
+            final int pivotId = getPivotId(getCells(row, pivotColIdx));
+            AggregationOperator[] pivotOperators = group.getPivotOperators(pivotId);
+            if (pivotOperators == null) {
+                pivotOperators = createOperators(m_pivotSettings);
+                group.setPivotOperators(pivotId, pivotOperators);
+            }
+            if (!group.m_isPivotGroup && !m_pivotIgnored.get(pivotId)) {
+                group.m_isPivotGroup = true;
+                m_pivotGroups.add(group);
+            }
+            compute(row, pivotOperators);
+            compute(row, group.m_totals);
+            compute(row, m_pivotTotals.get(pivotId));
+            compute(row, m_overallTotals);
+        }
+    }
+
+    private static int[] findColumnIndices(final DataTableSpec spec, final List<String> colNames) {
+        final int[] colIdx = new int[colNames.size()];
+        for (int i = 0; i < colIdx.length; i++) {
+            colIdx[i] = spec.findColumnIndex(colNames.get(i));
+        }
+        return colIdx;
+    }
+
+    private static DataCell[] getCells(final DataRow row, final int[] colIdx) {
+        final DataCell[] cells = new DataCell[colIdx.length];
+        for (int i = 0; i < colIdx.length; i++) {
+            cells[i] = row.getCell(colIdx[i]);
+        }
+        return cells;
+    }
+
+    private int getPivotId(final DataCell[] pivotValues) {
+        final GroupKey pivotKey = new GroupKey(pivotValues);
+        Integer pivotId = m_pivotIds.get(pivotKey);
+        if (pivotId == null) {
+            pivotId = m_pivotValues.size();
+            m_pivotIds.put(pivotKey, pivotId);
+            m_pivotValues.add(pivotValues);
+            m_pivotIgnored.add(m_ignoreMissingPivots && Arrays.stream(pivotValues).anyMatch(DataCell::isMissing));
+            m_pivotTotals.add(createOperators(m_pivotTotalSettings));
+        }
+        return pivotId;
+    }
+
+    private AggregationOperator[] createOperators(final GlobalSettings globalSettings) {
+        final AggregationOperator[] operators = new AggregationOperator[m_aggregators.length];
+        for (int i = 0; i < operators.length; i++) {
+            operators[i] = m_aggregators[i].clone().getOperator(globalSettings);
+        }
+        return operators;
+    }
+
+    private void compute(final DataRow row, final AggregationOperator[] operators) {
+        for (int i = 0; i < operators.length; i++) {
+            operators[i].compute(row, m_aggregationColIdx[i]);
+        }
+    }
+
+    /**
+     * @return the number of distinct pivot value combinations
+     */
+    int getNrPivots() {
+        return m_pivotValues.size();
+    }
+
+    /**
+     * @param pivotId the number of the pivot value combination
+     * @return the values of the pivot columns of the combination
+     */
+    DataCell[] getPivotValues(final int pivotId) {
+        return m_pivotValues.get(pivotId);
+    }
+
+    /**
+     * @param pivotId the number of the pivot value combination
+     * @return <code>true</code> if the combination contains a missing value and these are ignored
+     */
+    boolean isPivotIgnored(final int pivotId) {
+        return m_pivotIgnored.get(pivotId);
+    }
+
+    /**
+     * Returns one row per group and pivot value combination that occurs in the input. The row contains the values of
+     * the group columns followed by the values of the pivot columns.
+     *
+     * @return the group and pivot value combinations
+     */
+    List<DataRow> getGroupPivotCombinations() {
+        final List<DataRow> combinations = new ArrayList<>();
+        for (final GroupState group : m_groups.values()) {
+            for (int pivotId = 0; pivotId < group.m_pivotOperators.length; pivotId++) {
+                if (group.m_pivotOperators[pivotId] != null) {
+                    final DataCell[] pivotValues = m_pivotValues.get(pivotId);
+                    final DataCell[] cells = Arrays.copyOf(group.m_groupValues,
+                        group.m_groupValues.length + pivotValues.length);
+                    System.arraycopy(pivotValues, 0, cells, group.m_groupValues.length, pivotValues.length);
+                    combinations.add(new DefaultRow(RowKey.createRowKey((long)combinations.size()), cells));
+                }
+            }
+        }
+        return combinations;
+    }
+
+    /**
+     * Creates the pivot table which contains one row per group with at least one non-ignored pivot value.
+     *
+     * @param exec the execution context to create the table
+     * @param spec the spec of the pivot table
+     * @param pivotStarts the index of the first cell of each pivot value combination in the output row or -1 if the
+     *            combination is not written
+     * @param pivotOrder the pivot value combinations in the order in which they are written, later ones overwrite
+     *            earlier ones that start at the same cell
+     * @return the pivot table
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    BufferedDataTable createPivotTable(final ExecutionContext exec, final DataTableSpec spec,
+        final int[] pivotStarts, final int[] pivotOrder) throws CanceledExecutionException {
+        final Map<String, Collection<Pair<String, String>>> skippedGroups = new LinkedHashMap<>();
+        final BufferedDataContainer dc = exec.createDataContainer(spec);
+        final int size = m_pivotGroups.size();
+        for (final GroupState group : m_pivotGroups) {
+            exec.checkCanceled();
+            final long groupIndex = dc.size();
+            exec.setProgress(groupIndex / (double)size, () -> "Writing group " + groupIndex + " of " + size);
+            final DataCell[] cells = new DataCell[spec.getNumColumns()];
+            System.arraycopy(group.m_groupValues, 0, cells, 0, group.m_groupValues.length);
+            for (final int pivotId : pivotOrder) {
+                if (pivotId < group.m_pivotOperators.length && group.m_pivotOperators[pivotId] != null
+                    && pivotStarts[pivotId] >= 0) {
+                    final DataCell[] pivotValues = m_pivotValues.get(pivotId);
+                    final DataCell[] groupAndPivotValues = Arrays.copyOf(group.m_groupValues,
+                        group.m_groupValues.length + pivotValues.length);
+                    System.arraycopy(pivotValues, 0, groupAndPivotValues, group.m_groupValues.length,
+                        pivotValues.length);
+                    writeResults(group.m_pivotOperators[pivotId], cells, pivotStarts[pivotId], groupAndPivotValues,
+                        skippedGroups);
+                }
+            }
+            dc.addRowToTable(new DefaultRow(RowKey.createRowKey(groupIndex), fillMissing(cells)));
+        }
+        dc.close();
+        m_skippedGroups.add(skippedGroups);
+        return dc.getTable();
+    }
+
+    /**
+     * Creates the pivot totals table which contains a single row with missing group values and the totals of all
+     * non-ignored pivot value combinations followed by the overall totals if requested. The table is empty if there
+     * is no such combination.
+     *
+     * @param exec the execution context to create the table
+     * @param spec the spec of the table
+     * @param pivotStarts the index of the first cell of each pivot value combination in the output row or -1 if the
+     *            combination is not written
+     * @param overallTotals <code>true</code> if the overall totals should be appended
+     * @return the pivot totals table
+     */
+    BufferedDataTable createPivotTotalsTable(final ExecutionContext exec, final DataTableSpec spec,
+        final int[] pivotStarts, final boolean overallTotals) {
+        final Map<String, Collection<Pair<String, String>>> skippedGroups = new LinkedHashMap<>();
+        final BufferedDataContainer dc = exec.createDataContainer(spec);
+        final DataCell[] cells = new DataCell[spec.getNumColumns()];
+        boolean hasPivots = false;
+        for (int pivotId = 0; pivotId < m_pivotValues.size(); pivotId++) {
+            if (!m_pivotIgnored.get(pivotId)) {
+                hasPivots = true;
+                if (pivotStarts[pivotId] >= 0) {
+                    writeResults(m_pivotTotals.get(pivotId), cells, pivotStarts[pivotId],
+                        m_pivotValues.get(pivotId), skippedGroups);
+                }
+            }
+        }
+        m_skippedGroups.add(skippedGroups);
+        if (hasPivots) {
+            final RowKey rowKey;
+            if (overallTotals) {
+                final Map<String, Collection<Pair<String, String>>> skippedTotals = new LinkedHashMap<>();
+                writeResults(m_overallTotals, cells, cells.length - m_overallTotals.length, new DataCell[0],
+                    skippedTotals);
+                m_skippedGroups.add(skippedTotals);
+                rowKey = new RowKey("Totals");
+            } else {
+                rowKey = RowKey.createRowKey(0L);
+            }
+            dc.addRowToTable(new DefaultRow(rowKey, fillMissing(cells)));
+        }
+        dc.close();
+        return dc.getTable();
+    }
+
+    /**
+     * Creates the group totals table which contains one row per group in the order of their first occurrence.
+     *
+     * @param exec the execution context to create the table
+     * @param spec the spec of the group totals table
+     * @return the group totals table
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    BufferedDataTable createGroupTotalsTable(final ExecutionContext exec, final DataTableSpec spec)
+        throws CanceledExecutionException {
+        final Map<String, Collection<Pair<String, String>>> skippedGroups = new LinkedHashMap<>();
+        final BufferedDataContainer dc = exec.createDataContainer(spec);
+        final int size = m_groups.size();
+        for (final GroupState group : m_groups.values()) {
+            exec.checkCanceled();
+            final long groupIndex = dc.size();
+            exec.setProgress(groupIndex / (double)size, () -> "Writing group " + groupIndex + " of " + size);
+            final DataCell[] cells = Arrays.copyOf(group.m_groupValues, spec.getNumColumns());
+            writeResults(group.m_totals, cells, group.m_groupValues.length, group.m_groupValues, skippedGroups);
+            final RowKey rowKey = RowKey.createRowKey(groupIndex);
+            dc.addRowToTable(new DefaultRow(rowKey, cells));
+            if (m_hiliteMapping != null) {
+                m_hiliteMapping.put(rowKey, group.m_rowKeys);
+            }
+        }
+        dc.close();
+        m_skippedGroups.add(skippedGroups);
+        return dc.getTable();
+    }
+
+    private void writeResults(final AggregationOperator[] operators, final DataCell[] cells, final int offset,
+        final DataCell[] groupValues, final Map<String, Collection<Pair<String, String>>> skippedGroups) {
+        for (int i = 0; i < operators.length; i++) {
+            final AggregationOperator operator = operators[i];
+            cells[offset + i] = operator.getResult();
+            if (operator.isSkipped()) {
+                skippedGroups.computeIfAbsent(m_aggregators[i].getOriginalColName(), k -> new ArrayList<>())
+                    .add(new Pair<>(GroupByTable.createSkippedGroupName(groupValues), operator.getSkipMessage()));
+            }
+        }
+    }
+
+    private static DataCell[] fillMissing(final DataCell[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == null) {
+                cells[i] = DataType.getMissingCell();
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @return the mapping from the rows of the group totals table to the input rows or <code>null</code> if hiliting
+     *         is disabled, available after {@link #createGroupTotalsTable(ExecutionContext, DataTableSpec)}
+     */
+    Map<RowKey, Set<RowKey>> getHiliteMapping() {
+        return m_hiliteMapping;
+    }
+
+    /**
+     * Returns the message about skipped groups of the table that has been created last and skipped any groups.
+     *
+     * @param maxGroups the maximum number of skipped groups to display
+     * @param maxCols the maximum number of columns to display per group
+     * @return the message or <code>null</code> if no groups were skipped
+     */
+    String getSkippedGroupsMessage(final int maxGroups, final int maxCols) {
+        String message = null;
+        for (final Map<String, Collection<Pair<String, String>>> skippedGroups : m_skippedGroups) {
+            final String tableMessage = GroupByTable.createSkippedGroupsMessage(skippedGroups, maxGroups, maxCols);
+            if (tableMessage != null) {
+                message = tableMessage;
+            }
+        }
+        return message;
+    }
+
+    /** The state of one group: its totals and the operators of each pivot value combination that occurs. */
+    private static final class GroupState {
+
+        private final DataCell[] m_groupValues;
+
+        private final AggregationOperator[] m_totals;
+
+        /** The keys of the rows of the group, <code>null</code> if hiliting is disabled. */
+        private final Set<RowKey> m_rowKeys;
+
+        private AggregationOperator[][] m_pivotOperators = new AggregationOperator[0][];
+
+        private boolean m_isPivotGroup;
+
+        GroupState(final DataCell[] groupValues, final AggregationOperator[] totals, final boolean keepRowKeys) {
+            m_groupValues = groupValues;
+            m_totals = totals;
+            m_rowKeys = keepRowKeys ? new HashSet<>() : null;
+        }
+
+        AggregationOperator[] getPivotOperators(final int pivotId) {
+            return pivotId < m_pivotOperators.length ? m_pivotOperators[pivotId] : null;
+        }
+
+        void setPivotOperators(final int pivotId, final AggregationOperator[] operators) {
+            if (pivotId >= m_pivotOperators.length) {
+                m_pivotOperators = Arrays.copyOf(m_pivotOperators, Math.max(pivotId + 1, 2 * m_pivotOperators.length));
+            }
+            m_pivotOperators[pivotId] = operators;
+        }
+    }
+}
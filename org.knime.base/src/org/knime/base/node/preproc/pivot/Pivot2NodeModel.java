@@ -57,10 +57,12 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.stream.IntStream;
 
 import org.knime.base.data.aggregation.AggregationMethods;
 import org.knime.base.data.aggregation.ColumnAggregator;
 import org.knime.base.data.sort.SortedTable;
+import org.knime.base.node.preproc.groupby.ColumnNamePolicy;
 import org.knime.base.node.preproc.groupby.GroupByNodeModel;
 import org.knime.base.node.preproc.groupby.GroupByTable;
 import org.knime.core.data.DataCell;
@@ -76,11 +78,11 @@
 import org.knime.core.data.container.ColumnRearranger;
 import org.knime.core.data.container.SingleCellFactory;
 import org.knime.core.data.def.DefaultRow;
-import org.knime.core.data.sort.BufferedDataTableSorter;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
@@ -90,6 +92,7 @@
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.property.hilite.DefaultHiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteHandler;
 import org.knime.core.util.Pair;
 
@@ -430,6 +433,9 @@ private List<String> createAllColumns() {
     @Override
     protected PortObject[] execute(final PortObject[] inData, final ExecutionContext exec) throws Exception {
         final BufferedDataTable table = (BufferedDataTable)inData[0];
+        if (isProcessInMemory()) {
+            return pivotInMemory(table, exec);
+        }
         final List<String> groupAndPivotCols = createAllColumns();
         final BufferedDataTable groupTable;
         final String orderPivotColumnName;
@@ -439,22 +445,18 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
         ExecutionContext pivotExec = exec.createSubExecutionContext(0.25);
 
         double progMainTotal = 0.0;
-        double progMainTableAppendIndexForSort = isProcessInMemory() || isRetainOrder() ? 1.0 : 0.0;
+        double progMainTableAppendIndexForSort = isRetainOrder() ? 1.0 : 0.0;
         progMainTotal += progMainTableAppendIndexForSort;
         double progMainTableGroup = 5.0;
         progMainTotal += progMainTableGroup;
-        double progMainTableInMemSort = isProcessInMemory() ? 3.0 : 0.0;
-        progMainTotal += progMainTableInMemSort;
         double progMainTableGetPivots = 1.0;
         progMainTotal += progMainTableGetPivots;
         double progMainTableFillPivots = 1.0;
         progMainTotal += progMainTableFillPivots;
-        double progMainTableRestoreSort = isProcessInMemory() || isRetainOrder() ? 1.0 : 0.0;
+        double progMainTableRestoreSort = isRetainOrder() ? 1.0 : 0.0;
         progMainTotal += progMainTableRestoreSort;
-        double progMainTableReplaceRowKey = isProcessInMemory() ? 1.0 : 0.0;
-        progMainTotal += progMainTableReplaceRowKey;
 
-        if (isProcessInMemory() || isRetainOrder()) {
+        if (isRetainOrder()) {
             exec.setMessage("Keeping row order");
             final String retainOrderCol = DataTableSpec.getUniqueColumnName(table.getDataTableSpec(), "#pivot_order#");
             // append temp. id column with minimum-aggregation method
@@ -477,26 +479,14 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             exec.setMessage("Grouping main table");
             final GroupByTable groupByTable =
                 createGroupByTable(groupAndPivotExec.createSubExecutionContext(progMainTableGroup / progMainTotal),
-                    appTable, groupAndPivotCols, isProcessInMemory(),
+                    appTable, groupAndPivotCols, false,
                     false /* retain order always false; handled by pivoting */, Arrays.asList(aggrs));
-            // table is not sorted by group&pivot columns; if process in memory
-            // true then sort table by group&pivot columns
-            final BufferedDataTable origGroupByTable = groupByTable.getBufferedTable();
-            if (isProcessInMemory()) {
-                exec.setMessage("Sorting group table");
-                //ensure that missing values are at the end by setting the boolean flag
-                final BufferedDataTableSorter sortedGroupByTable = new BufferedDataTableSorter(origGroupByTable,
-                    new InMemoryRowComparator(groupAndPivotCols, origGroupByTable.getSpec()));
-                groupTable = sortedGroupByTable
-                    .sort(groupAndPivotExec.createSubExecutionContext(progMainTableInMemSort / progMainTotal));
-            } else {
-                groupTable = origGroupByTable;
-            }
+            groupTable = groupByTable.getBufferedTable();
         } else {
             exec.setMessage("Grouping main table");
             final GroupByTable groupByTable =
                 createGroupByTable(groupAndPivotExec.createSubExecutionContext(progMainTableGroup / progMainTotal),
-                    table, groupAndPivotCols, isProcessInMemory(), false, getColumnAggregators());
+                    table, groupAndPivotCols, false, false, getColumnAggregators());
             groupTable = groupByTable.getBufferedTable();
             orderPivotColumnName = null;
         }
@@ -508,27 +498,8 @@ appTable, groupAndPivotCols, isProcessInMemory(),
             pivotIdx[i] = groupSpec.findColumnIndex(pivotCols.get(i));
         }
         exec.setProgress("Determining pivots...");
-        ExecutionContext fillExec = groupAndPivotExec.createSubExecutionContext(progMainTableGetPivots / progMainTotal);
-        final long groupTableSize = groupTable.size();
-        long groupIndex = 0;
-        for (final DataRow row : groupTable) {
-            for (int i = 0; i < pivotIdx.length; i++) {
-                if (combPivots[i] == null) {
-                    combPivots[i] = new LinkedHashSet<String>();
-                }
-                final DataCell cell = row.getCell(pivotIdx[i]);
-                if (cell.isMissing()) {
-                    if (!m_ignoreMissValues.getBooleanValue()) {
-                        combPivots[i].add(cell.toString());
-                    }
-                } else {
-                    combPivots[i].add(cell.toString());
-                }
-            }
-            fillExec.setProgress(groupIndex++ / (double)groupTableSize,
-                String.format("Group \"%s\" (%d/%d)", row.getKey(), groupIndex, groupTableSize));
-            fillExec.checkCanceled();
-        }
+        collectPivots(groupTable, groupTable.size(), pivotIdx, combPivots,
+            groupAndPivotExec.createSubExecutionContext(progMainTableGetPivots / progMainTotal));
 
         final Map<String, Integer> pivotStarts = new LinkedHashMap<String, Integer>();
         final DataTableSpec outSpec = createOutSpec(groupSpec, combPivots, pivotStarts, orderPivotColumnName);
@@ -546,19 +517,6 @@ appTable, groupAndPivotCols, isProcessInMemory(),
             colre.remove(orderPivotColumnName);
             pivotTable = exec.createColumnRearrangeTable(pivotTable, colre, exec.createSilentSubProgress(0.0));
         }
-        // temp fix for bug 3286
-        if (isProcessInMemory()) {
-            // if process in memory is true, RowKey's needs to be re-computed
-            final BufferedDataContainer rowkeyBuf =
-                groupAndPivotExec.createSubExecutionContext(progMainTableReplaceRowKey / progMainTotal)
-                    .createDataContainer(pivotTable.getSpec());
-            long rowIndex = 0;
-            for (DataRow row : pivotTable) {
-                rowkeyBuf.addRowToTable(new DefaultRow(RowKey.createRowKey(rowIndex++), row));
-            }
-            rowkeyBuf.close();
-            pivotTable = rowkeyBuf.getTable();
-        }
         groupAndPivotExec.setProgress(1.0);
 
         /* Fill the 3rd port */
@@ -577,7 +535,7 @@ appTable, groupAndPivotCols, isProcessInMemory(),
         // perform pivoting: result in single line
         final GroupByTable rowGroup =
             createGroupByTable(pivotExec.createSubExecutionContext(progPivotGroup / progPivotTotal), table,
-                m_pivotCols.getIncludeList(), isProcessInMemory(), isRetainOrder(), getColumnAggregators());
+                m_pivotCols.getIncludeList(), false, isRetainOrder(), getColumnAggregators());
         final BufferedDataTable rowGroupTable = rowGroup.getBufferedTable();
         // fill group columns with missing cells
         final ColumnRearranger colre = new ColumnRearranger(rowGroupTable.getDataTableSpec());
@@ -607,7 +565,7 @@ public DataCell getCell(final DataRow row) {
             @SuppressWarnings("unchecked")
             final GroupByTable totalGroup =
                 createGroupByTable(pivotExec.createSubExecutionContext(progPivotOverallTotals / progPivotTotal), table,
-                    Collections.EMPTY_LIST, isProcessInMemory(), isRetainOrder(), getColumnAggregators());
+                    Collections.EMPTY_LIST, false, isRetainOrder(), getColumnAggregators());
             final BufferedDataTable totalGroupTable = totalGroup.getBufferedTable();
 
             final DataTableSpec pivotsRowsSpec = pivotRowsTable.getSpec();
@@ -638,6 +596,134 @@ public DataCell getCell(final DataRow row) {
         BufferedDataTable columnGroupTable =
             createGroupByTable(groupExec, table, getGroupByColumns()).getBufferedTable();
 
+        return createOutput(exec, pivotTable, columnGroupTable, pivotRowsTable);
+    }
+
+    /**
+     * Pivots the table in memory with a single pass over the input, see {@link MemoryPivotTable}. This creates the same
+     * tables as the group-by based implementation without intermediate group-by tables and without sorting.
+     */
+    private PortObject[] pivotInMemory(final BufferedDataTable table, final ExecutionContext exec)
+        throws CanceledExecutionException, InvalidSettingsException {
+        final List<String> groupCols = getGroupByColumns();
+        final List<String> pivotCols = m_pivotCols.getIncludeList();
+        final List<String> groupAndPivotCols = createAllColumns();
+        final ColumnAggregator[] aggregators = getColumnAggregators().toArray(new ColumnAggregator[0]);
+        final ColumnNamePolicy colNamePolicy = getColumnNamePolicy();
+        final DataTableSpec inSpec = table.getDataTableSpec();
+        final int maxUniqueValues = getMaxUniqueValues();
+
+        exec.setMessage("Pivoting table");
+        final MemoryPivotTable memoryTable = new MemoryPivotTable(table, groupCols, pivotCols,
+            getColumnAggregators(), cols -> createGlobalSettings(exec, table, cols, maxUniqueValues),
+            m_ignoreMissValues.getBooleanValue(), isEnableHilite(), exec.createSubProgress(0.7));
+
+        // determine the pivots in the order of the group table sorted by group and pivot values
+        exec.setMessage("Determining pivots");
+        final DataTableSpec groupSpec =
+            GroupByTable.createGroupByTableSpec(inSpec, groupAndPivotCols, aggregators, colNamePolicy);
+        final Set<String>[] combPivots = createCombinedPivots(groupSpec, pivotCols);
+        final DataTableSpec combinationSpec = createSubSpec(inSpec, groupAndPivotCols);
+        final List<DataRow> combinations = memoryTable.getGroupPivotCombinations();
+        combinations.sort(new InMemoryRowComparator(groupAndPivotCols, combinationSpec));
+        final int[] pivotIdx = new int[pivotCols.size()];
+        for (int i = 0; i < pivotIdx.length; i++) {
+            pivotIdx[i] = combinationSpec.findColumnIndex(pivotCols.get(i));
+        }
+        collectPivots(combinations, combinations.size(), pivotIdx, combPivots, exec.createSubProgress(0.05));
+
+        final Map<String, Integer> pivotStarts = new LinkedHashMap<String, Integer>();
+        final DataTableSpec outSpec = createOutSpec(groupSpec, combPivots, pivotStarts, null);
+        final int nrPivots = memoryTable.getNrPivots();
+        final int[] pivotStartsById = new int[nrPivots];
+        final List<DataRow> pivotRows = new ArrayList<DataRow>(nrPivots);
+        for (int pivotId = 0; pivotId < nrPivots; pivotId++) {
+            final DataCell[] pivotValues = memoryTable.getPivotValues(pivotId);
+            final Integer start = pivotStarts.get(createPivotColumnName(pivotValues));
+            pivotStartsById[pivotId] = memoryTable.isPivotIgnored(pivotId) || start == null ? -1 : start;
+            pivotRows.add(new DefaultRow(RowKey.createRowKey((long)pivotId), pivotValues));
+        }
+        // within a group the pivots are written in the order of the sorted group table
+        final InMemoryRowComparator pivotComparator =
+            new InMemoryRowComparator(pivotCols, createSubSpec(inSpec, pivotCols));
+        final int[] pivotOrder = IntStream.range(0, nrPivots).boxed()
+            .sorted((a, b) -> pivotComparator.compare(pivotRows.get(a), pivotRows.get(b)))
+            .mapToInt(Integer::intValue).toArray();
+
+        exec.setMessage("Filling pivot table");
+        final BufferedDataTable pivotTable =
+            memoryTable.createPivotTable(exec.createSubExecutionContext(0.1), outSpec, pivotStartsById, pivotOrder);
+
+        exec.setMessage("Determining pivot totals");
+        DataTableSpec pivotRowsSpec = outSpec;
+        if (m_totalAggregation.getBooleanValue()) {
+            pivotRowsSpec = new DataTableSpec(outSpec, GroupByTable.createGroupByTableSpec(inSpec,
+                Collections.<String> emptyList(), aggregators, colNamePolicy));
+        }
+        final BufferedDataTable pivotRowsTable = memoryTable.createPivotTotalsTable(
+            exec.createSubExecutionContext(0.05), pivotRowsSpec, pivotStartsById, m_totalAggregation.getBooleanValue());
+
+        exec.setMessage("Creating group totals");
+        final BufferedDataTable columnGroupTable = memoryTable.createGroupTotalsTable(
+            exec.createSubExecutionContext(0.1),
+            GroupByTable.createGroupByTableSpec(inSpec, groupCols, aggregators, colNamePolicy));
+        if (isEnableHilite()) {
+            setHiliteMapping(new DefaultHiLiteMapper(memoryTable.getHiliteMapping()));
+        }
+        final String warningMsg = memoryTable.getSkippedGroupsMessage(3, 3);
+        if (warningMsg != null) {
+            setWarningMessage(warningMsg);
+        }
+        return createOutput(exec, pivotTable, columnGroupTable, pivotRowsTable);
+    }
+
+    private static DataTableSpec createSubSpec(final DataTableSpec spec, final List<String> colNames) {
+        return new DataTableSpec(colNames.stream().map(spec::getColumnSpec).toArray(DataColumnSpec[]::new));
+    }
+
+    private static String createPivotColumnName(final DataCell[] pivotValues) {
+        final StringBuilder pivotColumn = new StringBuilder();
+        for (final DataCell cell : pivotValues) {
+            if (pivotColumn.length() > 0) {
+                pivotColumn.append(PIVOT_COLUMN_DELIMITER);
+            }
+            pivotColumn.append(cell.toString());
+        }
+        return pivotColumn.toString();
+    }
+
+    /**
+     * Adds the values of the pivot columns of the given rows to the pivot values of the respective column.
+     */
+    private void collectPivots(final Iterable<DataRow> rows, final long nrRows, final int[] pivotIdx,
+        final Set<String>[] combPivots, final ExecutionMonitor exec) throws CanceledExecutionException {
+        long groupIndex = 0;
+        for (final DataRow row : rows) {
+            for (int i = 0; i < pivotIdx.length; i++) {
+                if (combPivots[i] == null) {
+                    combPivots[i] = new LinkedHashSet<String>();
+                }
+                final DataCell cell = row.getCell(pivotIdx[i]);
+                if (cell.isMissing()) {
+                    if (!m_ignoreMissValues.getBooleanValue()) {
+                        combPivots[i].add(cell.toString());
+                    }
+                } else {
+                    combPivots[i].add(cell.toString());
+                }
+            }
+            exec.setProgress(groupIndex++ / (double)nrRows,
+                String.format("Group \"%s\" (%d/%d)", row.getKey(), groupIndex, nrRows));
+            exec.checkCanceled();
+        }
+    }
+
+    private PortObject[] createOutput(final ExecutionContext exec, final BufferedDataTable pivot,
+        final BufferedDataTable columnGroup, final BufferedDataTable pivotRows) throws CanceledExecutionException {
+        BufferedDataTable pivotTable = pivot;
+        BufferedDataTable columnGroupTable = columnGroup;
+        BufferedDataTable pivotRowsTable = pivotRows;
+
         // if necessary sort the table columns lexicographically
         if (m_sortLexigraphcial.getBooleanValue()) {
             DataTableSpec tableSpec = pivotTable.getDataTableSpec();
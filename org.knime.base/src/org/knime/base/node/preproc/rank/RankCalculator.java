@@ -0,0 +1,423 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.rank;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Computes the ranks of all rows of a table in memory without sorting the table. The rows are assigned to their groups
+ * with a hash map on the grouping columns and only the values of the ranking columns are kept. The row indices of each
+ * group are then sorted (stable) by these values and the ranks are written into an array that is indexed by the
+ * position of the row in the input table, i.e. the ranks can be appended to the input table in its original order.
+ *
+ * <p>
+ * The rows are ordered exactly like the {@link org.knime.core.data.sort.BufferedDataTableSorter} orders them, that is
+ * by the comparators of the column types with missing values being smaller than any other value. Rows with equal
+ * ranking values keep their input order, which determines the ranks in ordinal mode. Like the {@link RankCellFactory},
+ * adjacent rows share a rank if their ranking cells are equal, e.g. -0.0 and 0.0 are ordered but share a rank.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RankCalculator {
+
+    /** Bytes per row for the group index, the sort order, the merge buffer and the rank. */
+    private static final long BYTES_PER_ROW = 16;
+
+    /** Bytes per row for a ranking column whose values are kept as primitive doubles (value plus missing flag). */
+    private static final long BYTES_PER_PRIMITIVE_VALUE = 9;
+
+    /** Estimated bytes per row for a ranking or grouping column whose cells are kept (reference plus cell). */
+    private static final long BYTES_PER_CELL = 40;
+
+    /** Estimated bytes per row for the hash map entry of the group the row belongs to (worst case: one per row). */
+    private static final long BYTES_PER_GROUP = 64;
+
+    /** Segments of at most this size are sorted by insertion sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private RankCalculator() {
+    }
+
+    /**
+     * Checks whether the ranks of the given table can be computed in memory. This is the case if the table has less
+     * than {@link Integer#MAX_VALUE} rows and the ranking values, the group map and the index arrays fit into the
+     * currently free memory.
+     *
+     * @param table the table to rank
+     * @param groupColIndices the indices of the grouping columns
+     * @param rankColIndices the indices of the ranking columns
+     * @return <code>true</code> if {@link #calculateRanks} can be used, <code>false</code> otherwise
+     */
+    static boolean isApplicable(final BufferedDataTable table, final int[] groupColIndices,
+        final int[] rankColIndices) {
+        final long rowCount = table.size();
+        if (rowCount >= Integer.MAX_VALUE - 8) {
+            return false;
+        }
+        final DataTableSpec spec = table.getDataTableSpec();
+        long bytesPerRow = BYTES_PER_ROW;
+        for (final int colIdx : rankColIndices) {
+            bytesPerRow +=
+                isPrimitive(spec.getColumnSpec(colIdx).getType()) ? BYTES_PER_PRIMITIVE_VALUE : BYTES_PER_CELL;
+        }
+        if (groupColIndices.length > 0) {
+            bytesPerRow += BYTES_PER_GROUP + groupColIndices.length * BYTES_PER_CELL;
+        }
+        final Runtime runtime = Runtime.getRuntime();
+        final long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        // leave some head room for the rest of the workflow
+        return rowCount * bytesPerRow < freeMemory / 2;
+    }
+
+    /**
+     * Values of columns whose preferred value is an int or a double are compared by the type's comparator exactly as
+     * their double values, hence they can be kept in a primitive array. Columns of a common super type may contain
+     * cells of different classes, whose equality is decided by the cells, hence their cells are kept.
+     */
+    private static boolean isPrimitive(final DataType type) {
+        final Class<?> preferred = type.getPreferredValueClass();
+        return (preferred == DoubleValue.class || preferred == IntValue.class) && type.getCellClass() != null;
+    }
+
+    /**
+     * Computes the rank of each row of the table within its group.
+     *
+     * @param table the table to rank, must satisfy {@link #isApplicable}
+     * @param groupColIndices the indices of the grouping columns, empty if the whole table forms one group
+     * @param rankColIndices the indices of the ranking columns in the order of their priority
+     * @param ascending for each ranking column whether it is ranked in ascending order
+     * @param rankMode the rank mode, one of "Standard", "Dense" or "Ordinal"
+     * @param exec the execution monitor for reporting progress and checking for cancelation
+     * @return the rank of each row, indexed by the position of the row in the input table
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    static int[] calculateRanks(final BufferedDataTable table, final int[] groupColIndices,
+        final int[] rankColIndices, final boolean[] ascending, final String rankMode, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int rowCount = (int)table.size();
+        final DataTableSpec spec = table.getDataTableSpec();
+        final RankColumn[] rankColumns = new RankColumn[rankColIndices.length];
+        for (int i = 0; i < rankColumns.length; i++) {
+            final DataType type = spec.getColumnSpec(rankColIndices[i]).getType();
+            rankColumns[i] = isPrimitive(type) ? new PrimitiveRankColumn(rowCount, ascending[i])
+                : new CellRankColumn(rowCount, ascending[i], type.getComparator());
+        }
+
+        // read the ranking values and assign each row to its group
+        final int[] groupOfRow = new int[rowCount];
+        int[] groupSizes = new int[16];
+        final Map<DataCellTuple, Integer> groups = new HashMap<>();
+        final int[] materialized = Arrays.copyOf(rankColIndices, rankColIndices.length + groupColIndices.length);
+        System.arraycopy(groupColIndices, 0, materialized, rankColIndices.length, groupColIndices.length);
+        final ExecutionMonitor readExec = exec.createSubProgress(0.8);
+        int rowIdx = 0;
+        try (final CloseableRowIterator it = table.filter(TableFilter.materializeCols(materialized)).iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                readExec.checkCanceled();
+                for (int i = 0; i < rankColumns.length; i++) {
+                    rankColumns[i].set(rowIdx, row.getCell(rankColIndices[i]));
+                }
+                int group = 0;
+                if (groupColIndices.length > 0) {
+                    final Integer newGroup = groups.size();
+                    group = groups.computeIfAbsent(new DataCellTuple(row, groupColIndices), k -> newGroup);
+                }
+                if (group == groupSizes.length) {
+                    groupSizes = Arrays.copyOf(groupSizes, 2 * groupSizes.length);
+                }
+                groupSizes[group]++;
+                groupOfRow[rowIdx] = group;
+                rowIdx++;
+                final int finalRowIdx = rowIdx;
+                readExec.setProgress(rowIdx / (double)rowCount,
+                    () -> "Reading row " + finalRowIdx + " of " + rowCount);
+            }
+        }
+        final int nrGroups = groupColIndices.length > 0 ? groups.size() : Math.min(1, rowCount);
+        groups.clear();
+
+        // arrange the row indices group by group (counting sort, keeps the input order within each group)
+        final int[] groupStarts = new int[nrGroups + 1];
+        for (int g = 0; g < nrGroups; g++) {
+            groupStarts[g + 1] = groupStarts[g] + groupSizes[g];
+        }
+        final int[] nextPosition = Arrays.copyOf(groupStarts, nrGroups);
+        final int[] order = new int[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            order[nextPosition[groupOfRow[r]]++] = r;
+        }
+
+        // sort each group by the ranking values and assign the ranks (reusing the group index array)
+        final int[] ranks = groupOfRow;
+        final int[] buffer = new int[rowCount];
+        final IndexComparator comparator = (a, b) -> {
+            for (final RankColumn column : rankColumns) {
+                final int result = column.compare(a, b);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+        final ExecutionMonitor rankExec = exec.createSubProgress(0.2);
+        for (int g = 0; g < nrGroups; g++) {
+            rankExec.checkCanceled();
+            final int from = groupStarts[g];
+            final int to = groupStarts[g + 1];
+            mergeSort(order, buffer, from, to, comparator);
+            assignRanks(order, from, to, rankColumns, rankMode, ranks);
+            final int finalGroup = g + 1;
+            rankExec.setProgress(to / (double)rowCount, () -> "Ranking group " + finalGroup + " of " + nrGroups);
+        }
+        return ranks;
+    }
+
+    private static void assignRanks(final int[] order, final int from, final int to, final RankColumn[] rankColumns,
+        final String rankMode, final int[] ranks) {
+        switch (rankMode) {
+            case "Standard":
+                for (int i = from; i < to; i++) {
+                    ranks[order[i]] = i == from || !isTie(rankColumns, order[i - 1], order[i])
+                        ? (i - from + 1) : ranks[order[i - 1]];
+                }
+                break;
+            case "Dense":
+                int rank = 0;
+                for (int i = from; i < to; i++) {
+                    if (i == from || !isTie(rankColumns, order[i - 1], order[i])) {
+                        rank++;
+                    }
+                    ranks[order[i]] = rank;
+                }
+                break;
+            case "Ordinal":
+                for (int i = from; i < to; i++) {
+                    ranks[order[i]] = i - from + 1;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("The rank mode \"" + rankMode + "\" does not exist.");
+        }
+    }
+
+    private static boolean isTie(final RankColumn[] rankColumns, final int a, final int b) {
+        for (final RankColumn column : rankColumns) {
+            if (!column.isEqual(a, b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sorts the row indices in <code>[from, to)</code> stably.
+     */
+    private static void mergeSort(final int[] indices, final int[] buffer, final int from, final int to,
+        final IndexComparator comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                final int index = indices[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(indices[j], index) > 0) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = index;
+            }
+            return;
+        }
+        final int mid = (from + to) >>> 1;
+        mergeSort(indices, buffer, from, mid, comparator);
+        mergeSort(indices, buffer, mid, to, comparator);
+        if (comparator.compare(indices[mid - 1], indices[mid]) <= 0) {
+            // already in order
+            return;
+        }
+        System.arraycopy(indices, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+                indices[i] = buffer[left++];
+            } else {
+                indices[i] = buffer[right++];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    /** The values of one ranking column, indexed by row. */
+    private abstract static class RankColumn {
+
+        private final boolean m_ascending;
+
+        RankColumn(final boolean ascending) {
+            m_ascending = ascending;
+        }
+
+        abstract void set(int row, DataCell cell);
+
+        /** Compares the values in ascending order, missing values first. */
+        abstract int compareAscending(int a, int b);
+
+        /** Whether the values are equal and hence the rows share the same rank in this column. */
+        abstract boolean isEqual(int a, int b);
+
+        final int compare(final int a, final int b) {
+            final int result = compareAscending(a, b);
+            return m_ascending ? result : -result;
+        }
+    }
+
+    private static final class PrimitiveRankColumn extends RankColumn {
+
+        /** Whether -0.0 and 0.0 are equal cells, although they are ordered. */
+        private static final boolean SIGNED_ZEROS_EQUAL = new DoubleCell(-0.0).equals(new DoubleCell(0.0));
+
+        /** Whether NaN cells are equal to each other. */
+        private static final boolean NANS_EQUAL = new DoubleCell(Double.NaN).equals(new DoubleCell(Double.NaN));
+
+        private final double[] m_values;
+
+        private final BitSet m_missing;
+
+        PrimitiveRankColumn(final int rowCount, final boolean ascending) {
+            super(ascending);
+            m_values = new double[rowCount];
+            m_missing = new BitSet(rowCount);
+        }
+
+        @Override
+        void set(final int row, final DataCell cell) {
+            if (cell.isMissing()) {
+                m_missing.set(row);
+            } else {
+                m_values[row] = ((DoubleValue)cell).getDoubleValue();
+            }
+        }
+
+        @Override
+        int compareAscending(final int a, final int b) {
+            final boolean missingA = m_missing.get(a);
+            final boolean missingB = m_missing.get(b);
+            if (missingA || missingB) {
+                return missingA == missingB ? 0 : (missingA ? -1 : 1);
+            }
+            return Double.compare(m_values[a], m_values[b]);
+        }
+
+        @Override
+        boolean isEqual(final int a, final int b) {
+            final boolean missingA = m_missing.get(a);
+            final boolean missingB = m_missing.get(b);
+            if (missingA || missingB) {
+                return missingA == missingB;
+            }
+            // ties are decided like the equality of the cells, which differs from the order for 0.0 and NaN
+            final double valueA = m_values[a];
+            final double valueB = m_values[b];
+            if (Double.isNaN(valueA) || Double.isNaN(valueB)) {
+                return NANS_EQUAL && Double.isNaN(valueA) && Double.isNaN(valueB);
+            }
+            if (valueA == 0 && valueB == 0) {
+                return SIGNED_ZEROS_EQUAL || Double.compare(valueA, valueB) == 0;
+            }
+            return valueA == valueB;
+        }
+    }
+
+    private static final class CellRankColumn extends RankColumn {
+
+        private final DataCell[] m_cells;
+
+        private final DataValueComparator m_comparator;
+
+        CellRankColumn(final int rowCount, final boolean ascending, final DataValueComparator comparator) {
+            super(ascending);
+            m_cells = new DataCell[rowCount];
+            m_comparator = comparator;
+        }
+
+        @Override
+        void set(final int row, final DataCell cell) {
+            m_cells[row] = cell;
+        }
+
+        @Override
+        int compareAscending(final int a, final int b) {
+            return m_comparator.compare(m_cells[a], m_cells[b]);
+        }
+
+        @Override
+        boolean isEqual(final int a, final int b) {
+            return m_cells[a].equals(m_cells[b]);
+        }
+    }
+}
@@ -218,6 +218,20 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         // get rank mode
         String rankMode = m_rankMode.getStringValue();
 
+        // set boolean array to indicate ascending ranking columns
+        String[] orderRank = m_rankOrder.getStringArrayValue();
+        boolean[] ascRank = new boolean[orderRank.length];
+        for (int i = 0; i < ascRank.length; i++) {
+            ascRank[i] = (orderRank[i].equals("Ascending")) ? true : false;
+        }
+
+        // rank in memory without sorting the table if the input order is retained anyway
+        if (m_retainRowOrder.getBooleanValue()
+            && RankCalculator.isApplicable(table, groupColIndices, rankColIndices)) {
+            return new BufferedDataTable[]{
+                rankInInputOrder(table, groupColIndices, rankColIndices, ascRank, rankMode, exec)};
+        }
+
         // calculate number of steps
         double numSteps = 2;
         if (m_retainRowOrder.getBooleanValue()) {
@@ -235,13 +249,6 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
             inSpec = table.getDataTableSpec();
         }
 
-        // set boolean array to indicate ascending ranking columns
-        String[] orderRank = m_rankOrder.getStringArrayValue();
-        boolean[] ascRank = new boolean[orderRank.length];
-        for (int i = 0; i < ascRank.length; i++) {
-            ascRank[i] = (orderRank[i].equals("Ascending")) ? true : false;
-        }
-
         // sort by rank
         BufferedDataTable sortedTable =
             new BufferedDataTableSorter(table, rankCols, ascRank).sort(exec.createSubExecutionContext(1 / numSteps));
@@ -282,6 +289,31 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         return new BufferedDataTable[]{out};
     }
 
+    /**
+     * Computes the ranks with the {@link RankCalculator} and appends them to the table in its original row order,
+     * which avoids sorting the table by the ranking columns and sorting it back afterwards.
+     */
+    private BufferedDataTable rankInInputOrder(final BufferedDataTable table, final int[] groupColIndices,
+        final int[] rankColIndices, final boolean[] ascRank, final String rankMode, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final int[] ranks = RankCalculator.calculateRanks(table, groupColIndices, rankColIndices, ascRank, rankMode,
+            exec.createSubProgress(0.5));
+        final boolean rankAsLong = m_rankAsLong.getBooleanValue();
+        final ColumnRearranger columnRearranger = new ColumnRearranger(table.getDataTableSpec());
+        final DataColumnSpec newColSpec = new DataColumnSpecCreator(m_rankOutColName.getStringValue(),
+            rankAsLong ? LongCell.TYPE : IntCell.TYPE).createSpec();
+        columnRearranger.append(new SingleCellFactory(newColSpec) {
+            private int m_rowNum = 0;
+
+            @Override
+            public DataCell getCell(final DataRow row) {
+                final int rank = ranks[m_rowNum++];
+                return rankAsLong ? new LongCell(rank) : new IntCell(rank);
+            }
+        });
+        return exec.createColumnRearrangeTable(table, columnRearranger, exec.createSubProgress(0.5));
+    }
+
     private int[] getIndicesFromColNameList(final List<String> colNames, final DataTableSpec inSpec) {
         int[] colIndices = new int[colNames.size()];
         int iterator = 0;
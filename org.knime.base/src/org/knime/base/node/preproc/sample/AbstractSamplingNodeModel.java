@@ -174,21 +174,15 @@ protected IRowFilter getSamplingRowFilter(final BufferedDataTable in,
         if (m_settings.samplingMethod().equals(SamplingMethods.Random)
                 || m_settings.samplingMethod().equals(
                         SamplingMethods.Stratified)) {
-            if (m_settings.seed() != null) {
-                rand = new Random(m_settings.seed());
-            } else {
-                long seed = System.nanoTime() ^ ((hashCode() << 32) + (m_settings.hashCode()));
-                rand = new Random(seed);
-                getLogger().debug("Using random seed " + seed);
-            }
+            rand = createRandom();
         } else {
             rand = null;
         }
 
-        int rowCount;
+        long rowCount;
         if (m_settings.countMethod().equals(
                 SamplingNodeSettings.CountMethods.Relative)) {
-            rowCount = (int)(m_settings.fraction() * in.getRowCount());
+            rowCount = (long)(m_settings.fraction() * in.size());
         } else {
             rowCount = m_settings.count();
         }
@@ -198,17 +192,36 @@ protected IRowFilter getSamplingRowFilter(final BufferedDataTable in,
             rowFilter = Sampler.createSampleFilter(in, rowCount, rand, exec);
         } else if (m_settings.samplingMethod().equals(
                 SamplingMethods.Stratified)) {
-            rowFilter =
-                    new StratifiedSamplingRowFilter(in, m_settings
-                            .classColumn(), rowCount, rand, exec);
+            if (m_settings.legacyStratifiedSampling()) {
+                rowFilter = new StratifiedSamplingRowFilter(in,
+                        m_settings.classColumn(), (int)rowCount, rand, exec);
+            } else {
+                rowFilter = StratifiedSamplingRowFilter.createWithClassCounters(
+                        in, m_settings.classColumn(), rowCount, rand, exec);
+            }
         } else if (m_settings.samplingMethod().equals(SamplingMethods.Linear)) {
-            rowFilter = new LinearSamplingRowFilter(in.getRowCount(), rowCount);
+            rowFilter = new LinearSamplingRowFilter(in.size(), rowCount);
         } else {
             rowFilter = Sampler.createRangeFilter(rowCount);
         }
         return rowFilter;
     }
 
+    /**
+     * Creates the random number generator for sampling, seeded with the seed
+     * from the settings if one is set.
+     *
+     * @return a new random number generator
+     */
+    Random createRandom() {
+        if (m_settings.seed() != null) {
+            return new Random(m_settings.seed());
+        }
+        long seed = System.nanoTime() ^ ((hashCode() << 32) + (m_settings.hashCode()));
+        getLogger().debug("Using random seed " + seed);
+        return new Random(seed);
+    }
+
     /**
      * Has the node been configured, i.e. a method has been set
      *
@@ -45,14 +45,31 @@
  */
 package org.knime.base.node.preproc.sample;
 
+import java.util.List;
+
 import org.knime.base.node.preproc.filter.row.RowFilterIterator;
 import org.knime.base.node.preproc.filter.row.rowfilter.IRowFilter;
+import org.knime.base.node.preproc.sample.SamplingNodeSettings.CountMethods;
+import org.knime.base.node.preproc.sample.SamplingNodeSettings.SamplingMethods;
+import org.knime.base.node.preproc.sample.StratifiedSampler.Reservoir;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
 
 /**
  * NodeModel implementation to sample rows from an input table, thus, this node
@@ -75,6 +92,13 @@ public SamplingNodeModel() {
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
             final ExecutionContext exec) throws Exception {
         BufferedDataTable in = inData[0];
+        if (isOnePass()) {
+            // the same algorithm as in streaming mode, which picks the same rows for the same seed
+            BufferedDataTableRowOutput out = new BufferedDataTableRowOutput(
+                    exec.createDataContainer(in.getDataTableSpec()));
+            sampleInOnePass(new DataTableRowInput(in), out, exec);
+            return new BufferedDataTable[]{out.getDataTable()};
+        }
         // he following line does not need the exec monitor. It's
         // only used when the table is traversed in order to count the rows.
         // This is done only if "in" does not support getRowCount().
@@ -99,18 +123,108 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         }
         BufferedDataTable out = container.getTable();
         if (filter instanceof StratifiedSamplingRowFilter) {
-            int classCount =
-                    ((StratifiedSamplingRowFilter)filter).getClassCount();
-            if (classCount > out.getRowCount()) {
-                setWarningMessage("Class column contains more classes ("
-                        + classCount + ") than sampled rows ("
-                        + out.getRowCount() + ")");
-            }
+            checkClassCount(
+                ((StratifiedSamplingRowFilter)filter).getClassCount(),
+                out.size());
         }
 
         return new BufferedDataTable[]{out};
     }
 
+    private void checkClassCount(final int classCount, final long rowCount) {
+        if (classCount > rowCount) {
+            setWarningMessage("Class column contains more classes ("
+                    + classCount + ") than sampled rows (" + rowCount + ")");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        return new InputPortRole[]{isOnePass()
+            ? InputPortRole.NONDISTRIBUTED_STREAMABLE
+            : InputPortRole.NONDISTRIBUTED_NONSTREAMABLE};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputPortRole[] getOutputPortRoles() {
+        return new OutputPortRole[]{OutputPortRole.NONDISTRIBUTED};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(
+            final PartitionInfo partitionInfo,
+            final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+            @Override
+            public void runFinal(final PortInput[] inputs,
+                    final PortOutput[] outputs, final ExecutionContext exec)
+                    throws Exception {
+                RowOutput out = (RowOutput)outputs[0];
+                if (isOnePass()) {
+                    sampleInOnePass((RowInput)inputs[0], out, exec);
+                } else {
+                    // all other methods need the size of the table upfront,
+                    // the input is not streamed (see getInputPortRoles)
+                    BufferedDataTable table = (BufferedDataTable)
+                        ((PortObjectInput)inputs[0]).getPortObject();
+                    BufferedDataTable sample =
+                        execute(new BufferedDataTable[]{table}, exec)[0];
+                    for (DataRow sampled : sample) {
+                        out.push(sampled);
+                    }
+                    out.close();
+                    exec.clearTable(sample);
+                }
+            }
+        };
+    }
+
+    /**
+     * Stratified sampling of an absolute number of rows is done in a single
+     * pass over the table that only keeps the rows that may become part of
+     * the sample, both when executed regularly and when streamed. This picks
+     * different rows than the selection of the other methods for the same
+     * seed, hence it is not used for the legacy sampling which must pick the
+     * same rows as before.
+     */
+    private boolean isOnePass() {
+        SamplingNodeSettings settings = getSettings();
+        return SamplingMethods.Stratified.equals(settings.samplingMethod())
+                && CountMethods.Absolute.equals(settings.countMethod())
+                && !settings.legacyStratifiedSampling();
+    }
+
+    private void sampleInOnePass(final RowInput in, final RowOutput out,
+            final ExecutionContext exec) throws Exception {
+        final int count = getSettings().count();
+        int classColIndex = in.getDataTableSpec().findColumnIndex(
+                getSettings().classColumn());
+        Reservoir reservoir = new Reservoir(count, createRandom());
+        DataRow row;
+        while ((row = in.poll()) != null) {
+            exec.checkCanceled();
+            reservoir.offer(row.getCell(classColIndex), row);
+            final long rowCount = reservoir.getRowCount();
+            exec.setMessage(() -> "Read row " + rowCount);
+        }
+        in.close();
+        List<DataRow> sample = reservoir.getSample(count);
+        for (DataRow sampled : sample) {
+            out.push(sampled);
+        }
+        out.close();
+        checkClassCount(reservoir.getStratumCount(), sample.size());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -76,6 +76,9 @@ public class SamplingNodeSettings {
 
     private static final String CFG_CLASS_COLUMN = "class_column";
 
+    /** NodeSettings key: If stratified sampling picks the rows as before 4.4. */
+    private static final String CFG_LEGACY_STRATIFIED = "legacy_stratified_sampling";
+
     private double m_defaultFraction = 0.1;
 
     private CountMethods m_defaultCountMethod = CountMethods.Absolute;
@@ -124,6 +127,8 @@ public enum SamplingMethods {
 
     private String m_classColumnName;
 
+    private boolean m_legacyStratifiedSampling = false;
+
     /**
      * Saves the settings to the given object.
      *
@@ -140,6 +145,7 @@ public void saveSettingsTo(final NodeSettingsWO settings) {
             settings.addString(CFG_RANDOM_SEED, m_seed != null ? Long
                     .toString(m_seed) : null);
             settings.addString(CFG_CLASS_COLUMN, m_classColumnName);
+            settings.addBoolean(CFG_LEGACY_STRATIFIED, m_legacyStratifiedSampling);
         }
     }
 
@@ -187,6 +193,9 @@ public void loadSettingsFrom(final NodeSettingsRO settings,
             seed = settings.getString(CFG_RANDOM_SEED, null);
             m_fraction = settings.getDouble(CFG_FRACTION, m_defaultFraction);
             m_count = settings.getInt(CFG_COUNT, 100);
+            // settings of an existing node without the key are from before 4.4
+            m_legacyStratifiedSampling = settings.getBoolean(CFG_LEGACY_STRATIFIED,
+                settings.containsKey(CFG_COUNT_METHOD));
         } else {
             String method = settings.getString(CFG_COUNT_METHOD);
             if (method == null) {
@@ -229,6 +238,12 @@ public void loadSettingsFrom(final NodeSettingsRO settings,
             seed = settings.getString(CFG_RANDOM_SEED);
             m_fraction = settings.getDouble(CFG_FRACTION);
             m_count = settings.getInt(CFG_COUNT);
+            if (settings.containsKey(CFG_LEGACY_STRATIFIED)) {
+                // new since 4.4
+                m_legacyStratifiedSampling = settings.getBoolean(CFG_LEGACY_STRATIFIED);
+            } else {
+                m_legacyStratifiedSampling = true;
+            }
         }
         m_classColumnName = settings.getString(CFG_CLASS_COLUMN, null);
         if (seed != null) {
@@ -357,6 +372,31 @@ public String classColumn() {
         return m_classColumnName;
     }
 
+    /**
+     * Returns whether stratified sampling picks the same rows as before
+     * version 4.4, i.e. for the same seed. This is the case for nodes
+     * whose settings have been saved before 4.4. The legacy sampling
+     * remembers the index of every row of the table.
+     *
+     * @return <code>true</code> if the rows are picked as before 4.4
+     * @since 4.4
+     */
+    public boolean legacyStratifiedSampling() {
+        return m_legacyStratifiedSampling;
+    }
+
+    /**
+     * Sets whether stratified sampling picks the same rows as before
+     * version 4.4.
+     *
+     * @param legacy <code>true</code> if the rows should be picked as
+     *            before 4.4
+     * @since 4.4
+     */
+    public void legacyStratifiedSampling(final boolean legacy) {
+        m_legacyStratifiedSampling = legacy;
+    }
+
     /**
      * @param defaultFraction the default fraction to set
      * @since 4.1
@@ -0,0 +1,429 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.sample;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+
+/**
+ * Draws stratified samples using only a few counters per stratum (i.e. per distinct value of the class column),
+ * independent of the number of rows.
+ * <p>
+ * The sample size of each stratum is determined from the number of rows in each stratum, which are collected in a
+ * counting pass via {@link #add(DataCell)}. The rows are then picked in a second pass by a {@link Selection}, which
+ * performs sequential selection sampling within each stratum. Alternatively, a {@link Reservoir} draws a sample of at
+ * most a given size in a single pass over the rows.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StratifiedSampler {
+
+    // the index of each stratum, in order of first occurrence
+    private final Map<DataCell, Integer> m_strata = new HashMap<>();
+
+    private long[] m_counts = new long[16];
+
+    private long m_rowCount;
+
+    /**
+     * Counts a row.
+     *
+     * @param value the value of the row in the class column
+     * @return the index of the row's stratum
+     */
+    int add(final DataCell value) {
+        final int stratum = getOrCreateStratum(m_strata, value);
+        if (stratum >= m_counts.length) {
+            m_counts = Arrays.copyOf(m_counts, 2 * m_counts.length);
+        }
+        m_counts[stratum]++;
+        m_rowCount++;
+        return stratum;
+    }
+
+    /**
+     * @return the number of counted rows
+     */
+    long getRowCount() {
+        return m_rowCount;
+    }
+
+    /**
+     * @return the number of strata, i.e. distinct values of the class column
+     */
+    int getStratumCount() {
+        return m_strata.size();
+    }
+
+    /**
+     * Creates a selection of the given number of rows that picks the rows in a second pass over the counted rows.
+     *
+     * @param includeCount the number of rows to select, at most {@link #getRowCount()}
+     * @param random the random number generator used for the selection
+     * @return a new selection
+     */
+    Selection createSelection(final long includeCount, final Random random) {
+        final long[] counts = Arrays.copyOf(m_counts, m_strata.size());
+        return new Selection(m_strata, counts, allocate(counts, includeCount), random);
+    }
+
+    /**
+     * Distributes the rows to include to the strata proportionally to their sizes. Each stratum gets its rounded
+     * share (as long as rows are left), the remaining rows are distributed round robin among the strata that still
+     * have rows left, in order of first occurrence.
+     *
+     * @param counts the number of rows in each stratum
+     * @param includeCount the number of rows to include, at most the total number of rows
+     * @return the number of rows to include from each stratum
+     */
+    static long[] allocate(final long[] counts, final long includeCount) {
+        final long[] quotas = new long[counts.length];
+        final long rowCount = Arrays.stream(counts).sum();
+        if (rowCount == 0) {
+            return quotas;
+        }
+        final double fraction = includeCount / (double)rowCount;
+        long allocated = 0;
+        for (int s = 0; s < counts.length; s++) {
+            quotas[s] = Math.min(Math.round(counts[s] * fraction), includeCount - allocated);
+            allocated += quotas[s];
+        }
+        while (allocated < includeCount) {
+            for (int s = 0; s < counts.length && allocated < includeCount; s++) {
+                if (quotas[s] < counts[s]) {
+                    quotas[s]++;
+                    allocated++;
+                }
+            }
+        }
+        return quotas;
+    }
+
+    private static int getOrCreateStratum(final Map<DataCell, Integer> strata, final DataCell value) {
+        final Integer stratum = strata.get(value);
+        if (stratum != null) {
+            return stratum;
+        }
+        final int newStratum = strata.size();
+        strata.put(value, newStratum);
+        return newStratum;
+    }
+
+    /**
+     * Picks a random subset of the given size from each stratum while passing over the rows in their original order
+     * (Knuth's selection sampling): a row is picked with the probability of the number of rows still to pick divided
+     * by the number of rows left in its stratum. This picks each subset of the stratum with the same probability.
+     */
+    static final class Selection {
+
+        private final Map<DataCell, Integer> m_strata;
+
+        private final long[] m_counts;
+
+        private final long[] m_quotas;
+
+        private final long m_includeCount;
+
+        private final long m_seed;
+
+        private final long[] m_seen;
+
+        private final long[] m_selected;
+
+        private long m_totalSelected;
+
+        private Random m_random;
+
+        private Selection(final Map<DataCell, Integer> strata, final long[] counts, final long[] quotas,
+            final Random random) {
+            m_strata = strata;
+            m_counts = counts;
+            m_quotas = quotas;
+            m_includeCount = Arrays.stream(quotas).sum();
+            m_seed = random.nextLong();
+            m_seen = new long[counts.length];
+            m_selected = new long[counts.length];
+            restart();
+        }
+
+        /** Restarts the selection such that the next pass selects the same rows as the previous one. */
+        void restart() {
+            Arrays.fill(m_seen, 0);
+            Arrays.fill(m_selected, 0);
+            m_totalSelected = 0;
+            m_random = new Random(m_seed);
+        }
+
+        /**
+         * Decides whether to pick the next row.
+         *
+         * @param value the value of the row in the class column
+         * @return <code>true</code> if the row is part of the sample
+         */
+        boolean select(final DataCell value) {
+            final Integer stratum = m_strata.get(value);
+            if (stratum == null) {
+                return false;
+            }
+            final int s = stratum;
+            final long remaining = m_counts[s] - m_seen[s];
+            final long needed = m_quotas[s] - m_selected[s];
+            if (remaining <= 0) {
+                // more rows than counted, can only happen if the rows differ from the counted ones
+                return false;
+            }
+            m_seen[s]++;
+            if (needed > 0 && m_random.nextDouble() * remaining < needed) {
+                m_selected[s]++;
+                m_totalSelected++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return <code>true</code> if all rows of the sample have been picked
+         */
+        boolean isComplete() {
+            return m_totalSelected >= m_includeCount;
+        }
+
+        /**
+         * @return the number of rows in the sample
+         */
+        long getIncludeCount() {
+            return m_includeCount;
+        }
+    }
+
+    /**
+     * Draws a stratified sample in a single pass over the rows. Each row is assigned a random key and each stratum
+     * retains the rows with the smallest keys, up to the maximum sample size. Once all rows have been offered, the
+     * sample size of each stratum is {@link StratifiedSampler#allocate(long[], long) allocated} and the rows with the
+     * smallest keys form the sample, which is a uniformly random subset of the stratum.
+     * <p>
+     * The memory needed is bounded by the sample size times the number of strata, not by the number of rows.
+     */
+    static final class Reservoir {
+
+        private final Map<DataCell, Integer> m_strata = new HashMap<>();
+
+        private final List<Heap> m_heaps = new ArrayList<>();
+
+        private final int m_capacity;
+
+        private final Random m_random;
+
+        private long m_rowCount;
+
+        /**
+         * Creates a new reservoir.
+         *
+         * @param capacity the maximum sample size
+         * @param random the random number generator used for the keys of the rows
+         */
+        Reservoir(final int capacity, final Random random) {
+            m_capacity = capacity;
+            m_random = random;
+        }
+
+        /**
+         * Offers the next row.
+         *
+         * @param value the value of the row in the class column
+         * @param row the row
+         */
+        void offer(final DataCell value, final DataRow row) {
+            final int stratum = getOrCreateStratum(m_strata, value);
+            if (stratum == m_heaps.size()) {
+                m_heaps.add(new Heap());
+            }
+            final Heap heap = m_heaps.get(stratum);
+            heap.m_count++;
+            // draw a key for each row such that the keys do not depend on the capacity
+            final double key = m_random.nextDouble();
+            if (heap.m_size < m_capacity) {
+                heap.add(key, m_rowCount, row);
+            } else if (m_capacity > 0 && key < heap.m_keys[0]) {
+                heap.replaceMax(key, m_rowCount, row);
+            }
+            m_rowCount++;
+        }
+
+        /**
+         * @return the number of offered rows
+         */
+        long getRowCount() {
+            return m_rowCount;
+        }
+
+        /**
+         * @return the number of strata, i.e. distinct values of the class column
+         */
+        int getStratumCount() {
+            return m_strata.size();
+        }
+
+        /**
+         * Returns the rows of the sample in the order in which they have been offered.
+         *
+         * @param includeCount the size of the sample, at most the capacity of the reservoir
+         * @return the rows of the sample
+         */
+        List<DataRow> getSample(final long includeCount) {
+            final long[] counts = new long[m_heaps.size()];
+            for (int s = 0; s < counts.length; s++) {
+                counts[s] = m_heaps.get(s).m_count;
+            }
+            final long[] quotas = allocate(counts, Math.min(includeCount, m_rowCount));
+            int sampleSize = 0;
+            for (final long quota : quotas) {
+                sampleSize += (int)quota;
+            }
+            final long[] indices = new long[sampleSize];
+            final DataRow[] rows = new DataRow[sampleSize];
+            int i = 0;
+            for (int s = 0; s < quotas.length; s++) {
+                i = m_heaps.get(s).collectSmallest((int)quotas[s], indices, rows, i);
+            }
+            // restore the original order of the rows
+            final Integer[] order = new Integer[sampleSize];
+            for (int j = 0; j < sampleSize; j++) {
+                order[j] = j;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(indices[a], indices[b]));
+            final List<DataRow> sample = new ArrayList<>(sampleSize);
+            for (final Integer j : order) {
+                sample.add(rows[j]);
+            }
+            return sample;
+        }
+    }
+
+    /** A binary max-heap of rows ordered by their keys. */
+    private static final class Heap {
+
+        private double[] m_keys = new double[16];
+
+        private long[] m_indices = new long[16];
+
+        private DataRow[] m_rows = new DataRow[16];
+
+        private int m_size;
+
+        private long m_count;
+
+        void add(final double key, final long index, final DataRow row) {
+            if (m_size == m_keys.length) {
+                m_keys = Arrays.copyOf(m_keys, 2 * m_size);
+                m_indices = Arrays.copyOf(m_indices, 2 * m_size);
+                m_rows = Arrays.copyOf(m_rows, 2 * m_size);
+            }
+            int i = m_size++;
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (m_keys[parent] >= key) {
+                    break;
+                }
+                set(i, parent);
+                i = parent;
+            }
+            m_keys[i] = key;
+            m_indices[i] = index;
+            m_rows[i] = row;
+        }
+
+        void replaceMax(final double key, final long index, final DataRow row) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= m_size) {
+                    break;
+                }
+                if (child + 1 < m_size && m_keys[child + 1] > m_keys[child]) {
+                    child++;
+                }
+                if (m_keys[child] <= key) {
+                    break;
+                }
+                set(i, child);
+                i = child;
+            }
+            m_keys[i] = key;
+            m_indices[i] = index;
+            m_rows[i] = row;
+        }
+
+        /** Copies the rows with the smallest keys into the arrays, starting at the offset; returns the new offset. */
+        int collectSmallest(final int count, final long[] indices, final DataRow[] rows, final int offset) {
+            final Integer[] order = new Integer[m_size];
+            for (int j = 0; j < m_size; j++) {
+                order[j] = j;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(m_keys[a], m_keys[b]));
+            for (int j = 0; j < count; j++) {
+                indices[offset + j] = m_indices[order[j]];
+                rows[offset + j] = m_rows[order[j]];
+            }
+            return offset + count;
+        }
+
+        private void set(final int target, final int source) {
+            m_keys[target] = m_keys[source];
+            m_indices[target] = m_indices[source];
+            m_rows[target] = m_rows[source];
+        }
+    }
+}
@@ -60,6 +60,7 @@
 import org.knime.base.node.preproc.filter.row.rowfilter.EndOfTableException;
 import org.knime.base.node.preproc.filter.row.rowfilter.IncludeFromNowOn;
 import org.knime.base.node.preproc.filter.row.rowfilter.RowFilter;
+import org.knime.base.node.preproc.sample.StratifiedSampler.Selection;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
@@ -73,16 +74,31 @@
 /**
  * This row filter retains the distribution of values in a certain column upon
  * filtering out rows.
- * 
+ * <p>
+ * The filters created by the constructors remember the index of every row of
+ * the table. The filter created by
+ * {@link #createWithClassCounters(DataTable, String, long, Random, ExecutionMonitor)}
+ * only counts the number of rows of each class when it is created and picks
+ * the rows while the table is filtered. Hence that filter must be applied to
+ * the same table and the rows must be passed in their original order. Passing
+ * the rows again (starting over with the first row) picks the same rows.
+ *
  * @author Thorsten Meinl, University of Konstanz
  */
 public class StratifiedSamplingRowFilter extends RowFilter {
+    // the included rows or null if the rows are picked by m_selection
     private final BitSet m_includedRows;
 
+    private final Selection m_selection;
+
+    private final int m_classColIndex;
+
     private final int m_classes;
-    
+
     private boolean m_includeAll;
 
+    private long m_lastRowIndex = -1;
+
     private static HashMap<DataCell, List<Integer>> countValues(
             final DataTable table, final ExecutionMonitor exec,
             final String classColumn) throws CanceledExecutionException {
@@ -108,9 +124,20 @@ private static HashMap<DataCell, List<Integer>> countValues(
         return valueCounts;
     }
 
+    private static StratifiedSampler countClasses(final DataTable table,
+            final ExecutionMonitor exec, final int classColIndex)
+            throws CanceledExecutionException {
+        StratifiedSampler sampler = new StratifiedSampler();
+        for (DataRow row : table) {
+            exec.checkCanceled();
+            sampler.add(row.getCell(classColIndex));
+        }
+        return sampler;
+    }
+
     /**
      * Creates a new stratified sampling row filter.
-     * 
+     *
      * @param table the table whose rows should be filtered afterwards
      * @param classColumn the column with the "class" labels
      * @param fraction the fraction of rows that should be passed on,
@@ -126,7 +153,7 @@ public StratifiedSamplingRowFilter(final DataTable table,
 
     /**
      * Creates a new stratified sampling row filter.
-     * 
+     *
      * @param table the table whose rows should be filtered afterwards
      * @param classColumn the column with the "class" labels
      * @param fraction the fraction of rows that should be passed on,
@@ -148,12 +175,14 @@ public StratifiedSamplingRowFilter(final DataTable table,
         }
         final int includeCount = (int)Math.round(fraction * rowCount);
         m_includedRows = new BitSet(includeCount);
+        m_selection = null;
+        m_classColIndex = -1;
         computeSampling(valueCounts, random, includeCount);
     }
 
     /**
      * Creates a new stratified sampling row filter.
-     * 
+     *
      * @param table the table whose rows should be filtered afterwards
      * @param classColumn the column with the "class" labels
      * @param includeCount the number of rows that should be passed on i.e.
@@ -169,7 +198,7 @@ public StratifiedSamplingRowFilter(final DataTable table,
 
     /**
      * Creates a new stratified sampling row filter.
-     * 
+     *
      * @param table the table whose rows should be filtered afterwards
      * @param classColumn the column with the "class" labels
      * @param includeCount the number of rows that should be passed on i.e.
@@ -186,11 +215,51 @@ public StratifiedSamplingRowFilter(final DataTable table,
                 countValues(table, exec, classColumn);
         m_classes = valueCounts.size();
         m_includedRows = new BitSet(includeCount);
+        m_selection = null;
+        m_classColIndex = -1;
         computeSampling(valueCounts, random, includeCount);
     }
 
+    private StratifiedSamplingRowFilter(final int classColIndex,
+            final StratifiedSampler sampler, final long includeCount,
+            final Random random) {
+        m_classColIndex = classColIndex;
+        m_classes = sampler.getStratumCount();
+        m_includedRows = null;
+        m_includeAll = sampler.getRowCount() <= includeCount;
+        m_selection = m_includeAll ? null
+                : sampler.createSelection(includeCount, random);
+    }
+
+    /**
+     * Creates a new stratified sampling row filter for tables with an
+     * arbitrary number of rows. Instead of the indices of all rows, it only
+     * keeps a few counters per class (see the class description). The sample
+     * has the same number of rows per class as the one of the constructors,
+     * but for the same random number generator different rows are picked.
+     *
+     * @param table the table whose rows should be filtered afterwards
+     * @param classColumn the column with the "class" labels
+     * @param includeCount the number of rows that should be passed on i.e.
+     *            <b>not</b> filtered out
+     * @param random a random number generator
+     * @param exec an execution monitor for cancel checking
+     * @return a new row filter
+     * @throws CanceledExecutionException if the user canceled the execution
+     * @since 4.4
+     */
+    public static StratifiedSamplingRowFilter createWithClassCounters(
+            final DataTable table, final String classColumn,
+            final long includeCount, final Random random,
+            final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int classColIndex =
+                table.getDataTableSpec().findColumnIndex(classColumn);
+        return new StratifiedSamplingRowFilter(classColIndex,
+            countClasses(table, exec, classColIndex), includeCount, random);
+    }
+
     private void computeSampling(
-            final HashMap<DataCell, List<Integer>> valueCounts, 
+            final HashMap<DataCell, List<Integer>> valueCounts,
             final Random random, final int includeCount) {
         int rowCount = 0;
         for (List<Integer> l : valueCounts.values()) {
@@ -252,10 +321,31 @@ public void loadSettingsFrom(final NodeSettingsRO cfg)
     @Override
     public boolean matches(final DataRow row, final int rowIndex)
             throws EndOfTableException, IncludeFromNowOn {
+        return matches(row, (long)rowIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matches(final DataRow row, final long rowIndex)
+            throws EndOfTableException, IncludeFromNowOn {
         if (m_includeAll) {
             throw new IncludeFromNowOn();
         }
-        return m_includedRows.get(rowIndex);
+        if (m_includedRows != null) {
+            return rowIndex <= Integer.MAX_VALUE
+                && m_includedRows.get((int)rowIndex);
+        }
+        if (rowIndex <= m_lastRowIndex) {
+            // the table is filtered again
+            m_selection.restart();
+        }
+        m_lastRowIndex = rowIndex;
+        if (m_selection.isComplete()) {
+            throw new EndOfTableException();
+        }
+        return m_selection.select(row.getCell(m_classColIndex));
     }
 
     /**
@@ -0,0 +1,587 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.setoperator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.knime.base.data.sort.SortedTable;
+import org.knime.base.data.util.ColumnProjection;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+
+/**
+ * Performs a {@link SetOperation} on a column of each table by hashing their distinct values, thus each table is read
+ * once instead of being sorted. The result holds the distinct values of the operation sorted by the comparator, i.e.
+ * the same rows as a merge of both sorted columns.
+ * <p>
+ * Integer and long columns are stored in primitive arrays unless hiliting is enabled, other values and the row keys
+ * for hiliting in hash maps. If memory becomes low, the values of both tables are hash partitioned and the partitions
+ * are processed one after the other.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class HashSetOperation {
+
+    /** The maximal number of partitions if the values do not fit into memory. */
+    private static final int MAX_NR_PARTITIONS = 256;
+
+    /** The number of rows that are always read before falling back to partitioning. */
+    private static final long MIN_ROWS_READ = 10000;
+
+    private static final int IN_FIRST = 1;
+
+    private static final int IN_SECOND = 2;
+
+    private static final int IN_BOTH = IN_FIRST | IN_SECOND;
+
+    private final SetOperation m_op;
+
+    private final DataValueComparator m_comp;
+
+    private final boolean m_differentType;
+
+    private final boolean m_skipMissing;
+
+    private final boolean m_enableHilite;
+
+    // the type of the values if they are stored as longs, null otherwise
+    private final DataType m_primitiveType;
+
+    private final Map<RowKey, Set<RowKey>> m_hiliteMapping0;
+
+    private final Map<RowKey, Set<RowKey>> m_hiliteMapping1;
+
+    // the maps the hilite translation of the result rows is added to
+    private Map<RowKey, Set<RowKey>> m_resultMapping0;
+
+    private Map<RowKey, Set<RowKey>> m_resultMapping1;
+
+    private long m_duplicateCounter;
+
+    private long m_missingCounter;
+
+    private long m_rowId;
+
+    // whether the result values are written as they are stored, i.e. before they are sorted
+    private boolean m_writeStoredValues;
+
+    /**
+     * @param op the set operation
+     * @param comp the comparator defining the order of the result
+     * @param type the common type of both columns or <code>null</code> if they differ, the values are compared as
+     *            strings then
+     * @param skipMissing <code>true</code> if missing values are not added to the result
+     * @param hiliteMapping0 the map to add the hilite translation of the first table to or <code>null</code> if
+     *            hiliting is disabled
+     * @param hiliteMapping1 the map to add the hilite translation of the second table to or <code>null</code> if
+     *            hiliting is disabled
+     */
+    HashSetOperation(final SetOperation op, final DataValueComparator comp, final DataType type,
+        final boolean skipMissing, final Map<RowKey, Set<RowKey>> hiliteMapping0,
+        final Map<RowKey, Set<RowKey>> hiliteMapping1) {
+        m_op = op;
+        m_comp = comp;
+        m_differentType = type == null;
+        m_skipMissing = skipMissing;
+        m_hiliteMapping0 = hiliteMapping0;
+        m_hiliteMapping1 = hiliteMapping1;
+        m_resultMapping0 = hiliteMapping0;
+        m_resultMapping1 = hiliteMapping1;
+        m_enableHilite = hiliteMapping0 != null && hiliteMapping1 != null;
+        if (!m_enableHilite && (IntCell.TYPE.equals(type) || LongCell.TYPE.equals(type))) {
+            m_primitiveType = type;
+        } else {
+            m_primitiveType = null;
+        }
+    }
+
+    /**
+     * @return the number of rows whose value has already been added to the result
+     */
+    long getDuplicateCounter() {
+        return m_duplicateCounter;
+    }
+
+    /**
+     * @return the number of rows whose missing value has been skipped
+     */
+    long getMissingCounter() {
+        return m_missingCounter;
+    }
+
+    /**
+     * Computes the result table.
+     *
+     * @param exec the execution context
+     * @param table1 the table of the first set
+     * @param col1Idx the index of the column of the first set or -1 if the row id is used
+     * @param table2 the table of the second set
+     * @param col2Idx the index of the column of the second set or -1 if the row id is used
+     * @param resultSpec the spec of the result table
+     * @return the result table
+     * @throws CanceledExecutionException if the operation was canceled
+     */
+    BufferedDataTable execute(final ExecutionContext exec, final BufferedDataTable table1, final int col1Idx,
+        final BufferedDataTable table2, final int col2Idx, final DataTableSpec resultSpec)
+        throws CanceledExecutionException {
+        m_rowId = 0;
+        exec.setMessage("Hashing values...");
+        final ExecutionContext readExec = exec.createSubExecutionContext(0.6);
+        final ExecutionContext writeExec = exec.createSubExecutionContext(0.4);
+        final long nRows = table1.size() + table2.size();
+        final MemoryAlertSystem memSys = MemoryAlertSystem.getInstance();
+
+        Members members = createMembers();
+        long rowsRead = 0;
+        boolean fullyFitsIntoMemory = true;
+        final BufferedDataTable[] tables = {table1, table2};
+        final int[] colIndices = {col1Idx, col2Idx};
+        for (int t = 0; t < tables.length && fullyFitsIntoMemory; t++) {
+            try (final CloseableRowIterator it = iterator(tables[t], colIndices[t])) {
+                while (it.hasNext()) {
+                    readExec.checkCanceled();
+                    final DataRow row = it.next();
+                    members.add(getValue(row, colIndices[t]), t == 0 ? IN_FIRST : IN_SECOND, row.getKey());
+                    rowsRead++;
+                    readExec.setProgress(rowsRead / (double)nRows, () -> "Hashing values...");
+                    if (memSys.isMemoryLow() && rowsRead >= MIN_ROWS_READ && rowsRead < nRows) {
+                        fullyFitsIntoMemory = false;
+                        break;
+                    }
+                }
+            }
+        }
+        if (fullyFitsIntoMemory) {
+            exec.setMessage("Writing result...");
+            final BufferedDataContainer dc = writeExec.createDataContainer(resultSpec);
+            members.write(dc, writeExec);
+            dc.close();
+            return dc.getTable();
+        }
+
+        // release the partial values and partition them instead, each partition holding about half as many rows as
+        // have been read before memory became low, within the share of the progress left for writing
+        members = null;
+        readExec.setProgress(1.0);
+        final int nrPartitions =
+            (int)Math.min(MAX_NR_PARTITIONS, Math.max(2, 2 * ((nRows + rowsRead - 1) / rowsRead)));
+        return executePartitioned(tables, colIndices, resultSpec, nrPartitions, writeExec);
+    }
+
+    /**
+     * Computes the result table by hash partitioning the values of both tables, as if they did not fit into memory.
+     *
+     * @param exec the execution context
+     * @param table1 the table of the first set
+     * @param col1Idx the index of the column of the first set or -1 if the row id is used
+     * @param table2 the table of the second set
+     * @param col2Idx the index of the column of the second set or -1 if the row id is used
+     * @param resultSpec the spec of the result table
+     * @param nrPartitions the number of partitions
+     * @return the result table
+     * @throws CanceledExecutionException if the operation was canceled
+     */
+    BufferedDataTable executePartitioned(final ExecutionContext exec, final BufferedDataTable table1,
+        final int col1Idx, final BufferedDataTable table2, final int col2Idx, final DataTableSpec resultSpec,
+        final int nrPartitions) throws CanceledExecutionException {
+        m_rowId = 0;
+        return executePartitioned(new BufferedDataTable[]{table1, table2}, new int[]{col1Idx, col2Idx}, resultSpec,
+            nrPartitions, exec);
+    }
+
+    private BufferedDataTable executePartitioned(final BufferedDataTable[] tables, final int[] colIndices,
+        final DataTableSpec resultSpec, final int nrPartitions, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final ExecutionContext partitionExec = exec.createSubExecutionContext(0.4);
+        final ExecutionContext setExec = exec.createSubExecutionContext(0.2);
+        final ExecutionContext sortExec = exec.createSubExecutionContext(0.2);
+        final ExecutionContext writeExec = exec.createSubExecutionContext(0.2);
+
+        // partition the values of both tables by their hash, keeping the row keys
+        exec.setMessage("Partitioning values...");
+        final DataTableSpec valueSpec =
+            new DataTableSpec(new DataColumnSpecCreator("value", resultSpec.getColumnSpec(0).getType()).createSpec());
+        final BufferedDataTable[][] partitions = new BufferedDataTable[tables.length][];
+        final long nRows = tables[0].size() + tables[1].size();
+        long rowsRead = 0;
+        for (int t = 0; t < tables.length; t++) {
+            final BufferedDataContainer[] partitionConts = new BufferedDataContainer[nrPartitions];
+            for (int p = 0; p < nrPartitions; p++) {
+                // the partitions are written to disk right away as they do not fit into memory altogether
+                partitionConts[p] = partitionExec.createDataContainer(valueSpec, false, 0);
+            }
+            try (final CloseableRowIterator it = iterator(tables[t], colIndices[t])) {
+                while (it.hasNext()) {
+                    partitionExec.checkCanceled();
+                    final DataRow row = it.next();
+                    final DataCell value = getValue(row, colIndices[t]);
+                    partitionConts[partition(value, nrPartitions)].addRowToTable(new DefaultRow(row.getKey(), value));
+                    rowsRead++;
+                    partitionExec.setProgress(rowsRead / (double)nRows, () -> "Partitioning values...");
+                }
+            }
+            partitions[t] = new BufferedDataTable[nrPartitions];
+            for (int p = 0; p < nrPartitions; p++) {
+                partitionConts[p].close();
+                partitions[t][p] = partitionConts[p].getTable();
+            }
+        }
+
+        // compute the result of each partition, its rows are numbered consecutively across the partitions and
+        // renumbered after sorting
+        if (m_enableHilite) {
+            m_resultMapping0 = new HashMap<RowKey, Set<RowKey>>();
+            m_resultMapping1 = new HashMap<RowKey, Set<RowKey>>();
+        }
+        final BufferedDataContainer unsorted = setExec.createDataContainer(valueSpec);
+        m_writeStoredValues = true;
+        for (int p = 0; p < nrPartitions; p++) {
+            final int partition = p + 1;
+            setExec.setProgress(p / (double)nrPartitions,
+                () -> "Processing partition " + partition + " of " + nrPartitions + "...");
+            final Members members = createMembers();
+            for (int t = 0; t < tables.length; t++) {
+                for (final DataRow row : partitions[t][p]) {
+                    setExec.checkCanceled();
+                    members.add(row.getCell(0), t == 0 ? IN_FIRST : IN_SECOND, row.getKey());
+                }
+                exec.clearTable(partitions[t][p]);
+            }
+            members.write(unsorted, setExec.createSilentSubExecutionContext(0));
+        }
+        unsorted.close();
+
+        // sort the results of all partitions and number them in that order
+        exec.setMessage("Sorting result...");
+        final BufferedDataTable unsortedTable = unsorted.getTable();
+        final SortedTable sorted =
+            new SortedTable(unsortedTable, new SingleColRowComparator(0, m_comp), false, sortExec);
+        final BufferedDataContainer dc = writeExec.createDataContainer(resultSpec);
+        final long nResults = unsortedTable.size();
+        long rowId = 0;
+        for (final DataRow row : sorted) {
+            writeExec.checkCanceled();
+            final RowKey rowKey = RowKey.createRowKey(rowId++);
+            dc.addRowToTable(new DefaultRow(rowKey, getResultValue(row.getCell(0))));
+            if (m_enableHilite) {
+                moveMapping(m_resultMapping0, row.getKey(), m_hiliteMapping0, rowKey);
+                moveMapping(m_resultMapping1, row.getKey(), m_hiliteMapping1, rowKey);
+            }
+            final long done = rowId;
+            writeExec.setProgress(done / (double)nResults, () -> "Writing row " + done + " of " + nResults);
+        }
+        dc.close();
+        exec.clearTable(unsortedTable);
+        return dc.getTable();
+    }
+
+    private static void moveMapping(final Map<RowKey, Set<RowKey>> from, final RowKey oldKey,
+        final Map<RowKey, Set<RowKey>> to, final RowKey newKey) {
+        final Set<RowKey> keys = from.remove(oldKey);
+        if (keys != null) {
+            to.put(newKey, keys);
+        }
+    }
+
+    private static CloseableRowIterator iterator(final BufferedDataTable table, final int colIdx) {
+        return colIdx < 0 ? ColumnProjection.iterator(table) : ColumnProjection.iterator(table, colIdx);
+    }
+
+    /**
+     * The value of the row as it is stored in the set. Values of different types are compared as strings, see
+     * {@link SetOperation#compute}, but missing values are kept so that they are sorted first.
+     */
+    private DataCell getValue(final DataRow row, final int colIdx) {
+        final DataCell cell = colIdx < 0 ? new StringCell(row.getKey().getString()) : row.getCell(colIdx);
+        if (cell.isMissing()) {
+            return DataType.getMissingCell();
+        }
+        return m_differentType ? new StringCell(cell.toString()) : cell;
+    }
+
+    /** The value of the result table, missing values of different types are strings. */
+    private DataCell getResultValue(final DataCell value) {
+        return m_differentType && value.isMissing() ? new StringCell(value.toString()) : value;
+    }
+
+    private static int partition(final DataCell value, final int nrPartitions) {
+        // spread the bits of the hash code before reducing it to the number of partitions
+        return (int)Long.remainderUnsigned(value.hashCode() * 0x9E3779B97F4A7C15L, nrPartitions);
+    }
+
+    private Members createMembers() {
+        return m_primitiveType == null ? new CellMembers() : new LongMembers();
+    }
+
+    /** @return <code>true</code> if a value contained in the given sets belongs to the result */
+    private boolean isResult(final int sets) {
+        switch (m_op) {
+            case AND:
+                return sets == IN_BOTH;
+            case OR:
+                return true;
+            case MINUS:
+                return sets == IN_FIRST;
+            case XOR:
+                return sets != IN_BOTH;
+            default:
+                throw new IllegalStateException("Operation " + m_op.getName() + " not implemented");
+        }
+    }
+
+    /**
+     * Adds a value of the result to the table unless it is missing and missing values are skipped.
+     *
+     * @param count the number of rows of both tables containing the value
+     * @param rows1 the keys of the rows of the first table containing the value or <code>null</code>
+     * @param rows2 the keys of the rows of the second table containing the value or <code>null</code>
+     */
+    private void addResult(final BufferedDataContainer dc, final DataCell value, final long count,
+        final Set<RowKey> rows1, final Set<RowKey> rows2) {
+        if (m_skipMissing && value.isMissing() && !m_differentType) {
+            m_missingCounter += count;
+            return;
+        }
+        m_duplicateCounter += count - 1;
+        final RowKey rowKey = RowKey.createRowKey(m_rowId++);
+        dc.addRowToTable(new DefaultRow(rowKey, m_writeStoredValues ? value : getResultValue(value)));
+        if (m_enableHilite) {
+            if (rows1 != null) {
+                m_resultMapping0.put(rowKey, rows1);
+            }
+            if (rows2 != null) {
+                m_resultMapping1.put(rowKey, rows2);
+            }
+        }
+    }
+
+    /** The distinct values of both sets. */
+    private abstract static class Members {
+
+        /**
+         * @param value the value
+         * @param set the set containing the value, {@link #IN_FIRST} or {@link #IN_SECOND}
+         * @param rowKey the key of the row containing the value
+         */
+        abstract void add(DataCell value, int set, RowKey rowKey);
+
+        /** Writes the values of the result sorted by the comparator. */
+        abstract void write(BufferedDataContainer dc, ExecutionContext exec) throws CanceledExecutionException;
+    }
+
+    /** The sets containing a value, the number of rows and, if hiliting is enabled, the keys of the rows. */
+    private static final class Member {
+
+        private int m_sets;
+
+        private long m_count;
+
+        private Set<RowKey> m_rows1;
+
+        private Set<RowKey> m_rows2;
+    }
+
+    /** Values of any type in a hash map. */
+    private final class CellMembers extends Members {
+
+        private final Map<DataCell, Member> m_members = new HashMap<DataCell, Member>();
+
+        @Override
+        void add(final DataCell value, final int set, final RowKey rowKey) {
+            final Member member = m_members.computeIfAbsent(value, v -> new Member());
+            member.m_sets |= set;
+            member.m_count++;
+            if (m_enableHilite) {
+                if (set == IN_FIRST) {
+                    if (member.m_rows1 == null) {
+                        member.m_rows1 = new HashSet<RowKey>();
+                    }
+                    member.m_rows1.add(rowKey);
+                } else {
+                    if (member.m_rows2 == null) {
+                        member.m_rows2 = new HashSet<RowKey>();
+                    }
+                    member.m_rows2.add(rowKey);
+                }
+            }
+        }
+
+        @Override
+        void write(final BufferedDataContainer dc, final ExecutionContext exec) throws CanceledExecutionException {
+            final List<DataCell> values = new ArrayList<DataCell>();
+            for (final Map.Entry<DataCell, Member> entry : m_members.entrySet()) {
+                if (isResult(entry.getValue().m_sets)) {
+                    values.add(entry.getKey());
+                }
+            }
+            final DataCell[] sorted = values.toArray(new DataCell[values.size()]);
+            Arrays.parallelSort(sorted, m_comp);
+            for (int i = 0; i < sorted.length; i++) {
+                exec.checkCanceled();
+                final Member member = m_members.get(sorted[i]);
+                addResult(dc, sorted[i], member.m_count, member.m_rows1, member.m_rows2);
+                exec.setProgress((i + 1) / (double)sorted.length);
+            }
+        }
+    }
+
+    /**
+     * Integer or long values in an open addressing hash table of primitive arrays. Missing values are counted
+     * separately, they come first in the order of the comparator.
+     */
+    private final class LongMembers extends Members {
+
+        private long[] m_keys = new long[16];
+
+        // the sets containing the key, 0 if the slot is empty
+        private byte[] m_sets = new byte[16];
+
+        private long[] m_counts = new long[16];
+
+        private int m_size;
+
+        private int m_missingSets;
+
+        private long m_missingCount;
+
+        @Override
+        void add(final DataCell value, final int set, final RowKey rowKey) {
+            if (value.isMissing()) {
+                m_missingSets |= set;
+                m_missingCount++;
+                return;
+            }
+            final long key = IntCell.TYPE.equals(m_primitiveType) ? ((IntValue)value).getIntValue()
+                : ((LongValue)value).getLongValue();
+            int slot = find(key);
+            if (m_sets[slot] == 0) {
+                if (2 * (m_size + 1) > m_keys.length) {
+                    grow();
+                    slot = find(key);
+                }
+                m_keys[slot] = key;
+                m_size++;
+            }
+            m_sets[slot] |= set;
+            m_counts[slot]++;
+        }
+
+        /** @return the slot of the key or the empty slot where it is inserted */
+        private int find(final long key) {
+            final int mask = m_keys.length - 1;
+            int slot = (int)((key * 0x9E3779B97F4A7C15L) >>> 33) & mask;
+            while (m_sets[slot] != 0 && m_keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            final long[] keys = m_keys;
+            final byte[] sets = m_sets;
+            final long[] counts = m_counts;
+            m_keys = new long[keys.length * 2];
+            m_sets = new byte[keys.length * 2];
+            m_counts = new long[keys.length * 2];
+            for (int i = 0; i < keys.length; i++) {
+                if (sets[i] != 0) {
+                    final int slot = find(keys[i]);
+                    m_keys[slot] = keys[i];
+                    m_sets[slot] = sets[i];
+                    m_counts[slot] = counts[i];
+                }
+            }
+        }
+
+        @Override
+        void write(final BufferedDataContainer dc, final ExecutionContext exec) throws CanceledExecutionException {
+            if (m_missingSets != 0 && isResult(m_missingSets)) {
+                addResult(dc, DataType.getMissingCell(), m_missingCount, null, null);
+            }
+            long[] sorted = new long[m_size];
+            int size = 0;
+            for (int i = 0; i < m_keys.length; i++) {
+                if (m_sets[i] != 0 && isResult(m_sets[i])) {
+                    sorted[size++] = m_keys[i];
+                }
+            }
+            sorted = Arrays.copyOf(sorted, size);
+            Arrays.parallelSort(sorted);
+            final boolean isInt = IntCell.TYPE.equals(m_primitiveType);
+            for (int i = 0; i < size; i++) {
+                exec.checkCanceled();
+                final DataCell value = isInt ? new IntCell((int)sorted[i]) : new LongCell(sorted[i]);
+                addResult(dc, value, m_counts[find(sorted[i])], null, null);
+                exec.setProgress((i + 1) / (double)size);
+            }
+        }
+    }
+}
@@ -49,34 +49,19 @@
 package org.knime.base.node.preproc.setoperator;
 
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 
-import org.knime.base.data.sort.SortedTable;
-import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
-import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataValueComparator;
-import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
-import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.StringCell;
-import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
-import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
-import org.knime.core.util.ThreadPool;
 
 
 /**
@@ -86,86 +71,11 @@
  * @author Tobias Koetter, University of Konstanz
  */
 public class SetOperationTable {
-    private static class CellIterator implements Iterator<RowKeyCellMap> {
-
-        private final RowIterator m_iterator;
-
-        private final boolean m_useRowID;
-
-        private final int m_colIdx;
-
-        private final long m_rowCount;
-
-        /**Constructor for class CellIterator.
-         * @param table
-         * @param useRowID
-         * @param colIdx
-         */
-        public CellIterator(final SortedTable table, final boolean useRowID,
-                final int colIdx) {
-            if (table == null) {
-                throw new NullPointerException("table must not be null");
-            }
-            if (!useRowID && (colIdx < 0
-                    || colIdx > table.getDataTableSpec().getNumColumns())) {
-                throw new IllegalArgumentException("Invalid column index");
-            }
-            m_iterator = table.iterator();
-            m_rowCount = table.size();
-            m_useRowID = useRowID;
-            m_colIdx = colIdx;
-        }
-
-
-        /**
-         * @return the total number of rows
-         */
-        public long getRowCount() {
-            return m_rowCount;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public boolean hasNext() {
-            return m_iterator.hasNext();
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public RowKeyCellMap next() {
-            final DataRow row = m_iterator.next();
-            final DataCell cell;
-            if (m_useRowID) {
-                cell = new StringCell(row.getKey().getString());
-            } else {
-                cell = row.getCell(m_colIdx);
-            }
-            return new RowKeyCellMap(row.getKey(), cell);
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException();
-        }
-
-    }
-
     private final BufferedDataTable m_resultTable;
 
     private long m_duplicateCounter = 0;
     private long m_missingCounter = 0;
 
-    private final boolean m_skipMisssing;
-
-    private long m_rowId;
-
     private final boolean m_enableHilite;
 
 
@@ -296,259 +206,25 @@ public SetOperationTable(final ExecutionContext exec,
             }
         }
 
-        m_skipMisssing = skipMissing;
         final DataValueComparator comp;
         if (useRowID1 || useRowID2) {
             comp = GeneralDataValueComparator.getInstance();
         } else {
             comp = op.getComparator(col1Spec, col2Spec);
         }
-        exec.setMessage("Sorting input tables...");
-        final SingleColRowComparator rowComparator1 =
-            new SingleColRowComparator(col1Idx, comp);
-        final ExecutionContext subExec1 = exec.createSubExecutionContext(0.4);
-        final SingleColRowComparator rowComparator2 =
-            new SingleColRowComparator(col2Idx, comp);
-        final ExecutionContext subExec2 = exec.createSubExecutionContext(0.4);
-        final SortedTable[] sortedTables = new SortedTable[2];
-        //initialize the thread pool
-        final ThreadPool pool =
-            KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
-          final Queue<Future<SortedTable>> futures =
-              new LinkedList<Future<SortedTable>>();
-        futures.add(pool.enqueue(createSortTableCallable(subExec1, table1,
-                rowComparator1, sortInMemory)));
-        exec.checkCanceled();
-        futures.add(pool.enqueue(createSortTableCallable(subExec2, table2,
-                rowComparator2, sortInMemory)));
-        exec.checkCanceled();
-        //loop through all added futures to retrieve the results
-        //in the defined order
-        int i = 0;
-        try {
-            while (!futures.isEmpty()) {
-                exec.checkCanceled();
-                //get AND remove the finished future from the queue
-                final Future<SortedTable> future = futures.poll();
-                sortedTables[i++] = future.get();
-            }
-        } catch (final InterruptedException e) {
-            throw new CanceledExecutionException("Sorting canceled");
-        } catch (final ExecutionException e) {
-            if (e.getCause() instanceof CanceledExecutionException) {
-                throw (CanceledExecutionException) e.getCause();
-            } else if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            }
-            throw new RuntimeException(e.getCause());
-        }
-        exec.setMessage("Performing set operation");
-        final ExecutionContext subExec = exec.createSubExecutionContext(0.2);
         final DataTableSpec resultSpec =
             createResultTableSpec(op, col1Spec, col2Spec);
 
         final boolean differentType = useRowID1 || useRowID2
                     || !col1Spec.getType().equals(col2Spec.getType());
-        //create the set objects
-        final CellIterator columnSet1 =
-            new CellIterator(sortedTables[0], useRowID1, col1Idx);
-        final CellIterator columnSet2 =
-            new CellIterator(sortedTables[1], useRowID2, col2Idx);
-        m_resultTable = createSetTable(subExec, resultSpec, differentType,
-                columnSet1, columnSet2, op, comp);
-    }
-
-    private Callable<SortedTable> createSortTableCallable(
-            final ExecutionContext exec, final BufferedDataTable table,
-            final SingleColRowComparator comparator,
-            final boolean sortInMemory) {
-        return new Callable<SortedTable>() {
-            @Override
-            public SortedTable call() throws Exception {
-                exec.checkCanceled();
-                return new SortedTable(table, comparator, sortInMemory, exec);
-        } };
-    }
-
-    private BufferedDataTable createSetTable(final ExecutionContext exec,
-            final DataTableSpec resultSpec, final boolean differentType,
-            final CellIterator iter1, final CellIterator iter2,
-            final SetOperation op, final DataValueComparator comp)
-    throws CanceledExecutionException {
-        //reset the rowid to minus 1 to use the ++m_rowId
-        m_rowId = -1;
-        final BufferedDataContainer dc = exec.createDataContainer(resultSpec);
-        final long rowCount = iter1.getRowCount() + iter2.getRowCount();
-        long rowCounter = 0;
-        RowKeyCellMap cell1 = null;
-        RowKeyCellMap cell2 = null;
-        RowKeyCellMap oldCell1 = null;
-        RowKeyCellMap oldCell2 = null;
-        DataCell oldResult = null;
-        while (iter1.hasNext() && iter2.hasNext()) {
-            //old values are already set when the cell1 is reset to null below
-            cell1 = iter1.next();
-            rowCounter++;
-            //old values are already set when the cell2 is reset to null below
-            cell2 = iter2.next();
-            rowCounter++;
-            int compResult = comp.compare(cell1.getCell(), cell2.getCell());
-            while (compResult != 0) {
-                if (compResult < 0) {
-                    //the first entry is less
-                    oldResult = computeResult(op, dc, oldResult, cell1, null,
-                            oldCell1, oldCell2, differentType);
-                    oldCell1 = cell1;
-                    cell1 = null;
-                    if (iter1.hasNext()) {
-                        cell1 = iter1.next();
-                        rowCounter++;
-                        compResult = comp.compare(cell1.getCell(),
-                                cell2.getCell());
-                        reportProgress(exec, rowCount, rowCounter);
-                    } else {
-                        break;
-                    }
-                } else if (compResult > 0) {
-                    //the second entry is less
-                    oldResult = computeResult(op, dc, oldResult, null, cell2,
-                            oldCell1, oldCell2, differentType);
-                    oldCell2 = cell2;
-                    cell2 = null;
-                    if (iter2.hasNext()) {
-                        cell2 = iter2.next();
-                        rowCounter++;
-                        compResult = comp.compare(cell1.getCell(),
-                                cell2.getCell());
-                        reportProgress(exec, rowCount, rowCounter);
-                    } else {
-                        break;
-                    }
-                }
-            }
-            //compResult != 0 if iter1 or iter2 has no next elements!
-            if (compResult == 0) {
-                //they are equal process both
-                oldResult = computeResult(op, dc, oldResult, cell1, cell2,
-                        oldCell1, oldCell2, differentType);
-                oldCell1 = cell1;
-                cell1 = null;
-                oldCell2 = cell2;
-                cell2 = null;
-                reportProgress(exec, rowCount, rowCounter);
-            }
-        }
-        //that's only the case if all elements of set2 are less than all
-        //elements of set1
-        if (cell1 != null) {
-            oldResult = computeResult(op, dc, oldResult, cell1, null,
-                    oldCell1, oldCell2, differentType);
-        }
-        //process all left elements
-        while (iter1.hasNext()) {
-            oldCell1 = cell1;
-            cell1 = iter1.next();
-            rowCounter++;
-            oldResult = computeResult(op, dc, oldResult, cell1, null,
-                    oldCell1, oldCell2, differentType);
-            reportProgress(exec, rowCount, rowCounter);
-        }
-      //that's only the case if all elements of set1 are less than all
-        //elements of set2
-        if (cell2 != null) {
-            oldResult = computeResult(op, dc, oldResult, null, cell2,
-                    oldCell1, oldCell2, differentType);
-        }
-        while (iter2.hasNext()) {
-            oldCell2 = cell2;
-            cell2 = iter2.next();
-            rowCounter++;
-            oldResult = computeResult(op, dc, oldResult, null, cell2,
-                    oldCell1, oldCell2, differentType);
-            reportProgress(exec, rowCount, rowCounter);
-        }
-        dc.close();
-        return dc.getTable();
-    }
-
-    private static void reportProgress(final ExecutionContext exec,
-            final long rowCount, final long rowCounter)
-            throws CanceledExecutionException {
-        exec.checkCanceled();
-        exec.setProgress(rowCounter / (double)rowCount, "Processing row " + rowCounter + " of " + rowCount);
-    }
-
-    private DataCell computeResult(final SetOperation op,
-            final BufferedDataContainer dc, final DataCell oldResult,
-            final RowKeyCellMap keyCell1, final RowKeyCellMap keyCell2,
-            final RowKeyCellMap oldKeyCell1, final RowKeyCellMap oldKeyCell2,
-            final boolean differntType) {
-        DataCell cell1;
-        if (keyCell1 != null) {
-            cell1 = keyCell1.getCell();
-        } else {
-            cell1 = null;
-        }
-        DataCell cell2;
-        if (keyCell2 != null) {
-            cell2 = keyCell2.getCell();
-        } else {
-            cell2 = null;
-        }
-        DataCell oldCell1;
-        if (oldKeyCell1 != null) {
-            oldCell1 = oldKeyCell1.getCell();
-        } else {
-            oldCell1 = null;
-        }
-        DataCell oldCell2;
-        if (oldKeyCell2 != null) {
-            oldCell2 = oldKeyCell2.getCell();
-        } else {
-            oldCell2 = null;
-        }
-        final DataCell result =
-            op.compute(cell1, cell2, oldCell1, oldCell2, differntType);
-        if (result != null) {
-            if (result.equals(oldResult)) {
-                if (m_enableHilite) {
-                    assert (m_rowId >= 0);
-                    final RowKey currentKey = RowKey.createRowKey(m_rowId);
-                    if (keyCell1 != null) {
-                        final Set<RowKey> map0 =
-                            m_hiliteMapping0.get(currentKey);
-                        map0.add(keyCell1.getRowKey());
-                    }
-                    if (keyCell2 != null) {
-                        final Set<RowKey> map1 =
-                            m_hiliteMapping1.get(currentKey);
-                        map1.add(keyCell2.getRowKey());
-                    }
-                }
-                m_duplicateCounter++;
-                return oldResult;
-            } else if (m_skipMisssing && result.isMissing()) {
-                m_missingCounter++;
-                return oldResult;
-            } else {
-                final RowKey rowKey = RowKey.createRowKey(++m_rowId);
-                dc.addRowToTable(new DefaultRow(rowKey, result));
-                if (m_enableHilite) {
-                    if (keyCell1 != null) {
-                        final HashSet<RowKey> map0 = new HashSet<RowKey>();
-                        map0.add(keyCell1.getRowKey());
-                        m_hiliteMapping0.put(rowKey, map0);
-                    }
-                    if (keyCell2 != null) {
-                        final HashSet<RowKey> map1 = new HashSet<RowKey>();
-                        map1.add(keyCell2.getRowKey());
-                        m_hiliteMapping1.put(rowKey, map1);
-                    }
-                }
-                return result;
-            }
-        }
-        return oldResult;
+        exec.setMessage("Performing set operation");
+        final HashSetOperation setOperation = new HashSetOperation(op, comp,
+            differentType ? null : col1Spec.getType(), skipMissing,
+            m_hiliteMapping0, m_hiliteMapping1);
+        m_resultTable = setOperation.execute(exec, table1, col1Idx, table2,
+            col2Idx, resultSpec);
+        m_duplicateCounter = setOperation.getDuplicateCounter();
+        m_missingCounter = setOperation.getMissingCounter();
     }
 
 
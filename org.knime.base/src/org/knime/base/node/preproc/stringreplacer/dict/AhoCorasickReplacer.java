@@ -0,0 +1,253 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.preproc.stringreplacer.dict;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Replaces all occurrences of the keys of a dictionary within a string by their values. The keys are compiled into an
+ * Aho-Corasick automaton once, such that each string is scanned only once, independent of the number of keys.
+ * <p>
+ * Overlapping occurrences are resolved leftmost-longest: of all occurrences, the one starting first is replaced, with
+ * ties broken by the longest key; scanning then continues after the replaced occurrence. Empty keys are ignored.
+ * Instances are immutable after construction and can be used by multiple threads.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class AhoCorasickReplacer {
+
+    private static final int ROOT = 0;
+
+    private static final long NO_KEY = -1;
+
+    // transitions of the trie as an open addressing hash table from (state, character) to the next state
+    private final long[] m_transitionKeys;
+
+    private final int[] m_transitionTargets;
+
+    // per state: the length of the string leading to it and its failure link
+    private final int[] m_depths;
+
+    private final int[] m_failures;
+
+    // per state: the longest key that is a suffix of the string leading to it (as index into m_values or -1 if there
+    // is none) and its length
+    private final int[] m_keys;
+
+    private final int[] m_keyLengths;
+
+    private final String[] m_values;
+
+    /**
+     * Creates the automaton for the given dictionary.
+     *
+     * @param dictionary maps the keys to search for to their replacement
+     */
+    AhoCorasickReplacer(final Map<String, String> dictionary) {
+        final int capacity = 1 + dictionary.keySet().stream().mapToInt(String::length).sum();
+        m_depths = new int[capacity];
+        m_failures = new int[capacity];
+        m_keys = new int[capacity];
+        m_keyLengths = new int[capacity];
+        m_values = new String[dictionary.size()];
+        // at most one transition per state, keep the load factor of the table below one half
+        final int tableSize = Integer.highestOneBit(Math.max(8, capacity)) << 2;
+        m_transitionKeys = new long[tableSize];
+        Arrays.fill(m_transitionKeys, NO_KEY);
+        m_transitionTargets = new int[tableSize];
+
+        // build the trie, remembering the children of each state for the breadth first traversal below
+        final char[] labels = new char[capacity];
+        final int[] firstChildren = new int[capacity];
+        final int[] nextSiblings = new int[capacity];
+        Arrays.fill(firstChildren, -1);
+        Arrays.fill(m_keys, -1);
+        int nrStates = 1;
+        int index = 0;
+        for (final Map.Entry<String, String> entry : dictionary.entrySet()) {
+            final String key = entry.getKey();
+            if (key.isEmpty()) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < key.length(); i++) {
+                final char c = key.charAt(i);
+                int next = getTransition(state, c);
+                if (next < 0) {
+                    next = nrStates++;
+                    m_depths[next] = m_depths[state] + 1;
+                    putTransition(state, c, next);
+                    labels[next] = c;
+                    nextSiblings[next] = firstChildren[state];
+                    firstChildren[state] = next;
+                }
+                state = next;
+            }
+            m_values[index] = entry.getValue();
+            m_keys[state] = index++;
+            m_keyLengths[state] = key.length();
+        }
+
+        // compute the failure links breadth first such that the links of all shallower states are known
+        final int[] queue = new int[nrStates];
+        int head = 0;
+        int tail = 0;
+        for (int child = firstChildren[ROOT]; child >= 0; child = nextSiblings[child]) {
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            final int state = queue[head++];
+            if (m_keys[state] < 0) {
+                // the longest key that is a suffix ends in the state the failure link points to (or further down)
+                m_keys[state] = m_keys[m_failures[state]];
+                m_keyLengths[state] = m_keyLengths[m_failures[state]];
+            }
+            for (int child = firstChildren[state]; child >= 0; child = nextSiblings[child]) {
+                m_failures[child] = state == ROOT ? ROOT : next(m_failures[state], labels[child]);
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * Replaces all occurrences of the dictionary keys in the given string.
+     *
+     * @param s the string to search
+     * @return the string with all occurrences replaced or the argument itself if there are none
+     */
+    String replace(final String s) {
+        final int length = s.length();
+        StringBuilder result = null;
+        int copied = 0;
+        int state = ROOT;
+        // the best occurrence found so far, which may still be superseded by a longer one starting at the same index
+        int matchStart = -1;
+        int matchEnd = -1;
+        int matchKey = -1;
+        int i = 0;
+        while (i < length || matchKey >= 0) {
+            if (i < length) {
+                state = next(state, s.charAt(i));
+                final int key = m_keys[state];
+                if (key >= 0) {
+                    final int start = i - m_keyLengths[state] + 1;
+                    if (matchKey < 0 || start <= matchStart) {
+                        // occurrences ending later with the same start are longer
+                        matchStart = start;
+                        matchEnd = i + 1;
+                        matchKey = key;
+                    }
+                }
+                i++;
+                if (matchKey < 0 || i - m_depths[state] <= matchStart) {
+                    // no occurrence yet or an occurrence starting at or before the match might still follow
+                    continue;
+                }
+            }
+            if (result == null) {
+                result = new StringBuilder(length + 16);
+            }
+            result.append(s, copied, matchStart).append(m_values[matchKey]);
+            copied = matchEnd;
+            // continue after the replaced occurrence
+            i = matchEnd;
+            state = ROOT;
+            matchKey = -1;
+        }
+        if (result == null) {
+            return s;
+        }
+        return result.append(s, copied, length).toString();
+    }
+
+    private int next(final int state, final char c) {
+        int s = state;
+        while (true) {
+            final int next = getTransition(s, c);
+            if (next >= 0) {
+                return next;
+            }
+            if (s == ROOT) {
+                return ROOT;
+            }
+            s = m_failures[s];
+        }
+    }
+
+    private static long transitionKey(final int state, final char c) {
+        return ((long)state << 16) | c;
+    }
+
+    private int slot(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32)) & (m_transitionKeys.length - 1);
+    }
+
+    private int getTransition(final int state, final char c) {
+        final long key = transitionKey(state, c);
+        for (int slot = slot(key);; slot = (slot + 1) & (m_transitionKeys.length - 1)) {
+            if (m_transitionKeys[slot] == key) {
+                return m_transitionTargets[slot];
+            }
+            if (m_transitionKeys[slot] == NO_KEY) {
+                return -1;
+            }
+        }
+    }
+
+    private void putTransition(final int state, final char c, final int target) {
+        final long key = transitionKey(state, c);
+        int slot = slot(key);
+        while (m_transitionKeys[slot] != NO_KEY) {
+            slot = (slot + 1) & (m_transitionKeys.length - 1);
+        }
+        m_transitionKeys[slot] = key;
+        m_transitionTargets[slot] = target;
+    }
+}
@@ -94,6 +94,8 @@ final class SearchReplaceDictNodeDialogPane extends NodeDialogPane {
 
     private final JTextField m_appendTextField;
 
+    private final JCheckBox m_replaceSubstringsChecker;
+
     /** Inits GUI. */
     @SuppressWarnings("unchecked")
     public SearchReplaceDictNodeDialogPane() {
@@ -145,6 +147,9 @@ public void keyTyped(final KeyEvent e) {
             }
         });
         m_appendTextField = new JTextField();
+        m_replaceSubstringsChecker = new JCheckBox("Replace substrings");
+        m_replaceSubstringsChecker.setToolTipText("If checked, all occurrences of the keys within a cell are "
+            + "replaced, otherwise only cells that match a key entirely");
         layout();
     }
 
@@ -176,6 +181,8 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSp
         if (appendCol != null) {
             m_appendTextField.setText(appendCol);
         }
+        m_replaceSubstringsChecker
+            .setSelected(settings.getBoolean(SearchReplaceDictNodeModel.CFG_REPLACE_SUBSTRINGS, false));
     }
 
     /** {@inheritDoc} */
@@ -213,6 +220,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         settings.addString(SearchReplaceDictNodeModel.CFG_DICT_LOCATION, dictLoc);
         settings.addString(SearchReplaceDictNodeModel.CFG_APPEND_COLUMN, appendCol);
         settings.addChar(SearchReplaceDictNodeModel.CFG_DELIMITER_IN_DICT, delim);
+        settings.addBoolean(SearchReplaceDictNodeModel.CFG_REPLACE_SUBSTRINGS, m_replaceSubstringsChecker.isSelected());
     }
 
     /** Layout the GUI elements with GridBagLayout. */
@@ -259,6 +267,13 @@ private void layout() {
         g.gridy++;
         panel.add(m_appendTextField, g);
 
+        g.gridx = 0;
+        g.gridy++;
+        g.anchor = GridBagConstraints.EAST;
+        g.fill = GridBagConstraints.NONE;
+        g.weightx = 0.0;
+        panel.add(m_replaceSubstringsChecker, g);
+
         addTab("Default", panel);
 
     }
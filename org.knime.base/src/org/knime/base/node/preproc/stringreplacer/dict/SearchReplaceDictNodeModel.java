@@ -97,6 +97,9 @@ final class SearchReplaceDictNodeModel extends SimpleStreamableFunctionNodeModel
     /** Config key for delimiter in dictionary. */
     static final String CFG_DELIMITER_IN_DICT = "delimiter_in_dict";
 
+    /** Config key for replacing substrings rather than entire cells (added in 4.4). */
+    static final String CFG_REPLACE_SUBSTRINGS = "replace_substrings";
+
     private String m_dictFileURLString;
 
     private String m_targetColumnName;
@@ -105,9 +108,14 @@ final class SearchReplaceDictNodeModel extends SimpleStreamableFunctionNodeModel
 
     private char m_delimInDictCharacter;
 
+    private boolean m_replaceSubstrings;
+
     /** temporarily used during execute. */
     private HashMap<String, String> m_replacementMap;
 
+    /** temporarily used during execute if substrings are replaced, built from the replacement map. */
+    private AhoCorasickReplacer m_substringReplacer;
+
     /** One input, one output. */
     public SearchReplaceDictNodeModel() {
     }
@@ -146,11 +154,13 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         exec.setMessage("Reading dictionary");
         ExecutionMonitor subExec = exec.createSubProgress(0.2);
         m_replacementMap = readDictionary(subExec);
+        initSubstringReplacer();
         exec.setMessage("Searching & Replacing");
         DataTableSpec spec = inData[0].getDataTableSpec();
         ColumnRearranger rearranger = createColumnRearranger(spec);
         BufferedDataTable result = exec.createColumnRearrangeTable(inData[0], rearranger, exec.createSubProgress(0.8));
         m_replacementMap = null;
+        m_substringReplacer = null;
         return new BufferedDataTable[]{result};
     }
 
@@ -165,11 +175,17 @@ public StreamableFunction createStreamableOperator(final PartitionInfo partition
         } catch (IOException e) {
             throw new InvalidSettingsException("Can't read dictionary file.", e);
         }
+        initSubstringReplacer();
         return createColumnRearranger((DataTableSpec) inSpecs[0]).createStreamableFunction();
     }
 
 
 
+    /** Compiles the dictionary into a search automaton if substrings are to be replaced. */
+    private void initSubstringReplacer() {
+        m_substringReplacer = m_replaceSubstrings ? new AhoCorasickReplacer(m_replacementMap) : null;
+    }
+
     @Override
     protected ColumnRearranger createColumnRearranger(final DataTableSpec spec) {
         ColumnRearranger result = new ColumnRearranger(spec);
@@ -191,6 +207,10 @@ public DataCell getCell(final DataRow row) {
                     return c;
                 }
                 String cellContent = c.toString();
+                if (m_substringReplacer != null) {
+                    // all occurrences of the keys are replaced in a single scan
+                    return new StringCell(m_substringReplacer.replace(cellContent));
+                }
                 String replacement = m_replacementMap.get(cellContent);
                 if (replacement != null) {
                     return new StringCell(replacement);
@@ -266,12 +286,15 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
         m_newColumnName = settings.getString(CFG_APPEND_COLUMN);
         m_dictFileURLString = settings.getString(CFG_DICT_LOCATION);
         m_delimInDictCharacter = settings.getChar(CFG_DELIMITER_IN_DICT);
+        // added in 4.4
+        m_replaceSubstrings = settings.getBoolean(CFG_REPLACE_SUBSTRINGS, false);
     }
 
     /** {@inheritDoc} */
     @Override
     protected void reset() {
         m_replacementMap = null;
+        m_substringReplacer = null;
     }
 
     /** {@inheritDoc} */
@@ -289,6 +312,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
             settings.addString(CFG_APPEND_COLUMN, m_newColumnName);
             settings.addString(CFG_DICT_LOCATION, m_dictFileURLString);
             settings.addChar(CFG_DELIMITER_IN_DICT, m_delimInDictCharacter);
+            settings.addBoolean(CFG_REPLACE_SUBSTRINGS, m_replaceSubstrings);
         }
 
     }
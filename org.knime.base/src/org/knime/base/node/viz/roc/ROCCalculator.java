@@ -52,8 +52,13 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.knime.base.data.sort.SortedTable;
+import org.knime.base.data.util.ColumnProjection;
+import org.knime.base.data.util.Futures;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -66,6 +71,9 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
 
 /**
  *
@@ -102,6 +110,8 @@ public class ROCCalculator {
 
     private String m_warningMessage = null;
 
+    private boolean m_useScoreBuffer = true;
+
     /**
      * @return Warning messages that occurred during execution
      */
@@ -139,6 +149,18 @@ public ROCCalculator(final List<String> curves, final String classCol,
         m_ignoreMissingValues = ignoreMissingValues;
     }
 
+    /**
+     * Sets whether the class and score columns are read once into primitive arrays and the curves are computed
+     * concurrently from these arrays instead of sorting the whole input table once for every curve. If the arrays do
+     * not fit into memory the curves are computed from sorted tables anyway. The default is <code>true</code>.
+     *
+     * @param useScoreBuffer <code>true</code> if the scores should be buffered, <code>false</code> otherwise
+     * @since 4.4
+     */
+    public void setUseScoreBuffer(final boolean useScoreBuffer) {
+        m_useScoreBuffer = useScoreBuffer;
+    }
+
     /**
      * Calculates the ROC curve.
      * @param table the table with the data
@@ -148,36 +170,60 @@ public ROCCalculator(final List<String> curves, final String classCol,
     public void calculateCurveData(final BufferedDataTable table, final ExecutionContext exec)
             throws CanceledExecutionException {
         m_warningMessage = null;
-        List<ROCCurve> curves = new ArrayList<ROCCurve>();
         int classIndex = table.getDataTableSpec().findColumnIndex(m_classCol);
-        int curvesSize = m_curves.size();
         int size = table.getRowCount();
         if (size == 0) {
             m_warningMessage = "Input table contains no rows";
         }
+        int[] scoreColIndices = new int[m_curves.size()];
+        for (int i = 0; i < scoreColIndices.length; i++) {
+            scoreColIndices[i] = table.getDataTableSpec().findColumnIndex(m_curves.get(i));
+        }
+        final List<ROCCurve> curves;
+        if (m_useScoreBuffer
+            && ScoreBuffer.isApplicable(table, scoreColIndices, KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads())) {
+            curves = calculateFromScoreBuffer(table, classIndex, scoreColIndices, exec);
+        } else {
+            curves = calculateFromSortedTables(table, classIndex, exec);
+        }
+
         BufferedDataContainer outCont = exec.createDataContainer(OUT_SPEC);
+        for (ROCCurve curve : curves) {
+            outCont.addRowToTable(new DefaultRow(new RowKey(curve.getName()),
+                    new DoubleCell(curve.getArea())));
+        }
+        m_outCurves = curves;
+        outCont.close();
+        m_outTable = outCont.getTable();
+    }
+
+    private List<ROCCurve> calculateFromSortedTables(final BufferedDataTable table, final int classIndex,
+        final ExecutionContext exec) throws CanceledExecutionException {
+        List<ROCCurve> curves = new ArrayList<ROCCurve>();
+        int curvesSize = m_curves.size();
+        int size = table.getRowCount();
         for (int i = 0; i < curvesSize; i++) {
             exec.checkCanceled();
             String c = m_curves.get(i);
 
             ExecutionContext subExec = exec.createSubExecutionContext(
                     1.0 / curvesSize);
+            // only sort the class and the score column
+            final BufferedDataTable projected = ColumnProjection.project(table, subExec, classIndex,
+                table.getDataTableSpec().findColumnIndex(c));
             SortedTable sortedTable =
-                    new SortedTable(table, Collections.singletonList(c),
+                    new SortedTable(projected, Collections.singletonList(c),
                             new boolean[]{false}, subExec);
             subExec.setProgress(1.0);
 
-            int tp = 0, fp = 0;
-            // these contain the coordinates for the plot
-            double[] xValues = new double[size + 1];
-            double[] yValues = new double[size + 1];
-            int k = 0;
+            CurveBuilder builder = new CurveBuilder(size);
             final int scoreColIndex =
                     sortedTable.getDataTableSpec().findColumnIndex(c);
+            final int sortedClassIndex = sortedTable.getDataTableSpec().findColumnIndex(m_classCol);
             DataCell lastScore = null;
             for (DataRow row : sortedTable) {
                 exec.checkCanceled();
-                DataCell realClass = row.getCell(classIndex);
+                DataCell realClass = row.getCell(sortedClassIndex);
                 if (realClass.isMissing() || row.getCell(scoreColIndex).isMissing()) {
                     if (m_ignoreMissingValues) {
                         continue;
@@ -185,52 +231,79 @@ public void calculateCurveData(final BufferedDataTable table, final ExecutionCon
                         m_warningMessage = "Table contains missing values.";
                     }
                 }
-                if (realClass.toString().equals(m_posClass)) {
-                    tp++;
-                } else {
-                    fp++;
-                }
 
                 // Only add a new line point if probability values differ. If they are equal we can't prefer one
                 // value over the other as they are indifferent; for a sequence of equal probabilities, think of what
                 // would happen if we first encounter all TP and then the FP and the other way
                 // around ... the following lines circumvent this.
-                if (!row.getCell(scoreColIndex).equals(lastScore)) {
-                    k++;
+                boolean newScore = !row.getCell(scoreColIndex).equals(lastScore);
+                if (newScore) {
                     lastScore = row.getCell(scoreColIndex);
                 }
-                xValues[k] = fp;
-                yValues[k] = tp;
+                builder.add(realClass.toString().equals(m_posClass), newScore);
             }
 
-            xValues = Arrays.copyOf(xValues, k + 1);
-            yValues = Arrays.copyOf(yValues, k + 1);
+            curves.add(builder.build(c, m_maxPoints));
+        }
+        return curves;
+    }
 
-            for (int j = 0; j <= k; j++) {
-                xValues[j] /= fp;
-                yValues[j] /= tp;
-            }
-            xValues[xValues.length - 1] = 1;
-            yValues[yValues.length - 1] = 1;
+    private List<ROCCurve> calculateFromScoreBuffer(final BufferedDataTable table, final int classIndex,
+        final int[] scoreColIndices, final ExecutionContext exec) throws CanceledExecutionException {
+        exec.setMessage("Reading scores...");
+        final ScoreBuffer buffer = ScoreBuffer.read(table, classIndex, c -> c.toString().equals(m_posClass),
+            scoreColIndices, exec.createSubProgress(0.5));
 
-            double area = 0;
-            for (k = 1; k < xValues.length; k++) {
-                if (xValues[k - 1] < xValues[k]) {
-                    // magical math: the rectangle + the triangle under
-                    // the segment xValues[k] to xValues[k - 1]
-                    area += 0.5 * (xValues[k] - xValues[k - 1])
-                        * (yValues[k] + yValues[k - 1]);
-                }
-            }
+        exec.setMessage("Calculating curves...");
+        final ExecutionMonitor curveExec = exec.createSubProgress(0.5);
+        final AtomicInteger finishedCurves = new AtomicInteger();
+        final AtomicBoolean hasMissingValues = new AtomicBoolean();
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final List<Future<ROCCurve>> futures = new ArrayList<Future<ROCCurve>>();
+        for (int i = 0; i < scoreColIndices.length; i++) {
+            final int scoreCol = i;
+            futures.add(pool.enqueue(() -> {
+                curveExec.checkCanceled();
+                final ROCCurve curve = calculateFromScoreBuffer(buffer, scoreCol, hasMissingValues);
+                curveExec.setProgress(finishedCurves.incrementAndGet() / (double)scoreColIndices.length);
+                return curve;
+            }));
+        }
 
-            curves.add(new ROCCurve(c, xValues, yValues, area, m_maxPoints));
-            outCont.addRowToTable(new DefaultRow(new RowKey(c.toString()),
-                    new DoubleCell(area)));
+        final List<ROCCurve> curves = Futures.waitFor(futures, exec);
+        if (hasMissingValues.get()) {
+            m_warningMessage = "Table contains missing values.";
         }
+        return curves;
+    }
 
-        m_outCurves = curves;
-        outCont.close();
-        m_outTable = outCont.getTable();
+    private ROCCurve calculateFromScoreBuffer(final ScoreBuffer buffer, final int scoreCol,
+        final AtomicBoolean hasMissingValues) {
+        final int[] order = buffer.sortDescending(scoreCol);
+        final CurveBuilder builder = new CurveBuilder(order.length);
+        boolean first = true;
+        boolean lastMissing = false;
+        double lastScore = 0;
+        for (final int row : order) {
+            final byte label = buffer.getLabel(row);
+            final boolean scoreMissing = buffer.isScoreMissing(scoreCol, row);
+            if (label == ScoreBuffer.MISSING || scoreMissing) {
+                if (m_ignoreMissingValues) {
+                    continue;
+                } else {
+                    hasMissingValues.set(true);
+                }
+            }
+            final double score = buffer.getScore(scoreCol, row);
+            // same tie handling as for sorted tables, all missing scores are considered equal
+            final boolean newScore = first || scoreMissing != lastMissing
+                || (!scoreMissing && Double.compare(score, lastScore) != 0);
+            first = false;
+            lastMissing = scoreMissing;
+            lastScore = score;
+            builder.add(label == ScoreBuffer.POSITIVE, newScore);
+        }
+        return builder.build(m_curves.get(scoreCol), m_maxPoints);
     }
 
     /**
@@ -247,4 +320,65 @@ public List<ROCCurve> getOutputCurves() {
         return m_outCurves;
     }
 
+    /**
+     * Collects the points of a ROC curve while the rows are traversed in descending score order.
+     */
+    private static final class CurveBuilder {
+
+        // these contain the coordinates for the plot
+        private final double[] m_xValues;
+
+        private final double[] m_yValues;
+
+        private int m_k;
+
+        private int m_tp;
+
+        private int m_fp;
+
+        CurveBuilder(final int size) {
+            m_xValues = new double[size + 1];
+            m_yValues = new double[size + 1];
+        }
+
+        /**
+         * @param positive whether the row belongs to the positive class
+         * @param newScore whether the score of the row differs from the score of the previous row
+         */
+        void add(final boolean positive, final boolean newScore) {
+            if (positive) {
+                m_tp++;
+            } else {
+                m_fp++;
+            }
+            if (newScore) {
+                m_k++;
+            }
+            m_xValues[m_k] = m_fp;
+            m_yValues[m_k] = m_tp;
+        }
+
+        ROCCurve build(final String name, final int maxPoints) {
+            double[] xValues = Arrays.copyOf(m_xValues, m_k + 1);
+            double[] yValues = Arrays.copyOf(m_yValues, m_k + 1);
+
+            for (int j = 0; j <= m_k; j++) {
+                xValues[j] /= m_fp;
+                yValues[j] /= m_tp;
+            }
+            xValues[xValues.length - 1] = 1;
+            yValues[yValues.length - 1] = 1;
+
+            double area = 0;
+            for (int k = 1; k < xValues.length; k++) {
+                if (xValues[k - 1] < xValues[k]) {
+                    // magical math: the rectangle + the triangle under
+                    // the segment xValues[k] to xValues[k - 1]
+                    area += 0.5 * (xValues[k] - xValues[k - 1])
+                        * (yValues[k] + yValues[k - 1]);
+                }
+            }
+            return new ROCCurve(name, xValues, yValues, area, maxPoints);
+        }
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.node.viz.roc;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+import org.knime.base.data.sort.SortedTable;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Holds the class labels and the score columns that are needed to compute ROC curves in primitive arrays.
+ * The input table is read only once (materializing only the class and score columns); afterwards the rows can be
+ * ranked by each score column using a primitive parallel sort. This avoids creating a {@link SortedTable} over the
+ * complete input table for every curve.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public final class ScoreBuffer {
+
+    /** Label of a row whose class value is the positive class. */
+    public static final byte POSITIVE = 1;
+
+    /** Label of a row whose class value is not the positive class. */
+    public static final byte NEGATIVE = 0;
+
+    /** Label of a row whose class value is missing. */
+    public static final byte MISSING = -1;
+
+    /** Bytes needed by the buffer for the label of each row. */
+    private static final long BYTES_PER_ROW = 1;
+
+    /** Bytes needed by the buffer for each score of each row (value plus missing flag). */
+    private static final long BYTES_PER_SCORE = 9;
+
+    /** Bytes temporarily needed per row while sorting one score column (sort copy, sort keys and order). */
+    private static final long BYTES_PER_SORTED_ROW = 20;
+
+    private final int m_rowCount;
+
+    private final byte[] m_labels;
+
+    private final double[][] m_scores;
+
+    private final BitSet[] m_missingScores;
+
+    private ScoreBuffer(final int rowCount, final int nrScoreColumns) {
+        m_rowCount = rowCount;
+        m_labels = new byte[rowCount];
+        m_scores = new double[nrScoreColumns][rowCount];
+        m_missingScores = new BitSet[nrScoreColumns];
+        for (int i = 0; i < nrScoreColumns; i++) {
+            m_missingScores[i] = new BitSet(rowCount);
+        }
+    }
+
+    /**
+     * Checks whether the given score columns can be buffered. This is the case if all of them are compatible with
+     * {@link DoubleValue}, the table has less than {@link Integer#MAX_VALUE} rows and the buffer as well as the
+     * temporary sort arrays for <code>concurrency</code> curves fit into the currently free memory.
+     *
+     * @param table the table containing the scores
+     * @param scoreColIndices the indices of the score columns
+     * @param concurrency the number of curves that are computed concurrently
+     * @return <code>true</code> if the columns can be buffered, <code>false</code> otherwise
+     */
+    public static boolean isApplicable(final BufferedDataTable table, final int[] scoreColIndices,
+        final int concurrency) {
+        final DataTableSpec spec = table.getDataTableSpec();
+        for (final int colIdx : scoreColIndices) {
+            if (colIdx < 0 || !spec.getColumnSpec(colIdx).getType().isCompatible(DoubleValue.class)) {
+                return false;
+            }
+        }
+        final long rowCount = table.size();
+        if (rowCount >= Integer.MAX_VALUE - 8) {
+            return false;
+        }
+        final long parallelSorts = Math.max(1, Math.min(concurrency, scoreColIndices.length));
+        final long requiredMemory = rowCount
+            * (BYTES_PER_ROW + scoreColIndices.length * BYTES_PER_SCORE + parallelSorts * BYTES_PER_SORTED_ROW);
+        final Runtime runtime = Runtime.getRuntime();
+        final long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        // leave some head room for the rest of the workflow
+        return requiredMemory < freeMemory / 2;
+    }
+
+    /**
+     * Reads the class column and the score columns of the given table into a new buffer.
+     *
+     * @param table the table to read
+     * @param classColIndex the index of the class column
+     * @param isPositive evaluated on each non-missing class cell, decides whether a row belongs to the positive class
+     * @param scoreColIndices the indices of the score columns, all of them must be compatible with
+     *            {@link DoubleValue}
+     * @param exec the execution monitor for reporting progress and checking for cancelation
+     * @return the buffer holding labels and scores
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    public static ScoreBuffer read(final BufferedDataTable table, final int classColIndex,
+        final Predicate<DataCell> isPositive, final int[] scoreColIndices, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int rowCount = (int)table.size();
+        final ScoreBuffer buffer = new ScoreBuffer(rowCount, scoreColIndices.length);
+        final int[] materialized = Arrays.copyOf(scoreColIndices, scoreColIndices.length + 1);
+        materialized[scoreColIndices.length] = classColIndex;
+        int rowIdx = 0;
+        try (final CloseableRowIterator it = table.filter(TableFilter.materializeCols(materialized)).iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                exec.checkCanceled();
+                final DataCell classCell = row.getCell(classColIndex);
+                if (classCell.isMissing()) {
+                    buffer.m_labels[rowIdx] = MISSING;
+                } else {
+                    buffer.m_labels[rowIdx] = isPositive.test(classCell) ? POSITIVE : NEGATIVE;
+                }
+                for (int c = 0; c < scoreColIndices.length; c++) {
+                    final DataCell scoreCell = row.getCell(scoreColIndices[c]);
+                    if (scoreCell.isMissing()) {
+                        buffer.m_missingScores[c].set(rowIdx);
+                    } else {
+                        buffer.m_scores[c][rowIdx] = ((DoubleValue)scoreCell).getDoubleValue();
+                    }
+                }
+                rowIdx++;
+                final int finalRowIdx = rowIdx;
+                exec.setProgress(rowIdx / (double)rowCount, () -> "Reading row " + finalRowIdx + " of " + rowCount);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * @return the number of buffered rows
+     */
+    public int getRowCount() {
+        return m_rowCount;
+    }
+
+    /**
+     * @return the number of buffered score columns
+     */
+    public int getScoreColumnCount() {
+        return m_scores.length;
+    }
+
+    /**
+     * @param row the row index
+     * @return the label of the row, one of {@link #POSITIVE}, {@link #NEGATIVE} or {@link #MISSING}
+     */
+    public byte getLabel(final int row) {
+        return m_labels[row];
+    }
+
+    /**
+     * @param scoreCol the index of the score column within this buffer
+     * @param row the row index
+     * @return <code>true</code> if the score is missing, <code>false</code> otherwise
+     */
+    public boolean isScoreMissing(final int scoreCol, final int row) {
+        return m_missingScores[scoreCol].get(row);
+    }
+
+    /**
+     * @param scoreCol the index of the score column within this buffer
+     * @param row the row index
+     * @return the score, undefined if the score is missing
+     */
+    public double getScore(final int scoreCol, final int row) {
+        return m_scores[scoreCol][row];
+    }
+
+    /**
+     * Ranks the rows by the given score column. Rows are ordered by descending score, rows with the same score retain
+     * their input order and rows with a missing score are put at the end (in input order). This is the same order a
+     * {@link SortedTable} sorting the score column in descending order produces. This method is thread-safe, the
+     * rankings of different score columns can be computed concurrently.
+     *
+     * @param scoreCol the index of the score column within this buffer
+     * @return the row indices in rank order
+     */
+    public int[] sortDescending(final int scoreCol) {
+        final double[] scores = m_scores[scoreCol];
+        final BitSet missing = m_missingScores[scoreCol];
+        final int present = m_rowCount - missing.cardinality();
+
+        // the distinct scores in ascending order
+        final double[] distinct = new double[present];
+        int k = 0;
+        for (int i = missing.nextClearBit(0); i < m_rowCount; i = missing.nextClearBit(i + 1)) {
+            distinct[k++] = scores[i];
+        }
+        Arrays.parallelSort(distinct);
+        int nrDistinct = 0;
+        for (int i = 0; i < present; i++) {
+            if (nrDistinct == 0 || Double.compare(distinct[nrDistinct - 1], distinct[i]) != 0) {
+                distinct[nrDistinct++] = distinct[i];
+            }
+        }
+
+        // pack the descending rank of the score and the row index into one long, so that a primitive sort yields
+        // a stable order
+        final long[] keys = new long[present];
+        k = 0;
+        for (int i = missing.nextClearBit(0); i < m_rowCount; i = missing.nextClearBit(i + 1)) {
+            final long rank = nrDistinct - 1 - Arrays.binarySearch(distinct, 0, nrDistinct, scores[i]);
+            keys[k++] = (rank << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+
+        final int[] order = new int[m_rowCount];
+        for (int i = 0; i < present; i++) {
+            order[i] = (int)keys[i];
+        }
+        k = present;
+        for (int i = missing.nextSetBit(0); i >= 0; i = missing.nextSetBit(i + 1)) {
+            order[k++] = i;
+        }
+        return order;
+    }
+}
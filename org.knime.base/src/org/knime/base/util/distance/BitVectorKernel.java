@@ -0,0 +1,137 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.util.distance;
+
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+
+/**
+ * Computes the Tanimoto distance between bit vectors that are packed into arrays of 64 bit words. Like for the
+ * {@link DistanceKernel DistanceKernels}, a vector is addressed by an array and the offset of its first word, so that
+ * many vectors of the same length can be stored back to back in one array. The set bits are counted with
+ * {@link Long#bitCount(long)}, which the JIT compiler maps to a single instruction on most processors.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public final class BitVectorKernel {
+
+    private BitVectorKernel() {
+    }
+
+    /**
+     * @param length the number of bits of a vector
+     * @return the number of words needed to store a vector
+     */
+    public static int words(final long length) {
+        final long words = (length + 63) >>> 6;
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bit vector too long: " + length);
+        }
+        return (int)words;
+    }
+
+    /**
+     * Writes the set bits of a bit vector into an array of words, bit <i>i</i> into bit <i>i</i> mod 64 of word
+     * <i>i</i> / 64. Bits beyond the given number of words are ignored.
+     *
+     * @param vector the bit vector
+     * @param target the array receiving the words
+     * @param offset the index of the first word
+     * @param words the number of words of the vector in the array
+     */
+    public static void pack(final BitVectorValue vector, final long[] target, final int offset, final int words) {
+        for (int w = 0; w < words; w++) {
+            target[offset + w] = 0;
+        }
+        final long limit = (long)words << 6;
+        for (long bit = vector.nextSetBit(0); bit >= 0 && bit < limit; bit = vector.nextSetBit(bit + 1)) {
+            target[offset + (int)(bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Computes the Tanimoto distance of two bit vectors, which is 1 minus the number of bits set in both vectors
+     * divided by the number of bits set in any of them. The distance of two empty vectors is 0.
+     *
+     * @param x the array containing the first vector
+     * @param xOffset the index of the first word of the first vector
+     * @param y the array containing the second vector
+     * @param yOffset the index of the first word of the second vector
+     * @param words the number of words of the vectors
+     * @return the Tanimoto distance
+     */
+    public static double tanimoto(final long[] x, final int xOffset, final long[] y, final int yOffset,
+        final int words) {
+        long both = 0;
+        long any = 0;
+        for (int w = 0; w < words; w++) {
+            final long a = x[xOffset + w];
+            final long b = y[yOffset + w];
+            both += Long.bitCount(a & b);
+            any += Long.bitCount(a | b);
+        }
+        return any == 0 ? 0 : 1 - (double)both / any;
+    }
+
+    /**
+     * Computes the Tanimoto distances of one bit vector to a block of bit vectors.
+     *
+     * @param x the array containing the vector
+     * @param xOffset the index of the first word of the vector
+     * @param block the array containing the vectors back to back, starting at index 0
+     * @param count the number of vectors of the block
+     * @param words the number of words of each vector
+     * @param result the array receiving the distance to the <i>i</i>-th vector of the block at index <i>i</i>
+     */
+    public static void tanimotoOneToMany(final long[] x, final int xOffset, final long[] block, final int count,
+        final int words, final double[] result) {
+        for (int i = 0; i < count; i++) {
+            result[i] = tanimoto(x, xOffset, block, i * words, words);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.util.distance;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Computes distances between vectors of doubles that are packed into plain arrays, e.g. by {@link PackedRows}. A
+ * vector is addressed by an array and the offset of its first element, hence many vectors can be stored back to back
+ * in one array, which avoids an object per vector and keeps the elements compared next to each other in memory.
+ * <p>
+ * Missing values are represented by {@link Double#NaN}; elements that are missing in either vector are ignored. The
+ * loops are written such that the JIT compiler can unroll them; the elements are only checked for missing values if
+ * the result turns out to be {@link Double#NaN}.
+ * <p>
+ * Kernels are stateless and can be used concurrently.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public abstract class DistanceKernel {
+
+    /** The number of vectors of either block that are compared with each other before advancing to the next tile. */
+    private static final int TILE_SIZE = 64;
+
+    private static final DistanceKernel EUCLIDEAN = new Euclidean(false);
+
+    private static final DistanceKernel SQUARED_EUCLIDEAN = new Euclidean(true);
+
+    private static final DistanceKernel MANHATTAN = new Manhattan();
+
+    /**
+     * Receives the distances of pairs of vectors.
+     */
+    @FunctionalInterface
+    public interface DistanceConsumer {
+
+        /**
+         * Receives the distance of two vectors.
+         *
+         * @param i the index of the first vector
+         * @param j the index of the second vector
+         * @param distance their distance
+         */
+        void accept(int i, int j, double distance);
+    }
+
+    DistanceKernel() {
+        // only the kernels of this package
+    }
+
+    /**
+     * @return the Euclidean distance
+     */
+    public static DistanceKernel euclidean() {
+        return EUCLIDEAN;
+    }
+
+    /**
+     * @return the squared Euclidean distance, which is cheaper to compute than the Euclidean distance and orders pairs
+     *         of vectors the same way
+     */
+    public static DistanceKernel squaredEuclidean() {
+        return SQUARED_EUCLIDEAN;
+    }
+
+    /**
+     * @return the Manhattan distance, i.e. the sum of the absolute differences
+     */
+    public static DistanceKernel manhattan() {
+        return MANHATTAN;
+    }
+
+    /**
+     * Returns the Minkowski distance with the given power. The powers 1 and 2 return the {@link #manhattan()} and
+     * {@link #euclidean()} distance, respectively, which avoid the costly {@link Math#pow(double, double)}.
+     *
+     * @param power the power, greater than 0
+     * @return the Minkowski distance
+     * @throws IllegalArgumentException if the power is not greater than 0
+     */
+    public static DistanceKernel minkowski(final double power) {
+        if (!(power > 0)) {
+            throw new IllegalArgumentException("The power of the Minkowski distance must be greater than 0: " + power);
+        }
+        if (power == 1) {
+            return MANHATTAN;
+        }
+        if (power == 2) {
+            return EUCLIDEAN;
+        }
+        return new Minkowski(power);
+    }
+
+    /**
+     * Returns the cosine distance, which is the given offset minus the cosine of the angle between the vectors. The
+     * usual cosine distance has an offset of 1.
+     *
+     * @param offset the offset
+     * @return the cosine distance
+     */
+    public static DistanceKernel cosine(final double offset) {
+        return new Cosine(offset);
+    }
+
+    /**
+     * Computes the distance of two vectors.
+     *
+     * @param x the array containing the first vector
+     * @param xOffset the index of the first element of the first vector
+     * @param y the array containing the second vector
+     * @param yOffset the index of the first element of the second vector
+     * @param length the number of elements of the vectors
+     * @return the distance
+     */
+    public abstract double distance(double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * Computes the distance of two vectors.
+     *
+     * @param x the first vector
+     * @param y the second vector
+     * @return the distance
+     * @throws IllegalArgumentException if the vectors have different lengths
+     */
+    public final double distance(final double[] x, final double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException(
+                "Vectors must have the same length: " + x.length + " vs. " + y.length);
+        }
+        return distance(x, 0, y, 0, x.length);
+    }
+
+    /**
+     * Computes the distances of one vector to a block of vectors, e.g. of a row to all cluster prototypes.
+     *
+     * @param x the array containing the vector
+     * @param xOffset the index of the first element of the vector
+     * @param block the array containing the vectors back to back, starting at index 0
+     * @param count the number of vectors of the block
+     * @param length the number of elements of each vector
+     * @param result the array receiving the distance to the <i>i</i>-th vector of the block at index <i>i</i>
+     */
+    public final void oneToMany(final double[] x, final int xOffset, final double[] block, final int count,
+        final int length, final double[] result) {
+        for (int i = 0; i < count; i++) {
+            result[i] = distance(x, xOffset, block, i * length, length);
+        }
+    }
+
+    /**
+     * Computes the distances of all vectors of one block to all vectors of another block. The blocks are processed in
+     * tiles so that the vectors being compared stay in the processor cache.
+     *
+     * @param block1 the array containing the first vectors back to back, starting at index 0
+     * @param count1 the number of vectors of the first block
+     * @param block2 the array containing the second vectors back to back, starting at index 0
+     * @param count2 the number of vectors of the second block
+     * @param length the number of elements of each vector
+     * @param result the array receiving the distance of the <i>i</i>-th vector of the first block to the <i>j</i>-th
+     *            vector of the second block at index <i>i</i> * count2 + <i>j</i>
+     */
+    public final void manyToMany(final double[] block1, final int count1, final double[] block2, final int count2,
+        final int length, final double[] result) {
+        for (int i0 = 0; i0 < count1; i0 += TILE_SIZE) {
+            final int i1 = Math.min(count1, i0 + TILE_SIZE);
+            for (int j0 = 0; j0 < count2; j0 += TILE_SIZE) {
+                final int j1 = Math.min(count2, j0 + TILE_SIZE);
+                for (int i = i0; i < i1; i++) {
+                    for (int j = j0; j < j1; j++) {
+                        result[i * count2 + j] = distance(block1, i * length, block2, j * length, length);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the distances of all pairs of different vectors of a block, each pair once. The distance of the
+     * <i>i</i>-th and the <i>j</i>-th vector is passed to the consumer with <i>i</i> &lt; <i>j</i>; the block is
+     * processed in tiles like in {@link #manyToMany(double[], int, double[], int, int, double[])}.
+     *
+     * @param block the array containing the vectors back to back, starting at index 0
+     * @param count the number of vectors
+     * @param length the number of elements of each vector
+     * @param consumer receives the distances
+     */
+    public final void pairwise(final double[] block, final int count, final int length,
+        final DistanceConsumer consumer) {
+        for (int i0 = 0; i0 < count; i0 += TILE_SIZE) {
+            pairwiseTiles(block, count, length, i0, consumer);
+        }
+    }
+
+    /**
+     * Computes the distances of all pairs of different vectors of a block like
+     * {@link #pairwise(double[], int, int, DistanceConsumer)}, but checks for cancellation and reports the fraction of
+     * pairs done after each row of tiles.
+     *
+     * @param block the array containing the vectors back to back, starting at index 0
+     * @param count the number of vectors
+     * @param length the number of elements of each vector
+     * @param consumer receives the distances
+     * @param exec the monitor to check for cancellation and to report progress to
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    public final void pairwise(final double[] block, final int count, final int length,
+        final DistanceConsumer consumer, final ExecutionMonitor exec) throws CanceledExecutionException {
+        final double nrPairs = Math.max(1, count * (count - 1.0) / 2);
+        for (int i0 = 0; i0 < count; i0 += TILE_SIZE) {
+            exec.checkCanceled();
+            pairwiseTiles(block, count, length, i0, consumer);
+            // the pairs whose first vector lies before the end of this row of tiles are done
+            final double i1 = Math.min(count, i0 + TILE_SIZE);
+            exec.setProgress((i1 * (count - 1) - i1 * (i1 - 1) / 2) / nrPairs);
+        }
+    }
+
+    /** Computes the distances of the vectors of the row of tiles starting at i0 to all later vectors. */
+    private void pairwiseTiles(final double[] block, final int count, final int length, final int i0,
+        final DistanceConsumer consumer) {
+        final int i1 = Math.min(count, i0 + TILE_SIZE);
+        for (int j0 = i0; j0 < count; j0 += TILE_SIZE) {
+            final int j1 = Math.min(count, j0 + TILE_SIZE);
+            for (int i = i0; i < i1; i++) {
+                for (int j = Math.max(i + 1, j0); j < j1; j++) {
+                    consumer.accept(i, j, distance(block, i * length, block, j * length, length));
+                }
+            }
+        }
+    }
+
+    private static final class Euclidean extends DistanceKernel {
+
+        private final boolean m_squared;
+
+        Euclidean(final boolean squared) {
+            m_squared = squared;
+        }
+
+        @Override
+        public double distance(final double[] x, final int xOffset, final double[] y, final int yOffset,
+            final int length) {
+            // independent sums let the processor overlap the additions
+            double s0 = 0;
+            double s1 = 0;
+            double s2 = 0;
+            double s3 = 0;
+            int k = 0;
+            for (; k + 3 < length; k += 4) {
+                final double d0 = x[xOffset + k] - y[yOffset + k];
+                final double d1 = x[xOffset + k + 1] - y[yOffset + k + 1];
+                final double d2 = x[xOffset + k + 2] - y[yOffset + k + 2];
+                final double d3 = x[xOffset + k + 3] - y[yOffset + k + 3];
+                s0 += d0 * d0;
+                s1 += d1 * d1;
+                s2 += d2 * d2;
+                s3 += d3 * d3;
+            }
+            for (; k < length; k++) {
+                final double d = x[xOffset + k] - y[yOffset + k];
+                s0 += d * d;
+            }
+            double sum = (s0 + s1) + (s2 + s3);
+            if (Double.isNaN(sum)) {
+                sum = 0;
+                for (k = 0; k < length; k++) {
+                    final double d = x[xOffset + k] - y[yOffset + k];
+                    if (!isMissing(x[xOffset + k], y[yOffset + k])) {
+                        sum += d * d;
+                    }
+                }
+            }
+            return m_squared ? sum : Math.sqrt(sum);
+        }
+    }
+
+    private static final class Manhattan extends DistanceKernel {
+
+        @Override
+        public double distance(final double[] x, final int xOffset, final double[] y, final int yOffset,
+            final int length) {
+            double s0 = 0;
+            double s1 = 0;
+            double s2 = 0;
+            double s3 = 0;
+            int k = 0;
+            for (; k + 3 < length; k += 4) {
+                s0 += Math.abs(x[xOffset + k] - y[yOffset + k]);
+                s1 += Math.abs(x[xOffset + k + 1] - y[yOffset + k + 1]);
+                s2 += Math.abs(x[xOffset + k + 2] - y[yOffset + k + 2]);
+                s3 += Math.abs(x[xOffset + k + 3] - y[yOffset + k + 3]);
+            }
+            for (; k < length; k++) {
+                s0 += Math.abs(x[xOffset + k] - y[yOffset + k]);
+            }
+            double sum = (s0 + s1) + (s2 + s3);
+            if (Double.isNaN(sum)) {
+                sum = 0;
+                for (k = 0; k < length; k++) {
+                    if (!isMissing(x[xOffset + k], y[yOffset + k])) {
+                        sum += Math.abs(x[xOffset + k] - y[yOffset + k]);
+                    }
+                }
+            }
+            return sum;
+        }
+    }
+
+    private static final class Minkowski extends DistanceKernel {
+
+        private final double m_power;
+
+        Minkowski(final double power) {
+            m_power = power;
+        }
+
+        @Override
+        public double distance(final double[] x, final int xOffset, final double[] y, final int yOffset,
+            final int length) {
+            double sum = 0;
+            for (int k = 0; k < length; k++) {
+                if (!isMissing(x[xOffset + k], y[yOffset + k])) {
+                    sum += Math.pow(Math.abs(x[xOffset + k] - y[yOffset + k]), m_power);
+                }
+            }
+            return Math.pow(sum, 1 / m_power);
+        }
+    }
+
+    private static final class Cosine extends DistanceKernel {
+
+        private final double m_offset;
+
+        Cosine(final double offset) {
+            m_offset = offset;
+        }
+
+        @Override
+        public double distance(final double[] x, final int xOffset, final double[] y, final int yOffset,
+            final int length) {
+            double dot = 0;
+            double xx = 0;
+            double yy = 0;
+            for (int k = 0; k < length; k++) {
+                final double a = x[xOffset + k];
+                final double b = y[yOffset + k];
+                dot += a * b;
+                xx += a * a;
+                yy += b * b;
+            }
+            if (Double.isNaN(dot + xx + yy)) {
+                dot = 0;
+                xx = 0;
+                yy = 0;
+                for (int k = 0; k < length; k++) {
+                    final double a = x[xOffset + k];
+                    final double b = y[yOffset + k];
+                    if (!isMissing(a, b)) {
+                        dot += a * b;
+                        xx += a * a;
+                        yy += b * b;
+                    }
+                }
+            }
+            return m_offset - dot / (Math.sqrt(xx) * Math.sqrt(yy));
+        }
+    }
+
+    private static boolean isMissing(final double a, final double b) {
+        return Double.isNaN(a) || Double.isNaN(b);
+    }
+}
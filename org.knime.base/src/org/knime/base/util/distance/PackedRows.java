@@ -0,0 +1,167 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.base.util.distance;
+
+import java.util.Arrays;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DoubleValue;
+
+/**
+ * Vectors of doubles stored back to back in one array, as expected by the {@link DistanceKernel DistanceKernels}.
+ * Usually each vector holds the values of some columns of a row, which are extracted once instead of each time a
+ * distance is computed.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.4
+ */
+public final class PackedRows {
+
+    private final int m_dimension;
+
+    private double[] m_values;
+
+    private int m_size;
+
+    /**
+     * Creates an empty block of vectors.
+     *
+     * @param dimension the number of elements of each vector
+     * @param initialCapacity the number of vectors that can be added before the array has to grow
+     */
+    public PackedRows(final int dimension, final int initialCapacity) {
+        if (dimension < 0) {
+            throw new IllegalArgumentException("Dimension must not be negative: " + dimension);
+        }
+        m_dimension = dimension;
+        m_values = new double[Math.max(1, initialCapacity) * dimension];
+    }
+
+    /**
+     * Adds the values of the given columns of a row as a new vector. Missing cells and cells that are not compatible
+     * with {@link DoubleValue} are added as {@link Double#NaN}, i.e. as missing values. Consequently, a cell holding
+     * {@link Double#NaN} is ignored by the {@link DistanceKernel DistanceKernels} like a missing cell, whereas
+     * distances computed on the rows themselves usually turn out {@link Double#NaN} in that case.
+     *
+     * @param row the row
+     * @param colIndices the indices of the columns, as many as the dimension
+     * @return the index of the new vector
+     */
+    public int add(final DataRow row, final int[] colIndices) {
+        final int offset = allocate();
+        for (int i = 0; i < m_dimension; i++) {
+            m_values[offset + i] = valueOf(row.getCell(colIndices[i]));
+        }
+        return m_size++;
+    }
+
+    /**
+     * Adds a copy of the given values as a new vector.
+     *
+     * @param vector the values, as many as the dimension
+     * @return the index of the new vector
+     */
+    public int add(final double[] vector) {
+        final int offset = allocate();
+        System.arraycopy(vector, 0, m_values, offset, m_dimension);
+        return m_size++;
+    }
+
+    /**
+     * Returns the array containing the vectors. The <i>i</i>-th vector starts at index {@link #offset(int)
+     * offset(i)}. The array is replaced when vectors are added, so it must be obtained again afterwards.
+     *
+     * @return the array containing the vectors
+     */
+    public double[] getValues() {
+        return m_values;
+    }
+
+    /**
+     * @param index the index of a vector
+     * @return the index of its first element in the array
+     */
+    public int offset(final int index) {
+        return index * m_dimension;
+    }
+
+    /**
+     * @return the number of vectors
+     */
+    public int size() {
+        return m_size;
+    }
+
+    /**
+     * @return the number of elements of each vector
+     */
+    public int getDimension() {
+        return m_dimension;
+    }
+
+    /**
+     * @param cell a cell
+     * @return its double value or {@link Double#NaN} if it is missing or not a number; a cell holding
+     *         {@link Double#NaN} can't be told apart from a missing one afterwards
+     */
+    public static double valueOf(final DataCell cell) {
+        if (cell.isMissing() || !(cell instanceof DoubleValue)) {
+            return Double.NaN;
+        }
+        return ((DoubleValue)cell).getDoubleValue();
+    }
+
+    private int allocate() {
+        final int offset = m_size * m_dimension;
+        if (offset + m_dimension > m_values.length) {
+            m_values = Arrays.copyOf(m_values, Math.max(offset + m_dimension, 2 * m_values.length));
+        }
+        return offset;
+    }
+}